@@ -24,6 +24,7 @@ JVM_ARGS="-XX:OnOutOfMemoryError=\"touch;-9;worker.oome\" \
           -DworkerIndex=@WORKER_INDEX \
           -DworkerPort=@WORKER_PORT \
           -DworkerPerformanceMonitorIntervalSeconds=@WORKER_PERFORMANCE_MONITOR_INTERVAL_SECONDS \
+          -DloadThreadCpuSet=@LOAD_THREAD_CPU_SET \
           -DautoCreateHzInstance=@AUTO_CREATE_HZ_INSTANCE \
           -DhzConfigFile=@HZ_CONFIG_FILE"
 
@@ -39,7 +40,8 @@ case "@WORKER_TYPE" in
     INTEGRATION_TEST )   MAIN=com.hazelcast.simulator.worker.IntegrationTestWorker;;
 esac
 
-java -classpath ${CLASSPATH} ${JVM_ARGS} ${MAIN}
+# The CPU affinity is a numactl or taskset prefix, if the Worker is pinned to a CPU set or NUMA node in the cluster.xml
+@CPU_AFFINITY java -classpath ${CLASSPATH} ${JVM_ARGS} ${MAIN}
 
 # Convert all hdr files to hgrm files so they can easily be plot using
 # http://hdrhistogram.github.io/HdrHistogram/plotFiles.html
@@ -146,6 +148,12 @@ done
 # Example: NUMA_CONTROL=numactl -m 0 -N 0
 # It will bind members to node 0.
 # numactl -m 0 -N 0 java -classpath ${CLASSPATH} ${JVM_ARGS} ${MAIN}
+#
+# The pinning can also be configured per worker configuration in the cluster.xml, which fills the CPU_AFFINITY variable:
+#   <workerConfiguration name="member" type="MEMBER" numaNode="0"/>
+#   <workerConfiguration name="client" type="CLIENT" cpuSet="8-15" loadThreadCpuSet="10-15"/>
+# The numaNode uses numactl, the cpuSet uses taskset (or numactl if combined with a numaNode). The load generating threads of
+# the tests pin themselves to the loadThreadCpuSet via taskset.
 
 
 
@@ -56,6 +56,7 @@ public class Agent {
     private final String cloudCredential;
 
     private final WorkerJvmFailureMonitor workerJvmFailureMonitor;
+    private final HostMetricsMonitor hostMetricsMonitor;
     private final AgentConnector agentConnector;
     private final CoordinatorLogger coordinatorLogger;
 
@@ -74,6 +75,7 @@ public class Agent {
         this.cloudCredential = cloudCredential;
 
         this.workerJvmFailureMonitor = new WorkerJvmFailureMonitor(this, workerJvmManager, workerLastSeenTimeoutSeconds);
+        this.hostMetricsMonitor = new HostMetricsMonitor(this);
         this.agentConnector = AgentConnector.createInstance(this, workerJvmManager, port, threadPoolSize);
         this.coordinatorLogger = new CoordinatorLogger(agentConnector);
 
@@ -113,6 +115,10 @@ public class Agent {
         return workerJvmFailureMonitor;
     }
 
+    public HostMetricsMonitor getHostMetricsMonitor() {
+        return hostMetricsMonitor;
+    }
+
     public void setTestSuite(TestSuite testSuite) {
         this.testSuite = testSuite;
     }
@@ -206,6 +212,9 @@ public class Agent {
             echo("Stopping WorkerJvmFailureMonitor...");
             workerJvmFailureMonitor.shutdown();
 
+            echo("Stopping HostMetricsMonitor...");
+            hostMetricsMonitor.shutdown();
+
             echo("Stopping AgentConnector...");
             agentConnector.shutdown();
 
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.agent;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Contains the host metrics of an Agent machine for a single sampling interval.
+ *
+ * All percentages are in the range of 0 to 100. Metrics which are not available on the host are reported as {@code -1}.
+ */
+public class HostMetrics {
+
+    /**
+     * The CPU steal time in percent, above which an interval is flagged as disturbed by a noisy neighbor.
+     */
+    public static final double HIGH_CPU_STEAL_PERCENTAGE = 10;
+
+    /**
+     * The utilization of a network interface in percent, above which an interval is flagged as network saturated.
+     */
+    public static final double SATURATED_NETWORK_PERCENTAGE = 90;
+
+    private final double cpuUser;
+    private final double cpuSystem;
+    private final double cpuIoWait;
+    private final double cpuSteal;
+    private final double cpuIdle;
+
+    private final double loadAverage;
+    private final int runQueue;
+
+    private final double networkReceivedBytesPerSecond;
+    private final double networkSentBytesPerSecond;
+    private final double networkUtilization;
+
+    private final double diskReadBytesPerSecond;
+    private final double diskWrittenBytesPerSecond;
+    private final double diskUtilization;
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    public HostMetrics(double cpuUser, double cpuSystem, double cpuIoWait, double cpuSteal, double cpuIdle,
+                       double loadAverage, int runQueue,
+                       double networkReceivedBytesPerSecond, double networkSentBytesPerSecond, double networkUtilization,
+                       double diskReadBytesPerSecond, double diskWrittenBytesPerSecond, double diskUtilization) {
+        this.cpuUser = cpuUser;
+        this.cpuSystem = cpuSystem;
+        this.cpuIoWait = cpuIoWait;
+        this.cpuSteal = cpuSteal;
+        this.cpuIdle = cpuIdle;
+        this.loadAverage = loadAverage;
+        this.runQueue = runQueue;
+        this.networkReceivedBytesPerSecond = networkReceivedBytesPerSecond;
+        this.networkSentBytesPerSecond = networkSentBytesPerSecond;
+        this.networkUtilization = networkUtilization;
+        this.diskReadBytesPerSecond = diskReadBytesPerSecond;
+        this.diskWrittenBytesPerSecond = diskWrittenBytesPerSecond;
+        this.diskUtilization = diskUtilization;
+    }
+
+    public double getCpuUser() {
+        return cpuUser;
+    }
+
+    public double getCpuSystem() {
+        return cpuSystem;
+    }
+
+    public double getCpuIoWait() {
+        return cpuIoWait;
+    }
+
+    public double getCpuSteal() {
+        return cpuSteal;
+    }
+
+    public double getCpuIdle() {
+        return cpuIdle;
+    }
+
+    public double getLoadAverage() {
+        return loadAverage;
+    }
+
+    public int getRunQueue() {
+        return runQueue;
+    }
+
+    public double getNetworkReceivedBytesPerSecond() {
+        return networkReceivedBytesPerSecond;
+    }
+
+    public double getNetworkSentBytesPerSecond() {
+        return networkSentBytesPerSecond;
+    }
+
+    /**
+     * Returns the utilization of the busiest network interface with a known link speed.
+     *
+     * @return the network utilization in percent or {@code -1} if the link speed is unknown
+     */
+    public double getNetworkUtilization() {
+        return networkUtilization;
+    }
+
+    public double getDiskReadBytesPerSecond() {
+        return diskReadBytesPerSecond;
+    }
+
+    public double getDiskWrittenBytesPerSecond() {
+        return diskWrittenBytesPerSecond;
+    }
+
+    /**
+     * Returns the utilization of the busiest disk, which is the percentage of time the disk was busy with I/O requests.
+     *
+     * @return the disk utilization in percent or {@code -1} if not available
+     */
+    public double getDiskUtilization() {
+        return diskUtilization;
+    }
+
+    public boolean isHighCpuSteal() {
+        return cpuSteal >= HIGH_CPU_STEAL_PERCENTAGE;
+    }
+
+    public boolean isNetworkSaturated() {
+        return networkUtilization >= SATURATED_NETWORK_PERCENTAGE;
+    }
+
+    /**
+     * Returns the warnings of this interval, which may have disturbed the benchmark.
+     *
+     * @return a {@link List} of warnings, which is empty if the interval is not disturbed
+     */
+    public List<String> getWarnings() {
+        List<String> warnings = new LinkedList<String>();
+        if (isHighCpuSteal()) {
+            warnings.add(format("steal %.0f%%", cpuSteal));
+        }
+        if (isNetworkSaturated()) {
+            warnings.add(format("network %.0f%%", networkUtilization));
+        }
+        return warnings;
+    }
+
+    @Override
+    public String toString() {
+        return "HostMetrics{"
+                + "cpuUser=" + cpuUser
+                + ", cpuSystem=" + cpuSystem
+                + ", cpuIoWait=" + cpuIoWait
+                + ", cpuSteal=" + cpuSteal
+                + ", cpuIdle=" + cpuIdle
+                + ", loadAverage=" + loadAverage
+                + ", runQueue=" + runQueue
+                + ", networkReceivedBytesPerSecond=" + networkReceivedBytesPerSecond
+                + ", networkSentBytesPerSecond=" + networkSentBytesPerSecond
+                + ", networkUtilization=" + networkUtilization
+                + ", diskReadBytesPerSecond=" + diskReadBytesPerSecond
+                + ", diskWrittenBytesPerSecond=" + diskWrittenBytesPerSecond
+                + ", diskUtilization=" + diskUtilization
+                + '}';
+    }
+}
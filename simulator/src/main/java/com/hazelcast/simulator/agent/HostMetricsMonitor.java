@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.agent;
+
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.operation.HostMetricsOperation;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Samples the host metrics of the Agent machine in the performance monitor interval of the Workers.
+ *
+ * The {@link HostMetrics} are written to a csv file in the test suite directory and sent to the Coordinator, which flags the
+ * intervals with a high CPU steal time or a saturated network next to the throughput numbers. This reveals benchmarks which
+ * have been disturbed by noisy neighbors on shared cloud hosts.
+ */
+public class HostMetricsMonitor {
+
+    private static final Logger LOGGER = Logger.getLogger(HostMetricsMonitor.class);
+
+    private final Agent agent;
+    private final HostMetricsSampler sampler;
+
+    private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+
+    // the stats writer is only accessed by the MonitorThread, a new one is created for each test suite
+    private HostMetricsStatsWriter statsWriter;
+    private MonitorThread monitorThread;
+
+    public HostMetricsMonitor(Agent agent) {
+        this(agent, new HostMetricsSampler());
+    }
+
+    HostMetricsMonitor(Agent agent, HostMetricsSampler sampler) {
+        this.agent = agent;
+        this.sampler = sampler;
+    }
+
+    /**
+     * Starts the sampling of the host metrics, if it's not already running.
+     *
+     * @param intervalSeconds the sampling interval in seconds, the monitor is not started if the interval is not positive
+     */
+    public synchronized void start(int intervalSeconds) {
+        if (monitorThread != null || intervalSeconds < 1) {
+            return;
+        }
+        if (!sampler.isAvailable()) {
+            LOGGER.info("Host metrics are not available on this machine");
+            return;
+        }
+        LOGGER.info(format("Starting HostMetricsMonitor with an interval of %d seconds...", intervalSeconds));
+        monitorThread = new MonitorThread(SECONDS.toNanos(intervalSeconds));
+        monitorThread.start();
+    }
+
+    public synchronized void shutdown() {
+        if (monitorThread == null) {
+            return;
+        }
+        monitorThread.running = false;
+        monitorThread.interrupt();
+        monitorThread = null;
+    }
+
+    void sample() {
+        HostMetrics metrics = sampler.sample();
+        if (metrics == null) {
+            return;
+        }
+        writeStatsToFile(System.currentTimeMillis(), metrics);
+        agent.getAgentConnector().write(SimulatorAddress.COORDINATOR, new HostMetricsOperation(metrics));
+    }
+
+    private void writeStatsToFile(long timeMillis, HostMetrics metrics) {
+        File testSuiteDir = agent.getTestSuiteDir();
+        if (testSuiteDir == null) {
+            return;
+        }
+        // the file name contains the Agent address, since the files of all Agents are downloaded into the same directory
+        File file = new File(testSuiteDir, format("host-metrics-A%d.csv", agent.getAddressIndex()));
+        if (statsWriter == null || !statsWriter.getFile().equals(file)) {
+            ensureExistingDirectory(testSuiteDir);
+            statsWriter = new HostMetricsStatsWriter(file);
+        }
+        statsWriter.write(timeMillis, simpleDateFormat.format(new Date(timeMillis)), metrics);
+    }
+
+    private final class MonitorThread extends Thread {
+
+        private final long intervalNanos;
+
+        private volatile boolean running = true;
+
+        private MonitorThread(long intervalNanos) {
+            super("HostMetricsMonitorThread");
+            setDaemon(true);
+
+            this.intervalNanos = intervalNanos;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                long startedNanos = System.nanoTime();
+                try {
+                    sample();
+                } catch (Exception e) {
+                    LOGGER.warn("Failed to sample host metrics", e);
+                }
+                sleepNanos(intervalNanos - (System.nanoTime() - startedNanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.agent;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Samples the host metrics of a Linux machine from the {@code /proc} and {@code /sys} filesystems.
+ *
+ * All metrics are calculated from the counter deltas between two samples, so the first sample just records the baseline. Each
+ * sample reads only a few small pseudo files, so the overhead is negligible. Metrics which are not available on the host (e.g.
+ * the link speed of a virtual network interface) are reported as {@code -1}.
+ */
+final class HostMetricsSampler {
+
+    private static final double ONE_HUNDRED = 100;
+    private static final int BITS_PER_BYTE = 8;
+    private static final long BITS_PER_MEGABIT = 1000 * 1000;
+    private static final int SECTOR_SIZE_BYTES = 512;
+
+    // the columns of the cpu line in /proc/stat: user, nice, system, idle, iowait, irq, softirq, steal
+    private static final int CPU_COLUMNS = 8;
+    private static final int CPU_USER = 0;
+    private static final int CPU_NICE = 1;
+    private static final int CPU_SYSTEM = 2;
+    private static final int CPU_IDLE = 3;
+    private static final int CPU_IOWAIT = 4;
+    private static final int CPU_IRQ = 5;
+    private static final int CPU_SOFTIRQ = 6;
+    private static final int CPU_STEAL = 7;
+
+    // the columns of /proc/net/dev after the interface name
+    private static final int NET_RECEIVED_BYTES = 0;
+    private static final int NET_SENT_BYTES = 8;
+
+    // the columns of /proc/diskstats
+    private static final int DISK_NAME = 2;
+    private static final int DISK_SECTORS_READ = 5;
+    private static final int DISK_SECTORS_WRITTEN = 9;
+    private static final int DISK_IO_TICKS = 12;
+
+    private static final int LOAD_AVERAGE_1M = 0;
+    private static final int LOAD_RUNNABLE = 3;
+
+    private final File procDir;
+    private final File sysDir;
+
+    private long previousTimestampNanos;
+    private long[] previousCpuTicks;
+    private Map<String, long[]> previousNetworkBytes;
+    private Map<String, long[]> previousDiskStats;
+
+    HostMetricsSampler() {
+        this(new File("/proc"), new File("/sys"));
+    }
+
+    HostMetricsSampler(File procDir, File sysDir) {
+        this.procDir = procDir;
+        this.sysDir = sysDir;
+    }
+
+    boolean isAvailable() {
+        return new File(procDir, "stat").canRead();
+    }
+
+    HostMetrics sample() {
+        return sample(System.nanoTime());
+    }
+
+    /**
+     * Creates the {@link HostMetrics} for the time window since the last call.
+     *
+     * @param timestampNanos the timestamp of this sample
+     * @return the {@link HostMetrics} of the last time window or {@code null} if this is the first sample
+     */
+    HostMetrics sample(long timestampNanos) {
+        long[] cpuTicks = parseCpuTicks(readProcFile("stat"));
+        Map<String, long[]> networkBytes = parseNetworkBytes(readProcFile("net/dev"));
+        Map<String, long[]> diskStats = parseDiskStats(readProcFile("diskstats"));
+        String loadAverage = readProcFile("loadavg");
+
+        boolean isFirstSample = (previousCpuTicks == null);
+        double elapsedSeconds = Math.max(1, timestampNanos - previousTimestampNanos) / (double) SECONDS.toNanos(1);
+        double[] cpu = isFirstSample ? null : getCpuPercentages(previousCpuTicks, cpuTicks);
+        double[] network = isFirstSample ? null : getNetworkMetrics(networkBytes, elapsedSeconds);
+        double[] disk = isFirstSample ? null : getDiskMetrics(diskStats, elapsedSeconds);
+
+        previousTimestampNanos = timestampNanos;
+        previousCpuTicks = cpuTicks;
+        previousNetworkBytes = networkBytes;
+        previousDiskStats = diskStats;
+        if (isFirstSample) {
+            return null;
+        }
+
+        return new HostMetrics(cpu[CPU_USER], cpu[CPU_SYSTEM], cpu[CPU_IOWAIT], cpu[CPU_STEAL], cpu[CPU_IDLE],
+                parseLoadAverage(loadAverage), parseRunQueue(loadAverage),
+                network[0], network[1], network[2], disk[0], disk[1], disk[2]);
+    }
+
+    /**
+     * Returns the CPU percentages, indexed like the columns of {@code /proc/stat}.
+     *
+     * The nice time is accounted as user time, the interrupt times are accounted as system time.
+     */
+    static double[] getCpuPercentages(long[] previous, long[] current) {
+        long[] delta = new long[CPU_COLUMNS];
+        long total = 0;
+        for (int i = 0; i < CPU_COLUMNS; i++) {
+            delta[i] = Math.max(0, current[i] - previous[i]);
+            total += delta[i];
+        }
+        double[] percentages = new double[CPU_COLUMNS];
+        if (total == 0) {
+            return percentages;
+        }
+        percentages[CPU_USER] = (delta[CPU_USER] + delta[CPU_NICE]) * ONE_HUNDRED / total;
+        percentages[CPU_SYSTEM] = (delta[CPU_SYSTEM] + delta[CPU_IRQ] + delta[CPU_SOFTIRQ]) * ONE_HUNDRED / total;
+        percentages[CPU_IDLE] = delta[CPU_IDLE] * ONE_HUNDRED / total;
+        percentages[CPU_IOWAIT] = delta[CPU_IOWAIT] * ONE_HUNDRED / total;
+        percentages[CPU_STEAL] = delta[CPU_STEAL] * ONE_HUNDRED / total;
+        return percentages;
+    }
+
+    private double[] getNetworkMetrics(Map<String, long[]> networkBytes, double elapsedSeconds) {
+        long receivedBytes = 0;
+        long sentBytes = 0;
+        double utilization = -1;
+        for (Map.Entry<String, long[]> entry : networkBytes.entrySet()) {
+            long[] previous = previousNetworkBytes.get(entry.getKey());
+            if (previous == null) {
+                continue;
+            }
+            long received = Math.max(0, entry.getValue()[0] - previous[0]);
+            long sent = Math.max(0, entry.getValue()[1] - previous[1]);
+            receivedBytes += received;
+            sentBytes += sent;
+
+            long speedMegabits = readLinkSpeed(entry.getKey());
+            if (speedMegabits > 0) {
+                // the link is full duplex, so the busier direction determines the utilization
+                double bitsPerSecond = Math.max(received, sent) * BITS_PER_BYTE / elapsedSeconds;
+                utilization = Math.max(utilization, bitsPerSecond * ONE_HUNDRED / (speedMegabits * BITS_PER_MEGABIT));
+            }
+        }
+        return new double[]{receivedBytes / elapsedSeconds, sentBytes / elapsedSeconds, utilization};
+    }
+
+    private double[] getDiskMetrics(Map<String, long[]> diskStats, double elapsedSeconds) {
+        long readSectors = 0;
+        long writtenSectors = 0;
+        double utilization = -1;
+        for (Map.Entry<String, long[]> entry : diskStats.entrySet()) {
+            long[] previous = previousDiskStats.get(entry.getKey());
+            if (previous == null || !isWholeDisk(entry.getKey())) {
+                continue;
+            }
+            readSectors += Math.max(0, entry.getValue()[0] - previous[0]);
+            writtenSectors += Math.max(0, entry.getValue()[1] - previous[1]);
+
+            long ioMillis = Math.max(0, entry.getValue()[2] - previous[2]);
+            double busyPercentage = ioMillis * ONE_HUNDRED / (elapsedSeconds * SECONDS.toMillis(1));
+            utilization = Math.max(utilization, Math.min(ONE_HUNDRED, busyPercentage));
+        }
+        return new double[]{
+                readSectors * SECTOR_SIZE_BYTES / elapsedSeconds,
+                writtenSectors * SECTOR_SIZE_BYTES / elapsedSeconds,
+                utilization,
+        };
+    }
+
+    private boolean isWholeDisk(String name) {
+        // partitions are not listed in /sys/block, so they are not counted twice
+        if (name.startsWith("loop") || name.startsWith("ram")) {
+            return false;
+        }
+        return new File(sysDir, "block/" + name).exists();
+    }
+
+    private long readLinkSpeed(String networkInterface) {
+        File speedFile = new File(sysDir, "class/net/" + networkInterface + "/speed");
+        try {
+            // virtual interfaces report an invalid speed or can't be read at all
+            return Long.parseLong(fileAsText(speedFile).trim());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private String readProcFile(String name) {
+        File file = new File(procDir, name);
+        if (!file.canRead()) {
+            return "";
+        }
+        return fileAsText(file);
+    }
+
+    static long[] parseCpuTicks(String stat) {
+        long[] ticks = new long[CPU_COLUMNS];
+        for (String line : stat.split(NEW_LINE)) {
+            String[] columns = line.trim().split("\\s+");
+            if (!"cpu".equals(columns[0])) {
+                continue;
+            }
+            // older kernels don't report all columns
+            for (int i = 0; i < CPU_COLUMNS && i + 1 < columns.length; i++) {
+                ticks[i] = Long.parseLong(columns[i + 1]);
+            }
+            break;
+        }
+        return ticks;
+    }
+
+    static double parseLoadAverage(String loadAverage) {
+        String[] columns = loadAverage.trim().split("\\s+");
+        if (columns.length <= LOAD_AVERAGE_1M || columns[LOAD_AVERAGE_1M].isEmpty()) {
+            return -1;
+        }
+        return Double.parseDouble(columns[LOAD_AVERAGE_1M]);
+    }
+
+    static int parseRunQueue(String loadAverage) {
+        String[] columns = loadAverage.trim().split("\\s+");
+        if (columns.length <= LOAD_RUNNABLE) {
+            return -1;
+        }
+        // the column contains the number of runnable and the total number of scheduling entities, e.g. 3/1234
+        String runnable = columns[LOAD_RUNNABLE];
+        int index = runnable.indexOf('/');
+        return Integer.parseInt(index < 0 ? runnable : runnable.substring(0, index));
+    }
+
+    static Map<String, long[]> parseNetworkBytes(String netDev) {
+        Map<String, long[]> networkBytes = new HashMap<String, long[]>();
+        for (String line : netDev.split(NEW_LINE)) {
+            int index = line.indexOf(':');
+            if (index < 0) {
+                continue;
+            }
+            String name = line.substring(0, index).trim();
+            String[] columns = line.substring(index + 1).trim().split("\\s+");
+            if ("lo".equals(name) || columns.length <= NET_SENT_BYTES) {
+                continue;
+            }
+            networkBytes.put(name, new long[]{
+                    Long.parseLong(columns[NET_RECEIVED_BYTES]),
+                    Long.parseLong(columns[NET_SENT_BYTES]),
+            });
+        }
+        return networkBytes;
+    }
+
+    static Map<String, long[]> parseDiskStats(String diskStats) {
+        Map<String, long[]> stats = new HashMap<String, long[]>();
+        for (String line : diskStats.split(NEW_LINE)) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length <= DISK_IO_TICKS) {
+                continue;
+            }
+            stats.put(columns[DISK_NAME], new long[]{
+                    Long.parseLong(columns[DISK_SECTORS_READ]),
+                    Long.parseLong(columns[DISK_SECTORS_WRITTEN]),
+                    Long.parseLong(columns[DISK_IO_TICKS]),
+            });
+        }
+        return stats;
+    }
+}
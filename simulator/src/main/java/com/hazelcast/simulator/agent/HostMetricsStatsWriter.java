@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.agent;
+
+import java.io.File;
+import java.text.DecimalFormat;
+
+import static com.hazelcast.simulator.utils.FileUtils.appendText;
+import static com.hazelcast.simulator.utils.Preconditions.checkNotNull;
+
+/**
+ * Responsible for writing host metrics to disk in csv format.
+ */
+final class HostMetricsStatsWriter {
+
+    private final File file;
+    private final StringBuffer sb = new StringBuffer();
+    private final DecimalFormat format = new DecimalFormat("#.##");
+
+    public HostMetricsStatsWriter(File file) {
+        this.file = checkNotNull(file, "file can't be null");
+        writeHeader();
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    private void writeHeader() {
+        String columns = "time-millis,timestamp,cpu-user%,cpu-system%,cpu-iowait%,cpu-steal%,cpu-idle%,load-average,run-queue,"
+                + "network-received-bytes/second,network-sent-bytes/second,network-utilization%,"
+                + "disk-read-bytes/second,disk-written-bytes/second,disk-utilization%,warnings\n";
+        appendText(columns, file);
+    }
+
+    public void write(long timeMillis, String timestamp, HostMetrics metrics) {
+        sb.setLength(0);
+        sb.append(timeMillis);
+        sb.append(',').append(timestamp);
+        sb.append(',').append(format.format(metrics.getCpuUser()));
+        sb.append(',').append(format.format(metrics.getCpuSystem()));
+        sb.append(',').append(format.format(metrics.getCpuIoWait()));
+        sb.append(',').append(format.format(metrics.getCpuSteal()));
+        sb.append(',').append(format.format(metrics.getCpuIdle()));
+        sb.append(',').append(format.format(metrics.getLoadAverage()));
+        sb.append(',').append(metrics.getRunQueue());
+        sb.append(',').append(format.format(metrics.getNetworkReceivedBytesPerSecond()));
+        sb.append(',').append(format.format(metrics.getNetworkSentBytesPerSecond()));
+        sb.append(',').append(format.format(metrics.getNetworkUtilization()));
+        sb.append(',').append(format.format(metrics.getDiskReadBytesPerSecond()));
+        sb.append(',').append(format.format(metrics.getDiskWrittenBytesPerSecond()));
+        sb.append(',').append(format.format(metrics.getDiskUtilization()));
+        sb.append(',');
+        String separator = "";
+        for (String warning : metrics.getWarnings()) {
+            sb.append(separator).append(warning);
+            separator = " ";
+        }
+        sb.append('\n');
+        appendText(sb.toString(), file);
+    }
+}
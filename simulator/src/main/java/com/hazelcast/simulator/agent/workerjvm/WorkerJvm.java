@@ -24,17 +24,24 @@ public class WorkerJvm {
     private final SimulatorAddress address;
     private final String id;
     private final File workerHome;
+    private final String testSuiteId;
 
     private volatile long lastSeen = System.currentTimeMillis();
     private volatile boolean oomeDetected;
     private volatile boolean isFinished;
     private volatile Process process;
     private volatile String hzAddress;
+    private volatile WorkerJvmSettings settings;
 
     WorkerJvm(SimulatorAddress address, String id, File workerHome) {
+        this(address, id, workerHome, null);
+    }
+
+    WorkerJvm(SimulatorAddress address, String id, File workerHome, String testSuiteId) {
         this.address = address;
         this.id = id;
         this.workerHome = workerHome;
+        this.testSuiteId = testSuiteId;
     }
 
     public SimulatorAddress getAddress() {
@@ -49,6 +56,16 @@ public class WorkerJvm {
         return workerHome;
     }
 
+    /**
+     * Returns the id of the TestSuite the Worker JVM has been started for, which determines its working directory and
+     * classpath.
+     *
+     * @return the TestSuite id
+     */
+    public String getTestSuiteId() {
+        return testSuiteId;
+    }
+
     public long getLastSeen() {
         return lastSeen;
     }
@@ -92,4 +109,12 @@ public class WorkerJvm {
     public void setHzAddress(String memberAddress) {
         this.hzAddress = memberAddress;
     }
+
+    public WorkerJvmSettings getSettings() {
+        return settings;
+    }
+
+    public void setSettings(WorkerJvmSettings settings) {
+        this.settings = settings;
+    }
 }
@@ -19,17 +19,19 @@ import com.hazelcast.simulator.agent.Agent;
 import com.hazelcast.simulator.agent.SpawnWorkerFailedException;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.operation.WorkerStartupOperation;
 import com.hazelcast.simulator.worker.WorkerType;
 import org.apache.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.simulator.utils.BuildInfoUtils.getHazelcastVersionFromJAR;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.formatAffinity;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.getAffinityCommand;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingFile;
@@ -38,13 +40,16 @@ import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
 import static com.hazelcast.simulator.utils.FileUtils.writeText;
 import static com.hazelcast.simulator.utils.NativeUtils.execute;
 import static com.hazelcast.simulator.utils.jars.HazelcastJARs.directoryForVersionSpec;
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class WorkerJvmLauncher {
 
     public static final String WORKERS_HOME_NAME = "workers";
 
-    private static final int WAIT_FOR_WORKER_STARTUP_INTERVAL_MILLIS = 500;
+    private static final int WAIT_FOR_WORKER_STARTUP_INTERVAL_MILLIS = 50;
+    private static final String WORKER_HOST = "127.0.0.1";
 
     private static final String CLASSPATH = System.getProperty("java.class.path");
     private static final String CLASSPATH_SEPARATOR = System.getProperty("path.separator");
@@ -61,6 +66,9 @@ public class WorkerJvmLauncher {
     private File log4jFile;
     private File testSuiteDir;
 
+    private WorkerStartupOperation startupOperation;
+    private SimulatorAddress workerAddress;
+
     public WorkerJvmLauncher(Agent agent, WorkerJvmManager workerJvmManager, WorkerJvmSettings workerJvmSettings) {
         this.agent = agent;
         this.workerJvmManager = workerJvmManager;
@@ -77,15 +85,36 @@ public class WorkerJvmLauncher {
             LOGGER.info(format("Starting a Java Virtual Machine for %s Worker #%d", type, workerIndex));
 
             LOGGER.info("Spawning Worker JVM using settings: " + workerJvmSettings);
+            long spawnStarted = System.currentTimeMillis();
             WorkerJvm worker = startWorkerJvm();
+            long processStarted = System.currentTimeMillis();
             LOGGER.info(format("Finished starting a JVM for %s Worker #%d", type, workerIndex));
 
             waitForWorkersStartup(worker, workerJvmSettings.getWorkerStartupTimeout());
+            startupOperation = createStartupOperation(worker, spawnStarted, processStarted, System.currentTimeMillis());
         } catch (Exception e) {
             throw new SpawnWorkerFailedException("Failed to start Worker", e);
         }
     }
 
+    /**
+     * Returns the durations of the startup phases of the launched Worker.
+     *
+     * @return the {@link WorkerStartupOperation} or {@code null} if no Worker has been launched
+     */
+    public WorkerStartupOperation getStartupOperation() {
+        return startupOperation;
+    }
+
+    /**
+     * Returns the {@link SimulatorAddress} of the launched Worker, which has been added to the AgentConnector.
+     *
+     * @return the {@link SimulatorAddress} or {@code null} if no Worker has been launched
+     */
+    public SimulatorAddress getWorkerAddress() {
+        return workerAddress;
+    }
+
     private WorkerJvm startWorkerJvm() throws IOException {
         int workerIndex = workerJvmSettings.getWorkerIndex();
         WorkerType type = workerJvmSettings.getWorkerType();
@@ -103,7 +132,8 @@ public class WorkerJvmLauncher {
         log4jFile = ensureExistingFile(workerHome, "log4j.xml");
         writeText(workerJvmSettings.getLog4jConfig(), log4jFile);
 
-        WorkerJvm workerJvm = new WorkerJvm(workerAddress, workerId, workerHome);
+        WorkerJvm workerJvm = new WorkerJvm(workerAddress, workerId, workerHome, agent.getTestSuite().getId());
+        workerJvm.setSettings(workerJvmSettings);
 
         generateWorkerStartScript(workerJvm);
 
@@ -125,17 +155,17 @@ public class WorkerJvmLauncher {
     }
 
     private void waitForWorkersStartup(WorkerJvm worker, int workerTimeoutSec) {
-        int loopCount = (int) TimeUnit.SECONDS.toMillis(workerTimeoutSec) / WAIT_FOR_WORKER_STARTUP_INTERVAL_MILLIS;
-        for (int i = 0; i < loopCount; i++) {
+        long deadline = System.currentTimeMillis() + SECONDS.toMillis(workerTimeoutSec);
+        while (System.currentTimeMillis() < deadline) {
             if (hasExited(worker)) {
                 throw new SpawnWorkerFailedException(format(
                         "Startup of Worker %s on Agent %s failed, check log files in %s for more information!",
                         worker.getAddress(), agent.getPublicAddress(), worker.getWorkerHome()));
             }
 
-            String address = readAddress(worker);
-            if (address != null) {
-                worker.setHzAddress(address);
+            // the Worker writes its address file before it opens its port, so the address is there if the Worker is connected
+            if (connectWorker(worker)) {
+                worker.setHzAddress(readAddress(worker));
                 LOGGER.info(format("Worker %s started", worker.getId()));
                 return;
             }
@@ -148,6 +178,48 @@ public class WorkerJvmLauncher {
                 worker.getAddress(), agent.getPublicAddress(), workerTimeoutSec, worker.getWorkerHome()));
     }
 
+    private boolean connectWorker(WorkerJvm worker) {
+        int workerIndex = workerJvmSettings.getWorkerIndex();
+        int workerPort = agent.getPort() + workerIndex;
+        if (workerJvmSettings.getWorkerType() == WorkerType.INTEGRATION_TEST) {
+            // an integration test Worker has no WorkerConnector, so we just rely on its address file
+            if (!new File(worker.getWorkerHome(), "worker.address").exists()) {
+                return false;
+            }
+            workerAddress = agent.getAgentConnector().addWorker(workerIndex, WORKER_HOST, workerPort);
+            return true;
+        }
+        // the Worker is ready as soon as the AgentConnector can connect to its WorkerConnector
+        workerAddress = agent.getAgentConnector().tryAddWorker(workerIndex, WORKER_HOST, workerPort);
+        return (workerAddress != null);
+    }
+
+    private WorkerStartupOperation createStartupOperation(WorkerJvm worker, long spawnStarted, long processStarted,
+                                                          long workerReady) {
+        long jvmBootMillis = -1;
+        long hazelcastStartupMillis = -1;
+        long connectorStartupMillis = workerReady - processStarted;
+
+        // the startup file contains the timestamps of the Hazelcast instance creation, it's not written by all Worker types
+        File file = new File(worker.getWorkerHome(), "worker.startup");
+        if (file.exists()) {
+            try {
+                String[] timestamps = fileAsText(file).trim().split(",");
+                long hzStartupStarted = parseLong(timestamps[0]);
+                long hzStartupFinished = parseLong(timestamps[1]);
+                jvmBootMillis = hzStartupStarted - processStarted;
+                hazelcastStartupMillis = hzStartupFinished - hzStartupStarted;
+                connectorStartupMillis = workerReady - hzStartupFinished;
+            } catch (Exception e) {
+                LOGGER.warn(format("Could not read startup timestamps of Worker %s", worker.getId()), e);
+            } finally {
+                deleteQuiet(file);
+            }
+        }
+        return new WorkerStartupOperation(worker.getAddress(), workerJvmSettings.getWorkerType(), processStarted - spawnStarted,
+                jvmBootMillis, hazelcastStartupMillis, connectorStartupMillis);
+    }
+
     private String getJavaHome() {
         String javaHome = System.getProperty("java.home");
         if (javaHomePrinted.compareAndSet(false, true)) {
@@ -174,10 +246,27 @@ public class WorkerJvmLauncher {
         script = replaceAll(script, "WORKER_PERFORMANCE_MONITOR_INTERVAL_SECONDS",
                 workerJvmSettings.getPerformanceMonitorIntervalSeconds());
         script = replaceAll(script, "HZ_CONFIG_FILE", hzConfigFile.getAbsolutePath());
+        script = replaceCpuAffinity(script, workerJvm);
 
         writeText(script, startScript);
     }
 
+    private String replaceCpuAffinity(String script, WorkerJvm workerJvm) {
+        String cpuSet = workerJvmSettings.getCpuSet();
+        String numaNode = workerJvmSettings.getNumaNode();
+        String loadThreadCpuSet = workerJvmSettings.getLoadThreadCpuSet();
+        String affinity = formatAffinity(cpuSet, numaNode, loadThreadCpuSet);
+        if (affinity != null) {
+            LOGGER.info(format("Worker %s is pinned to %s", workerJvm.getId(), affinity));
+            if (!script.contains("@CPU_AFFINITY")) {
+                LOGGER.warn(format("The worker script has no @CPU_AFFINITY variable, Worker %s can't be pinned to %s",
+                        workerJvm.getId(), affinity));
+            }
+        }
+        script = replaceAll(script, "CPU_AFFINITY", getAffinityCommand(cpuSet, numaNode));
+        return replaceAll(script, "LOAD_THREAD_CPU_SET", (loadThreadCpuSet == null) ? "" : loadThreadCpuSet);
+    }
+
     private String replaceAll(String script, String variable, Object value) {
         return script.replaceAll("@" + variable, "" + value);
     }
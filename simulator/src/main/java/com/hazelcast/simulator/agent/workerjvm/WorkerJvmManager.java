@@ -38,6 +38,10 @@ public class WorkerJvmManager {
         workerJVMs.put(workerAddress, workerJvm);
     }
 
+    public WorkerJvm get(SimulatorAddress workerAddress) {
+        return workerJVMs.get(workerAddress);
+    }
+
     public Collection<WorkerJvm> getWorkerJVMs() {
         return workerJVMs.values();
     }
@@ -79,7 +83,7 @@ public class WorkerJvmManager {
         spawner.awaitCompletion();
     }
 
-    void shutdown(WorkerJvm workerJvm) {
+    public void shutdown(WorkerJvm workerJvm) {
         workerJVMs.remove(workerJvm.getAddress());
         try {
             // this sends SIGTERM on *nix
@@ -18,6 +18,8 @@ package com.hazelcast.simulator.agent.workerjvm;
 import com.hazelcast.simulator.coordinator.WorkerParameters;
 import com.hazelcast.simulator.worker.WorkerType;
 
+import java.util.Arrays;
+
 import static com.hazelcast.simulator.worker.WorkerType.MEMBER;
 
 /**
@@ -39,6 +41,10 @@ public class WorkerJvmSettings {
 
     private final String workerScript;
 
+    private final String cpuSet;
+    private final String numaNode;
+    private final String loadThreadCpuSet;
+
     public WorkerJvmSettings(int workerIndex, WorkerType workerType, WorkerParameters workerParameters) {
         this(workerIndex, workerType, workerParameters, workerParameters.getHazelcastVersionSpec(),
                 (workerType == MEMBER) ? workerParameters.getMemberJvmOptions() : workerParameters.getClientJvmOptions(),
@@ -47,6 +53,13 @@ public class WorkerJvmSettings {
 
     public WorkerJvmSettings(int workerIndex, WorkerType workerType, WorkerParameters workerParameters,
                              String hazelcastVersionSpec, String jvmOptions, String hazelcastConfig) {
+        this(workerIndex, workerType, workerParameters, hazelcastVersionSpec, jvmOptions, hazelcastConfig, null, null, null);
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    public WorkerJvmSettings(int workerIndex, WorkerType workerType, WorkerParameters workerParameters,
+                             String hazelcastVersionSpec, String jvmOptions, String hazelcastConfig,
+                             String cpuSet, String numaNode, String loadThreadCpuSet) {
         this.workerIndex = workerIndex;
         this.workerType = workerType.name();
         this.hazelcastVersionSpec = hazelcastVersionSpec;
@@ -60,6 +73,30 @@ public class WorkerJvmSettings {
         this.performanceMonitorIntervalSeconds = initPerformanceMonitorIntervalSeconds(workerParameters);
 
         this.workerScript = workerParameters.getWorkerScript();
+
+        this.cpuSet = cpuSet;
+        this.numaNode = numaNode;
+        this.loadThreadCpuSet = loadThreadCpuSet;
+    }
+
+    private WorkerJvmSettings(WorkerJvmSettings settings, int workerIndex, String hazelcastVersionSpec) {
+        this.workerIndex = workerIndex;
+        this.workerType = settings.workerType;
+        this.hazelcastVersionSpec = hazelcastVersionSpec;
+
+        this.jvmOptions = settings.jvmOptions;
+        this.hazelcastConfig = settings.hazelcastConfig;
+        this.log4jConfig = settings.log4jConfig;
+
+        this.autoCreateHzInstance = settings.autoCreateHzInstance;
+        this.workerStartupTimeout = settings.workerStartupTimeout;
+        this.performanceMonitorIntervalSeconds = settings.performanceMonitorIntervalSeconds;
+
+        this.workerScript = settings.workerScript;
+
+        this.cpuSet = settings.cpuSet;
+        this.numaNode = settings.numaNode;
+        this.loadThreadCpuSet = settings.loadThreadCpuSet;
     }
 
     private int initPerformanceMonitorIntervalSeconds(WorkerParameters workerParameters) {
@@ -109,6 +146,96 @@ public class WorkerJvmSettings {
         return workerScript;
     }
 
+    /**
+     * Returns the CPU set the Worker JVM is pinned to, e.g. {@code 0-3,8}.
+     *
+     * @return the CPU set or {@code null} if the Worker JVM is not pinned to a CPU set
+     */
+    public String getCpuSet() {
+        return cpuSet;
+    }
+
+    /**
+     * Returns the NUMA node the Worker JVM is pinned to, which binds its CPUs and memory allocations.
+     *
+     * @return the NUMA node or {@code null} if the Worker JVM is not pinned to a NUMA node
+     */
+    public String getNumaNode() {
+        return numaNode;
+    }
+
+    /**
+     * Returns the CPU set the load generating threads of the Worker are pinned to.
+     *
+     * @return the CPU set or {@code null} if the load generating threads are not pinned
+     */
+    public String getLoadThreadCpuSet() {
+        return loadThreadCpuSet;
+    }
+
+    /**
+     * Creates a copy of these settings for another Worker JVM, e.g. to restart a Worker with a different Hazelcast version.
+     *
+     * @param workerIndex          the index of the new Worker JVM
+     * @param hazelcastVersionSpec the Hazelcast version specification or {@code null} to keep the current one
+     * @return the copied {@link WorkerJvmSettings}
+     */
+    public WorkerJvmSettings copy(int workerIndex, String hazelcastVersionSpec) {
+        return new WorkerJvmSettings(this, workerIndex,
+                (hazelcastVersionSpec == null) ? this.hazelcastVersionSpec : hazelcastVersionSpec);
+    }
+
+    /**
+     * Checks if a running Worker JVM can be reused for these settings in the given TestSuite.
+     *
+     * The working directory and the classpath of a Worker JVM are located in the directory of its TestSuite, so a Worker JVM
+     * is just reused for the same TestSuite id.
+     *
+     * @param workerJvm   the running {@link WorkerJvm}
+     * @param testSuiteId the id of the TestSuite the Worker JVM should be reused for
+     * @return {@code true} if the Worker JVM can be reused, {@code false} otherwise
+     */
+    public boolean isReusableFor(WorkerJvm workerJvm, String testSuiteId) {
+        if (workerJvm == null || testSuiteId == null || !testSuiteId.equals(workerJvm.getTestSuiteId())) {
+            return false;
+        }
+        return isReusableFor(workerJvm.getSettings());
+    }
+
+    /**
+     * Checks if a running Worker JVM, which has been started with the given settings, can be reused for these settings.
+     *
+     * The Worker JVM has to be restarted if any setting differs which is applied during its startup, e.g. the JVM options,
+     * the Hazelcast version or the Hazelcast configuration. The startup timeout is ignored, since it has no effect on a
+     * running Worker.
+     *
+     * @param other the {@link WorkerJvmSettings} of the running Worker JVM
+     * @return {@code true} if the Worker JVM can be reused, {@code false} otherwise
+     */
+    public boolean isReusableFor(WorkerJvmSettings other) {
+        if (other == null) {
+            return false;
+        }
+        return Arrays.equals(getStartupSettings(), other.getStartupSettings());
+    }
+
+    private Object[] getStartupSettings() {
+        return new Object[]{
+                workerIndex,
+                workerType,
+                hazelcastVersionSpec,
+                jvmOptions,
+                hazelcastConfig,
+                log4jConfig,
+                autoCreateHzInstance,
+                performanceMonitorIntervalSeconds,
+                workerScript,
+                cpuSet,
+                numaNode,
+                loadThreadCpuSet,
+        };
+    }
+
     @Override
     public String toString() {
         return "WorkerJvmSettings{"
@@ -121,6 +248,9 @@ public class WorkerJvmSettings {
                 + ", workerStartupTimeout=" + workerStartupTimeout
                 + ", performanceMonitorIntervalSeconds=" + performanceMonitorIntervalSeconds
                 + ", workerScript='" + workerScript + '\''
+                + ", cpuSet='" + cpuSet + '\''
+                + ", numaNode='" + numaNode + '\''
+                + ", loadThreadCpuSet='" + loadThreadCpuSet + '\''
                 + '}';
     }
 }
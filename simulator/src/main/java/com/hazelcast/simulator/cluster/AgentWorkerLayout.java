@@ -25,8 +25,11 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.formatAffinity;
+
 /**
  * The layout of workers for a given Simulator Agent.
  */
@@ -68,6 +71,23 @@ public final class AgentWorkerLayout {
         return hazelcastVersionSpecs;
     }
 
+    /**
+     * Returns the CPU affinities of the Workers, to record them in the cluster layout.
+     *
+     * @return a sorted {@link Set} of the CPU affinities per {@link WorkerType}, which is empty if no Worker is pinned
+     */
+    public Set<String> getCpuAffinities() {
+        Set<String> cpuAffinities = new TreeSet<String>();
+        for (WorkerJvmSettings workerJvmSettings : workerJvmSettingsList) {
+            String affinity = formatAffinity(workerJvmSettings.getCpuSet(), workerJvmSettings.getNumaNode(),
+                    workerJvmSettings.getLoadThreadCpuSet());
+            if (affinity != null) {
+                cpuAffinities.add(workerJvmSettings.getWorkerType() + " (" + affinity + ')');
+            }
+        }
+        return cpuAffinities;
+    }
+
     void setAgentWorkerMode(AgentWorkerMode agentWorkerMode) {
         this.agentWorkerMode = agentWorkerMode;
     }
@@ -84,7 +104,10 @@ public final class AgentWorkerLayout {
                         parameters,
                         workerConfiguration.getHzVersion(),
                         workerConfiguration.getJvmOptions(),
-                        workerConfiguration.getHzConfig()));
+                        workerConfiguration.getHzConfig(),
+                        workerConfiguration.getCpuSet(),
+                        workerConfiguration.getNumaNode(),
+                        workerConfiguration.getLoadThreadCpuSet()));
     }
 
     void addWorker(WorkerType type, WorkerParameters parameters) {
@@ -95,6 +118,16 @@ public final class AgentWorkerLayout {
                         parameters));
     }
 
+    AgentWorkerLayout copy(int workerIndexOffset, String hazelcastVersionSpec) {
+        AgentWorkerLayout agentWorkerLayout = new AgentWorkerLayout(agentData, agentWorkerMode);
+        for (WorkerJvmSettings workerJvmSettings : workerJvmSettingsList) {
+            int workerIndex = workerJvmSettings.getWorkerIndex() + workerIndexOffset;
+            agentWorkerLayout.workerJvmSettingsList.add(workerJvmSettings.copy(workerIndex, hazelcastVersionSpec));
+        }
+        agentWorkerLayout.currentWorkerIndex.set(currentWorkerIndex.get() + workerIndexOffset);
+        return agentWorkerLayout;
+    }
+
     int getCount(WorkerType type) {
         int count = 0;
         for (WorkerJvmSettings workerJvmSettings : workerJvmSettingsList) {
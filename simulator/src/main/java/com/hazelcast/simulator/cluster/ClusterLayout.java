@@ -59,6 +59,7 @@ public class ClusterLayout {
         LOGGER.info(format("Created via %s: ", layoutType));
         for (AgentWorkerLayout agentWorkerLayout : agentWorkerLayouts) {
             Set<String> agentHazelcastVersionSpecs = agentWorkerLayout.getHazelcastVersionSpecs();
+            Set<String> agentCpuAffinities = agentWorkerLayout.getCpuAffinities();
             int agentMemberWorkerCount = agentWorkerLayout.getCount(WorkerType.MEMBER);
             int agentClientWorkerCount = agentWorkerLayout.getCount(WorkerType.CLIENT);
             int totalWorkerCount = agentMemberWorkerCount + agentClientWorkerCount;
@@ -81,7 +82,7 @@ public class ClusterLayout {
                     formatLong(agentClientWorkerCount, 2),
                     padLeft(agentWorkerLayout.getAgentWorkerMode().toString(), WORKER_MODE_LENGTH),
                     agentHazelcastVersionSpecs
-            ));
+            ) + (agentCpuAffinities.isEmpty() ? "" : ", CPU affinity: " + agentCpuAffinities));
         }
     }
 
@@ -103,6 +104,33 @@ public class ClusterLayout {
         return clusterLayout;
     }
 
+    /**
+     * Creates a copy of this cluster layout to restart all Workers, e.g. with a different Hazelcast version.
+     *
+     * The Workers of each restart get new worker indexes, so their addresses, ports and directories don't clash with the
+     * Workers which have been started before.
+     *
+     * @param restart              the number of the restart, which defines the offset of the worker indexes
+     * @param hazelcastVersionSpec the Hazelcast version specification of all Workers or {@code null} to keep the configured ones
+     * @return the copied {@link ClusterLayout}
+     */
+    public ClusterLayout copy(int restart, String hazelcastVersionSpec) {
+        int maxWorkerCount = 0;
+        for (AgentWorkerLayout agentWorkerLayout : agentWorkerLayouts) {
+            maxWorkerCount = Math.max(maxWorkerCount, agentWorkerLayout.getWorkerJvmSettings().size());
+        }
+
+        ClusterLayout clusterLayout = new ClusterLayout();
+        for (AgentWorkerLayout agentWorkerLayout : agentWorkerLayouts) {
+            AgentWorkerLayout copy = agentWorkerLayout.copy(restart * maxWorkerCount, hazelcastVersionSpec);
+            clusterLayout.versionSpecs.addAll(copy.getHazelcastVersionSpecs());
+            clusterLayout.agentWorkerLayouts.add(copy);
+        }
+        clusterLayout.memberWorkerCount = memberWorkerCount;
+        clusterLayout.clientWorkerCount = clientWorkerCount;
+        return clusterLayout;
+    }
+
     public Set<String> getVersionSpecs() {
         return versionSpecs;
     }
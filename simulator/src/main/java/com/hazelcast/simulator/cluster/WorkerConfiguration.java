@@ -35,12 +35,29 @@ class WorkerConfiguration {
     @XStreamAsAttribute
     private final String jvmOptions;
 
+    @XStreamAsAttribute
+    private final String cpuSet;
+
+    @XStreamAsAttribute
+    private final String numaNode;
+
+    @XStreamAsAttribute
+    private final String loadThreadCpuSet;
+
     WorkerConfiguration(String name, WorkerType type, String hzVersion, String hzConfig, String jvmOptions) {
+        this(name, type, hzVersion, hzConfig, jvmOptions, null, null, null);
+    }
+
+    WorkerConfiguration(String name, WorkerType type, String hzVersion, String hzConfig, String jvmOptions, String cpuSet,
+                        String numaNode, String loadThreadCpuSet) {
         this.name = name;
         this.type = type.name();
         this.hzVersion = hzVersion;
         this.hzConfig = hzConfig;
         this.jvmOptions = jvmOptions;
+        this.cpuSet = cpuSet;
+        this.numaNode = numaNode;
+        this.loadThreadCpuSet = loadThreadCpuSet;
     }
 
     String getName() {
@@ -62,4 +79,16 @@ class WorkerConfiguration {
     String getJvmOptions() {
         return jvmOptions;
     }
+
+    String getCpuSet() {
+        return cpuSet;
+    }
+
+    String getNumaNode() {
+        return numaNode;
+    }
+
+    String getLoadThreadCpuSet() {
+        return loadThreadCpuSet;
+    }
 }
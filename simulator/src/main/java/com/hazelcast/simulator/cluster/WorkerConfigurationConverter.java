@@ -29,6 +29,7 @@ import java.io.File;
 
 import static com.hazelcast.simulator.coordinator.WorkerParameters.initClientHzConfig;
 import static com.hazelcast.simulator.coordinator.WorkerParameters.initMemberHzConfig;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.checkCpuList;
 import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
 import static com.hazelcast.simulator.utils.FileUtils.newFile;
 import static com.hazelcast.simulator.worker.WorkerType.MEMBER;
@@ -68,6 +69,15 @@ public class WorkerConfigurationConverter implements Converter {
         writer.addAttribute("hzVersion", workerConfiguration.getHzVersion());
         writer.addAttribute("hzConfigFile", workerConfiguration.getHzConfig());
         writer.addAttribute("jvmOptions", workerConfiguration.getJvmOptions());
+        addOptionalAttribute(writer, "cpuSet", workerConfiguration.getCpuSet());
+        addOptionalAttribute(writer, "numaNode", workerConfiguration.getNumaNode());
+        addOptionalAttribute(writer, "loadThreadCpuSet", workerConfiguration.getLoadThreadCpuSet());
+    }
+
+    private static void addOptionalAttribute(HierarchicalStreamWriter writer, String name, String value) {
+        if (value != null) {
+            writer.addAttribute(name, value);
+        }
     }
 
     @Override
@@ -78,6 +88,9 @@ public class WorkerConfigurationConverter implements Converter {
         String hzConfig = reader.getAttribute("hzConfig");
         String hzConfigFile = reader.getAttribute("hzConfigFile");
         String jvmOptions = reader.getAttribute("jvmOptions");
+        String cpuSet = checkCpuList(reader.getAttribute("cpuSet"), "cpuSet");
+        String numaNode = checkCpuList(reader.getAttribute("numaNode"), "numaNode");
+        String loadThreadCpuSet = checkCpuList(reader.getAttribute("loadThreadCpuSet"), "loadThreadCpuSet");
 
         WorkerType workerType = WorkerType.valueOf(type);
         if (hzVersion == null) {
@@ -88,7 +101,7 @@ public class WorkerConfigurationConverter implements Converter {
             jvmOptions = getDefaultJvmOptions(workerType);
         }
 
-        return new WorkerConfiguration(name, workerType, hzVersion, hzConfig, jvmOptions);
+        return new WorkerConfiguration(name, workerType, hzVersion, hzConfig, jvmOptions, cpuSet, numaNode, loadThreadCpuSet);
     }
 
     private String getHzConfig(String hzConfig, String hzConfigFile, WorkerType workerType) {
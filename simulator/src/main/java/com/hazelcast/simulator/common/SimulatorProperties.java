@@ -30,6 +30,7 @@ import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
 import static com.hazelcast.simulator.utils.FileUtils.newFile;
 import static com.hazelcast.simulator.utils.jars.HazelcastJARs.GIT_VERSION_PREFIX;
 import static com.hazelcast.simulator.utils.jars.HazelcastJARs.OUT_OF_THE_BOX;
+import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
 
@@ -141,6 +142,10 @@ public class SimulatorProperties {
         return getWorkerPingIntervalSeconds() * WORKER_TIMEOUT_FACTOR;
     }
 
+    public int getWorkerStartupParallelism() {
+        return parseInt(get("WORKER_STARTUP_PARALLELISM", "0"));
+    }
+
     public int getMemberWorkerShutdownDelaySeconds() {
         return parseInt(get("MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS", "5"));
     }
@@ -165,6 +170,14 @@ public class SimulatorProperties {
         return parseInt(get("HAZELCAST_PORT_RANGE_SIZE", "50"));
     }
 
+    public int getUploadParallelism() {
+        return parseInt(get("UPLOAD_PARALLELISM", "8"));
+    }
+
+    public boolean isUploadCompressionEnabled() {
+        return parseBoolean(get("UPLOAD_COMPRESSION", "false"));
+    }
+
     public String getCloudProvider() {
         return get(PROPERTY_CLOUD_PROVIDER);
     }
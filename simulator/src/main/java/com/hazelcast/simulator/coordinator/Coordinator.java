@@ -17,6 +17,7 @@ package com.hazelcast.simulator.coordinator;
 
 import com.hazelcast.simulator.cluster.ClusterLayout;
 import com.hazelcast.simulator.common.SimulatorProperties;
+import com.hazelcast.simulator.probes.Result;
 import com.hazelcast.simulator.protocol.connector.CoordinatorConnector;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.operation.OperationTypeCounter;
@@ -31,10 +32,12 @@ import com.hazelcast.simulator.test.TestSuite;
 import com.hazelcast.simulator.utils.Bash;
 import com.hazelcast.simulator.utils.CommandLineExitException;
 import com.hazelcast.simulator.utils.ThreadSpawner;
+import com.hazelcast.simulator.utils.UploadCache;
 import com.hazelcast.simulator.utils.jars.HazelcastJARs;
 import org.apache.log4j.Logger;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -61,6 +64,7 @@ import static com.hazelcast.simulator.utils.FormatUtils.secondsToHuman;
 import static com.hazelcast.simulator.utils.NativeUtils.execute;
 import static com.hazelcast.simulator.utils.jars.HazelcastJARs.OUT_OF_THE_BOX;
 import static java.lang.String.format;
+import static java.util.Collections.singleton;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 public final class Coordinator {
@@ -85,13 +89,16 @@ public final class Coordinator {
 
     private final SimulatorProperties simulatorProperties;
     private final Bash bash;
+    private final UploadCache uploadCache;
 
     private final ClusterLayout clusterLayout;
+    private final VersionComparison versionComparison;
     private final HazelcastJARs hazelcastJARs;
     private final TestPhase lastTestPhaseToSync;
 
     private RemoteClient remoteClient;
     private CoordinatorConnector coordinatorConnector;
+    private volatile boolean workersDetached;
 
     public Coordinator(TestSuite testSuite, ComponentRegistry componentRegistry, CoordinatorParameters coordinatorParameters,
                        WorkerParameters workerParameters, ClusterLayoutParameters clusterLayoutParameters) {
@@ -111,9 +118,12 @@ public final class Coordinator {
 
         this.simulatorProperties = coordinatorParameters.getSimulatorProperties();
         this.bash = new Bash(simulatorProperties);
+        this.uploadCache = new UploadCache(bash, simulatorProperties);
 
         this.clusterLayout = clusterLayout;
-        this.hazelcastJARs = HazelcastJARs.newInstance(bash, simulatorProperties, clusterLayout.getVersionSpecs());
+        this.versionComparison = coordinatorParameters.getVersionComparison();
+        this.hazelcastJARs = HazelcastJARs.newInstance(bash, simulatorProperties, (versionComparison == null)
+                ? clusterLayout.getVersionSpecs() : versionComparison.getVersionSpecs(clusterLayout), uploadCache);
         this.lastTestPhaseToSync = coordinatorParameters.getLastTestPhaseToSync();
 
         logConfiguration();
@@ -166,6 +176,11 @@ public final class Coordinator {
         echoLocal("Total number of Hazelcast member workers: %s", clusterLayout.getMemberWorkerCount());
         echoLocal("Total number of Hazelcast client workers: %s", clusterLayout.getClientWorkerCount());
         echoLocal("Last TestPhase to sync: %s", lastTestPhaseToSync);
+        echoLocal("Reuse Agents and Workers: %s", coordinatorParameters.isReuseWorkers());
+        if (versionComparison != null) {
+            echoLocal("Comparing version A (%s) with version B (%s) in %d rounds", versionComparison.getVersionSpecA(),
+                    versionComparison.getVersionSpecB(), versionComparison.getRounds());
+        }
 
         boolean performanceEnabled = workerParameters.isMonitorPerformance();
         int performanceIntervalSeconds = workerParameters.getWorkerPerformanceMonitorIntervalSeconds();
@@ -178,10 +193,10 @@ public final class Coordinator {
             uploadFiles();
 
             try {
-                startAgents(LOGGER, bash, simulatorProperties, componentRegistry);
+                startAgents(LOGGER, bash, simulatorProperties, componentRegistry, coordinatorParameters.isReuseWorkers());
                 startCoordinatorConnector();
                 startRemoteClient();
-                startWorkers();
+                startWorkers(clusterLayout, true);
 
                 runTestSuite();
             } catch (CommandLineExitException e) {
@@ -197,28 +212,34 @@ public final class Coordinator {
                         echo("Shutdown of ClientConnector...");
                         coordinatorConnector.shutdown();
                     }
-                    stopAgents(LOGGER, bash, simulatorProperties, componentRegistry);
+                    if (workersDetached) {
+                        echo("Agents and Workers are kept alive to be reused by the next run");
+                    } else {
+                        stopAgents(LOGGER, bash, simulatorProperties, componentRegistry);
+                    }
                 }
             }
         } finally {
             if (hazelcastJARs != null) {
                 hazelcastJARs.shutdown();
             }
+            uploadCache.shutdown();
             moveLogFiles();
             OperationTypeCounter.printStatistics();
         }
     }
 
     void uploadFiles() {
-        if (isLocal(simulatorProperties)) {
-            if (!simulatorProperties.getHazelcastVersionSpec().equals(OUT_OF_THE_BOX)) {
-                throw new CommandLineExitException("Local mode doesn't support custom Hazelcast versions!");
-            }
-            return;
+        boolean isLocal = isLocal(simulatorProperties);
+        if (isLocal && (!simulatorProperties.getHazelcastVersionSpec().equals(OUT_OF_THE_BOX) || versionComparison != null)) {
+            throw new CommandLineExitException("Local mode doesn't support custom Hazelcast versions!");
         }
-        Uploader uploader = new Uploader(bash, componentRegistry, clusterLayout, hazelcastJARs,
-                coordinatorParameters.isUploadHazelcastJARs(), coordinatorParameters.isEnterpriseEnabled(),
-                coordinatorParameters.getWorkerClassPath(), testSuite.getId());
+        // in local mode the Hazelcast JARs are used directly from the Simulator home
+        boolean uploadHazelcastJARs = coordinatorParameters.isUploadHazelcastJARs() && !isLocal;
+        Uploader uploader = new Uploader(uploadCache, componentRegistry, clusterLayout, hazelcastJARs,
+                uploadHazelcastJARs, coordinatorParameters.isEnterpriseEnabled(),
+                coordinatorParameters.getWorkerClassPath(), testSuite.getId(), (versionComparison == null)
+                ? Collections.<String>emptySet() : singleton(versionComparison.getVersionSpecB()));
         uploader.run();
     }
 
@@ -252,12 +273,14 @@ public final class Coordinator {
                 componentRegistry,
                 workerPingIntervalMillis,
                 shutdownDelaySeconds,
-                coordinatorParameters.getWorkerVmStartupDelayMs()
+                coordinatorParameters.getWorkerVmStartupDelayMs(),
+                simulatorProperties.getWorkerStartupParallelism(),
+                coordinatorParameters.isReuseWorkers()
         );
         remoteClient.initTestSuite(testSuite);
     }
 
-    private void startWorkers() {
+    private void startWorkers(ClusterLayout workerClusterLayout, boolean startPingThread) {
         try {
             long started = System.nanoTime();
 
@@ -265,10 +288,13 @@ public final class Coordinator {
             echo("Starting Workers...");
             echo(HORIZONTAL_RULER);
 
-            int totalWorkerCount = clusterLayout.getTotalWorkerCount();
-            echo("Starting %d Workers (%d members, %d clients)...", totalWorkerCount, clusterLayout.getMemberWorkerCount(),
-                    clusterLayout.getClientWorkerCount());
-            remoteClient.createWorkers(clusterLayout, true);
+            int totalWorkerCount = workerClusterLayout.getTotalWorkerCount();
+            echo("Starting %d Workers (%d members, %d clients)...", totalWorkerCount,
+                    workerClusterLayout.getMemberWorkerCount(), workerClusterLayout.getClientWorkerCount());
+            remoteClient.createWorkers(workerClusterLayout, startPingThread);
+            if (coordinatorConnector != null) {
+                coordinatorConnector.getWorkerStartupContainer().logStartupInfo();
+            }
 
             if (componentRegistry.workerCount() > 0) {
                 WorkerData firstWorker = componentRegistry.getFirstWorker();
@@ -289,6 +315,10 @@ public final class Coordinator {
         try {
             int testCount = testSuite.size();
             boolean isParallel = (coordinatorParameters.isParallel() && testCount > 1);
+            if (isParallel && (testSuite.isParameterSweep() || versionComparison != null)) {
+                LOGGER.warn("Running the tests sequentially, since parallel tests would influence the compared results");
+                isParallel = false;
+            }
             int maxTestCaseIdLength = testSuite.getMaxTestCaseIdLength();
             Map<TestPhase, CountDownLatch> testPhaseSyncMap = getTestPhaseSyncMap(testCount, isParallel, lastTestPhaseToSync);
 
@@ -308,27 +338,40 @@ public final class Coordinator {
             if (isParallel) {
                 runParallel();
             } else {
-                runSequential(testCount);
+                runSequential();
             }
             echoTestSuiteEnd(testCount, started);
         } finally {
-            int runningWorkerCount = componentRegistry.workerCount();
-            echo("Terminating %d Workers...", runningWorkerCount);
-            remoteClient.terminateWorkers(true);
-
-            int waitForWorkerShutdownTimeoutSeconds = simulatorProperties.getWaitForWorkerShutdownTimeoutSeconds();
-            if (!failureContainer.waitForWorkerShutdown(runningWorkerCount, waitForWorkerShutdownTimeoutSeconds)) {
-                Set<SimulatorAddress> finishedWorkers = failureContainer.getFinishedWorkers();
-                LOGGER.warn(format("Unfinished workers: %s", componentRegistry.getMissingWorkers(finishedWorkers).toString()));
+            if (coordinatorParameters.isReuseWorkers() && !failureContainer.hasCriticalFailure()) {
+                echo("Detaching from %d Workers...", componentRegistry.workerCount());
+                remoteClient.detachWorkers();
+                workersDetached = true;
+            } else {
+                terminateWorkers(true);
             }
 
             performanceStateContainer.logDetailedPerformanceInfo(testSuite.getDurationSeconds());
-            for (TestCase testCase : testSuite.getTestCaseList()) {
-                testHistogramContainer.createProbeResults(testSuite.getId(), testCase.getId());
+            Map<String, Result> results = testHistogramContainer.createProbeResults(testSuite);
+            if (versionComparison != null) {
+                VersionComparisonReport.write(versionComparison, testSuite.getId(), results);
             }
         }
     }
 
+    private void terminateWorkers(boolean stopPingThread) {
+        int runningWorkerCount = componentRegistry.workerCount();
+        // the Workers of previous runs have already finished, so we have to wait for them as well
+        int expectedWorkerCount = failureContainer.getFinishedWorkers().size() + runningWorkerCount;
+        echo("Terminating %d Workers...", runningWorkerCount);
+        remoteClient.terminateWorkers(stopPingThread);
+
+        int waitForWorkerShutdownTimeoutSeconds = simulatorProperties.getWaitForWorkerShutdownTimeoutSeconds();
+        if (!failureContainer.waitForWorkerShutdown(expectedWorkerCount, waitForWorkerShutdownTimeoutSeconds)) {
+            Set<SimulatorAddress> finishedWorkers = failureContainer.getFinishedWorkers();
+            LOGGER.warn(format("Unfinished workers: %s", componentRegistry.getMissingWorkers(finishedWorkers).toString()));
+        }
+    }
+
     private void logTestSuiteDuration(boolean isParallel) {
         int testDuration = testSuite.getDurationSeconds();
         if (testDuration > 0) {
@@ -361,24 +404,34 @@ public final class Coordinator {
         spawner.awaitCompletion();
     }
 
-    private void runSequential(int testCount) {
-        int testIndex = 0;
-        for (TestPhaseListener testCaseRunner : testPhaseListeners.getListeners()) {
-            ((TestCaseRunner) testCaseRunner).run();
+    private void runSequential() {
+        boolean isRestartRequired = false;
+        for (TestPhaseListener testPhaseListener : testPhaseListeners.getListeners()) {
+            TestCaseRunner testCaseRunner = (TestCaseRunner) testPhaseListener;
+            String testCaseId = testCaseRunner.getTestCaseId();
+            if (versionComparison != null && (isRestartRequired || versionComparison.isRestartRequired(testCaseId))) {
+                // every run of a version comparison is executed on fresh Workers with the version and worker indexes of the run
+                ClusterLayout runClusterLayout = versionComparison.getClusterLayout(clusterLayout, testCaseId);
+                echo("Restarting Workers with Hazelcast version specs %s for %s", runClusterLayout.getVersionSpecs(), testCaseId);
+                terminateWorkers(false);
+                startWorkers(runClusterLayout, false);
+            } else if (isRestartRequired) {
+                startWorkers(clusterLayout, false);
+            }
+            testCaseRunner.run();
             boolean hasCriticalFailure = failureContainer.hasCriticalFailure();
             if (hasCriticalFailure && testSuite.isFailFast()) {
                 echo("Aborting TestSuite due to critical failure");
                 break;
             }
-            // restart Workers if needed, but not after last test
-            if ((hasCriticalFailure || coordinatorParameters.isRefreshJvm()) && ++testIndex < testCount) {
-                startWorkers();
-            }
+            // restart Workers if needed, which is done before the next test, so never after the last test
+            isRestartRequired = hasCriticalFailure || coordinatorParameters.isRefreshJvm();
         }
     }
 
     private void moveLogFiles() {
-        if (isLocal(simulatorProperties)) {
+        // the files of reused Agents and Workers are still in use, so they are moved by the last run
+        if (isLocal(simulatorProperties) && !workersDetached) {
             File targetDirectory = ensureExistingDirectory(new File("."), WORKERS_HOME_NAME);
 
             String targetPath = targetDirectory.getAbsolutePath();
@@ -124,6 +124,11 @@ final class CoordinatorCli {
             "Defines if the Worker JVMs should be restarted after every test (in serial execution).")
             .withRequiredArg().ofType(Boolean.class).defaultsTo(false);
 
+    private final OptionSpec reuseWorkersSpec = parser.accepts("reuseWorkers",
+            "If defined the Agents and Worker JVMs are kept alive after the TestSuite, so the next Coordinator run can reuse"
+                    + " them. The Workers are reset before they are reused, only Workers with changed settings are restarted."
+                    + " Workers are just reused by a TestSuite with the same --testSuiteId.");
+
     private final OptionSpec<Boolean> failFastSpec = parser.accepts("failFast",
             "Defines if the TestSuite should fail immediately when a test from a TestSuite fails instead of continuing.")
             .withRequiredArg().ofType(Boolean.class).defaultsTo(true);
@@ -191,6 +196,18 @@ final class CoordinatorCli {
                     + "You can specify custom repositories in 'simulator.properties'.")
             .withRequiredArg().ofType(String.class);
 
+    private final OptionSpec<String> compareVersionSpecSpec = parser.accepts("compareVersionSpec",
+            "Runs an A/B comparison of the Hazelcast version of the cluster layout (A) with the given version spec (B), e.g."
+                    + NEW_LINE
+                    + "     --compareVersionSpec maven=3.7.1    to compare the configured version with Hazelcast 3.7.1" + NEW_LINE
+                    + "The TestSuite is run alternately on both versions on fresh Worker JVMs on the same agents. The"
+                    + " differences of the throughput and latencies are reported with their confidence intervals.")
+            .withRequiredArg().ofType(String.class);
+
+    private final OptionSpec<Integer> compareRoundsSpec = parser.accepts("compareRounds",
+            "Defines how often the TestSuite is run on each version for --compareVersionSpec.")
+            .withRequiredArg().ofType(Integer.class).defaultsTo(3);
+
     private final OptionSpec<Boolean> uploadHazelcastJARsSpec = parser.accepts("uploadHazelcastJARs",
             "Defines if the Hazelcast JARs should be uploaded.")
             .withRequiredArg().ofType(Boolean.class).defaultsTo(true);
@@ -228,6 +245,11 @@ final class CoordinatorCli {
             simulatorProperties.forceGit(options.valueOf(cli.gitSpec));
         }
 
+        VersionComparison versionComparison = getVersionComparison(cli, options, simulatorProperties);
+        if (versionComparison != null) {
+            testSuite = versionComparison.createTestSuite(testSuite);
+        }
+
         ComponentRegistry componentRegistry = getComponentRegistry(cli, options, testSuite, simulatorProperties);
 
         CoordinatorParameters coordinatorParameters = new CoordinatorParameters(
@@ -241,7 +263,9 @@ final class CoordinatorCli {
                 options.valueOf(cli.targetTypeSpec),
                 options.valueOf(cli.targetCountSpec),
                 options.valueOf(cli.syncToTestPhaseSpec),
-                options.valueOf(cli.workerVmStartupDelayMsSpec)
+                options.valueOf(cli.workerVmStartupDelayMsSpec),
+                isReuseWorkers(cli, options),
+                versionComparison
         );
 
         String memberHzConfig = loadMemberHzConfig(options, cli);
@@ -280,6 +304,35 @@ final class CoordinatorCli {
         return new Coordinator(testSuite, componentRegistry, coordinatorParameters, workerParameters, clusterLayoutParameters);
     }
 
+    private static boolean isReuseWorkers(CoordinatorCli cli, OptionSet options) {
+        if (!options.has(cli.reuseWorkersSpec)) {
+            return false;
+        }
+        if (options.has(cli.workerClassPathSpec)) {
+            // the uploaded classes are just on the classpath of Worker JVMs which are started for the new TestSuite
+            LOGGER.warn("--reuseWorkers is ignored, since it cannot be combined with --workerClassPath");
+            return false;
+        }
+        return true;
+    }
+
+    private static VersionComparison getVersionComparison(CoordinatorCli cli, OptionSet options,
+                                                          SimulatorProperties simulatorProperties) {
+        if (!options.has(cli.compareVersionSpecSpec)) {
+            return null;
+        }
+        if (options.valueOf(cli.workerRefreshSpec)) {
+            throw new CommandLineExitException("--compareVersionSpec can't be combined with --workerRefresh,"
+                    + " since every run of a version comparison is already executed on fresh Workers");
+        }
+        try {
+            return new VersionComparison(simulatorProperties.getHazelcastVersionSpec(),
+                    options.valueOf(cli.compareVersionSpecSpec), options.valueOf(cli.compareRoundsSpec));
+        } catch (IllegalArgumentException e) {
+            throw new CommandLineExitException("Invalid --compareVersionSpec: " + e.getMessage(), e);
+        }
+    }
+
     private static TestSuite getTestSuite(CoordinatorCli cli, OptionSet options) {
         int durationSeconds = getDurationSeconds(options, cli);
         boolean hasWaitForTestCase = options.has(cli.waitForTestCaseSpec);
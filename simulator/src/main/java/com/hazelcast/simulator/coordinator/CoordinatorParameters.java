@@ -38,11 +38,14 @@ class CoordinatorParameters {
 
     private final TestPhase lastTestPhaseToSync;
     private final int workerVmStartupDelayMs;
+    private final boolean reuseWorkers;
+    private final VersionComparison versionComparison;
 
     @SuppressWarnings("checkstyle:parameternumber")
     CoordinatorParameters(SimulatorProperties properties, String workerClassPath, boolean uploadHazelcastJARs,
                           boolean enterpriseEnabled, boolean verifyEnabled, boolean parallel, boolean refreshJvm,
-                          TargetType targetType, int targetCount, TestPhase lastTestPhaseToSync, int workerVmStartupDelayMs) {
+                          TargetType targetType, int targetCount, TestPhase lastTestPhaseToSync, int workerVmStartupDelayMs,
+                          boolean reuseWorkers, VersionComparison versionComparison) {
         this.simulatorProperties = properties;
         this.workerClassPath = workerClassPath;
 
@@ -57,6 +60,8 @@ class CoordinatorParameters {
 
         this.lastTestPhaseToSync = lastTestPhaseToSync;
         this.workerVmStartupDelayMs = workerVmStartupDelayMs;
+        this.reuseWorkers = reuseWorkers;
+        this.versionComparison = versionComparison;
     }
 
     public int getWorkerVmStartupDelayMs() {
@@ -91,6 +96,14 @@ class CoordinatorParameters {
         return refreshJvm;
     }
 
+    boolean isReuseWorkers() {
+        return reuseWorkers;
+    }
+
+    VersionComparison getVersionComparison() {
+        return versionComparison;
+    }
+
     TargetType getTargetType(boolean hasClientWorkers) {
         return targetType.resolvePreferClient(hasClientWorkers);
     }
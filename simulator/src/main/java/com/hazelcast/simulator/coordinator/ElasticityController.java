@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.agent.workerjvm.WorkerJvmSettings;
+import com.hazelcast.simulator.coordinator.ElasticityProfile.Action;
+import com.hazelcast.simulator.coordinator.ElasticityProfile.Event;
+import com.hazelcast.simulator.coordinator.ElasticityReport.EventResult;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.operation.ChaosMonkeyOperation;
+import com.hazelcast.simulator.protocol.operation.TerminateWorkerOperation;
+import com.hazelcast.simulator.protocol.registry.AgentData;
+import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
+import com.hazelcast.simulator.protocol.registry.TargetType;
+import com.hazelcast.simulator.protocol.registry.WorkerData;
+import com.hazelcast.simulator.test.TestCase;
+import com.hazelcast.simulator.test.TestSuite;
+import com.hazelcast.simulator.worker.performance.PerformanceState;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Executes the membership changes of an {@link ElasticityProfile} while a Simulator Test is running.
+ *
+ * Additional member Workers are created as elastic Workers, which just host a Hazelcast member and don't execute the test.
+ * Removed members are either elastic Workers or member Workers which don't execute the RUN phase, the first Worker is never
+ * removed. The removed member Workers are not restarted, so they are only removed if no other test runs on the cluster
+ * afterwards, which means the test is the last one of a sequentially run test suite and the Workers are not reused. Otherwise
+ * just elastic Workers are removed.
+ *
+ * After each membership change a member Worker is polled until the cluster has the expected size and is safe, so the migration
+ * completion time can be measured. If the test runs with a target rate, the {@link TargetRateController} is updated with the
+ * number of Workers which still execute the RUN phase after each membership change.
+ *
+ * The performance of the test is collected in intervals of the performance monitor. When the controller is stopped, the
+ * remaining elastic Workers are shut down and an {@link ElasticityReport} is written.
+ */
+final class ElasticityController implements PerformanceStateListener {
+
+    private static final int CLUSTER_SAFE_TIMEOUT_SECONDS = 300;
+    private static final int WORKER_REMOVAL_TIMEOUT_SECONDS = 120;
+    private static final int SLEEP_INTERVAL_MILLIS = 100;
+
+    private static final Logger LOGGER = Logger.getLogger(ElasticityController.class);
+
+    private final ConcurrentMap<Integer, Interval> intervals = new ConcurrentHashMap<Integer, Interval>();
+    private final List<EventResult> eventResults = Collections.synchronizedList(new ArrayList<EventResult>());
+    private final LinkedList<SimulatorAddress> elasticWorkers = new LinkedList<SimulatorAddress>();
+
+    private final String testSuiteId;
+    private final String testCaseId;
+    private final ElasticityProfile profile;
+    private final TargetType targetType;
+    private final List<String> targetWorkers;
+    private final boolean isMemberRemovalAllowed;
+
+    private final RemoteClient remoteClient;
+    private final ComponentRegistry componentRegistry;
+    private final FailureContainer failureContainer;
+    private final PerformanceStateContainer performanceStateContainer;
+    private final long intervalMillis;
+
+    private ControlThread controlThread;
+    private volatile TargetRateController targetRateController;
+    private volatile long startedMillis;
+    private int nextWorkerIndex;
+
+    ElasticityController(Coordinator coordinator, String testCaseId, ElasticityProfile profile, TargetType targetType,
+                         List<String> targetWorkers) {
+        TestSuite testSuite = coordinator.getTestSuite();
+        this.testSuiteId = testSuite.getId();
+        this.testCaseId = testCaseId;
+        this.profile = profile;
+        this.targetType = targetType;
+        this.targetWorkers = targetWorkers;
+        this.isMemberRemovalAllowed = isLastTestOnCluster(coordinator.getCoordinatorParameters(), testSuite, testCaseId);
+
+        this.remoteClient = coordinator.getRemoteClient();
+        this.componentRegistry = coordinator.getComponentRegistry();
+        this.failureContainer = coordinator.getFailureContainer();
+        this.performanceStateContainer = coordinator.getPerformanceStateContainer();
+        int performanceMonitorIntervalSeconds = coordinator.getWorkerParameters().getWorkerPerformanceMonitorIntervalSeconds();
+        this.intervalMillis = SECONDS.toMillis(Math.max(1, performanceMonitorIntervalSeconds));
+    }
+
+    static boolean isLastTestOnCluster(CoordinatorParameters coordinatorParameters, TestSuite testSuite, String testCaseId) {
+        List<TestCase> testCases = testSuite.getTestCaseList();
+        if (coordinatorParameters.isReuseWorkers() || testCases.isEmpty()) {
+            return false;
+        }
+        if (coordinatorParameters.isParallel() && testCases.size() > 1) {
+            return false;
+        }
+        return testCases.get(testCases.size() - 1).getId().equals(testCaseId);
+    }
+
+    void setTargetRateController(TargetRateController targetRateController) {
+        this.targetRateController = targetRateController;
+    }
+
+    void start() {
+        LOGGER.info(format("Elasticity profile of %s: %s", testCaseId, profile));
+        if (!isMemberRemovalAllowed) {
+            LOGGER.info(format("Just elastic Workers will be removed by %s, since other tests use the cluster", testCaseId));
+        }
+        startedMillis = System.currentTimeMillis();
+        performanceStateContainer.addListener(testCaseId, this);
+        controlThread = new ControlThread();
+        controlThread.start();
+    }
+
+    void stop() {
+        if (controlThread == null) {
+            return;
+        }
+        long elapsedMillis = System.currentTimeMillis() - startedMillis;
+        controlThread.running = false;
+        joinThread(controlThread);
+        performanceStateContainer.removeListener(testCaseId);
+
+        for (SimulatorAddress workerAddress : elasticWorkers) {
+            if (isRegistered(workerAddress)) {
+                LOGGER.info(format("Shutting down elastic Worker %s", workerAddress));
+                remoteClient.sendToWorker(workerAddress, new TerminateWorkerOperation(0, true));
+                waitForRemoval(workerAddress);
+            }
+        }
+        writeReport(elapsedMillis);
+    }
+
+    @Override
+    public void onPerformanceState(SimulatorAddress workerAddress, PerformanceState performanceState) {
+        int index = (int) ((System.currentTimeMillis() - startedMillis) / intervalMillis);
+        Interval interval = intervals.get(index);
+        if (interval == null) {
+            Interval newInterval = new Interval();
+            Interval foundInterval = intervals.putIfAbsent(index, newInterval);
+            interval = foundInterval == null ? newInterval : foundInterval;
+        }
+        interval.add(workerAddress, performanceState);
+    }
+
+    private void execute(Event event) {
+        long timestamp = System.currentTimeMillis();
+        long started = System.nanoTime();
+        SimulatorAddress workerAddress;
+        if (event.getAction() == Action.ADD) {
+            workerAddress = addMember(event.getAgentIndex());
+        } else {
+            WorkerData workerData = getRemovableMember(event.getAgentIndex());
+            if (workerData == null) {
+                LOGGER.warn(format("Skipping elasticity event %s of %s, since there is no removable member Worker", event,
+                        testCaseId));
+                return;
+            }
+            workerAddress = workerData.getAddress();
+            removeMember(workerAddress, event.getAction());
+        }
+        long actionMillis = NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        boolean isClusterSafe = waitForClusterSafe();
+        long clusterSafeMillis = NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        LOGGER.info(format("Elasticity event %s of %s on Worker %s: membership changed after %d ms, cluster %s after %d ms",
+                event, testCaseId, workerAddress, actionMillis, isClusterSafe ? "safe" : "not safe", clusterSafeMillis));
+        eventResults.add(new EventResult(event.getAction(), timestamp, timestamp - startedMillis, workerAddress.toString(),
+                actionMillis, clusterSafeMillis, isClusterSafe));
+        updateRunningWorkerCount();
+    }
+
+    private SimulatorAddress addMember(int agentIndex) {
+        SimulatorAddress agentAddress = (agentIndex > 0) ? getAgentAddress(agentIndex) : getAgentWithLeastMembers();
+        WorkerJvmSettings template = null;
+        for (WorkerData workerData : getMemberWorkers()) {
+            if (template == null || workerData.getAddress().getParent().equals(agentAddress)) {
+                template = workerData.getSettings();
+            }
+        }
+        if (template == null) {
+            throw new IllegalStateException("Can't add a member Worker, since there is no member Worker to copy its settings");
+        }
+        WorkerJvmSettings settings = template.copy(getNextWorkerIndex(), null);
+        LOGGER.info(format("Adding elastic member Worker %s", agentAddress.getChild(settings.getWorkerIndex())));
+        remoteClient.createElasticWorkers(agentAddress, Collections.singletonList(settings));
+
+        SimulatorAddress workerAddress = agentAddress.getChild(settings.getWorkerIndex());
+        elasticWorkers.add(workerAddress);
+        return workerAddress;
+    }
+
+    private void removeMember(SimulatorAddress workerAddress, Action action) {
+        if (action == Action.KILL) {
+            LOGGER.info(format("Killing member Worker %s", workerAddress));
+            failureContainer.expectWorkerExit(workerAddress);
+            remoteClient.sendToWorker(workerAddress, new ChaosMonkeyOperation(ChaosMonkeyOperation.Type.HARD_KILL));
+        } else {
+            LOGGER.info(format("Shutting down member Worker %s", workerAddress));
+            remoteClient.sendToWorker(workerAddress, new TerminateWorkerOperation(0, true));
+        }
+        waitForRemoval(workerAddress);
+        elasticWorkers.remove(workerAddress);
+    }
+
+    private void updateRunningWorkerCount() {
+        TargetRateController controller = targetRateController;
+        if (controller == null) {
+            return;
+        }
+        int runningWorkerCount = 0;
+        for (WorkerData workerData : getWorkers()) {
+            if (!workerData.isElastic() && isTargetWorker(workerData)) {
+                runningWorkerCount++;
+            }
+        }
+        controller.setRunningWorkerCount(runningWorkerCount);
+    }
+
+    private boolean waitForClusterSafe() {
+        List<WorkerData> memberWorkers = getMemberWorkers();
+        if (memberWorkers.isEmpty()) {
+            return false;
+        }
+        SimulatorAddress workerAddress = memberWorkers.get(0).getAddress();
+        long timeoutNanos = SECONDS.toNanos(CLUSTER_SAFE_TIMEOUT_SECONDS);
+        long started = System.nanoTime();
+        while (!remoteClient.isClusterSafe(workerAddress, memberWorkers.size())) {
+            if (System.nanoTime() - started > timeoutNanos) {
+                LOGGER.warn(format("Cluster of %d members is not safe after %d seconds", memberWorkers.size(),
+                        CLUSTER_SAFE_TIMEOUT_SECONDS));
+                return false;
+            }
+            sleepMillis(SLEEP_INTERVAL_MILLIS);
+        }
+        return true;
+    }
+
+    private void waitForRemoval(SimulatorAddress workerAddress) {
+        long timeoutNanos = SECONDS.toNanos(WORKER_REMOVAL_TIMEOUT_SECONDS);
+        long started = System.nanoTime();
+        while (isRegistered(workerAddress)) {
+            if (System.nanoTime() - started > timeoutNanos) {
+                LOGGER.warn(format("Worker %s has not finished after %d seconds", workerAddress, WORKER_REMOVAL_TIMEOUT_SECONDS));
+                return;
+            }
+            sleepMillis(SLEEP_INTERVAL_MILLIS);
+        }
+    }
+
+    private WorkerData getRemovableMember(int agentIndex) {
+        for (int i = elasticWorkers.size() - 1; i >= 0; i--) {
+            SimulatorAddress workerAddress = elasticWorkers.get(i);
+            if ((agentIndex == 0 || workerAddress.getAgentIndex() == agentIndex) && isRegistered(workerAddress)) {
+                return getWorker(workerAddress);
+            }
+        }
+        if (!isMemberRemovalAllowed) {
+            return null;
+        }
+        SimulatorAddress firstWorkerAddress = componentRegistry.getFirstWorker().getAddress();
+        WorkerData removableMember = null;
+        for (WorkerData workerData : getMemberWorkers()) {
+            SimulatorAddress workerAddress = workerData.getAddress();
+            if ((agentIndex == 0 || workerAddress.getAgentIndex() == agentIndex) && !workerAddress.equals(firstWorkerAddress)
+                    && !isTargetWorker(workerData)) {
+                removableMember = workerData;
+            }
+        }
+        return removableMember;
+    }
+
+    private boolean isTargetWorker(WorkerData workerData) {
+        if (targetWorkers.isEmpty()) {
+            return targetType.matches(workerData.isMemberWorker());
+        }
+        return targetWorkers.contains(workerData.getAddress().toString());
+    }
+
+    private SimulatorAddress getAgentAddress(int agentIndex) {
+        for (AgentData agentData : componentRegistry.getAgents()) {
+            if (agentData.getAddressIndex() == agentIndex) {
+                return agentData.getAddress();
+            }
+        }
+        throw new IllegalArgumentException(format("Agent %d of elasticity profile not found", agentIndex));
+    }
+
+    private SimulatorAddress getAgentWithLeastMembers() {
+        Map<SimulatorAddress, Integer> memberCounts = new HashMap<SimulatorAddress, Integer>();
+        for (AgentData agentData : componentRegistry.getAgents()) {
+            memberCounts.put(agentData.getAddress(), 0);
+        }
+        for (WorkerData workerData : getMemberWorkers()) {
+            SimulatorAddress agentAddress = workerData.getAddress().getParent();
+            memberCounts.put(agentAddress, memberCounts.get(agentAddress) + 1);
+        }
+        SimulatorAddress agentAddress = null;
+        for (Map.Entry<SimulatorAddress, Integer> entry : memberCounts.entrySet()) {
+            if (agentAddress == null || entry.getValue() < memberCounts.get(agentAddress)) {
+                agentAddress = entry.getKey();
+            }
+        }
+        return agentAddress;
+    }
+
+    private int getNextWorkerIndex() {
+        for (WorkerData workerData : getWorkers()) {
+            nextWorkerIndex = Math.max(nextWorkerIndex, workerData.getAddress().getWorkerIndex() + 1);
+        }
+        for (SimulatorAddress workerAddress : failureContainer.getFinishedWorkers()) {
+            nextWorkerIndex = Math.max(nextWorkerIndex, workerAddress.getWorkerIndex() + 1);
+        }
+        return nextWorkerIndex++;
+    }
+
+    private List<WorkerData> getMemberWorkers() {
+        List<WorkerData> memberWorkers = new ArrayList<WorkerData>();
+        for (WorkerData workerData : getWorkers()) {
+            if (workerData.isMemberWorker()) {
+                memberWorkers.add(workerData);
+            }
+        }
+        return memberWorkers;
+    }
+
+    private WorkerData getWorker(SimulatorAddress workerAddress) {
+        for (WorkerData workerData : getWorkers()) {
+            if (workerData.getAddress().equals(workerAddress)) {
+                return workerData;
+            }
+        }
+        return null;
+    }
+
+    private boolean isRegistered(SimulatorAddress workerAddress) {
+        return getWorker(workerAddress) != null;
+    }
+
+    private List<WorkerData> getWorkers() {
+        // the Workers are copied, since they are added and removed concurrently
+        return new ArrayList<WorkerData>(componentRegistry.getWorkers());
+    }
+
+    private void writeReport(long elapsedMillis) {
+        if (eventResults.isEmpty()) {
+            LOGGER.warn(format("No elasticity events of %s have been executed", testCaseId));
+            return;
+        }
+        // the last interval is dropped if it's incomplete, so its lower throughput doesn't look like a dip
+        int intervalCount = (int) (elapsedMillis / intervalMillis);
+        double[] throughputs = new double[intervalCount];
+        long[] latencies = new long[intervalCount];
+        Arrays.fill(throughputs, Double.NaN);
+        for (Map.Entry<Integer, Interval> entry : intervals.entrySet()) {
+            int index = entry.getKey();
+            if (index < intervalCount) {
+                throughputs[index] = entry.getValue().getThroughput();
+                latencies[index] = entry.getValue().getLatency();
+            }
+        }
+        ElasticityReport.write(testSuiteId, testCaseId, eventResults, intervalMillis, throughputs, latencies);
+    }
+
+    /**
+     * Aggregates the {@link PerformanceState} instances which have been received in a single interval.
+     *
+     * The throughput is averaged per Worker and summed up over all Workers, so a Worker which reports twice in an interval is
+     * not counted twice. The latency is the highest percentile latency of all Workers.
+     */
+    private static final class Interval {
+
+        private final Map<SimulatorAddress, double[]> throughputs = new HashMap<SimulatorAddress, double[]>();
+        private long latency;
+
+        synchronized void add(SimulatorAddress workerAddress, PerformanceState performanceState) {
+            double[] throughput = throughputs.get(workerAddress);
+            if (throughput == null) {
+                throughput = new double[2];
+                throughputs.put(workerAddress, throughput);
+            }
+            throughput[0] += performanceState.getIntervalThroughput();
+            throughput[1]++;
+            latency = Math.max(latency, performanceState.getIntervalPercentileLatency());
+        }
+
+        synchronized double getThroughput() {
+            double sum = 0;
+            for (double[] throughput : throughputs.values()) {
+                sum += throughput[0] / throughput[1];
+            }
+            return sum;
+        }
+
+        synchronized long getLatency() {
+            return latency;
+        }
+    }
+
+    private final class ControlThread extends Thread {
+
+        private volatile boolean running = true;
+
+        private ControlThread() {
+            super("ElasticityControlThread-" + testCaseId);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            for (Event event : profile.getEvents()) {
+                while (running && System.currentTimeMillis() - startedMillis < event.getDelayMillis()) {
+                    sleepMillis(SLEEP_INTERVAL_MILLIS);
+                }
+                if (!running) {
+                    return;
+                }
+                try {
+                    execute(event);
+                } catch (Exception e) {
+                    LOGGER.error(format("Could not execute elasticity event %s of %s", event, testCaseId), e);
+                }
+            }
+        }
+    }
+}
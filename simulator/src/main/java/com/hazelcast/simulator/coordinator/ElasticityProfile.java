@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Defines the membership changes of the Hazelcast cluster while a Simulator Test is running.
+ *
+ * The profile is defined with the test property {@code elasticity}, e.g. {@code add(60); shutdown(180); kill(300,2)}. The first
+ * argument of each event is the delay in seconds since the start of the RUN phase, the optional second argument is the index of
+ * the Agent, starting with 1.
+ *
+ * The following events are supported:
+ * <ul>
+ * <li>{@code add(delay[, agentIndex])}: starts an additional member Worker, by default on the Agent with the least members</li>
+ * <li>{@code shutdown(delay[, agentIndex])}: shuts down a member Worker gracefully</li>
+ * <li>{@code kill(delay[, agentIndex])}: kills a member Worker with {@code kill -9}</li>
+ * </ul>
+ *
+ * The events are executed in the order of their delay.
+ */
+final class ElasticityProfile {
+
+    static final String ELASTICITY_KEY = "elasticity";
+
+    private static final Pattern EVENT_PATTERN = Pattern.compile("^(\\w+)\\s*\\(\\s*(\\d+)\\s*(?:,\\s*(\\d+)\\s*)?\\)$");
+
+    enum Action {
+        ADD,
+        SHUTDOWN,
+        KILL
+    }
+
+    private final List<Event> events;
+
+    private ElasticityProfile(List<Event> events) {
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Parses an elasticity profile definition.
+     *
+     * @param definition the definition of the profile, with the events separated by {@code ;}
+     * @return the {@link ElasticityProfile}
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    static ElasticityProfile parse(String definition) {
+        List<Event> events = new ArrayList<Event>();
+        for (String eventDefinition : definition.split(";")) {
+            String trimmed = eventDefinition.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            events.add(parseEvent(trimmed));
+        }
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException(format("Elasticity profile '%s' contains no events", definition));
+        }
+        Collections.sort(events, new Comparator<Event>() {
+            @Override
+            public int compare(Event o1, Event o2) {
+                return Long.valueOf(o1.delayMillis).compareTo(o2.delayMillis);
+            }
+        });
+        return new ElasticityProfile(events);
+    }
+
+    private static Event parseEvent(String definition) {
+        Matcher matcher = EVENT_PATTERN.matcher(definition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(format("Invalid elasticity event '%s'", definition));
+        }
+        Action action;
+        try {
+            action = Action.valueOf(matcher.group(1).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(format("Unknown action '%s' in elasticity event '%s'", matcher.group(1),
+                    definition));
+        }
+        try {
+            long delaySeconds = Long.parseLong(matcher.group(2));
+            int agentIndex = (matcher.group(3) == null) ? 0 : Integer.parseInt(matcher.group(3));
+            if (matcher.group(3) != null && agentIndex < 1) {
+                throw new IllegalArgumentException(format("Agent index of elasticity event '%s' has to be positive", definition));
+            }
+            return new Event(action, SECONDS.toMillis(delaySeconds), agentIndex);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(format("Invalid value in elasticity event '%s'", definition));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Event event : events) {
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            sb.append(event);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A single membership change of an {@link ElasticityProfile}.
+     */
+    static final class Event {
+
+        private final Action action;
+        private final long delayMillis;
+        private final int agentIndex;
+
+        Event(Action action, long delayMillis, int agentIndex) {
+            this.action = action;
+            this.delayMillis = delayMillis;
+            this.agentIndex = agentIndex;
+        }
+
+        Action getAction() {
+            return action;
+        }
+
+        long getDelayMillis() {
+            return delayMillis;
+        }
+
+        /**
+         * Returns the index of the Agent the event is executed on.
+         *
+         * @return the Agent index or {@code 0} if the Agent is selected automatically
+         */
+        int getAgentIndex() {
+            return agentIndex;
+        }
+
+        @Override
+        public String toString() {
+            String agent = (agentIndex > 0) ? "," + agentIndex : "";
+            return action.name().toLowerCase() + '(' + MILLISECONDS.toSeconds(delayMillis) + agent + ')';
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.coordinator.ElasticityProfile.Action;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.util.List;
+import java.util.Locale;
+
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static java.lang.String.format;
+
+/**
+ * Creates the report of the membership changes of an {@link ElasticityProfile} with their impact on the performance of a test.
+ *
+ * The performance is given as a time series of intervals with the throughput of the whole cluster and the highest
+ * {@value com.hazelcast.simulator.worker.performance.PerformanceState#INTERVAL_LATENCY_PERCENTILE}th percentile latency of all
+ * Workers. The baseline of an event is the mean of up to {@value #BASELINE_INTERVALS} intervals before the event, after the
+ * previous event. An interval after the event is degraded if its throughput is below {@value #DEGRADED_THROUGHPUT_RATIO} or its
+ * latency is above {@value #DEGRADED_LATENCY_RATIO} of the baseline. The recovery time is the time until the end of the last
+ * degraded interval before the next event. Intervals without samples are skipped, so they are neither part of the baseline nor
+ * counted as a throughput dip.
+ */
+final class ElasticityReport {
+
+    static final int BASELINE_INTERVALS = 10;
+    static final double DEGRADED_THROUGHPUT_RATIO = 0.9;
+    static final double DEGRADED_LATENCY_RATIO = 1.5;
+
+    /**
+     * The recovery time of an event if the performance was still degraded in the last interval before the next event.
+     */
+    static final long NOT_RECOVERED = -1;
+
+    private static final double PERCENT = 100;
+    private static final double MILLIS_PER_SECOND = 1000;
+
+    private static final Logger LOGGER = Logger.getLogger(ElasticityReport.class);
+
+    private ElasticityReport() {
+    }
+
+    /**
+     * Writes the report of the elasticity events of a test to {@code elasticity-<testSuiteId>_<testCaseId>.csv}.
+     *
+     * @param testSuiteId    the ID of the {@link com.hazelcast.simulator.test.TestSuite}
+     * @param testCaseId     the ID of the {@link com.hazelcast.simulator.test.TestCase}
+     * @param events         the executed {@link EventResult} instances, ordered by their start
+     * @param intervalMillis the length of an interval of the performance time series
+     * @param throughputs    the throughput of the cluster per interval in operations per second, {@link Double#NaN} for an
+     *                       interval without samples
+     * @param latencies      the highest percentile latency per interval in microseconds
+     * @return the written report file
+     */
+    static File write(String testSuiteId, String testCaseId, List<EventResult> events, long intervalMillis,
+                      double[] throughputs, long[] latencies) {
+        File file = new File("elasticity-" + testSuiteId + '_' + testCaseId + ".csv");
+        String report = createReport(events, intervalMillis, throughputs, latencies);
+        writeText(report, file);
+        LOGGER.info(format("Elasticity of %s (throughput in ops/s, latencies in us, durations in ms):%n%s", testCaseId,
+                report.replace(",", "\t")));
+        return file;
+    }
+
+    static String createReport(List<EventResult> events, long intervalMillis, double[] throughputs, long[] latencies) {
+        StringBuilder sb = new StringBuilder("event,timestamp,offsetSeconds,worker,actionMillis,clusterSafeMillis,clusterSafe,"
+                + "baselineThroughput,minThroughput,throughputDip%,baselineLatency,peakLatency,latencyIncrease%,recoveryMillis")
+                .append(NEW_LINE);
+        int previousInterval = -1;
+        for (int i = 0; i < events.size(); i++) {
+            EventResult event = events.get(i);
+            int eventInterval = getInterval(event.offsetMillis, intervalMillis);
+            int nextInterval = (i + 1 < events.size())
+                    ? getInterval(events.get(i + 1).offsetMillis, intervalMillis) : throughputs.length;
+
+            sb.append(event.action.name().toLowerCase())
+                    .append(',').append(event.timestamp)
+                    .append(',').append(format(Locale.US, "%.1f", event.offsetMillis / MILLIS_PER_SECOND))
+                    .append(',').append(event.workerAddress)
+                    .append(',').append(event.actionMillis)
+                    .append(',').append(event.clusterSafeMillis)
+                    .append(',').append(event.isClusterSafe);
+
+            int baselineStart = Math.max(previousInterval + 1, eventInterval - BASELINE_INTERVALS);
+            appendImpact(sb, event.offsetMillis, intervalMillis, throughputs, latencies, baselineStart, eventInterval,
+                    Math.min(nextInterval, throughputs.length));
+            sb.append(NEW_LINE);
+
+            previousInterval = eventInterval;
+        }
+        return sb.toString();
+    }
+
+    private static void appendImpact(StringBuilder sb, long offsetMillis, long intervalMillis, double[] throughputs,
+                                     long[] latencies, int baselineStart, int eventInterval, int endInterval) {
+        double[] baseline = getBaseline(throughputs, latencies, baselineStart, eventInterval);
+        if (baseline == null) {
+            sb.append(",,,,,,,");
+            return;
+        }
+        double baselineThroughput = baseline[0];
+        double baselineLatency = baseline[1];
+
+        double minThroughput = Double.MAX_VALUE;
+        long peakLatency = 0;
+        int lastSampledInterval = -1;
+        int lastDegradedInterval = -1;
+        for (int i = eventInterval; i < endInterval; i++) {
+            if (!hasSamples(throughputs, i)) {
+                continue;
+            }
+            lastSampledInterval = i;
+            minThroughput = Math.min(minThroughput, throughputs[i]);
+            peakLatency = Math.max(peakLatency, latencies[i]);
+            if (throughputs[i] < baselineThroughput * DEGRADED_THROUGHPUT_RATIO
+                    || latencies[i] > baselineLatency * DEGRADED_LATENCY_RATIO) {
+                lastDegradedInterval = i;
+            }
+        }
+        if (lastSampledInterval == -1) {
+            sb.append(",,,,,,,");
+            return;
+        }
+
+        long recoveryMillis = getRecoveryMillis(offsetMillis, intervalMillis, lastSampledInterval, lastDegradedInterval);
+        sb.append(format(Locale.US, ",%.2f,%.2f,%s,%.0f,%d,%s,%d", baselineThroughput, minThroughput,
+                formatPercent(baselineThroughput - minThroughput, baselineThroughput), baselineLatency, peakLatency,
+                formatPercent(peakLatency - baselineLatency, baselineLatency), recoveryMillis));
+    }
+
+    private static long getRecoveryMillis(long offsetMillis, long intervalMillis, int lastSampledInterval,
+                                          int lastDegradedInterval) {
+        if (lastDegradedInterval == -1) {
+            return 0;
+        }
+        if (lastDegradedInterval == lastSampledInterval) {
+            return NOT_RECOVERED;
+        }
+        return (lastDegradedInterval + 1) * intervalMillis - offsetMillis;
+    }
+
+    private static double[] getBaseline(double[] throughputs, long[] latencies, int startInterval, int endInterval) {
+        double throughput = 0;
+        double latency = 0;
+        int count = 0;
+        for (int i = startInterval; i < Math.min(endInterval, throughputs.length); i++) {
+            if (hasSamples(throughputs, i)) {
+                throughput += throughputs[i];
+                latency += latencies[i];
+                count++;
+            }
+        }
+        return (count == 0) ? null : new double[]{throughput / count, latency / count};
+    }
+
+    private static boolean hasSamples(double[] throughputs, int interval) {
+        return !Double.isNaN(throughputs[interval]);
+    }
+
+    private static int getInterval(long offsetMillis, long intervalMillis) {
+        return (int) (offsetMillis / intervalMillis);
+    }
+
+    private static String formatPercent(double value, double reference) {
+        if (reference == 0) {
+            return "";
+        }
+        return format(Locale.US, "%.2f", value * PERCENT / reference);
+    }
+
+    /**
+     * The result of a single executed event of an {@link ElasticityProfile}.
+     */
+    static final class EventResult {
+
+        private final Action action;
+        private final long timestamp;
+        private final long offsetMillis;
+        private final String workerAddress;
+        private final long actionMillis;
+        private final long clusterSafeMillis;
+        private final boolean isClusterSafe;
+
+        /**
+         * Creates the result of an event.
+         *
+         * @param action            the executed {@link Action}
+         * @param timestamp         the wall clock time of the start of the event
+         * @param offsetMillis      the start of the event since the start of the RUN phase
+         * @param workerAddress     the address of the added or removed Worker
+         * @param actionMillis      the duration until the Worker has joined or left
+         * @param clusterSafeMillis the duration from the start of the event until the cluster was safe again
+         * @param isClusterSafe     {@code true} if the cluster was safe before the timeout, {@code false} otherwise
+         */
+        EventResult(Action action, long timestamp, long offsetMillis, String workerAddress, long actionMillis,
+                    long clusterSafeMillis, boolean isClusterSafe) {
+            this.action = action;
+            this.timestamp = timestamp;
+            this.offsetMillis = offsetMillis;
+            this.workerAddress = workerAddress;
+            this.actionMillis = actionMillis;
+            this.clusterSafeMillis = clusterSafeMillis;
+            this.isClusterSafe = isClusterSafe;
+        }
+    }
+}
@@ -51,6 +51,8 @@ public class FailureContainer {
     private final ConcurrentMap<SimulatorAddress, FailureType> finishedWorkers
             = new ConcurrentHashMap<SimulatorAddress, FailureType>();
     private final ConcurrentMap<FailureListener, Boolean> listenerMap = new ConcurrentHashMap<FailureListener, Boolean>();
+    private final Set<SimulatorAddress> expectedWorkerExits
+            = Collections.newSetFromMap(new ConcurrentHashMap<SimulatorAddress, Boolean>());
 
     private final AtomicBoolean hasCriticalFailure = new AtomicBoolean();
     private final ConcurrentMap<String, Boolean> hasCriticalFailuresMap = new ConcurrentHashMap<String, Boolean>();
@@ -77,6 +79,18 @@ public class FailureContainer {
         listenerMap.put(listener, true);
     }
 
+    /**
+     * Declares that a Worker will be killed on purpose, e.g. to test the elasticity of the cluster.
+     *
+     * The next {@link FailureType#WORKER_EXIT} of this Worker is just logged and not counted as failure. The listeners are still
+     * notified, so pending operations on the Worker are unblocked.
+     *
+     * @param workerAddress the {@link SimulatorAddress} of the Worker
+     */
+    public void expectWorkerExit(SimulatorAddress workerAddress) {
+        expectedWorkerExits.add(workerAddress);
+    }
+
     public void addFailureOperation(FailureOperation operation) {
         boolean isFinishedFailure = false;
         boolean isCriticalFailure = false;
@@ -91,6 +105,11 @@ public class FailureContainer {
         if (failureType.isPoisonPill()) {
             return;
         }
+        if (failureType == FailureType.WORKER_EXIT && expectedWorkerExits.remove(operation.getWorkerAddress())) {
+            LOGGER.info(format("Worker %s has been killed as expected", operation.getWorkerAddress()));
+            notifyListeners(operation, isFinishedFailure, false);
+            return;
+        }
 
         if (!nonCriticalFailures.contains(failureType)) {
             hasCriticalFailure.set(true);
@@ -105,6 +124,10 @@ public class FailureContainer {
         LOGGER.error(operation.getLogMessage(failureNumber));
         appendText(operation.getFileMessage(), file);
 
+        notifyListeners(operation, isFinishedFailure, isCriticalFailure);
+    }
+
+    private void notifyListeners(FailureOperation operation, boolean isFinishedFailure, boolean isCriticalFailure) {
         for (FailureListener failureListener : listenerMap.keySet()) {
             failureListener.onFailure(operation, isFinishedFailure, isCriticalFailure);
         }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Defines the target rate of a Simulator Test over time, as a sequence of segments with a name and a shape.
+ *
+ * The profile is defined with the test property {@code loadProfile}, e.g.
+ * {@code warmup:ramp(0,5000,60); steady:step(5000,300); burst:spike(5000,20000,60,5,300); day:sine(5000,2500,600,1200)}.
+ * All rates are defined in operations per second for the whole cluster, all durations in seconds. The segment name is
+ * optional and defaults to the index and shape of the segment, e.g. {@code 2-step}.
+ *
+ * The following shapes are supported:
+ * <ul>
+ * <li>{@code step(rate, duration)}: a constant rate</li>
+ * <li>{@code ramp(fromRate, toRate, duration)}: a linear change of the rate</li>
+ * <li>{@code spike(baseRate, peakRate, interval, spikeDuration, duration)}: the base rate with a burst of the peak rate at the
+ * end of each interval</li>
+ * <li>{@code sine(meanRate, amplitude, period, duration)}: a periodic rate, e.g. to compress a diurnal cycle</li>
+ * </ul>
+ *
+ * After the last segment the profile keeps its final rate until the test is stopped.
+ */
+final class LoadProfile {
+
+    /**
+     * The minimum target rate, since a {@link com.hazelcast.simulator.worker.metronome.RateBudget} needs a positive rate.
+     */
+    static final double MIN_TARGET_RATE = 1;
+
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("^(?:([\\w\\-.]+)\\s*:)?\\s*(\\w+)\\s*\\(([^)]*)\\)$");
+
+    enum Shape {
+        STEP(2),
+        RAMP(3),
+        SPIKE(5),
+        SINE(4);
+
+        private final int argumentCount;
+
+        Shape(int argumentCount) {
+            this.argumentCount = argumentCount;
+        }
+    }
+
+    private final List<Segment> segments;
+    private final long durationMillis;
+
+    private LoadProfile(List<Segment> segments) {
+        this.segments = Collections.unmodifiableList(segments);
+        this.durationMillis = segments.get(segments.size() - 1).getEndMillis();
+    }
+
+    List<Segment> getSegments() {
+        return segments;
+    }
+
+    long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Returns the active segment at the given time.
+     *
+     * @param elapsedMillis the elapsed time since the start of the profile
+     * @return the active {@link Segment}, which is the last segment after the end of the profile
+     */
+    Segment getSegment(long elapsedMillis) {
+        for (Segment segment : segments) {
+            if (elapsedMillis < segment.getEndMillis()) {
+                return segment;
+            }
+        }
+        return segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Returns the target rate at the given time.
+     *
+     * @param elapsedMillis the elapsed time since the start of the profile
+     * @return the target rate of the whole cluster in operations per second
+     */
+    double getTargetRate(long elapsedMillis) {
+        return getSegment(elapsedMillis).getTargetRate(elapsedMillis);
+    }
+
+    /**
+     * Parses a load profile definition.
+     *
+     * @param definition the definition of the profile, with the segments separated by {@code ;}
+     * @return the {@link LoadProfile}
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    static LoadProfile parse(String definition) {
+        List<Segment> segments = new ArrayList<Segment>();
+        long startMillis = 0;
+        for (String segmentDefinition : definition.split(";")) {
+            String trimmed = segmentDefinition.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Segment segment = parseSegment(trimmed, segments.size() + 1, startMillis);
+            segments.add(segment);
+            startMillis = segment.getEndMillis();
+        }
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException(format("Load profile '%s' contains no segments", definition));
+        }
+        return new LoadProfile(segments);
+    }
+
+    private static Segment parseSegment(String definition, int index, long startMillis) {
+        Matcher matcher = SEGMENT_PATTERN.matcher(definition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(format("Invalid load profile segment '%s'", definition));
+        }
+        Shape shape;
+        try {
+            shape = Shape.valueOf(matcher.group(2).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(format("Unknown shape '%s' in load profile segment '%s'", matcher.group(2),
+                    definition));
+        }
+        String[] arguments = matcher.group(3).split(",");
+        if (arguments.length != shape.argumentCount) {
+            throw new IllegalArgumentException(format("Load profile segment '%s' needs %d arguments, but has %d", definition,
+                    shape.argumentCount, arguments.length));
+        }
+        double[] values = new double[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            values[i] = parseValue(arguments[i], definition);
+        }
+        String name = (matcher.group(1) == null) ? index + "-" + shape.name().toLowerCase() : matcher.group(1);
+        return new Segment(name, shape, values, startMillis);
+    }
+
+    private static double parseValue(String argument, String definition) {
+        double value;
+        try {
+            value = Double.parseDouble(argument.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(format("Invalid value '%s' in load profile segment '%s'", argument, definition));
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException(format("Negative value '%s' in load profile segment '%s'", argument, definition));
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Segment segment : segments) {
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            sb.append(segment);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A single segment of a {@link LoadProfile}.
+     */
+    static final class Segment {
+
+        private final String name;
+        private final Shape shape;
+        private final double[] values;
+        private final long startMillis;
+        private final long durationMillis;
+
+        private Segment(String name, Shape shape, double[] values, long startMillis) {
+            if (values[values.length - 1] <= 0) {
+                throw new IllegalArgumentException(format("Duration of load profile segment %s has to be positive", name));
+            }
+            this.name = name;
+            this.shape = shape;
+            this.values = values;
+            this.startMillis = startMillis;
+            this.durationMillis = toMillis(values[values.length - 1]);
+        }
+
+        String getName() {
+            return name;
+        }
+
+        long getEndMillis() {
+            return startMillis + durationMillis;
+        }
+
+        double getTargetRate(long elapsedMillis) {
+            long offsetMillis = Math.min(Math.max(0, elapsedMillis - startMillis), durationMillis);
+            return Math.max(MIN_TARGET_RATE, getShapeRate(offsetMillis));
+        }
+
+        private double getShapeRate(long offsetMillis) {
+            switch (shape) {
+                case STEP:
+                    return values[0];
+                case RAMP:
+                    return values[0] + (values[1] - values[0]) * offsetMillis / durationMillis;
+                case SPIKE:
+                    long intervalMillis = Math.max(1, toMillis(values[2]));
+                    long spikeStartMillis = intervalMillis - toMillis(values[3]);
+                    return (offsetMillis % intervalMillis >= spikeStartMillis) ? values[1] : values[0];
+                case SINE:
+                    double periodMillis = Math.max(1, toMillis(values[2]));
+                    return values[0] + values[1] * Math.sin(2 * Math.PI * offsetMillis / periodMillis);
+                default:
+                    throw new UnsupportedOperationException("Unsupported shape " + shape);
+            }
+        }
+
+        private static long toMillis(double seconds) {
+            return Math.round(seconds * SECONDS.toMillis(1));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(name).append(':').append(shape.name().toLowerCase()).append('(');
+            for (int i = 0; i < values.length; i++) {
+                sb.append(i > 0 ? "," : "").append(values[i]);
+            }
+            return sb.append(')').toString();
+        }
+    }
+}
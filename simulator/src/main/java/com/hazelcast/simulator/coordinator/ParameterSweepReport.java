@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.test.TestCase;
+import com.hazelcast.simulator.test.TestSuite;
+import org.HdrHistogram.Histogram;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.simulator.probes.impl.GaugeProbe.isGaugeProbe;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static java.lang.String.format;
+
+/**
+ * Creates a combined report of the throughput and latency percentiles of all {@link TestCase} instances of a parameter sweep.
+ *
+ * The report is written as CSV file with a row per test and probe and a column per swept property, so the results can be
+ * compared or plotted directly. The latency values are in microseconds.
+ */
+final class ParameterSweepReport {
+
+    private static final String SEPARATOR = ",";
+    private static final double PERCENTILE_50 = 50;
+    private static final double PERCENTILE_99 = 99;
+    private static final double PERCENTILE_999 = 99.9;
+
+    private static final Logger LOGGER = Logger.getLogger(ParameterSweepReport.class);
+
+    private ParameterSweepReport() {
+    }
+
+    /**
+     * Writes the report of a parameter sweep to {@code sweep-<testSuiteId>.csv}.
+     *
+     * @param testSuite the {@link TestSuite} of the parameter sweep
+     * @param results   the {@link Result} per test ID
+     * @return the written report file
+     */
+    static File write(TestSuite testSuite, Map<String, Result> results) {
+        File file = new File("sweep-" + testSuite.getId() + ".csv");
+        String report = createReport(testSuite, results);
+        writeText(report, file);
+        LOGGER.info(format("Results of parameter sweep (latencies in us):%n%s", report.replace(SEPARATOR, "\t")));
+        return file;
+    }
+
+    static String createReport(TestSuite testSuite, Map<String, Result> results) {
+        Set<String> parameterNames = getParameterNames(testSuite);
+
+        StringBuilder sb = new StringBuilder("testId");
+        for (String parameterName : parameterNames) {
+            sb.append(SEPARATOR).append(parameterName);
+        }
+        sb.append(SEPARATOR).append("probe,operations,throughput,mean,p50,p99,p99.9,max").append(NEW_LINE);
+
+        for (TestCase testCase : testSuite.getTestCaseList()) {
+            String testId = testCase.getId();
+            Result result = results.get(testId);
+            if (result == null) {
+                continue;
+            }
+            String prefix = getRowPrefix(testId, parameterNames, testSuite.getSweepParameters(testId));
+            List<String> probeNames = getLatencyProbeNames(result);
+            if (probeNames.isEmpty()) {
+                sb.append(prefix).append(SEPARATOR).append(SEPARATOR).append(getThroughputColumns(result))
+                        .append(",,,,,").append(NEW_LINE);
+            }
+            for (String probeName : probeNames) {
+                sb.append(prefix).append(SEPARATOR).append(probeName).append(SEPARATOR).append(getThroughputColumns(result))
+                        .append(SEPARATOR).append(getLatencyColumns(result.getHistogram(probeName))).append(NEW_LINE);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> getParameterNames(TestSuite testSuite) {
+        Set<String> parameterNames = new LinkedHashSet<String>();
+        for (TestCase testCase : testSuite.getTestCaseList()) {
+            Map<String, String> sweepParameters = testSuite.getSweepParameters(testCase.getId());
+            if (sweepParameters != null) {
+                parameterNames.addAll(sweepParameters.keySet());
+            }
+        }
+        return parameterNames;
+    }
+
+    private static String getRowPrefix(String testId, Set<String> parameterNames, Map<String, String> sweepParameters) {
+        StringBuilder sb = new StringBuilder(testId);
+        for (String parameterName : parameterNames) {
+            String value = (sweepParameters == null) ? null : sweepParameters.get(parameterName);
+            sb.append(SEPARATOR).append(value == null ? "" : value);
+        }
+        return sb.toString();
+    }
+
+    private static List<String> getLatencyProbeNames(Result result) {
+        List<String> probeNames = new ArrayList<String>();
+        for (String probeName : result.probeNames()) {
+            if (!isGaugeProbe(probeName)) {
+                probeNames.add(probeName);
+            }
+        }
+        return probeNames;
+    }
+
+    private static String getThroughputColumns(Result result) {
+        return format(Locale.US, "%d,%.2f", result.getInvocations(), result.getThroughput());
+    }
+
+    private static String getLatencyColumns(Histogram histogram) {
+        return format(Locale.US, "%.2f,%d,%d,%d,%d", histogram.getMean(), histogram.getValueAtPercentile(PERCENTILE_50),
+                histogram.getValueAtPercentile(PERCENTILE_99), histogram.getValueAtPercentile(PERCENTILE_999),
+                histogram.getMaxValue());
+    }
+}
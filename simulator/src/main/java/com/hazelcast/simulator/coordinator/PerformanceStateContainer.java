@@ -15,12 +15,16 @@
  */
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.agent.HostMetrics;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
+import com.hazelcast.simulator.worker.performance.SaturationState;
+import com.hazelcast.simulator.worker.performance.SaturationState.Component;
 import org.apache.log4j.Logger;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -49,6 +53,7 @@ public class PerformanceStateContainer {
     public static final int THROUGHPUT_FORMAT_LENGTH = 12;
     public static final int LATENCY_FORMAT_LENGTH = 10;
 
+    private static final double ONE_HUNDRED = 100;
     private static final long DISPLAY_LATENCY_AS_MICROS_MAX_VALUE = TimeUnit.SECONDS.toMicros(1);
 
     private static final Logger LOGGER = Logger.getLogger(PerformanceStateContainer.class);
@@ -61,6 +66,58 @@ public class PerformanceStateContainer {
     private final ConcurrentMap<String, Queue<WorkerPerformanceState>> pendingQueueByTestMap
             = new ConcurrentHashMap<String, Queue<WorkerPerformanceState>>();
 
+    // holds the PerformanceStateListener per testCaseId
+    private final ConcurrentMap<String, PerformanceStateListener> listenerMap
+            = new ConcurrentHashMap<String, PerformanceStateListener>();
+
+    // holds the aggregated SaturationState per member Worker
+    private final ConcurrentMap<SimulatorAddress, SaturationSummary> saturationSummaryMap
+            = new ConcurrentHashMap<SimulatorAddress, SaturationSummary>();
+
+    // holds the last HostMetrics per Agent
+    private final ConcurrentMap<SimulatorAddress, HostMetrics> lastHostMetricsMap
+            = new ConcurrentHashMap<SimulatorAddress, HostMetrics>();
+
+    // holds the aggregated HostMetrics per Agent
+    private final ConcurrentMap<SimulatorAddress, HostMetricsSummary> hostMetricsSummaryMap
+            = new ConcurrentHashMap<SimulatorAddress, HostMetricsSummary>();
+
+    public void updateHostMetrics(SimulatorAddress agentAddress, HostMetrics hostMetrics) {
+        if (hostMetrics == null) {
+            return;
+        }
+        lastHostMetricsMap.put(agentAddress, hostMetrics);
+
+        HostMetricsSummary summary = hostMetricsSummaryMap.get(agentAddress);
+        if (summary == null) {
+            HostMetricsSummary newSummary = new HostMetricsSummary();
+            HostMetricsSummary foundSummary = hostMetricsSummaryMap.putIfAbsent(agentAddress, newSummary);
+            summary = foundSummary == null ? newSummary : foundSummary;
+        }
+        summary.add(hostMetrics);
+    }
+
+    public void updateSaturation(SimulatorAddress workerAddress, SaturationState saturationState) {
+        if (saturationState == null) {
+            return;
+        }
+        SaturationSummary summary = saturationSummaryMap.get(workerAddress);
+        if (summary == null) {
+            SaturationSummary newSummary = new SaturationSummary();
+            SaturationSummary foundSummary = saturationSummaryMap.putIfAbsent(workerAddress, newSummary);
+            summary = foundSummary == null ? newSummary : foundSummary;
+        }
+        summary.add(saturationState);
+    }
+
+    public void addListener(String testCaseId, PerformanceStateListener listener) {
+        listenerMap.put(testCaseId, listener);
+    }
+
+    public void removeListener(String testCaseId) {
+        listenerMap.remove(testCaseId);
+    }
+
     public void update(SimulatorAddress workerAddress, Map<String, PerformanceState> performanceStates) {
         for (Map.Entry<String, PerformanceState> entry : performanceStates.entrySet()) {
             String testCaseId = entry.getKey();
@@ -77,6 +134,11 @@ public class PerformanceStateContainer {
             }
 
             pendingQueue.add(new WorkerPerformanceState(workerAddress, performanceState));
+
+            PerformanceStateListener listener = listenerMap.get(testCaseId);
+            if (listener != null) {
+                listener.onPerformanceState(workerAddress, performanceState);
+            }
         }
     }
 
@@ -95,7 +157,7 @@ public class PerformanceStateContainer {
             percentileLatencyValue = MICROSECONDS.toMillis(percentileLatencyValue);
             maxLatencyValue = MICROSECONDS.toMillis(maxLatencyValue);
         }
-        return String.format("%s ops %s ops/s %s %s (avg) %s %s (%sth) %s %s (max)",
+        return String.format("%s ops %s ops/s %s %s (avg) %s %s (%sth) %s %s (max)%s",
                 formatLong(performanceState.getOperationCount(), OPERATION_COUNT_FORMAT_LENGTH),
                 formatDouble(performanceState.getIntervalThroughput(), THROUGHPUT_FORMAT_LENGTH),
                 formatLong(avgLatencyValue, LATENCY_FORMAT_LENGTH),
@@ -104,10 +166,26 @@ public class PerformanceStateContainer {
                 latencyUnit,
                 INTERVAL_LATENCY_PERCENTILE,
                 formatLong(maxLatencyValue, LATENCY_FORMAT_LENGTH),
-                latencyUnit
+                latencyUnit,
+                formatHostMetricsWarnings()
         );
     }
 
+    /**
+     * Formats the warnings of the last {@link HostMetrics} of all Agents, e.g. a high CPU steal time or a saturated network.
+     *
+     * @return the formatted warnings or an empty {@link String} if there are no warnings
+     */
+    public String formatHostMetricsWarnings() {
+        StringBuilder sb = new StringBuilder();
+        for (SimulatorAddress address : sort(lastHostMetricsMap.keySet())) {
+            for (String warning : lastHostMetricsMap.get(address).getWarnings()) {
+                sb.append(sb.length() == 0 ? " [" : ", ").append(address).append(' ').append(warning);
+            }
+        }
+        return sb.length() == 0 ? "" : sb.append(']').toString();
+    }
+
     PerformanceState get(String testCaseId) {
         // return if no queue of WorkerPerformanceState can be found (unknown testCaseId)
         Queue<WorkerPerformanceState> pendingQueue = pendingQueueByTestMap.get(testCaseId);
@@ -168,6 +246,47 @@ public class PerformanceStateContainer {
                     formatLong(operationCount, OPERATION_COUNT_FORMAT_LENGTH),
                     formatDouble(operationCount / runningTimeSeconds, THROUGHPUT_FORMAT_LENGTH)));
         }
+
+        logSaturationInfo();
+        logHostMetricsInfo();
+    }
+
+    void logHostMetricsInfo() {
+        for (SimulatorAddress address : sort(hostMetricsSummaryMap.keySet())) {
+            HostMetricsSummary summary = hostMetricsSummaryMap.get(address);
+            LOGGER.info(format("  Agent %-15s %s", address, summary));
+
+            int intervalCount = summary.getIntervalCount();
+            if (summary.getHighCpuStealIntervalCount() > 0) {
+                LOGGER.warn(format("  Agent %-15s had a high CPU steal time in %s%% of the intervals (noisy neighbor?)",
+                        address, formatPercentage(summary.getHighCpuStealIntervalCount(), intervalCount)));
+            }
+            if (summary.getNetworkSaturatedIntervalCount() > 0) {
+                LOGGER.warn(format("  Agent %-15s had a saturated network in %s%% of the intervals",
+                        address, formatPercentage(summary.getNetworkSaturatedIntervalCount(), intervalCount)));
+            }
+        }
+    }
+
+    HostMetricsSummary getHostMetricsSummary(SimulatorAddress agentAddress) {
+        return hostMetricsSummaryMap.get(agentAddress);
+    }
+
+    void logSaturationInfo() {
+        for (SimulatorAddress address : sort(saturationSummaryMap.keySet())) {
+            SaturationSummary summary = saturationSummaryMap.get(address);
+            LOGGER.info(format("  Worker %-14s %s", address, summary));
+
+            Component component = summary.getMostSaturatedComponent();
+            if (component != null) {
+                LOGGER.warn(format("  Worker %-14s is limited by %s (saturated in %s%% of the intervals)", address, component,
+                        formatPercentage(summary.getSaturatedIntervalCount(component), summary.getIntervalCount())));
+            }
+        }
+    }
+
+    SaturationSummary getSaturationSummary(SimulatorAddress workerAddress) {
+        return saturationSummaryMap.get(workerAddress);
     }
 
     private List<SimulatorAddress> sort(Set<SimulatorAddress> addresses) {
@@ -215,6 +334,129 @@ public class PerformanceStateContainer {
         return found == null ? map : found;
     }
 
+    /**
+     * Aggregates the {@link SaturationState} instances of a single Worker over the whole run.
+     */
+    static final class SaturationSummary {
+
+        private final Map<Component, Integer> saturatedIntervalCounts = new EnumMap<Component, Integer>(Component.class);
+        private final Map<Component, Double> maxUtilizations = new EnumMap<Component, Double>(Component.class);
+
+        private int intervalCount;
+        private long maxOperationQueueSize;
+        private long maxResponseQueueSize;
+        private long maxRemoteOperationCount;
+
+        SaturationSummary() {
+            for (Component component : Component.values()) {
+                saturatedIntervalCounts.put(component, 0);
+                maxUtilizations.put(component, 0.0);
+            }
+        }
+
+        synchronized void add(SaturationState state) {
+            intervalCount++;
+            maxOperationQueueSize = Math.max(maxOperationQueueSize, state.getOperationQueueSize());
+            maxResponseQueueSize = Math.max(maxResponseQueueSize, state.getResponseQueueSize());
+            maxRemoteOperationCount = Math.max(maxRemoteOperationCount, state.getRemoteOperationCount());
+            for (Component component : Component.values()) {
+                maxUtilizations.put(component, Math.max(maxUtilizations.get(component), state.getUtilization(component)));
+            }
+            for (Component component : state.getSaturatedComponents()) {
+                saturatedIntervalCounts.put(component, saturatedIntervalCounts.get(component) + 1);
+            }
+        }
+
+        synchronized int getIntervalCount() {
+            return intervalCount;
+        }
+
+        synchronized int getSaturatedIntervalCount(Component component) {
+            return saturatedIntervalCounts.get(component);
+        }
+
+        /**
+         * Returns the component which was saturated in most intervals.
+         *
+         * @return the most saturated {@link Component} or {@code null} if no component was saturated
+         */
+        synchronized Component getMostSaturatedComponent() {
+            Component result = null;
+            int maxCount = 0;
+            for (Map.Entry<Component, Integer> entry : saturatedIntervalCounts.entrySet()) {
+                if (entry.getValue() > maxCount) {
+                    maxCount = entry.getValue();
+                    result = entry.getKey();
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(format("max operation queue %d, max response queue %d, max remote operations %d",
+                    maxOperationQueueSize, maxResponseQueueSize, maxRemoteOperationCount));
+            for (Component component : Component.values()) {
+                sb.append(format(", %s %.0f%%", component, maxUtilizations.get(component) * ONE_HUNDRED));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Aggregates the {@link HostMetrics} instances of a single Agent over the whole run.
+     */
+    static final class HostMetricsSummary {
+
+        private int intervalCount;
+        private int highCpuStealIntervalCount;
+        private int networkSaturatedIntervalCount;
+        private double maxCpuBusy;
+        private double maxCpuSteal;
+        private double maxLoadAverage;
+        private double maxNetworkUtilization = -1;
+        private double maxDiskUtilization = -1;
+
+        synchronized void add(HostMetrics metrics) {
+            intervalCount++;
+            if (metrics.isHighCpuSteal()) {
+                highCpuStealIntervalCount++;
+            }
+            if (metrics.isNetworkSaturated()) {
+                networkSaturatedIntervalCount++;
+            }
+            maxCpuBusy = Math.max(maxCpuBusy, ONE_HUNDRED - metrics.getCpuIdle());
+            maxCpuSteal = Math.max(maxCpuSteal, metrics.getCpuSteal());
+            maxLoadAverage = Math.max(maxLoadAverage, metrics.getLoadAverage());
+            maxNetworkUtilization = Math.max(maxNetworkUtilization, metrics.getNetworkUtilization());
+            maxDiskUtilization = Math.max(maxDiskUtilization, metrics.getDiskUtilization());
+        }
+
+        synchronized int getIntervalCount() {
+            return intervalCount;
+        }
+
+        synchronized int getHighCpuStealIntervalCount() {
+            return highCpuStealIntervalCount;
+        }
+
+        synchronized int getNetworkSaturatedIntervalCount() {
+            return networkSaturatedIntervalCount;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return format("max CPU %.0f%%, max steal %.0f%%, max load %.2f, max network %s, max disk %s",
+                    maxCpuBusy, maxCpuSteal, maxLoadAverage, formatUtilization(maxNetworkUtilization),
+                    formatUtilization(maxDiskUtilization));
+        }
+
+        private static String formatUtilization(double utilization) {
+            return utilization < 0 ? "n/a" : format("%.0f%%", utilization);
+        }
+    }
+
     private static final class WorkerPerformanceState {
 
         private final SimulatorAddress simulatorAddress;
@@ -20,11 +20,14 @@ import com.hazelcast.simulator.cluster.AgentWorkerLayout;
 import com.hazelcast.simulator.cluster.ClusterLayout;
 import com.hazelcast.simulator.protocol.connector.CoordinatorConnector;
 import com.hazelcast.simulator.protocol.core.Response;
+import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseListener;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorProtocolException;
 import com.hazelcast.simulator.protocol.operation.CreateWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.InitTestSuiteOperation;
+import com.hazelcast.simulator.protocol.operation.IsClusterSafeOperation;
 import com.hazelcast.simulator.protocol.operation.LogOperation;
 import com.hazelcast.simulator.protocol.operation.PingOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
@@ -32,6 +35,7 @@ import com.hazelcast.simulator.protocol.operation.StartTimeoutDetectionOperation
 import com.hazelcast.simulator.protocol.operation.StopTimeoutDetectionOperation;
 import com.hazelcast.simulator.protocol.operation.TerminateWorkerOperation;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
+import com.hazelcast.simulator.protocol.registry.WorkerData;
 import com.hazelcast.simulator.test.TestSuite;
 import com.hazelcast.simulator.utils.CommandLineExitException;
 import com.hazelcast.simulator.utils.ThreadSpawner;
@@ -39,14 +43,20 @@ import com.hazelcast.simulator.worker.WorkerType;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.ALL_AGENTS;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.ALL_WORKERS;
 import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class RemoteClient {
 
@@ -57,14 +67,32 @@ public class RemoteClient {
     private final WorkerPingThread workerPingThread;
     private final int memberWorkerShutdownDelaySeconds;
     private final int workerVmStartupDelayMs;
+    private final int workerStartupParallelism;
+    private final boolean reuseWorkers;
 
     public RemoteClient(CoordinatorConnector coordinatorConnector, ComponentRegistry componentRegistry,
                         int workerPingIntervalMillis, int memberWorkerShutdownDelaySeconds, int workerVmStartupDelayMs) {
+        this(coordinatorConnector, componentRegistry, workerPingIntervalMillis, memberWorkerShutdownDelaySeconds,
+                workerVmStartupDelayMs, 0);
+    }
+
+    public RemoteClient(CoordinatorConnector coordinatorConnector, ComponentRegistry componentRegistry,
+                        int workerPingIntervalMillis, int memberWorkerShutdownDelaySeconds, int workerVmStartupDelayMs,
+                        int workerStartupParallelism) {
+        this(coordinatorConnector, componentRegistry, workerPingIntervalMillis, memberWorkerShutdownDelaySeconds,
+                workerVmStartupDelayMs, workerStartupParallelism, false);
+    }
+
+    public RemoteClient(CoordinatorConnector coordinatorConnector, ComponentRegistry componentRegistry,
+                        int workerPingIntervalMillis, int memberWorkerShutdownDelaySeconds, int workerVmStartupDelayMs,
+                        int workerStartupParallelism, boolean reuseWorkers) {
         this.coordinatorConnector = coordinatorConnector;
         this.componentRegistry = componentRegistry;
         this.workerPingThread = new WorkerPingThread(workerPingIntervalMillis);
         this.memberWorkerShutdownDelaySeconds = memberWorkerShutdownDelaySeconds;
         this.workerVmStartupDelayMs = workerVmStartupDelayMs;
+        this.workerStartupParallelism = workerStartupParallelism;
+        this.reuseWorkers = reuseWorkers;
     }
 
     public void logOnAllAgents(String message) {
@@ -76,8 +104,15 @@ public class RemoteClient {
     }
 
     public void createWorkers(ClusterLayout clusterLayout, boolean startPokeThread) {
+        long started = System.nanoTime();
         createWorkersByType(clusterLayout, true);
+        // the member Workers are created first and each of them is ready after its Hazelcast instance has joined the cluster
+        LOGGER.info(format("Cluster size of %d members reached after %d ms", clusterLayout.getMemberWorkerCount(),
+                NANOSECONDS.toMillis(System.nanoTime() - started)));
+
         createWorkersByType(clusterLayout, false);
+        LOGGER.info(format("All %d Workers ready after %d ms", clusterLayout.getTotalWorkerCount(),
+                NANOSECONDS.toMillis(System.nanoTime() - started)));
 
         sendToAllAgents(new StartTimeoutDetectionOperation());
         if (startPokeThread) {
@@ -121,7 +156,8 @@ public class RemoteClient {
             spawner.spawn(new Runnable() {
                 @Override
                 public void run() {
-                    CreateWorkerOperation operation = new CreateWorkerOperation(settingsList, startupDelayMs);
+                    CreateWorkerOperation operation = new CreateWorkerOperation(settingsList, startupDelayMs,
+                            workerStartupParallelism, reuseWorkers);
                     Response response = coordinatorConnector.write(agentAddress, operation);
 
                     ResponseType responseType = response.getFirstErrorResponseType();
@@ -142,6 +178,26 @@ public class RemoteClient {
         spawner.awaitCompletion();
     }
 
+    /**
+     * Creates additional Workers on an Agent while a test is running, e.g. to add Hazelcast members to the cluster.
+     *
+     * The Workers are registered as elastic Workers, so they are not expected to execute any tests.
+     *
+     * @param agentAddress the {@link SimulatorAddress} of the Agent
+     * @param settingsList the {@link WorkerJvmSettings} of the new Workers
+     */
+    public void createElasticWorkers(SimulatorAddress agentAddress, List<WorkerJvmSettings> settingsList) {
+        CreateWorkerOperation operation = new CreateWorkerOperation(settingsList, 0);
+        Response response = coordinatorConnector.write(agentAddress, operation);
+
+        ResponseType responseType = response.getFirstErrorResponseType();
+        if (responseType != ResponseType.SUCCESS) {
+            throw new CommandLineExitException(format("Could not create %d elastic Worker on %s (%s)",
+                    settingsList.size(), agentAddress, responseType));
+        }
+        componentRegistry.addWorkers(agentAddress, settingsList, true);
+    }
+
     public void terminateWorkers(boolean stopPokeThread) {
         if (stopPokeThread) {
             sendToAllAgents(new StopTimeoutDetectionOperation());
@@ -153,6 +209,17 @@ public class RemoteClient {
         sendToAllWorkers(new TerminateWorkerOperation(shutdownDelaySeconds, true));
     }
 
+    /**
+     * Detaches from the running Workers, so they can be reused by the next Coordinator run.
+     *
+     * The timeout detection on the Agents is stopped, since the Workers are not pinged anymore until they are reused.
+     */
+    public void detachWorkers() {
+        sendToAllAgents(new StopTimeoutDetectionOperation());
+
+        stopWorkerPingThread();
+    }
+
     public void initTestSuite(TestSuite testSuite) {
         sendToAllAgents(new InitTestSuiteOperation(testSuite));
     }
@@ -172,6 +239,28 @@ public class RemoteClient {
         validateResponse(operation, response);
     }
 
+    public void sendToWorker(SimulatorAddress workerAddress, SimulatorOperation operation) {
+        Response response = coordinatorConnector.write(workerAddress, operation);
+        validateResponse(operation, response);
+    }
+
+    /**
+     * Checks on a member Worker if the Hazelcast cluster has the expected size and all partition migrations are completed.
+     *
+     * @param workerAddress       the {@link SimulatorAddress} of the member Worker
+     * @param expectedMemberCount the expected number of Hazelcast members
+     * @return {@code true} if the cluster is safe, {@code false} otherwise
+     */
+    public boolean isClusterSafe(SimulatorAddress workerAddress, int expectedMemberCount) {
+        SimulatorOperation operation = new IsClusterSafeOperation(expectedMemberCount);
+        Response response = coordinatorConnector.write(workerAddress, operation);
+        if (response.getFirstErrorResponseType() == ResponseType.FAILURE_CLUSTER_NOT_SAFE) {
+            return false;
+        }
+        validateResponse(operation, response);
+        return true;
+    }
+
     public void sendToTestOnAllWorkers(String testId, SimulatorOperation operation) {
         Response response = coordinatorConnector.write(componentRegistry.getTest(testId).getAddress(), operation);
         validateResponse(operation, response);
@@ -189,13 +278,34 @@ public class RemoteClient {
             ResponseType responseType = responseTypeEntry.getValue();
             if (responseType != ResponseType.SUCCESS && responseType != ResponseType.UNBLOCKED_BY_FAILURE) {
                 SimulatorAddress source = responseTypeEntry.getKey();
+                if (responseType == ResponseType.FAILURE_TEST_NOT_FOUND && componentRegistry.isElasticWorker(source)) {
+                    // elastic Workers have been started after the test creation, so they don't know any test
+                    continue;
+                }
                 throw new CommandLineExitException(format("Could not execute %s on %s (%s)", operation, source, responseType));
             }
         }
     }
 
+    /**
+     * Pings each Worker individually, so the Workers can estimate the offset of their clock to the Coordinator clock.
+     *
+     * A ping carries the timestamps of the previous round trip to the same Worker, so each round of
+     * {@value #PINGS_PER_ROUND} pings yields {@value #PINGS_PER_ROUND} - 1 complete samples on the Worker. The round trip of
+     * the last ping of a round is dropped, so no state is kept for a Worker between the rounds.
+     *
+     * The pings are sent asynchronously and the next ping to a Worker is sent when the previous response has arrived, so a
+     * hanging Worker doesn't delay the pings of the other Workers. A Worker with pending pings is skipped in the next round.
+     */
     private final class WorkerPingThread extends Thread {
 
+        private static final int PINGS_PER_ROUND = 3;
+
+        private final ConcurrentMap<SimulatorAddress, long[]> previousRoundTrips
+                = new ConcurrentHashMap<SimulatorAddress, long[]>();
+        private final Set<SimulatorAddress> pendingWorkers
+                = Collections.newSetFromMap(new ConcurrentHashMap<SimulatorAddress, Boolean>());
+
         private final int pingIntervalMillis;
 
         private volatile boolean running = true;
@@ -209,10 +319,9 @@ public class RemoteClient {
 
         @Override
         public void run() {
-            PingOperation operation = new PingOperation();
             while (running) {
                 try {
-                    sendToAllWorkers(operation);
+                    pingWorkers();
                     sleepMillis(pingIntervalMillis);
                 } catch (SimulatorProtocolException e) {
                     if (e.getCause() instanceof InterruptedException) {
@@ -222,5 +331,68 @@ public class RemoteClient {
                 }
             }
         }
+
+        private void pingWorkers() {
+            // the Workers are copied, since elastic Workers can be added and removed while a test is running
+            Set<SimulatorAddress> workerAddresses = new HashSet<SimulatorAddress>();
+            for (WorkerData workerData : new ArrayList<WorkerData>(componentRegistry.getWorkers())) {
+                workerAddresses.add(workerData.getAddress());
+            }
+            // forget removed Workers, e.g. a Worker which has been killed with a pending ping
+            pendingWorkers.retainAll(workerAddresses);
+            previousRoundTrips.keySet().retainAll(workerAddresses);
+
+            for (SimulatorAddress workerAddress : workerAddresses) {
+                if (pendingWorkers.add(workerAddress)) {
+                    pingWorker(workerAddress, PINGS_PER_ROUND);
+                }
+            }
+        }
+
+        private void pingWorker(SimulatorAddress workerAddress, int remainingPings) {
+            long[] previousRoundTrip = previousRoundTrips.remove(workerAddress);
+            long timestamp = System.currentTimeMillis();
+            PingOperation operation = (previousRoundTrip == null) ? new PingOperation(timestamp)
+                    : new PingOperation(timestamp, previousRoundTrip[0], previousRoundTrip[1]);
+
+            ResponseFuture future;
+            try {
+                future = coordinatorConnector.writeAsync(workerAddress, operation);
+            } catch (RuntimeException e) {
+                pendingWorkers.remove(workerAddress);
+                throw e;
+            }
+            future.addListener(new PingResponseListener(workerAddress, timestamp, remainingPings - 1));
+        }
+
+        private final class PingResponseListener implements ResponseListener {
+
+            private final SimulatorAddress workerAddress;
+            private final long timestamp;
+            private final int remainingPings;
+
+            private PingResponseListener(SimulatorAddress workerAddress, long timestamp, int remainingPings) {
+                this.workerAddress = workerAddress;
+                this.timestamp = timestamp;
+                this.remainingPings = remainingPings;
+            }
+
+            @Override
+            public void onResponse(Response response) {
+                long responseTimestamp = System.currentTimeMillis();
+                if (remainingPings <= 0 || !running) {
+                    pendingWorkers.remove(workerAddress);
+                    return;
+                }
+                if (response.getFirstErrorResponseType() == ResponseType.SUCCESS) {
+                    previousRoundTrips.put(workerAddress, new long[]{timestamp, responseTimestamp});
+                }
+                try {
+                    pingWorker(workerAddress, remainingPings);
+                } catch (Exception e) {
+                    LOGGER.warn(format("Could not ping Worker %s: %s", workerAddress, e.getMessage()));
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.protocol.operation.ChangeTargetRateOperation;
+import org.apache.log4j.Logger;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static java.lang.String.format;
+
+/**
+ * Controls the target rate of a Simulator Test, which is defined for the whole cluster.
+ *
+ * The target rate is split equally across all Workers which execute the RUN phase. While the test is running the target rate
+ * and the number of active threads per Worker can be changed with a
+ * {@link com.hazelcast.simulator.protocol.operation.ChangeClusterTargetRateOperation}, which is sent to the Coordinator. If
+ * the number of running Workers changes, e.g. by an {@link ElasticityController}, the target rate is split again.
+ *
+ * If the test has a {@link LoadProfile}, the target rate is updated every second according to the profile and the name of the
+ * active segment is sent to the Workers, so they can annotate their performance files. Requested changes are rejected in this
+ * case.
+ */
+final class TargetRateController {
+
+    static final String TARGET_RATE_KEY = "targetRate";
+    static final String LOAD_PROFILE_KEY = "loadProfile";
+
+    private static final int CONTROL_INTERVAL_MILLIS = 1000;
+
+    private static final Logger LOGGER = Logger.getLogger(TargetRateController.class);
+
+    private final String testCaseId;
+    private final RemoteClient remoteClient;
+
+    private ControlThread controlThread;
+
+    private int runningWorkerCount;
+    private LoadProfile loadProfile;
+    private long loadProfileStartedMillis;
+    private String lastLoadSegment;
+    private double lastTargetRate;
+    private int lastActiveThreadCount;
+
+    TargetRateController(String testCaseId, RemoteClient remoteClient, int runningWorkerCount) {
+        this.testCaseId = testCaseId;
+        this.remoteClient = remoteClient;
+        this.runningWorkerCount = Math.max(1, runningWorkerCount);
+    }
+
+    /**
+     * Sends the share of the target rate to all Workers.
+     *
+     * The change is rejected if the target rate is not positive or if the target rate is defined by a {@link LoadProfile}.
+     *
+     * @param targetRate        the target rate of the whole cluster in operations per second
+     * @param activeThreadCount the number of active threads per Worker, {@code 0} activates all threads
+     * @return {@code true} if the target rate has been changed, {@code false} otherwise
+     */
+    synchronized boolean changeTargetRate(double targetRate, int activeThreadCount) {
+        if (targetRate <= 0 || activeThreadCount < 0) {
+            LOGGER.error(format("Rejected target rate of %.1f ops/s on %d threads for %s", targetRate, activeThreadCount,
+                    testCaseId));
+            return false;
+        }
+        if (loadProfile != null) {
+            LOGGER.error(format("Rejected target rate of %s, since it's defined by its load profile", testCaseId));
+            return false;
+        }
+        LOGGER.info(format("Changing target rate of %s to %.1f ops/s (%.1f ops/s per Worker on %s threads)", testCaseId,
+                targetRate, targetRate / runningWorkerCount, activeThreadCount > 0 ? String.valueOf(activeThreadCount) : "all"));
+        lastTargetRate = targetRate;
+        lastActiveThreadCount = activeThreadCount;
+        sendTargetRate(targetRate, activeThreadCount, null);
+        return true;
+    }
+
+    /**
+     * Updates the number of Workers which execute the RUN phase and sends the new share of the last target rate to all Workers.
+     *
+     * @param runningWorkerCount the number of Workers which execute the RUN phase
+     */
+    synchronized void setRunningWorkerCount(int runningWorkerCount) {
+        int newRunningWorkerCount = Math.max(1, runningWorkerCount);
+        if (newRunningWorkerCount == this.runningWorkerCount) {
+            return;
+        }
+        this.runningWorkerCount = newRunningWorkerCount;
+        if (lastTargetRate > 0) {
+            LOGGER.info(format("Splitting target rate of %s of %.1f ops/s across %d Workers", testCaseId, lastTargetRate,
+                    newRunningWorkerCount));
+            sendTargetRate(lastTargetRate, lastActiveThreadCount, lastLoadSegment);
+        }
+    }
+
+    /**
+     * Sets a {@link LoadProfile} and sends its initial target rate to all Workers.
+     *
+     * The elapsed time of the profile starts with {@link #startControlThread()}.
+     *
+     * @param loadProfile the {@link LoadProfile} of the test
+     */
+    synchronized void setLoadProfile(LoadProfile loadProfile) {
+        this.loadProfile = loadProfile;
+        LOGGER.info(format("Load profile of %s: %s", testCaseId, loadProfile));
+        applyLoadProfile(0);
+    }
+
+    /**
+     * Sends the target rate of the {@link LoadProfile} at the given time, if it has been changed since the last call.
+     *
+     * @param elapsedMillis the elapsed time since the start of the profile
+     * @return {@code true} if the target rate has been changed, {@code false} otherwise
+     */
+    synchronized boolean applyLoadProfile(long elapsedMillis) {
+        LoadProfile.Segment segment = loadProfile.getSegment(elapsedMillis);
+        double targetRate = segment.getTargetRate(elapsedMillis);
+        String loadSegment = segment.getName();
+        if (loadSegment.equals(lastLoadSegment) && targetRate == lastTargetRate) {
+            return false;
+        }
+        if (!loadSegment.equals(lastLoadSegment)) {
+            LOGGER.info(format("Test %s entered load profile segment %s with %.1f ops/s", testCaseId, segment, targetRate));
+        }
+        lastLoadSegment = loadSegment;
+        lastTargetRate = targetRate;
+        sendTargetRate(targetRate, 0, loadSegment);
+        return true;
+    }
+
+    void startControlThread() {
+        if (loadProfile == null) {
+            return;
+        }
+        loadProfileStartedMillis = System.currentTimeMillis();
+        controlThread = new ControlThread();
+        controlThread.start();
+    }
+
+    void stopControlThread() {
+        if (controlThread != null) {
+            controlThread.running = false;
+            controlThread.interrupt();
+        }
+    }
+
+    private void sendTargetRate(double targetRate, int activeThreadCount, String loadSegment) {
+        double workerTargetRate = targetRate / runningWorkerCount;
+        remoteClient.sendToTestOnAllWorkers(testCaseId,
+                new ChangeTargetRateOperation(workerTargetRate, activeThreadCount, loadSegment));
+    }
+
+    private final class ControlThread extends Thread {
+
+        private volatile boolean running = true;
+
+        private ControlThread() {
+            super("TargetRateControlThread-" + testCaseId);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                applyLoadProfile(System.currentTimeMillis() - loadProfileStartedMillis);
+                sleepMillis(CONTROL_INTERVAL_MILLIS);
+            }
+        }
+    }
+}
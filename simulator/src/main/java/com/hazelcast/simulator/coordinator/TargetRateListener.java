@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+/**
+ * Listener for requests to change the target rate of a running Simulator Test.
+ */
+public interface TargetRateListener {
+
+    /**
+     * Changes the target rate of the whole cluster.
+     *
+     * @param targetRate        the target rate of the whole cluster in operations per second
+     * @param activeThreadCount the number of active threads per Worker, {@code 0} activates all threads
+     * @return {@code true} if the target rate has been changed, {@code false} otherwise
+     */
+    boolean changeTargetRate(double targetRate, int activeThreadCount);
+}
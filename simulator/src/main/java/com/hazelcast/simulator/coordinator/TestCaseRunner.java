@@ -21,6 +21,7 @@ import com.hazelcast.simulator.protocol.operation.StartTestPhaseOperation;
 import com.hazelcast.simulator.protocol.operation.StopTestOperation;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
 import com.hazelcast.simulator.protocol.registry.TargetType;
+import com.hazelcast.simulator.protocol.registry.WorkerData;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.test.TestPhase;
 import com.hazelcast.simulator.test.TestSuite;
@@ -49,13 +50,14 @@ import static com.hazelcast.simulator.utils.FormatUtils.formatPercentage;
 import static com.hazelcast.simulator.utils.FormatUtils.padRight;
 import static com.hazelcast.simulator.utils.FormatUtils.secondsToHuman;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Responsible for running a single {@link TestCase}.
  *
  * Multiple TestCases can be run in parallel, by having multiple TestCaseRunners in parallel.
  */
-final class TestCaseRunner implements TestPhaseListener {
+final class TestCaseRunner implements TestPhaseListener, TargetRateListener {
 
     private static final int RUN_PHASE_LOG_INTERVAL_SECONDS = 30;
     private static final int WAIT_FOR_PHASE_COMPLETION_LOG_INTERVAL_SECONDS = 30;
@@ -71,9 +73,9 @@ final class TestCaseRunner implements TestPhaseListener {
     private final String testCaseId;
     private final TestSuite testSuite;
 
+    private final Coordinator coordinator;
     private final RemoteClient remoteClient;
     private final FailureContainer failureContainer;
-    private final PerformanceStateContainer performanceStateContainer;
     private final ComponentRegistry componentRegistry;
 
     private final String prefix;
@@ -87,6 +89,9 @@ final class TestCaseRunner implements TestPhaseListener {
     private final int logPerformanceIntervalSeconds;
     private final int logRunPhaseIntervalSeconds;
 
+    private ElasticityController elasticityController;
+    private volatile TargetRateController targetRateController;
+
     TestCaseRunner(int testIndex, TestCase testCase, Coordinator coordinator, int paddingLength,
                    Map<TestPhase, CountDownLatch> testPhaseSyncMap) {
         this.testIndex = testIndex;
@@ -94,9 +99,9 @@ final class TestCaseRunner implements TestPhaseListener {
         this.testCaseId = testCase.getId();
         this.testSuite = coordinator.getTestSuite();
 
+        this.coordinator = coordinator;
         this.remoteClient = coordinator.getRemoteClient();
         this.failureContainer = coordinator.getFailureContainer();
-        this.performanceStateContainer = coordinator.getPerformanceStateContainer();
         this.componentRegistry = coordinator.getComponentRegistry();
 
         this.prefix = padRight(testCaseId, paddingLength + 1);
@@ -117,11 +122,25 @@ final class TestCaseRunner implements TestPhaseListener {
         }
     }
 
+    String getTestCaseId() {
+        return testCaseId;
+    }
+
     @Override
     public void completed(TestPhase testPhase) {
         phaseCompletedMap.get(testPhase).incrementAndGet();
     }
 
+    @Override
+    public boolean changeTargetRate(double targetRate, int activeThreadCount) {
+        TargetRateController controller = targetRateController;
+        if (controller == null) {
+            LOGGER.error(format("Could not change target rate of %s, since it's not running with a target rate", testCaseId));
+            return false;
+        }
+        return controller.changeTargetRate(targetRate, activeThreadCount);
+    }
+
     void run() {
         try {
             createTest();
@@ -131,7 +150,17 @@ final class TestCaseRunner implements TestPhaseListener {
             runPhase(GLOBAL_WARMUP);
 
             startTest();
-            waitForTestCompletion();
+            try {
+                waitForTestCompletion();
+            } finally {
+                if (targetRateController != null) {
+                    targetRateController.stopControlThread();
+                    targetRateController = null;
+                }
+                if (elasticityController != null) {
+                    elasticityController.stop();
+                }
+            }
 
             if (isVerifyEnabled) {
                 runPhase(GLOBAL_VERIFY);
@@ -174,8 +203,65 @@ final class TestCaseRunner implements TestPhaseListener {
     private void startTest() {
         echo(format("Starting Test start on %s", targetType.toString(targetCount)));
         List<String> targetWorkers = componentRegistry.getWorkerAddresses(targetType, targetCount);
+        targetRateController = createTargetRateController(targetWorkers);
+        elasticityController = createElasticityController(targetWorkers);
         remoteClient.sendToTestOnAllWorkers(testCaseId, new StartTestOperation(targetType, targetWorkers));
         echo("Completed Test start");
+
+        if (targetRateController != null) {
+            targetRateController.startControlThread();
+        }
+        if (elasticityController != null) {
+            elasticityController.setTargetRateController(targetRateController);
+            elasticityController.start();
+        }
+    }
+
+    private ElasticityController createElasticityController(List<String> targetWorkers) {
+        String elasticityProperty = testCase.getProperty(ElasticityProfile.ELASTICITY_KEY);
+        if (elasticityProperty == null) {
+            return null;
+        }
+        ElasticityProfile elasticityProfile = ElasticityProfile.parse(elasticityProperty);
+        return new ElasticityController(coordinator, testCaseId, elasticityProfile, targetType, targetWorkers);
+    }
+
+    private TargetRateController createTargetRateController(List<String> targetWorkers) {
+        String loadProfileProperty = testCase.getProperty(TargetRateController.LOAD_PROFILE_KEY);
+        LoadProfile loadProfile = null;
+        double targetRate;
+        if (loadProfileProperty != null) {
+            loadProfile = LoadProfile.parse(loadProfileProperty);
+            targetRate = loadProfile.getTargetRate(0);
+        } else {
+            String targetRateProperty = testCase.getProperty(TargetRateController.TARGET_RATE_KEY);
+            targetRate = (targetRateProperty == null) ? 0 : Double.parseDouble(targetRateProperty);
+        }
+        if (targetRate <= 0) {
+            return null;
+        }
+
+        int runningWorkerCount = targetWorkers.isEmpty() ? getWorkerCount(targetType) : targetWorkers.size();
+        TargetRateController targetRateController = new TargetRateController(testCaseId, remoteClient, runningWorkerCount);
+        if (loadProfile != null) {
+            echo(format("Load profile with a duration of %d seconds will be split across %d Workers",
+                    MILLISECONDS.toSeconds(loadProfile.getDurationMillis()), runningWorkerCount));
+            targetRateController.setLoadProfile(loadProfile);
+        } else {
+            echo(format("Target rate of %.1f ops/s will be split across %d Workers", targetRate, runningWorkerCount));
+            targetRateController.changeTargetRate(targetRate, 0);
+        }
+        return targetRateController;
+    }
+
+    private int getWorkerCount(TargetType type) {
+        int count = 0;
+        for (WorkerData workerData : componentRegistry.getWorkers()) {
+            if (!workerData.isElastic() && type.matches(workerData.isMemberWorker())) {
+                count++;
+            }
+        }
+        return count;
     }
 
     private void waitForTestCompletion() throws Exception {
@@ -237,7 +323,7 @@ final class TestCaseRunner implements TestPhaseListener {
     }
 
     private int getExpectedWorkerCount(TestPhase testPhase) {
-        return (testPhase.isGlobal()) ? 1 : componentRegistry.workerCount();
+        return (testPhase.isGlobal()) ? 1 : componentRegistry.testWorkerCount();
     }
 
     private CountDownLatch decrementAndGetCountDownLatch(TestPhase testPhase) {
@@ -306,7 +392,7 @@ final class TestCaseRunner implements TestPhaseListener {
         private void logProgress(int elapsed, int sleepSeconds) {
             String msg = format("Running %s (%s%%)", secondsToHuman(elapsed), formatPercentage(elapsed, sleepSeconds));
             if (monitorPerformance && elapsed % logPerformanceIntervalSeconds == 0) {
-                msg += performanceStateContainer.formatPerformanceNumbers(testCaseId);
+                msg += coordinator.getPerformanceStateContainer().formatPerformanceNumbers(testCaseId);
             }
 
             LOGGER.info(prefix + msg);
@@ -19,16 +19,22 @@ import com.hazelcast.simulator.probes.Result;
 import com.hazelcast.simulator.probes.impl.ResultImpl;
 import com.hazelcast.simulator.probes.xml.ResultXmlUtils;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.test.TestCase;
+import com.hazelcast.simulator.test.TestSuite;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
 import org.HdrHistogram.Histogram;
 import org.apache.log4j.Logger;
 
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.hazelcast.simulator.probes.impl.GaugeProbe.isGaugeProbe;
+import static com.hazelcast.simulator.worker.tasks.OperationCostSampler.ALLOCATION_PROBE_SUFFIX;
+import static com.hazelcast.simulator.worker.tasks.OperationCostSampler.isCostProbe;
 import static java.lang.String.format;
 import static javax.xml.bind.DatatypeConverter.parseBase64Binary;
 import static org.HdrHistogram.Histogram.decodeFromCompressedByteBuffer;
@@ -62,7 +68,18 @@ public class TestHistogramContainer {
         return workerTestProbeHistogramMap.get(workerAddress);
     }
 
-    void createProbeResults(String testSuiteId, String testCaseId) {
+    Map<String, Result> createProbeResults(TestSuite testSuite) {
+        Map<String, Result> results = new HashMap<String, Result>();
+        for (TestCase testCase : testSuite.getTestCaseList()) {
+            results.put(testCase.getId(), createProbeResults(testSuite.getId(), testCase.getId()));
+        }
+        if (testSuite.isParameterSweep()) {
+            ParameterSweepReport.write(testSuite, results);
+        }
+        return results;
+    }
+
+    Result createProbeResults(String testSuiteId, String testCaseId) {
         PerformanceState performanceState = performanceStateContainer.get(testCaseId);
         Result result = aggregateHistogramsForTestCase(testCaseId, performanceState);
         if (!result.isEmpty()) {
@@ -70,6 +87,7 @@ public class TestHistogramContainer {
             ResultXmlUtils.toXml(result, new File(fileName));
             logProbesResultInHumanReadableFormat(testCaseId, result);
         }
+        return result;
     }
 
     private synchronized Result aggregateHistogramsForTestCase(String testCaseId, PerformanceState state) {
@@ -100,6 +118,16 @@ public class TestHistogramContainer {
     private void logProbesResultInHumanReadableFormat(String testId, Result result) {
         for (String probeName : result.probeNames()) {
             LOGGER.info(format("%s Results of probe %s:%n%s", testId, probeName, result.toHumanString(probeName)));
+            if (isCostProbe(probeName)) {
+                Histogram histogram = result.getHistogram(probeName);
+                String unit = probeName.endsWith(ALLOCATION_PROBE_SUFFIX) ? "bytes/op" : "CPU-ns/op";
+                LOGGER.info(format("%s Mean operation cost of probe %s: %.2f %s (%d samples)", testId, probeName,
+                        histogram.getMean(), unit, histogram.getTotalCount()));
+            } else if (isGaugeProbe(probeName)) {
+                Histogram histogram = result.getHistogram(probeName);
+                LOGGER.info(format("%s Mean value of gauge probe %s: %.2f (max %d, %d samples)", testId, probeName,
+                        histogram.getMean(), histogram.getMaxValue(), histogram.getTotalCount()));
+            }
         }
     }
 }
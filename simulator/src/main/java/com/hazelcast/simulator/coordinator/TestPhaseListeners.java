@@ -50,4 +50,13 @@ public class TestPhaseListeners {
         }
         listener.completed(testPhase);
     }
+
+    public boolean changeTargetRate(int testIndex, double targetRate, int activeThreadCount) {
+        TestPhaseListener listener = listenerMap.get(testIndex);
+        if (!(listener instanceof TargetRateListener)) {
+            LOGGER.error(format("Could not find target rate listener for testIndex %d", testIndex));
+            return false;
+        }
+        return ((TargetRateListener) listener).changeTargetRate(targetRate, activeThreadCount);
+    }
 }
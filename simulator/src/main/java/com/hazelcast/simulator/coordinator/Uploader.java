@@ -19,17 +19,17 @@ import com.hazelcast.simulator.cluster.AgentWorkerLayout;
 import com.hazelcast.simulator.cluster.ClusterLayout;
 import com.hazelcast.simulator.protocol.registry.AgentData;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
-import com.hazelcast.simulator.utils.Bash;
 import com.hazelcast.simulator.utils.CommandLineExitException;
 import com.hazelcast.simulator.utils.ThreadSpawner;
+import com.hazelcast.simulator.utils.UploadCache;
 import com.hazelcast.simulator.utils.jars.HazelcastJARs;
 import org.apache.log4j.Logger;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
-import static com.hazelcast.simulator.coordinator.Coordinator.SIMULATOR_VERSION;
 import static com.hazelcast.simulator.utils.CommonUtils.getElapsedSeconds;
 import static com.hazelcast.simulator.utils.FileUtils.getFilesFromClassPath;
 import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
@@ -39,6 +39,9 @@ import static java.lang.String.format;
 
 /**
  * Responsible for uploading files to the agent machines.
+ *
+ * All uploads are done via an {@link UploadCache}, so only files which are not already on an agent with the same content are
+ * transferred.
  */
 class Uploader {
 
@@ -49,7 +52,7 @@ class Uploader {
 
     private final String simulatorHome = getSimulatorHome().getAbsolutePath();
 
-    private final Bash bash;
+    private final UploadCache uploadCache;
     private final ComponentRegistry componentRegistry;
     private final ClusterLayout clusterLayout;
 
@@ -59,11 +62,24 @@ class Uploader {
 
     private final String workerClassPath;
     private final String testSuiteId;
+    private final Set<String> additionalVersionSpecs;
 
-    Uploader(Bash bash, ComponentRegistry componentRegistry, ClusterLayout clusterLayout,
+    Uploader(UploadCache uploadCache, ComponentRegistry componentRegistry, ClusterLayout clusterLayout,
              HazelcastJARs hazelcastJARs, boolean uploadHazelcastJARs, boolean isEnterpriseEnabled,
              String workerClassPath, String testSuiteId) {
-        this.bash = bash;
+        this(uploadCache, componentRegistry, clusterLayout, hazelcastJARs, uploadHazelcastJARs, isEnterpriseEnabled,
+                workerClassPath, testSuiteId, Collections.<String>emptySet());
+    }
+
+    /**
+     * Creates an {@link Uploader}, which uploads additional Hazelcast versions to all agents with Workers.
+     *
+     * The additional versions are used by Workers which are started after a restart with a different Hazelcast version.
+     */
+    Uploader(UploadCache uploadCache, ComponentRegistry componentRegistry, ClusterLayout clusterLayout,
+             HazelcastJARs hazelcastJARs, boolean uploadHazelcastJARs, boolean isEnterpriseEnabled,
+             String workerClassPath, String testSuiteId, Set<String> additionalVersionSpecs) {
+        this.uploadCache = uploadCache;
         this.componentRegistry = componentRegistry;
         this.clusterLayout = clusterLayout;
 
@@ -73,6 +89,7 @@ class Uploader {
 
         this.workerClassPath = workerClassPath;
         this.testSuiteId = testSuiteId;
+        this.additionalVersionSpecs = additionalVersionSpecs;
     }
 
     void run() {
@@ -107,6 +124,9 @@ class Uploader {
         for (AgentWorkerLayout agentWorkerLayout : clusterLayout.getAgentWorkerLayouts()) {
             final String ip = agentWorkerLayout.getPublicAddress();
             final Set<String> hazelcastVersionSpecs = agentWorkerLayout.getHazelcastVersionSpecs();
+            if (!hazelcastVersionSpecs.isEmpty()) {
+                hazelcastVersionSpecs.addAll(additionalVersionSpecs);
+            }
             spawner.spawn(new Runnable() {
                 @Override
                 public void run() {
@@ -158,11 +178,8 @@ class Uploader {
             spawner.spawn(new Runnable() {
                 @Override
                 public void run() {
-                    bash.ssh(ip, format("mkdir -p hazelcast-simulator-%s/%s", SIMULATOR_VERSION, targetPath));
-                    for (File sourceFile : sourceFiles) {
-                        bash.uploadToRemoteSimulatorDir(ip, sourceFile.getAbsolutePath(), targetPath);
-                    }
-                    logAgentDone(ip);
+                    int uploadedFiles = uploadCache.upload(ip, sourceFiles, targetPath);
+                    logAgentDone(ip, uploadedFiles);
                 }
             });
         }
@@ -171,7 +188,7 @@ class Uploader {
         return getElapsedSeconds(started);
     }
 
-    private void logAgentDone(String ip) {
-        LOGGER.info(format("    Agent %s  done", formatIpAddress(ip)));
+    private void logAgentDone(String ip, int uploadedFiles) {
+        LOGGER.info(format("    Agent %s  done (%d changed files)", formatIpAddress(ip), uploadedFiles));
     }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.cluster.ClusterLayout;
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.test.TestCase;
+import com.hazelcast.simulator.test.TestSuite;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Defines an A/B comparison of two Hazelcast versions, which runs the {@link TestSuite} alternately on both versions.
+ *
+ * Each round runs all tests once on version A and once on version B. The order of the versions alternates between the rounds
+ * (A-B, B-A, A-B, ...), so a drift of the environment affects both versions equally. Every run is executed on fresh Worker
+ * JVMs on the same agents, so the results are not influenced by the JIT compilation or the heap of a previous run.
+ *
+ * The tests of each run get the version and round as suffix, e.g. {@code MapTest_A1} and {@code MapTest_B1}, so their probes
+ * and performance files are kept apart.
+ */
+final class VersionComparison {
+
+    static final String VERSION_A = "A";
+    static final String VERSION_B = "B";
+
+    private final Map<String, Run> runs = new LinkedHashMap<String, Run>();
+
+    private final String versionSpecA;
+    private final String versionSpecB;
+    private final int rounds;
+
+    private int nextRestart;
+
+    VersionComparison(String versionSpecA, String versionSpecB, int rounds) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException(format("The number of rounds has to be at least 1, but was %d", rounds));
+        }
+        if (versionSpecA.equals(versionSpecB)) {
+            throw new IllegalArgumentException(format("Can't compare version spec '%s' with itself", versionSpecA));
+        }
+        this.versionSpecA = versionSpecA;
+        this.versionSpecB = versionSpecB;
+        this.rounds = rounds;
+    }
+
+    String getVersionSpecA() {
+        return versionSpecA;
+    }
+
+    String getVersionSpecB() {
+        return versionSpecB;
+    }
+
+    int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Creates a {@link TestSuite} with a copy of each test per version and round, in the order in which they are run.
+     *
+     * @param testSuite the {@link TestSuite} to compare
+     * @return the {@link TestSuite} with the tests of all runs
+     */
+    TestSuite createTestSuite(TestSuite testSuite) {
+        TestSuite comparisonTestSuite = new TestSuite(testSuite.getId());
+        comparisonTestSuite.setDurationSeconds(testSuite.getDurationSeconds());
+        comparisonTestSuite.setWaitForTestCase(testSuite.isWaitForTestCase());
+        comparisonTestSuite.setFailFast(testSuite.isFailFast());
+        comparisonTestSuite.setTolerableFailures(testSuite.getTolerableFailures());
+
+        runs.clear();
+        int restart = 0;
+        for (int round = 1; round <= rounds; round++) {
+            boolean isVersionAFirst = (round % 2 == 1);
+            restart = addRun(comparisonTestSuite, testSuite, isVersionAFirst ? VERSION_A : VERSION_B, round, restart);
+            restart = addRun(comparisonTestSuite, testSuite, isVersionAFirst ? VERSION_B : VERSION_A, round, restart);
+        }
+        nextRestart = restart;
+        return comparisonTestSuite;
+    }
+
+    private int addRun(TestSuite comparisonTestSuite, TestSuite testSuite, String version, int round, int restart) {
+        boolean isFirstTest = true;
+        for (TestCase testCase : testSuite.getTestCaseList()) {
+            String testCaseId = testCase.getId() + '_' + version + round;
+            comparisonTestSuite.addTest(new TestCase(testCaseId, testCase.getProperties()));
+            runs.put(testCaseId, new Run(testCase.getId(), version, restart, isFirstTest));
+            isFirstTest = false;
+        }
+        return restart + 1;
+    }
+
+    /**
+     * Returns all Hazelcast version specifications which are needed to run the comparison.
+     *
+     * @param clusterLayout the configured {@link ClusterLayout}
+     * @return the version specifications of the {@link ClusterLayout} and of version B
+     */
+    Set<String> getVersionSpecs(ClusterLayout clusterLayout) {
+        Set<String> versionSpecs = new HashSet<String>(clusterLayout.getVersionSpecs());
+        versionSpecs.add(versionSpecB);
+        return versionSpecs;
+    }
+
+    /**
+     * Checks if the Workers have to be restarted before a test, since it is the first test of a new run.
+     *
+     * @param testCaseId the ID of the test
+     * @return {@code true} if the Workers have to be restarted, {@code false} otherwise
+     */
+    boolean isRestartRequired(String testCaseId) {
+        Run run = runs.get(testCaseId);
+        return (run != null && run.isFirstTest && run.restart > 0);
+    }
+
+    /**
+     * Returns the {@link ClusterLayout} to restart the Workers before a test.
+     *
+     * The first test of a run gets the planned Worker indexes of the run. A restart within a run after a critical failure gets
+     * Worker indexes behind those of all planned runs, so they don't clash with any other Workers.
+     *
+     * @param clusterLayout the configured {@link ClusterLayout}, which is used for version A
+     * @param testCaseId    the ID of the test
+     * @return the {@link ClusterLayout} with the Hazelcast version of the run and new Worker indexes
+     */
+    ClusterLayout getClusterLayout(ClusterLayout clusterLayout, String testCaseId) {
+        Run run = runs.get(testCaseId);
+        if (run == null) {
+            return clusterLayout;
+        }
+        int restart = (run.isFirstTest && run.restart > 0) ? run.restart : nextRestart++;
+        return clusterLayout.copy(restart, VERSION_B.equals(run.version) ? versionSpecB : null);
+    }
+
+    /**
+     * Returns the results of all runs of a test on a version, in the order in which they were run.
+     *
+     * @param results    the {@link Result} per test ID
+     * @param testCaseId the ID of the original test
+     * @param version    the version, {@link #VERSION_A} or {@link #VERSION_B}
+     * @return a list of the available results
+     */
+    List<Result> getResults(Map<String, Result> results, String testCaseId, String version) {
+        List<Result> versionResults = new ArrayList<Result>();
+        for (Map.Entry<String, Run> entry : runs.entrySet()) {
+            Run run = entry.getValue();
+            Result result = results.get(entry.getKey());
+            if (run.testCaseId.equals(testCaseId) && run.version.equals(version) && hasResult(result)) {
+                versionResults.add(result);
+            }
+        }
+        return versionResults;
+    }
+
+    private static boolean hasResult(Result result) {
+        // a failed run has neither operations nor histograms
+        return (result != null && (result.getInvocations() > 0 || !result.isEmpty()));
+    }
+
+    /**
+     * Returns the IDs of the original tests.
+     *
+     * @return the test IDs in the order of the original {@link TestSuite}
+     */
+    List<String> getTestCaseIds() {
+        List<String> testCaseIds = new ArrayList<String>();
+        for (Run run : runs.values()) {
+            if (!testCaseIds.contains(run.testCaseId)) {
+                testCaseIds.add(run.testCaseId);
+            }
+        }
+        return testCaseIds;
+    }
+
+    private static final class Run {
+
+        private final String testCaseId;
+        private final String version;
+        private final int restart;
+        private final boolean isFirstTest;
+
+        private Run(String testCaseId, String version, int restart, boolean isFirstTest) {
+            this.testCaseId = testCaseId;
+            this.version = version;
+            this.restart = restart;
+            this.isFirstTest = isFirstTest;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.probes.Result;
+import org.HdrHistogram.Histogram;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.hazelcast.simulator.coordinator.VersionComparison.VERSION_A;
+import static com.hazelcast.simulator.coordinator.VersionComparison.VERSION_B;
+import static com.hazelcast.simulator.probes.impl.GaugeProbe.isGaugeProbe;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static java.lang.String.format;
+
+/**
+ * Creates the report of a {@link VersionComparison} with the differences of the throughput and latencies of both versions.
+ *
+ * For each metric the mean over all runs of a version is reported, together with the difference of version B to version A and
+ * its 95% confidence interval, both in percent of version A. The confidence interval is calculated with Welch's t-test, since
+ * the variances of both versions can differ. A difference is marked as significant if its confidence interval excludes zero.
+ */
+final class VersionComparisonReport {
+
+    /**
+     * The two-sided 95% quantiles of the t-distribution for 1 to 30 degrees of freedom.
+     */
+    private static final double[] T_QUANTILES_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042,
+    };
+    private static final double Z_QUANTILE_95 = 1.96;
+
+    private static final String[] LATENCY_METRICS = {"mean", "p50", "p99", "p99.9"};
+    private static final double[] LATENCY_PERCENTILES = {0, 50, 99, 99.9};
+    private static final double PERCENT = 100;
+
+    private static final Logger LOGGER = Logger.getLogger(VersionComparisonReport.class);
+
+    private VersionComparisonReport() {
+    }
+
+    /**
+     * Writes the report of a {@link VersionComparison} to {@code compare-<testSuiteId>.csv}.
+     *
+     * @param versionComparison the {@link VersionComparison}
+     * @param testSuiteId       the ID of the {@link com.hazelcast.simulator.test.TestSuite}
+     * @param results           the {@link Result} per test ID
+     * @return the written report file
+     */
+    static File write(VersionComparison versionComparison, String testSuiteId, Map<String, Result> results) {
+        File file = new File("compare-" + testSuiteId + ".csv");
+        String report = createReport(versionComparison, results);
+        writeText(report, file);
+        LOGGER.info(format("Comparison of version B (%s) with version A (%s) over %d rounds (latencies in us):%n%s",
+                versionComparison.getVersionSpecB(), versionComparison.getVersionSpecA(), versionComparison.getRounds(),
+                report.replace(",", "\t")));
+        return file;
+    }
+
+    static String createReport(VersionComparison versionComparison, Map<String, Result> results) {
+        StringBuilder sb = new StringBuilder("testId,probe,metric,runsA,runsB,meanA,meanB,difference%,ci95Low%,ci95High%,"
+                + "significant").append(NEW_LINE);
+        for (String testCaseId : versionComparison.getTestCaseIds()) {
+            List<Result> resultsA = versionComparison.getResults(results, testCaseId, VERSION_A);
+            List<Result> resultsB = versionComparison.getResults(results, testCaseId, VERSION_B);
+            if (resultsA.isEmpty() || resultsB.isEmpty()) {
+                continue;
+            }
+
+            appendRow(sb, testCaseId, "", "throughput", getThroughputs(resultsA), getThroughputs(resultsB));
+            for (String probeName : getProbeNames(resultsA, resultsB)) {
+                for (int i = 0; i < LATENCY_METRICS.length; i++) {
+                    double[] valuesA = getLatencies(resultsA, probeName, LATENCY_PERCENTILES[i]);
+                    double[] valuesB = getLatencies(resultsB, probeName, LATENCY_PERCENTILES[i]);
+                    appendRow(sb, testCaseId, probeName, LATENCY_METRICS[i], valuesA, valuesB);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String testCaseId, String probeName, String metric, double[] valuesA,
+                                  double[] valuesB) {
+        if (valuesA.length == 0 || valuesB.length == 0) {
+            return;
+        }
+        double meanA = mean(valuesA);
+        double[] difference = getDifference(valuesA, valuesB);
+        boolean isSignificant = (difference[1] > 0 || difference[2] < 0);
+
+        sb.append(testCaseId).append(',').append(probeName).append(',').append(metric)
+                .append(format(Locale.US, ",%d,%d,%.2f,%.2f", valuesA.length, valuesB.length, meanA, mean(valuesB)))
+                .append(',').append(formatPercent(difference[0], meanA))
+                .append(',').append(formatPercent(difference[1], meanA))
+                .append(',').append(formatPercent(difference[2], meanA))
+                .append(',').append(Double.isNaN(difference[1]) ? "" : isSignificant)
+                .append(NEW_LINE);
+    }
+
+    /**
+     * Calculates the difference of the means of two samples and its 95% confidence interval with Welch's t-test.
+     *
+     * @param valuesA the values of version A
+     * @param valuesB the values of version B
+     * @return the difference of the means (B - A), the lower and the upper bound of the confidence interval, the bounds are
+     * {@link Double#NaN} if a sample has less than two values
+     */
+    static double[] getDifference(double[] valuesA, double[] valuesB) {
+        double difference = mean(valuesB) - mean(valuesA);
+        if (valuesA.length < 2 || valuesB.length < 2) {
+            return new double[]{difference, Double.NaN, Double.NaN};
+        }
+
+        double varianceA = variance(valuesA) / valuesA.length;
+        double varianceB = variance(valuesB) / valuesB.length;
+        double standardError = Math.sqrt(varianceA + varianceB);
+        if (standardError == 0) {
+            return new double[]{difference, difference, difference};
+        }
+
+        double degreesOfFreedom = (varianceA + varianceB) * (varianceA + varianceB)
+                / (varianceA * varianceA / (valuesA.length - 1) + varianceB * varianceB / (valuesB.length - 1));
+        double margin = getTQuantile(degreesOfFreedom) * standardError;
+        return new double[]{difference, difference - margin, difference + margin};
+    }
+
+    static double getTQuantile(double degreesOfFreedom) {
+        // we round down, which results in a slightly wider and therefore conservative confidence interval
+        int index = Math.max(1, (int) degreesOfFreedom) - 1;
+        return (index < T_QUANTILES_95.length) ? T_QUANTILES_95[index] : Z_QUANTILE_95;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values) {
+        double mean = mean(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    private static String formatPercent(double value, double base) {
+        if (Double.isNaN(value) || base == 0) {
+            return "";
+        }
+        return format(Locale.US, "%.2f", value * PERCENT / base);
+    }
+
+    private static Set<String> getProbeNames(List<Result> resultsA, List<Result> resultsB) {
+        Set<String> probeNames = getAllProbeNames(resultsA);
+        probeNames.retainAll(getAllProbeNames(resultsB));
+        Set<String> latencyProbeNames = new TreeSet<String>();
+        for (String probeName : probeNames) {
+            if (!isGaugeProbe(probeName)) {
+                latencyProbeNames.add(probeName);
+            }
+        }
+        return latencyProbeNames;
+    }
+
+    private static Set<String> getAllProbeNames(List<Result> results) {
+        Set<String> probeNames = new TreeSet<String>();
+        for (Result result : results) {
+            probeNames.addAll(result.probeNames());
+        }
+        return probeNames;
+    }
+
+    private static double[] getThroughputs(List<Result> results) {
+        double[] values = new double[results.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = results.get(i).getThroughput();
+        }
+        return values;
+    }
+
+    private static double[] getLatencies(List<Result> results, String probeName, double percentile) {
+        int count = 0;
+        double[] values = new double[results.size()];
+        for (Result result : results) {
+            Histogram histogram = result.getHistogram(probeName);
+            if (histogram != null) {
+                values[count++] = (percentile == 0) ? histogram.getMean() : histogram.getValueAtPercentile(percentile);
+            }
+        }
+        double[] latencies = new double[count];
+        System.arraycopy(values, 0, latencies, 0, count);
+        return latencies;
+    }
+}
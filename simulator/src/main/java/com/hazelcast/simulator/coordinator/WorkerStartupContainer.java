@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.operation.WorkerStartupOperation;
+import com.hazelcast.simulator.worker.WorkerType;
+import org.apache.log4j.Logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+
+/**
+ * Collects the durations of the startup phases of all Simulator Workers, to find out which phase delays the Worker startup.
+ */
+public class WorkerStartupContainer {
+
+    private static final Logger LOGGER = Logger.getLogger(WorkerStartupContainer.class);
+
+    private final ConcurrentMap<SimulatorAddress, WorkerStartupOperation> startupMap
+            = new ConcurrentHashMap<SimulatorAddress, WorkerStartupOperation>();
+
+    public void addWorkerStartup(WorkerStartupOperation operation) {
+        startupMap.put(operation.getWorkerAddress(), operation);
+    }
+
+    public int size() {
+        return startupMap.size();
+    }
+
+    public void logStartupInfo() {
+        for (WorkerType workerType : WorkerType.values()) {
+            String startupTimes = formatStartupTimes(workerType);
+            if (startupTimes != null) {
+                LOGGER.info(startupTimes);
+            }
+        }
+    }
+
+    /**
+     * Formats the average and maximum duration of each startup phase of all Workers with the given {@link WorkerType}.
+     *
+     * @param workerType the {@link WorkerType} to format the startup times for
+     * @return the formatted startup times or {@code null} if no Worker of this type has been started
+     */
+    String formatStartupTimes(WorkerType workerType) {
+        PhaseStats spawn = new PhaseStats();
+        PhaseStats jvmBoot = new PhaseStats();
+        PhaseStats hazelcastStartup = new PhaseStats();
+        PhaseStats connectorStartup = new PhaseStats();
+        PhaseStats total = new PhaseStats();
+        for (WorkerStartupOperation operation : startupMap.values()) {
+            if (operation.getWorkerType() != workerType) {
+                continue;
+            }
+            spawn.add(operation.getSpawnMillis());
+            jvmBoot.add(operation.getJvmBootMillis());
+            hazelcastStartup.add(operation.getHazelcastStartupMillis());
+            connectorStartup.add(operation.getConnectorStartupMillis());
+            total.add(operation.getSpawnMillis() + Math.max(0, operation.getJvmBootMillis())
+                    + Math.max(0, operation.getHazelcastStartupMillis()) + operation.getConnectorStartupMillis());
+        }
+        if (total.count == 0) {
+            return null;
+        }
+        return format("Startup of %d %s Workers (avg/max ms): spawn %s, JVM boot %s, Hazelcast startup %s,"
+                        + " connector startup %s, total %s", total.count, workerType, spawn, jvmBoot, hazelcastStartup,
+                connectorStartup, total);
+    }
+
+    private static final class PhaseStats {
+
+        private int count;
+        private long sum;
+        private long max;
+
+        private void add(long millis) {
+            // unknown durations are reported as -1 and are ignored
+            if (millis < 0) {
+                return;
+            }
+            count++;
+            sum += millis;
+            max = Math.max(max, millis);
+        }
+
+        @Override
+        public String toString() {
+            if (count == 0) {
+                return "n/a";
+            }
+            return (sum / count) + "/" + max;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.heatmap;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.List;
+
+import static com.hazelcast.simulator.heatmap.HeatMap.openLatencyFile;
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+
+/**
+ * Reads the interval histograms of multiple histogram log files in lockstep and combines the histograms of the same interval.
+ *
+ * Only a single interval histogram per file is decoded at a time, so the memory consumption doesn't grow with the test duration.
+ * The underlying files are closed as soon as they are exhausted or when the reader is closed.
+ */
+final class CombinedHistogramReader implements Closeable {
+
+    private final FileInputStream[] inputStreams;
+    private final HistogramLogReader[] readers;
+    private final long highestTrackableValue;
+    private final int numberOfSignificantValueDigits;
+
+    CombinedHistogramReader(List<File> latencyFiles, String testName, long highestTrackableValue,
+                            int numberOfSignificantValueDigits) {
+        this.inputStreams = new FileInputStream[latencyFiles.size()];
+        this.readers = new HistogramLogReader[latencyFiles.size()];
+        this.highestTrackableValue = highestTrackableValue;
+        this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
+
+        boolean success = false;
+        try {
+            for (int i = 0; i < readers.length; i++) {
+                inputStreams[i] = openLatencyFile(latencyFiles.get(i), testName);
+                readers[i] = new HistogramLogReader(inputStreams[i]);
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Returns the combined histogram of the next interval.
+     *
+     * @return the combined {@link Histogram} or {@code null} if all files are exhausted
+     */
+    Histogram next() {
+        Histogram combined = null;
+        for (int i = 0; i < readers.length; i++) {
+            if (readers[i] == null) {
+                continue;
+            }
+            Histogram histogram = (Histogram) readers[i].nextIntervalHistogram();
+            if (histogram == null) {
+                readers[i] = null;
+                closeQuietly(inputStreams[i]);
+                continue;
+            }
+            if (combined == null) {
+                combined = new Histogram(highestTrackableValue, numberOfSignificantValueDigits);
+            }
+            combined.add(histogram);
+        }
+        return combined;
+    }
+
+    @Override
+    public void close() {
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = null;
+            closeQuietly(inputStreams[i]);
+        }
+    }
+}
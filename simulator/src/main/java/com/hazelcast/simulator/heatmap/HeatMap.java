@@ -17,74 +17,108 @@ package com.hazelcast.simulator.heatmap;
 
 import com.hazelcast.simulator.utils.CommandLineExitException;
 import org.HdrHistogram.Histogram;
-import org.HdrHistogram.HistogramLogReader;
 import org.apache.log4j.Logger;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.common.GitInfo.getBuildTime;
 import static com.hazelcast.simulator.common.GitInfo.getCommitIdAbbrev;
 import static com.hazelcast.simulator.heatmap.HeatMapCli.init;
 import static com.hazelcast.simulator.heatmap.HeatMapCli.run;
+import static com.hazelcast.simulator.probes.impl.HdrProbe.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.utils.CommonUtils.awaitTermination;
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
 import static com.hazelcast.simulator.utils.CommonUtils.exitWithError;
 import static com.hazelcast.simulator.utils.CommonUtils.getSimulatorVersion;
+import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static com.hazelcast.simulator.utils.ExecutorFactory.createFixedThreadPool;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
 import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
-import static java.lang.Math.round;
 import static java.lang.String.format;
 
 /**
  * Commandline tool to create heatmaps from Simulator test runs.
+ *
+ * Creates a PNG and an SVG file per test and probe, which show the latency distribution over time. The histogram log files of
+ * all Workers are read in parallel interval by interval, so the memory consumption doesn't grow with the test duration. The
+ * heatmap columns are calculated in parallel on all available cores.
  */
 public class HeatMap {
 
     private static final int DIMENSION_Y = 800;
+    private static final int HISTOGRAM_PRECISION = 2;
+    private static final int PENDING_COLUMNS_PER_THREAD = 4;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final String HDR_FILE_EXTENSION = ".hdr";
+    private static final String LEGACY_FILE_PREFIX = "latency-";
+    private static final String LEGACY_FILE_EXTENSION = ".txt";
 
     private static final Logger LOGGER = Logger.getLogger(HeatMap.class);
 
+    private final LatencyBuckets buckets = new LatencyBuckets(DIMENSION_Y, MAXIMUM_LATENCY);
+    private final HeatMapRenderer renderer = new HeatMapRenderer(buckets);
+    private final int threadCount = Runtime.getRuntime().availableProcessors();
+
     private final File directory;
+    private final File outputDirectory;
     private final String testName;
     private final String probeName;
+    private final boolean allProbes;
 
     private int histogramCount;
+    private long totalMinLatency;
+    private long totalMaxLatency;
 
     HeatMap(String directory, String testName, String probeName) {
+        this(directory, testName, probeName, false, directory);
+    }
+
+    HeatMap(String directory, String testName, String probeName, boolean allProbes, String outputDirectory) {
         this.directory = new File(directory).getAbsoluteFile();
+        this.outputDirectory = new File(outputDirectory.isEmpty() ? directory : outputDirectory).getAbsoluteFile();
         this.testName = testName;
         this.probeName = probeName;
+        this.allProbes = allProbes;
     }
 
     void createHeatMap() {
         echo("Processing directory %s...", directory);
-        HistogramFilenameFilter filenameFilter = new HistogramFilenameFilter(testName, probeName);
+        HistogramFilenameFilter filenameFilter = new HistogramFilenameFilter(testName, probeName, allProbes);
         FileWalker fileWalker = new FileWalker(filenameFilter);
         fileWalker.walk(directory);
 
-        List<Histogram> histograms = getHistograms(testName, fileWalker);
-        histogramCount = histograms.size();
-        echo("Found %d histograms in total", histogramCount);
+        Map<String, List<File>> latencyFiles = groupByTestAndProbe(fileWalker.getGetFiles());
+        echo("Found %d latency files for %d probes", fileWalker.getGetFiles().size(), latencyFiles.size());
 
-        long totalMinLatency = Long.MAX_VALUE;
-        long totalMaxLatency = Long.MIN_VALUE;
-        for (Histogram histogram : histograms) {
-            long minValue = histogram.getMinValue();
-            if (minValue < totalMinLatency) {
-                totalMinLatency = minValue;
-            }
-            long maxValue = histogram.getMaxValue();
-            if (maxValue > totalMaxLatency) {
-                totalMaxLatency = maxValue;
+        histogramCount = 0;
+        totalMinLatency = Long.MAX_VALUE;
+        totalMaxLatency = Long.MIN_VALUE;
+        ExecutorService executor = createFixedThreadPool(threadCount, HeatMap.class);
+        try {
+            for (Map.Entry<String, List<File>> entry : latencyFiles.entrySet()) {
+                createHeatMap(executor, entry.getKey(), entry.getValue());
             }
-            echo("Minimum latency: %d µs, maximum latency: %d µs", minValue, maxValue);
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
         }
-        echo("Total minimum latency: %d µs, total maximum latency: %d µs", totalMinLatency, totalMaxLatency);
-
-        double latencyWindowSize = totalMaxLatency / (double) DIMENSION_Y;
-        echo("Latency window per pixel: %.2f µs", latencyWindowSize);
 
-        calculateLinearHeatMap(histograms, latencyWindowSize, totalMaxLatency);
+        echo("Found %d histograms in total", histogramCount);
+        if (histogramCount > 0) {
+            echo("Total minimum latency: %d µs, total maximum latency: %d µs", totalMinLatency, totalMaxLatency);
+        }
     }
 
     // just for testing
@@ -92,6 +126,11 @@ public class HeatMap {
         return histogramCount;
     }
 
+    // just for testing
+    File getOutputDirectory() {
+        return outputDirectory;
+    }
+
     public static void main(String[] args) {
         try {
             run(init(args));
@@ -106,60 +145,113 @@ public class HeatMap {
         echo("SIMULATOR_HOME: %s", getSimulatorHome().getAbsolutePath());
     }
 
-    static HistogramLogReader createHistogramLogReader(File latencyFile, String testName) {
+    static FileInputStream openLatencyFile(File latencyFile, String testName) {
         try {
-            return new HistogramLogReader(latencyFile);
+            return new FileInputStream(latencyFile);
         } catch (IOException e) {
-            throw new CommandLineExitException("Could not initialize HistogramLogReader for test " + testName, e);
+            throw new CommandLineExitException("Could not open latency file for test " + testName, e);
         }
     }
 
-    private static List<Histogram> getHistograms(String testName, FileWalker fileWalker) {
-        ArrayList<Histogram> histograms = new ArrayList<Histogram>();
-        for (File latencyFile : fileWalker.getGetFiles()) {
-            echo("Processing latency file %s...", latencyFile.getAbsolutePath());
-            HistogramLogReader histogramLogReader = createHistogramLogReader(latencyFile, testName);
-
-            int index = 0;
-            Histogram histogram = (Histogram) histogramLogReader.nextIntervalHistogram();
-            while (histogram != null) {
-                if (histograms.size() > index) {
-                    Histogram combined = histograms.get(index);
-                    combined.add(histogram);
-                } else {
-                    histograms.add(histogram);
-                }
-                index++;
-                histogram = (Histogram) histogramLogReader.nextIntervalHistogram();
+    /**
+     * Returns the name of the test and probe of a latency file, e.g. {@code MapTest-workerProbe}.
+     *
+     * @param latencyFile the latency file
+     * @return the name of the test and probe
+     */
+    static String getTestAndProbeName(File latencyFile) {
+        String name = latencyFile.getName();
+        if (name.endsWith(HDR_FILE_EXTENSION)) {
+            return name.substring(0, name.length() - HDR_FILE_EXTENSION.length());
+        }
+        if (name.startsWith(LEGACY_FILE_PREFIX) && name.endsWith(LEGACY_FILE_EXTENSION)) {
+            return name.substring(LEGACY_FILE_PREFIX.length(), name.length() - LEGACY_FILE_EXTENSION.length());
+        }
+        return name;
+    }
+
+    private void createHeatMap(ExecutorService executor, String testAndProbeName, List<File> latencyFiles) {
+        echo("Creating heatmap for %s from %d latency files...", testAndProbeName, latencyFiles.size());
+        CombinedHistogramReader reader = new CombinedHistogramReader(latencyFiles, testName, MAXIMUM_LATENCY,
+                HISTOGRAM_PRECISION);
+        List<byte[]> columns;
+        try {
+            columns = readColumns(executor, reader);
+        } finally {
+            closeQuietly(reader);
+        }
+        histogramCount += columns.size();
+
+        if (columns.isEmpty()) {
+            echo("No histograms found for %s", testAndProbeName);
+            return;
+        }
+
+        ensureExistingDirectory(outputDirectory);
+        File pngFile = new File(outputDirectory, "heatmap-" + testAndProbeName + ".png");
+        File svgFile = new File(outputDirectory, "heatmap-" + testAndProbeName + ".svg");
+        renderer.writePng(columns, pngFile);
+        renderer.writeSvg(columns, svgFile, "Latency heatmap " + testAndProbeName);
+        echo("Created heatmap %s with %d intervals", pngFile.getAbsolutePath(), columns.size());
+        echo("Created heatmap %s with %d intervals", svgFile.getAbsolutePath(), columns.size());
+    }
+
+    private List<byte[]> readColumns(ExecutorService executor, CombinedHistogramReader reader) {
+        int maxPendingColumns = threadCount * PENDING_COLUMNS_PER_THREAD;
+        LinkedList<Future<byte[]>> pendingColumns = new LinkedList<Future<byte[]>>();
+        List<byte[]> columns = new ArrayList<byte[]>();
+
+        Histogram histogram = reader.next();
+        while (histogram != null) {
+            updateLatencyRange(histogram);
+            pendingColumns.add(executor.submit(new HeatMapColumnTask(histogram, buckets)));
+            if (pendingColumns.size() >= maxPendingColumns) {
+                columns.add(getColumn(pendingColumns.removeFirst()));
             }
+            histogram = reader.next();
+        }
+        while (!pendingColumns.isEmpty()) {
+            columns.add(getColumn(pendingColumns.removeFirst()));
         }
-        return histograms;
+        return columns;
     }
 
-    private static List<ArrayList<Long>> calculateLinearHeatMap(List<Histogram> histograms, double latencyWindowSize,
-                                                                long totalMaxLatency) {
-        int histogramCount = histograms.size();
+    private void updateLatencyRange(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        long minValue = histogram.getMinValue();
+        if (minValue < totalMinLatency) {
+            totalMinLatency = minValue;
+        }
+        long maxValue = histogram.getMaxValue();
+        if (maxValue > totalMaxLatency) {
+            totalMaxLatency = maxValue;
+        }
+    }
 
-        ArrayList<ArrayList<Long>> heatmap = new ArrayList<ArrayList<Long>>(histogramCount);
-        for (int i = 0; i < histogramCount; i++) {
-            heatmap.add(new ArrayList<Long>(DIMENSION_Y));
+    private static byte[] getColumn(Future<byte[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw rethrow(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
         }
+    }
 
-        for (int yPos = 1; yPos <= DIMENSION_Y; yPos++) {
-            long lowValue = (yPos == 1) ? 0 : round((yPos - 1) * latencyWindowSize);
-            long highValue = (yPos == DIMENSION_Y) ? totalMaxLatency : round(yPos * latencyWindowSize);
-            long maxValue = Long.MIN_VALUE;
-            for (int histogramIndex = 0; histogramIndex < histogramCount; histogramIndex++) {
-                Histogram histogram = histograms.get(histogramIndex);
-                long latencyCount = histogram.getCountBetweenValues(lowValue, highValue);
-                if (latencyCount > maxValue) {
-                    maxValue = latencyCount;
-                }
-                heatmap.get(histogramIndex).add(latencyCount);
+    private static Map<String, List<File>> groupByTestAndProbe(List<File> latencyFiles) {
+        Map<String, List<File>> groups = new TreeMap<String, List<File>>();
+        for (File latencyFile : latencyFiles) {
+            String testAndProbeName = getTestAndProbeName(latencyFile);
+            List<File> files = groups.get(testAndProbeName);
+            if (files == null) {
+                files = new ArrayList<File>();
+                groups.put(testAndProbeName, files);
             }
-            echo("%4d: lowValue: %d, highValue: %d, maxValue: %d", yPos, lowValue, highValue, maxValue);
+            files.add(latencyFile);
         }
-        return heatmap;
+        return groups;
     }
 
     private static void echo(String message, Object... args) {
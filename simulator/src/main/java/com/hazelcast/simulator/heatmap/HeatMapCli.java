@@ -37,7 +37,14 @@ final class HeatMapCli {
             .withRequiredArg().ofType(String.class).defaultsTo("");
 
     private final OptionSpec<String> probeNameSpec = parser.accepts("probeName",
-            "Name of the probe to search for.")
+            "Name of the probe to search for. Defaults to the '<testName>WorkerProbe'.")
+            .withRequiredArg().ofType(String.class).defaultsTo("");
+
+    private final OptionSpec allProbesSpec = parser.accepts("allProbes",
+            "Creates a heatmap for every probe found, if no probeName is given.");
+
+    private final OptionSpec<String> outputDirectorySpec = parser.accepts("outputDirectory",
+            "Defines the directory in which the PNG and SVG heatmaps are written. Defaults to the histogram directory.")
             .withRequiredArg().ofType(String.class).defaultsTo("");
 
     private final OptionSpec<String> propertiesFileSpec = parser.accepts("propertiesFile",
@@ -59,7 +66,7 @@ final class HeatMapCli {
         simulatorProperties.init(getPropertiesFile(cli, options));
 
         return new HeatMap(options.valueOf(cli.directorySpec), options.valueOf(cli.testNameSpec),
-                options.valueOf(cli.probeNameSpec));
+                options.valueOf(cli.probeNameSpec), options.has(cli.allProbesSpec), options.valueOf(cli.outputDirectorySpec));
     }
 
     static void run(HeatMap heatMap) {
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.heatmap;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.concurrent.Callable;
+
+import static java.lang.Math.log10;
+
+/**
+ * Calculates a single heatmap column from an interval histogram.
+ *
+ * The counts of each latency bucket are normalized by the total count of the interval, so the colors show the latency
+ * distribution independent of the throughput. The result contains a color index per bucket, see {@link HeatMapRenderer}.
+ */
+final class HeatMapColumnTask implements Callable<byte[]> {
+
+    /**
+     * Smallest fraction of the interval count which gets a visible color, smaller fractions are clamped to it.
+     */
+    static final double MIN_FRACTION = 1e-6;
+
+    private static final double LOG_MIN_FRACTION = log10(MIN_FRACTION);
+
+    private final Histogram histogram;
+    private final LatencyBuckets buckets;
+
+    HeatMapColumnTask(Histogram histogram, LatencyBuckets buckets) {
+        this.histogram = histogram;
+        this.buckets = buckets;
+    }
+
+    @Override
+    public byte[] call() {
+        long[] counts = new long[buckets.getBucketCount()];
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            counts[buckets.getBucket(value.getValueIteratedTo())] += value.getCountAtValueIteratedTo();
+        }
+
+        long totalCount = histogram.getTotalCount();
+        byte[] column = new byte[counts.length];
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            column[bucket] = (byte) getColorIndex(counts[bucket], totalCount);
+        }
+        return column;
+    }
+
+    static int getColorIndex(long count, long totalCount) {
+        if (count <= 0 || totalCount <= 0) {
+            return HeatMapRenderer.EMPTY_COLOR_INDEX;
+        }
+        double fraction = count / (double) totalCount;
+        double intensity = 1 - log10(fraction) / LOG_MIN_FRACTION;
+        if (intensity < 0) {
+            intensity = 0;
+        }
+        int range = HeatMapRenderer.MAX_COLOR_INDEX - HeatMapRenderer.MIN_COLOR_INDEX;
+        return HeatMapRenderer.MIN_COLOR_INDEX + (int) Math.round(intensity * range);
+    }
+}
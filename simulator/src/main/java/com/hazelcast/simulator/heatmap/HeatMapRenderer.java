@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.heatmap;
+
+import com.hazelcast.simulator.utils.CommandLineExitException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static java.lang.String.format;
+
+/**
+ * Renders heatmap columns as PNG and SVG files.
+ *
+ * Each column represents an interval histogram, each row a {@link LatencyBuckets} bucket. The lowest latencies are at the bottom.
+ * The cells contain a color index of a 256 color palette, where index {@value #EMPTY_COLOR_INDEX} is used for empty cells.
+ */
+final class HeatMapRenderer {
+
+    static final int EMPTY_COLOR_INDEX = 0;
+    static final int MIN_COLOR_INDEX = 1;
+    static final int MAX_COLOR_INDEX = 255;
+
+    private static final int PALETTE_SIZE = MAX_COLOR_INDEX + 1;
+    private static final int COLOR_COMPONENT_MASK = 0xFF;
+    private static final int[] EMPTY_COLOR = {255, 255, 255};
+    private static final int[][] COLOR_STOPS = {
+            {255, 255, 204},
+            {253, 141, 60},
+            {128, 0, 38},
+    };
+
+    private static final int SVG_MARGIN_LEFT = 80;
+    private static final int SVG_MARGIN_TOP = 30;
+    private static final int SVG_MARGIN_BOTTOM = 30;
+    private static final int SVG_LABEL_OFFSET = 5;
+    private static final int DECADE = 10;
+    private static final String[] LATENCY_UNITS = {"µs", "ms", "s"};
+    private static final int UNIT_FACTOR = 1000;
+
+    private final LatencyBuckets buckets;
+    private final byte[] reds = new byte[PALETTE_SIZE];
+    private final byte[] greens = new byte[PALETTE_SIZE];
+    private final byte[] blues = new byte[PALETTE_SIZE];
+
+    HeatMapRenderer(LatencyBuckets buckets) {
+        this.buckets = buckets;
+        initPalette();
+    }
+
+    void writePng(List<byte[]> columns, File pngFile) {
+        int height = buckets.getBucketCount();
+        IndexColorModel colorModel = new IndexColorModel(Byte.SIZE, PALETTE_SIZE, reds, greens, blues);
+        BufferedImage image = new BufferedImage(columns.size(), height, BufferedImage.TYPE_BYTE_INDEXED, colorModel);
+        WritableRaster raster = image.getRaster();
+        for (int x = 0; x < columns.size(); x++) {
+            byte[] column = columns.get(x);
+            for (int bucket = 0; bucket < height; bucket++) {
+                raster.setSample(x, height - 1 - bucket, 0, column[bucket] & COLOR_COMPONENT_MASK);
+            }
+        }
+        try {
+            ImageIO.write(image, "png", pngFile);
+        } catch (IOException e) {
+            throw new CommandLineExitException("Could not write heatmap " + pngFile.getAbsolutePath(), e);
+        }
+    }
+
+    void writeSvg(List<byte[]> columns, File svgFile, String title) {
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(svgFile), "UTF-8"));
+            int height = buckets.getBucketCount();
+            writer.write(format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>%n"));
+            writer.write(format("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\">%n",
+                    SVG_MARGIN_LEFT + columns.size(), SVG_MARGIN_TOP + height + SVG_MARGIN_BOTTOM));
+            writer.write(format("<title>%s</title>%n", escape(title)));
+            writer.write(format("<text x=\"%d\" y=\"%d\" font-family=\"sans-serif\" font-size=\"14\">%s</text>%n",
+                    SVG_LABEL_OFFSET, SVG_MARGIN_TOP - SVG_LABEL_OFFSET, escape(title)));
+            writer.write(format("<g transform=\"translate(%d,%d)\" shape-rendering=\"crispEdges\">%n",
+                    SVG_MARGIN_LEFT, SVG_MARGIN_TOP));
+            for (int x = 0; x < columns.size(); x++) {
+                writeSvgColumn(writer, x, columns.get(x));
+            }
+            writeSvgAxis(writer, columns.size());
+            writer.write(format("</g>%n</svg>%n"));
+        } catch (IOException e) {
+            throw new CommandLineExitException("Could not write heatmap " + svgFile.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    private void writeSvgColumn(Writer writer, int x, byte[] column) throws IOException {
+        int height = column.length;
+        int bucket = 0;
+        while (bucket < height) {
+            int colorIndex = column[bucket] & COLOR_COMPONENT_MASK;
+            int runLength = 1;
+            while (bucket + runLength < height && (column[bucket + runLength] & COLOR_COMPONENT_MASK) == colorIndex) {
+                runLength++;
+            }
+            if (colorIndex != EMPTY_COLOR_INDEX) {
+                // the SVG y-axis points down, so the run ends at the top
+                int y = height - bucket - runLength;
+                writer.write(format("<rect x=\"%d\" y=\"%d\" width=\"1\" height=\"%d\" fill=\"%s\"/>%n",
+                        x, y, runLength, getColor(colorIndex)));
+            }
+            bucket += runLength;
+        }
+    }
+
+    private void writeSvgAxis(Writer writer, int width) throws IOException {
+        int height = buckets.getBucketCount();
+        writer.write(format("<rect x=\"0\" y=\"0\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"black\"/>%n",
+                width, height));
+        for (long latency = 1; latency <= buckets.getMaxLatency(); latency *= DECADE) {
+            int y = height - buckets.getBucket(latency);
+            writer.write(format("<line x1=\"0\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"gray\" stroke-opacity=\"0.3\"/>%n",
+                    y, width, y));
+            writer.write(format("<text x=\"%d\" y=\"%d\" font-family=\"sans-serif\" font-size=\"10\" text-anchor=\"end\">"
+                    + "%s</text>%n", -SVG_LABEL_OFFSET, y, formatLatency(latency)));
+        }
+        writer.write(format("<text x=\"0\" y=\"%d\" font-family=\"sans-serif\" font-size=\"10\">%d intervals</text>%n",
+                height + SVG_MARGIN_BOTTOM - SVG_LABEL_OFFSET, width));
+    }
+
+    private String getColor(int colorIndex) {
+        return format("#%02x%02x%02x", reds[colorIndex] & COLOR_COMPONENT_MASK, greens[colorIndex] & COLOR_COMPONENT_MASK,
+                blues[colorIndex] & COLOR_COMPONENT_MASK);
+    }
+
+    private void initPalette() {
+        setColor(EMPTY_COLOR_INDEX, EMPTY_COLOR);
+
+        int segments = COLOR_STOPS.length - 1;
+        int range = MAX_COLOR_INDEX - MIN_COLOR_INDEX;
+        for (int i = 0; i <= range; i++) {
+            double position = i / (double) range * segments;
+            int segment = Math.min((int) position, segments - 1);
+            double weight = position - segment;
+
+            int[] from = COLOR_STOPS[segment];
+            int[] to = COLOR_STOPS[segment + 1];
+            int[] color = new int[from.length];
+            for (int component = 0; component < from.length; component++) {
+                color[component] = (int) Math.round(from[component] + (to[component] - from[component]) * weight);
+            }
+            setColor(MIN_COLOR_INDEX + i, color);
+        }
+    }
+
+    private void setColor(int colorIndex, int[] rgb) {
+        reds[colorIndex] = (byte) rgb[0];
+        greens[colorIndex] = (byte) rgb[1];
+        blues[colorIndex] = (byte) rgb[2];
+    }
+
+    static String formatLatency(long latencyMicros) {
+        long value = latencyMicros;
+        int unit = 0;
+        while (value >= UNIT_FACTOR && value % UNIT_FACTOR == 0 && unit < LATENCY_UNITS.length - 1) {
+            value /= UNIT_FACTOR;
+            unit++;
+        }
+        return value + " " + LATENCY_UNITS[unit];
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
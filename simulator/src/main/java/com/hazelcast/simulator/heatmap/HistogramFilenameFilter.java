@@ -18,17 +18,25 @@ package com.hazelcast.simulator.heatmap;
 import java.io.File;
 import java.io.FilenameFilter;
 
+/**
+ * Accepts the histogram log files written by the Workers ({@code <testId>-<probeName>.hdr}) and the legacy
+ * {@code latency-<testId>-<probeName>.txt} files. The aggregated histogram files are skipped.
+ *
+ * If no probe name is given, only the {@code <testName>WorkerProbe} files are accepted, unless all probes are requested.
+ */
 class HistogramFilenameFilter implements FilenameFilter {
 
     private final String aggregatedFileRegex;
     private final String latencyFileRegex;
 
-    HistogramFilenameFilter(String testName, String probeName) {
+    HistogramFilenameFilter(String testName, String probeName, boolean allProbes) {
         testName = (!testName.isEmpty()) ? testName : ".*";
-        probeName = (!probeName.isEmpty()) ? probeName : testName + "WorkerProbe";
+        if (probeName.isEmpty()) {
+            probeName = allProbes ? ".*" : testName + "WorkerProbe";
+        }
 
-        this.aggregatedFileRegex = "^latency-" + testName + "-aggregated\\.txt$";
-        this.latencyFileRegex = "^latency-" + testName + "-" + probeName + "\\.txt$";
+        this.aggregatedFileRegex = "^(latency-)?" + testName + "-aggregated\\.(hdr|txt)$";
+        this.latencyFileRegex = "^(" + testName + "-" + probeName + "\\.hdr|latency-" + testName + "-" + probeName + "\\.txt)$";
     }
 
     @Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.heatmap;
+
+import static java.lang.Math.log;
+import static java.lang.Math.pow;
+import static java.lang.Math.round;
+
+/**
+ * Maps latency values to logarithmic buckets, which are the rows of a heatmap.
+ *
+ * Bucket 0 contains all latencies up to 1 µs, the last bucket all latencies up to the configured maximum latency.
+ * This way every decade of latency gets the same number of rows, so microsecond and second latencies are equally visible.
+ */
+final class LatencyBuckets {
+
+    private final int bucketCount;
+    private final long maxLatency;
+    private final double logMaxLatency;
+
+    LatencyBuckets(int bucketCount, long maxLatency) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("bucketCount must be at least 1, but was " + bucketCount);
+        }
+        if (maxLatency < 2) {
+            throw new IllegalArgumentException("maxLatency must be at least 2, but was " + maxLatency);
+        }
+        this.bucketCount = bucketCount;
+        this.maxLatency = maxLatency;
+        this.logMaxLatency = log(maxLatency);
+    }
+
+    int getBucketCount() {
+        return bucketCount;
+    }
+
+    long getMaxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * Returns the bucket index for a latency value.
+     *
+     * @param latency the latency value
+     * @return the bucket index between {@code 0} and {@code bucketCount - 1}
+     */
+    int getBucket(long latency) {
+        if (latency <= 1) {
+            return 0;
+        }
+        int bucket = (int) (log(latency) / logMaxLatency * bucketCount);
+        return (bucket >= bucketCount ? bucketCount - 1 : bucket);
+    }
+
+    /**
+     * Returns the lowest latency value which is mapped to the given bucket.
+     *
+     * @param bucket the bucket index
+     * @return the lower bound of the bucket
+     */
+    long getLowerBound(int bucket) {
+        return round(pow(maxLatency, bucket / (double) bucketCount));
+    }
+}
@@ -34,10 +34,20 @@ public interface Probe {
     /**
      * Adds a latency value in nanoseconds to the probe result.
      *
+     * A {@link com.hazelcast.simulator.probes.impl.GaugeProbe} records the value as it is.
+     *
      * @param latencyNanos latency value in nanoseconds
      */
     void recordValue(long latencyNanos);
 
+    /**
+     * Adds a latency value in nanoseconds multiple times to the probe result.
+     *
+     * @param latencyNanos latency value in nanoseconds
+     * @param count        the number of operations with this latency
+     */
+    void recordValueWithCount(long latencyNanos, long count);
+
     /**
      * Get the number of iterations.
      *
@@ -45,4 +55,9 @@ public interface Probe {
      * @throws UnsupportedOperationException on non-lightweight implementations
      */
     long get();
+
+    /**
+     * Discards all recorded values, e.g. when the Worker of the probe is reset for reuse.
+     */
+    void reset();
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes.impl;
+
+import org.HdrHistogram.Recorder;
+
+/**
+ * Measures the distribution of a value of a test, which is no latency, e.g. a result size, a queue depth or a hit ratio.
+ *
+ * The values are recorded as they are passed to {@link #recordValue(long)}, so they are not converted from nanoseconds to
+ * microseconds like the latencies of a {@link HdrProbe}. A gauge probe is never part of the total throughput and is identified
+ * by the {@link #GAUGE_PROBE_SUFFIX} of its name, so the Worker and the Coordinator exclude it from the latency statistics.
+ */
+public class GaugeProbe extends HdrProbe {
+
+    /**
+     * The probe name suffix which identifies a {@link GaugeProbe}.
+     */
+    public static final String GAUGE_PROBE_SUFFIX = "Gauge";
+
+    /**
+     * The highest recordable value of 2^42, which covers 4 TiB or more than an hour in nanoseconds.
+     */
+    public static final long MAXIMUM_VALUE = 4398046511104L;
+    public static final int VALUE_PRECISION = 3;
+
+    public GaugeProbe() {
+        super(false, new Recorder(MAXIMUM_VALUE, VALUE_PRECISION));
+    }
+
+    /**
+     * Checks if a probe name belongs to a {@link GaugeProbe}.
+     *
+     * @param probeName the probe name
+     * @return {@code true} if the probe records no latencies, {@code false} otherwise
+     */
+    public static boolean isGaugeProbe(String probeName) {
+        return probeName.endsWith(GAUGE_PROBE_SUFFIX);
+    }
+
+    @Override
+    public void done(long startedNanos) {
+        throw new UnsupportedOperationException("A GaugeProbe records no latencies");
+    }
+
+    @Override
+    long toRecordedValue(long value) {
+        return value > MAXIMUM_VALUE ? MAXIMUM_VALUE : (value < 0 ? 0 : value);
+    }
+}
@@ -31,12 +31,17 @@ public class HdrProbe implements Probe {
     public static final long MAXIMUM_LATENCY = TimeUnit.SECONDS.toMicros(60);
     public static final int LATENCY_PRECISION = 4;
 
-    private final Recorder recorder = new Recorder(MAXIMUM_LATENCY, LATENCY_PRECISION);
+    private final Recorder recorder;
 
     private final boolean partOfTotalThroughput;
 
     public HdrProbe(boolean partOfTotalThroughput) {
+        this(partOfTotalThroughput, new Recorder(MAXIMUM_LATENCY, LATENCY_PRECISION));
+    }
+
+    HdrProbe(boolean partOfTotalThroughput, Recorder recorder) {
         this.partOfTotalThroughput = partOfTotalThroughput;
+        this.recorder = recorder;
     }
 
     @Override
@@ -56,8 +61,17 @@ public class HdrProbe implements Probe {
 
     @Override
     public void recordValue(long latencyNanos) {
+        recorder.recordValue(toRecordedValue(latencyNanos));
+    }
+
+    @Override
+    public void recordValueWithCount(long latencyNanos, long count) {
+        recorder.recordValueWithCount(toRecordedValue(latencyNanos), count);
+    }
+
+    long toRecordedValue(long latencyNanos) {
         int latencyMicros = (int) NANOSECONDS.toMicros(latencyNanos);
-        recorder.recordValue(latencyMicros > MAXIMUM_LATENCY ? MAXIMUM_LATENCY : (latencyMicros < 0 ? 0 : latencyMicros));
+        return latencyMicros > MAXIMUM_LATENCY ? MAXIMUM_LATENCY : (latencyMicros < 0 ? 0 : latencyMicros);
     }
 
     public Histogram getIntervalHistogram() {
@@ -68,4 +82,9 @@ public class HdrProbe implements Probe {
     public long get() {
         return getIntervalHistogram().getTotalCount();
     }
+
+    @Override
+    public void reset() {
+        recorder.reset();
+    }
 }
@@ -46,8 +46,18 @@ public class ThroughputProbe implements Probe {
         counter.incrementAndGet();
     }
 
+    @Override
+    public void recordValueWithCount(long latencyNanos, long count) {
+        counter.addAndGet(count);
+    }
+
     @Override
     public long get() {
         return counter.get();
     }
+
+    @Override
+    public void reset() {
+        counter.set(0);
+    }
 }
@@ -72,7 +72,7 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
         super(futureMap, localAddress, port, threadPoolSize);
 
         RemoteExceptionLogger exceptionLogger = new RemoteExceptionLogger(localAddress, AGENT_EXCEPTION, this);
-        this.processor = new AgentOperationProcessor(exceptionLogger, agent, workerJvmManager, getScheduledExecutor());
+        this.processor = new AgentOperationProcessor(exceptionLogger, agent, workerJvmManager);
 
         this.futureMap = futureMap;
 
@@ -124,13 +124,18 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
         pipeline.addLast("messageEncoder", new MessageEncoder(localAddress, COORDINATOR));
         pipeline.addLast("frameDecoder", new SimulatorFrameDecoder());
         pipeline.addLast("protocolDecoder", new SimulatorProtocolDecoder(localAddress));
-        pipeline.addLast("forwardToWorkerHandler", new ForwardToWorkerHandler(localAddress, clientConnectorManager,
-                getScheduledExecutor()));
+        pipeline.addLast("forwardToWorkerHandler", new ForwardToWorkerHandler(localAddress, clientConnectorManager));
         pipeline.addLast("messageConsumeHandler", new MessageConsumeHandler(localAddress, processor, getScheduledExecutor()));
         pipeline.addLast("responseHandler", new ResponseHandler(localAddress, COORDINATOR, futureMap, addressIndex));
         pipeline.addLast("exceptionHandler", new ExceptionHandler(this));
     }
 
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        processor.shutdown();
+    }
+
     @Override
     ChannelGroup getChannelGroup() {
         return connectionManager.getChannels();
@@ -160,6 +165,27 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
         return remoteAddress;
     }
 
+    /**
+     * Adds a Simulator Worker if it accepts a connection, without retrying to connect.
+     *
+     * @param workerIndex the index of the Simulator Worker
+     * @param workerHost  the host of the Simulator Worker
+     * @param workerPort  the port of the Simulator Worker
+     * @return the {@link SimulatorAddress} of the Simulator Worker or {@code null} if it doesn't accept connections yet
+     */
+    public SimulatorAddress tryAddWorker(int workerIndex, String workerHost, int workerPort) {
+        SimulatorAddress remoteAddress = localAddress.getChild(workerIndex);
+        ClientConnector clientConnector = new ClientConnector(this, getEventLoopGroup(), futureMap, localAddress, remoteAddress,
+                workerIndex, workerHost, workerPort);
+        if (!clientConnector.tryStart()) {
+            return null;
+        }
+
+        clientConnectorManager.addClient(workerIndex, clientConnector);
+
+        return remoteAddress;
+    }
+
     /**
      * Removes a Simulator Worker.
      *
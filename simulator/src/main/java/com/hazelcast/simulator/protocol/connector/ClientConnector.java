@@ -86,6 +86,26 @@ public class ClientConnector {
         connect(bootstrap, CONNECT_RETRY_DELAY_MILLIS, CONNECT_RETRIES);
     }
 
+    /**
+     * Tries to connect once, without retries.
+     *
+     * @return {@code true} if the connection was established, {@code false} otherwise
+     */
+    public boolean tryStart() {
+        return tryConnect(getBootstrap());
+    }
+
+    boolean tryConnect(Bootstrap bootstrap) {
+        ChannelFuture future = bootstrap.connect().awaitUninterruptibly();
+        if (!future.isSuccess()) {
+            future.channel().close();
+            return false;
+        }
+        channel = future.channel();
+        LOGGER.info(format("ClientConnector %s -> %s sends to %s", localAddress, remoteAddress, channel.remoteAddress()));
+        return true;
+    }
+
     private Bootstrap getBootstrap() {
         Bootstrap bootstrap = new Bootstrap();
         bootstrap
@@ -20,6 +20,7 @@ import com.hazelcast.simulator.coordinator.FailureListener;
 import com.hazelcast.simulator.coordinator.PerformanceStateContainer;
 import com.hazelcast.simulator.coordinator.TestHistogramContainer;
 import com.hazelcast.simulator.coordinator.TestPhaseListeners;
+import com.hazelcast.simulator.coordinator.WorkerStartupContainer;
 import com.hazelcast.simulator.protocol.core.ClientConnectorManager;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
@@ -52,6 +53,8 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import static com.hazelcast.simulator.protocol.connector.ServerConnector.DEFAULT_SHUTDOWN_QUIET_PERIOD;
 import static com.hazelcast.simulator.protocol.connector.ServerConnector.DEFAULT_SHUTDOWN_TIMEOUT;
+import static com.hazelcast.simulator.protocol.core.ResponseFuture.createFutureKey;
+import static com.hazelcast.simulator.protocol.core.ResponseFuture.createInstance;
 import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_AGENT_NOT_FOUND;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.protocol.operation.OperationCodec.toJson;
@@ -73,6 +76,7 @@ public class CoordinatorConnector implements ClientPipelineConfigurator, Failure
     private final ClientConnectorManager clientConnectorManager = new ClientConnectorManager();
     private final ConcurrentHashMap<String, ResponseFuture> futureMap = new ConcurrentHashMap<String, ResponseFuture>();
     private final LocalExceptionLogger exceptionLogger = new LocalExceptionLogger();
+    private final WorkerStartupContainer workerStartupContainer = new WorkerStartupContainer();
 
     private final CoordinatorOperationProcessor processor;
     private final ExecutorService executorService;
@@ -88,7 +92,7 @@ public class CoordinatorConnector implements ClientPipelineConfigurator, Failure
                          PerformanceStateContainer performanceStateContainer, TestHistogramContainer testHistogramContainer,
                          ExecutorService executorService) {
         this.processor = new CoordinatorOperationProcessor(exceptionLogger, failureContainer, testPhaseListeners,
-                performanceStateContainer, testHistogramContainer);
+                performanceStateContainer, testHistogramContainer, workerStartupContainer);
         this.executorService = executorService;
     }
 
@@ -198,6 +202,34 @@ public class CoordinatorConnector implements ClientPipelineConfigurator, Failure
         return response;
     }
 
+    /**
+     * Writes a {@link SimulatorOperation} to a single Simulator component without waiting for the {@link Response}.
+     *
+     * The destination must not be a wildcard address, since the {@link Response} is read from a single Agent connection.
+     *
+     * @param destination the {@link SimulatorAddress} of the destination
+     * @param operation   the {@link SimulatorOperation} to send
+     * @return a {@link ResponseFuture} which is completed with the {@link Response} of the addressed Simulator component
+     */
+    public ResponseFuture writeAsync(SimulatorAddress destination, SimulatorOperation operation) {
+        int agentAddressIndex = destination.getAgentIndex();
+        if (agentAddressIndex == 0) {
+            throw new IllegalArgumentException("writeAsync() doesn't support wildcard addresses: " + destination);
+        }
+
+        SimulatorMessage message = new SimulatorMessage(destination, COORDINATOR, messageIds.incrementAndGet(),
+                getOperationType(operation), toJson(operation));
+
+        ClientConnector agent = clientConnectorManager.get(agentAddressIndex);
+        if (agent == null) {
+            String futureKey = createFutureKey(COORDINATOR, message.getMessageId(), agentAddressIndex);
+            ResponseFuture future = createInstance(new ConcurrentHashMap<String, ResponseFuture>(), futureKey);
+            future.set(new Response(message.getMessageId(), COORDINATOR, COORDINATOR, FAILURE_AGENT_NOT_FOUND));
+            return future;
+        }
+        return agent.writeAsync(message);
+    }
+
     /**
      * Returns the number of collected exceptions.
      *
@@ -207,6 +239,10 @@ public class CoordinatorConnector implements ClientPipelineConfigurator, Failure
         return exceptionLogger.getExceptionCount();
     }
 
+    public WorkerStartupContainer getWorkerStartupContainer() {
+        return workerStartupContainer;
+    }
+
     // just for testing
     public Collection<ClientConnector> getClientConnectors() {
         return unmodifiableCollection(clientConnectorManager.getClientConnectors());
@@ -37,16 +37,19 @@ import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.processors.OperationProcessor;
 import com.hazelcast.simulator.protocol.processors.TestOperationProcessor;
 import com.hazelcast.simulator.protocol.processors.WorkerOperationProcessor;
+import com.hazelcast.simulator.worker.ClockOffsetTracker;
 import com.hazelcast.simulator.worker.Worker;
 import com.hazelcast.simulator.worker.WorkerType;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.group.ChannelGroup;
 
+import java.io.File;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.simulator.protocol.core.AddressLevel.WORKER;
 import static com.hazelcast.simulator.protocol.exception.ExceptionType.WORKER_EXCEPTION;
+import static com.hazelcast.simulator.worker.ClockOffsetTracker.CLOCK_OFFSET_FILE_NAME;
 
 /**
  * Connector which listens for incoming Simulator Agent connections and manages Simulator Test instances.
@@ -71,7 +74,9 @@ public class WorkerConnector extends AbstractServerConnector {
         super(futureMap, localAddress, port, DEFAULT_THREAD_POOL_SIZE);
 
         ExceptionLogger exceptionLogger = createExceptionLogger(localAddress, useRemoteLogger);
-        this.processor = new WorkerOperationProcessor(exceptionLogger, type, hazelcastInstance, worker, localAddress);
+        ClockOffsetTracker clockOffsetTracker = new ClockOffsetTracker(new File(CLOCK_OFFSET_FILE_NAME));
+        this.processor = new WorkerOperationProcessor(exceptionLogger, type, hazelcastInstance, worker, localAddress,
+                clockOffsetTracker);
 
         this.localAddress = localAddress;
         this.addressIndex = localAddress.getAddressIndex();
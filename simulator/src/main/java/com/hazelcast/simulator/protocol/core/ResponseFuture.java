@@ -15,6 +15,8 @@
  */
 package com.hazelcast.simulator.protocol.core;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +40,8 @@ public final class ResponseFuture implements Future<Response> {
 
     private volatile Response response;
 
+    private List<ResponseListener> listeners;
+
     private ResponseFuture(ConcurrentMap<String, ResponseFuture> futureMap, String key) {
         this.futureMap = futureMap;
         this.key = key;
@@ -111,10 +115,44 @@ public final class ResponseFuture implements Future<Response> {
             throw new IllegalArgumentException("response is null");
         }
 
+        List<ResponseListener> tmpListeners;
         synchronized (this) {
             this.response = response;
             notifyAll();
+
+            tmpListeners = listeners;
+            listeners = null;
+        }
+        if (tmpListeners != null) {
+            futureMap.remove(key);
+            for (ResponseListener listener : tmpListeners) {
+                listener.onResponse(response);
+            }
+        }
+    }
+
+    /**
+     * Adds a {@link ResponseListener} which is notified when the {@link Response} is set.
+     *
+     * This allows to wait for a {@link Response} without blocking a thread. If the {@link Response} is already set, the listener
+     * is notified directly by the calling thread.
+     *
+     * @param listener the {@link ResponseListener} to add
+     */
+    public void addListener(ResponseListener listener) {
+        Response tmpResponse;
+        synchronized (this) {
+            tmpResponse = response;
+            if (tmpResponse == null) {
+                if (listeners == null) {
+                    listeners = new ArrayList<ResponseListener>(1);
+                }
+                listeners.add(listener);
+                return;
+            }
         }
+        futureMap.remove(key);
+        listener.onResponse(tmpResponse);
     }
 
     public Response getResponse() {
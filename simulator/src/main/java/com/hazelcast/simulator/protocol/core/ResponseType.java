@@ -66,7 +66,12 @@ public enum ResponseType {
     /**
      * Is returned when a {@link ResponseFuture#get()} was interrupted.
      */
-    INTERRUPTED(8);
+    INTERRUPTED(8),
+
+    /**
+     * Is returned when a Hazelcast cluster doesn't have the expected size or has pending partition migrations.
+     */
+    FAILURE_CLUSTER_NOT_SAFE(9);
 
     private final int ordinal;
 
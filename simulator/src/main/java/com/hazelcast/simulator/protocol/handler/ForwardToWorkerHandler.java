@@ -21,6 +21,7 @@ import com.hazelcast.simulator.protocol.core.ClientConnectorManager;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseCodec;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseListener;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorMessageCodec;
 import io.netty.buffer.ByteBuf;
@@ -29,21 +30,27 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.util.AttributeKey;
 import org.apache.log4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.hazelcast.simulator.protocol.core.ResponseCodec.isResponse;
 import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_WORKER_NOT_FOUND;
 import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.getSourceAddress;
 import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.isSimulatorMessage;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * A {@link SimpleChannelInboundHandler} to forward a received {@link ByteBuf} to a connected Simulator Worker.
+ *
+ * The responses of the Workers are collected by a {@link ResponseListener}, so no thread is blocked while waiting for them. The
+ * combined {@link Response} is written by the thread which receives the last Worker response, usually a Netty event loop thread.
  */
 public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
+    private static final long SLOW_RESPONSE_THRESHOLD_NANOS = MILLISECONDS.toNanos(5000);
+
     private static final Logger LOGGER = Logger.getLogger(ForwardToWorkerHandler.class);
 
     private final AttributeKey<Integer> forwardAddressIndex = AttributeKey.valueOf("forwardAddressIndex");
@@ -52,15 +59,43 @@ public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf>
     private final AddressLevel addressLevel;
 
     private final ClientConnectorManager clientConnectorManager;
-    private final ExecutorService executorService;
 
-    public ForwardToWorkerHandler(SimulatorAddress localAddress, ClientConnectorManager clientConnectorManager,
-                                  ExecutorService executorService) {
+    private final AtomicLong forwardedMessageCount = new AtomicLong();
+    private final AtomicLong slowResponseCount = new AtomicLong();
+    private final AtomicLong maxResponseTimeNanos = new AtomicLong();
+
+    public ForwardToWorkerHandler(SimulatorAddress localAddress, ClientConnectorManager clientConnectorManager) {
         this.localAddress = localAddress;
         this.addressLevel = localAddress.getAddressLevel();
 
         this.clientConnectorManager = clientConnectorManager;
-        this.executorService = executorService;
+    }
+
+    /**
+     * Returns the number of forwarded messages which have been answered by all addressed Workers.
+     *
+     * @return the number of completed forwarded messages
+     */
+    public long getForwardedMessageCount() {
+        return forwardedMessageCount.get();
+    }
+
+    /**
+     * Returns the number of forwarded messages, where the slowest Worker took longer than five seconds.
+     *
+     * @return the number of slow forwarded messages
+     */
+    public long getSlowResponseCount() {
+        return slowResponseCount.get();
+    }
+
+    /**
+     * Returns the maximum time between forwarding a message and the response of the slowest Worker.
+     *
+     * @return the maximum response time in milliseconds
+     */
+    public long getMaxResponseTimeMillis() {
+        return NANOSECONDS.toMillis(maxResponseTimeNanos.get());
     }
 
     @Override
@@ -77,19 +112,20 @@ public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf>
         }
     }
 
-    private void forwardSimulatorMessage(final ChannelHandlerContext ctx, ByteBuf buffer, int workerAddressIndex) {
-        final long messageId = SimulatorMessageCodec.getMessageId(buffer);
+    private void forwardSimulatorMessage(ChannelHandlerContext ctx, ByteBuf buffer, int workerAddressIndex) {
+        long messageId = SimulatorMessageCodec.getMessageId(buffer);
 
-        final List<ResponseFuture> futureList = new ArrayList<ResponseFuture>();
-        final Response response = new Response(messageId, getSourceAddress(buffer));
+        Response response = new Response(messageId, getSourceAddress(buffer));
         if (workerAddressIndex == 0) {
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace(format("[%d] %s forwarding message to all workers", messageId, addressLevel));
             }
+            ResponseAggregator aggregator = new ResponseAggregator(ctx, response);
             for (ClientConnector clientConnector : clientConnectorManager.getClientConnectors()) {
                 buffer.retain();
-                futureList.add(clientConnector.writeAsync(buffer));
+                aggregator.add(clientConnector.getRemoteAddress().getAddressIndex(), clientConnector.writeAsync(buffer));
             }
+            aggregator.seal();
         } else {
             ClientConnector clientConnector = clientConnectorManager.get(workerAddressIndex);
             if (clientConnector == null) {
@@ -101,18 +137,11 @@ public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf>
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace(format("[%d] %s forwarding message to Worker %d", messageId, addressLevel, workerAddressIndex));
             }
+            ResponseAggregator aggregator = new ResponseAggregator(ctx, response);
             buffer.retain();
-            futureList.add(clientConnector.writeAsync(buffer));
+            aggregator.add(workerAddressIndex, clientConnector.writeAsync(buffer));
+            aggregator.seal();
         }
-        executorService.submit(new Runnable() {
-            @Override
-            public void run() {
-                for (ResponseFuture future : futureList) {
-                    response.addResponse(future.getResponse());
-                }
-                ctx.writeAndFlush(response);
-            }
-        });
     }
 
     private void forwardResponse(ChannelHandlerContext ctx, ByteBuf buffer, int workerAddressIndex) {
@@ -131,4 +160,82 @@ public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf>
         buffer.retain();
         clientConnector.forwardToChannel(buffer);
     }
+
+    private void recordResponseTime(long messageId, int workerCount, int slowestWorkerIndex, long slowestNanos) {
+        forwardedMessageCount.incrementAndGet();
+        long currentMax = maxResponseTimeNanos.get();
+        while (slowestNanos > currentMax && !maxResponseTimeNanos.compareAndSet(currentMax, slowestNanos)) {
+            currentMax = maxResponseTimeNanos.get();
+        }
+
+        if (slowestNanos > SLOW_RESPONSE_THRESHOLD_NANOS) {
+            slowResponseCount.incrementAndGet();
+            LOGGER.warn(format("[%d] %s slowest response of %d Worker(s) took %d ms (Worker %d)", messageId, addressLevel,
+                    workerCount, NANOSECONDS.toMillis(slowestNanos), slowestWorkerIndex));
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("[%d] %s slowest response of %d Worker(s) took %d ms (Worker %d)", messageId, addressLevel,
+                    workerCount, NANOSECONDS.toMillis(slowestNanos), slowestWorkerIndex));
+        }
+    }
+
+    /**
+     * Collects the {@link Response} of each addressed Worker and writes the combined {@link Response} after the last one.
+     *
+     * The pending counter starts with one extra count, which is released by {@link #seal()} after all futures have been added.
+     * This prevents an early completion if a Worker answers before the message was forwarded to all Workers.
+     */
+    private final class ResponseAggregator {
+
+        private final long started = System.nanoTime();
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private final ChannelHandlerContext ctx;
+        private final Response response;
+
+        private int workerCount;
+        private int slowestWorkerIndex;
+        private long slowestNanos = -1;
+
+        private ResponseAggregator(ChannelHandlerContext ctx, Response response) {
+            this.ctx = ctx;
+            this.response = response;
+        }
+
+        private void add(final int workerIndex, ResponseFuture future) {
+            synchronized (this) {
+                workerCount++;
+            }
+            pending.incrementAndGet();
+            future.addListener(new ResponseListener() {
+                @Override
+                public void onResponse(Response workerResponse) {
+                    long elapsedNanos = System.nanoTime() - started;
+                    synchronized (ResponseAggregator.this) {
+                        response.addResponse(workerResponse);
+                        if (elapsedNanos > slowestNanos) {
+                            slowestNanos = elapsedNanos;
+                            slowestWorkerIndex = workerIndex;
+                        }
+                    }
+                    release();
+                }
+            });
+        }
+
+        private void seal() {
+            release();
+        }
+
+        private void release() {
+            if (pending.decrementAndGet() != 0) {
+                return;
+            }
+            synchronized (this) {
+                if (slowestNanos >= 0) {
+                    recordResponseTime(response.getMessageId(), workerCount, slowestWorkerIndex, slowestNanos);
+                }
+                ctx.writeAndFlush(response);
+            }
+        }
+    }
 }
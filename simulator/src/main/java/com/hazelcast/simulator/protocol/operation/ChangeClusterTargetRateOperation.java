@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+/**
+ * Requests a new target rate of the whole cluster for the {@link com.hazelcast.simulator.test.TestPhase#RUN} phase of a
+ * Simulator Test.
+ *
+ * The operation is sent from a Simulator Test via {@link com.hazelcast.simulator.test.ClusterTargetRateControl} to the
+ * Coordinator, which splits the target rate across all Workers of the test
+ * and sends their shares with a {@link ChangeTargetRateOperation}. The test has to be started with an initial target rate.
+ */
+public class ChangeClusterTargetRateOperation implements SimulatorOperation {
+
+    /**
+     * Defines the target rate of the whole cluster in operations per second.
+     */
+    private final double targetRate;
+
+    /**
+     * Defines the number of active worker threads per Worker, {@code 0} activates all worker threads.
+     */
+    private final int activeThreadCount;
+
+    public ChangeClusterTargetRateOperation(double targetRate, int activeThreadCount) {
+        this.targetRate = targetRate;
+        this.activeThreadCount = activeThreadCount;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public int getActiveThreadCount() {
+        return activeThreadCount;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+/**
+ * Changes the target rate of the {@link com.hazelcast.simulator.test.TestPhase#RUN} phase of a Simulator Test.
+ *
+ * The Coordinator splits the target rate of the whole cluster across all Workers which execute the RUN phase, so this
+ * operation contains the share of a single Worker. If the operation is received before the RUN phase has been started, it
+ * defines the initial target rate.
+ */
+public class ChangeTargetRateOperation implements SimulatorOperation {
+
+    /**
+     * Defines the target rate of the Worker in operations per second.
+     */
+    private final double workerTargetRate;
+
+    /**
+     * Defines the number of active worker threads, {@code 0} activates all worker threads.
+     */
+    private final int activeThreadCount;
+
+    /**
+     * Defines the name of the active load profile segment, can be {@code null}.
+     */
+    private final String loadSegment;
+
+    public ChangeTargetRateOperation(double workerTargetRate) {
+        this(workerTargetRate, 0);
+    }
+
+    public ChangeTargetRateOperation(double workerTargetRate, int activeThreadCount) {
+        this(workerTargetRate, activeThreadCount, null);
+    }
+
+    public ChangeTargetRateOperation(double workerTargetRate, int activeThreadCount, String loadSegment) {
+        this.workerTargetRate = workerTargetRate;
+        this.activeThreadCount = activeThreadCount;
+        this.loadSegment = loadSegment;
+    }
+
+    public double getWorkerTargetRate() {
+        return workerTargetRate;
+    }
+
+    public int getActiveThreadCount() {
+        return activeThreadCount;
+    }
+
+    public String getLoadSegment() {
+        return loadSegment;
+    }
+}
@@ -30,15 +30,43 @@ public class CreateWorkerOperation implements SimulatorOperation {
     private final List<WorkerJvmSettings> settingsList;
     private int delayMs;
 
+    /**
+     * Defines the number of Simulator Workers which are started concurrently, a value below 1 uses the number of CPU cores.
+     */
+    private int parallelism;
+
+    /**
+     * Defines if running Simulator Workers with the same settings are reset and reused instead of starting new ones.
+     */
+    private boolean reuseWorkers;
+
     public CreateWorkerOperation(List<WorkerJvmSettings> settingsList, int delayMs) {
+        this(settingsList, delayMs, 0);
+    }
+
+    public CreateWorkerOperation(List<WorkerJvmSettings> settingsList, int delayMs, int parallelism) {
+        this(settingsList, delayMs, parallelism, false);
+    }
+
+    public CreateWorkerOperation(List<WorkerJvmSettings> settingsList, int delayMs, int parallelism, boolean reuseWorkers) {
         this.settingsList = settingsList;
         this.delayMs = delayMs;
+        this.parallelism = parallelism;
+        this.reuseWorkers = reuseWorkers;
     }
 
     public int getDelayMs() {
         return delayMs;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isReuseWorkers() {
+        return reuseWorkers;
+    }
+
     public List<WorkerJvmSettings> getWorkerJvmSettings() {
         return settingsList;
     }
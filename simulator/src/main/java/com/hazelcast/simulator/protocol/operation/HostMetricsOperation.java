@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+import com.hazelcast.simulator.agent.HostMetrics;
+
+/**
+ * Sends the {@link HostMetrics} of the last sampling interval from an Agent to the Coordinator.
+ */
+public class HostMetricsOperation implements SimulatorOperation {
+
+    /**
+     * The {@link HostMetrics} of the Agent machine.
+     */
+    private final HostMetrics hostMetrics;
+
+    public HostMetricsOperation(HostMetrics hostMetrics) {
+        this.hostMetrics = hostMetrics;
+    }
+
+    public HostMetrics getHostMetrics() {
+        return hostMetrics;
+    }
+}
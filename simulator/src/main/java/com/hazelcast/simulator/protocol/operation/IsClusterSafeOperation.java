@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+/**
+ * Checks on a member Worker if the Hazelcast cluster has the expected size and all partition migrations are completed.
+ *
+ * The operation doesn't block, so the Coordinator polls it until the cluster is safe. A cluster which is not safe yet is
+ * answered with {@link com.hazelcast.simulator.protocol.core.ResponseType#FAILURE_CLUSTER_NOT_SAFE}.
+ */
+public class IsClusterSafeOperation implements SimulatorOperation {
+
+    /**
+     * Defines the number of Hazelcast members which are expected in the cluster.
+     */
+    private final int expectedMemberCount;
+
+    public IsClusterSafeOperation(int expectedMemberCount) {
+        this.expectedMemberCount = expectedMemberCount;
+    }
+
+    public int getExpectedMemberCount() {
+        return expectedMemberCount;
+    }
+}
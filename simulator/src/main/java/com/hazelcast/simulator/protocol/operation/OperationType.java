@@ -36,6 +36,9 @@ public enum OperationType {
     PHASE_COMPLETED(PhaseCompletedOperation.class, 5),
     PERFORMANCE_STATE(PerformanceStateOperation.class, 6),
     TEST_HISTOGRAMS(TestHistogramOperation.class, 7),
+    WORKER_STARTUP(WorkerStartupOperation.class, 18),
+    HOST_METRICS(HostMetricsOperation.class, 21),
+    CHANGE_CLUSTER_TARGET_RATE(ChangeClusterTargetRateOperation.class, 23),
 
     // AgentOperationProcessor
     INIT_TEST_SUITE(InitTestSuiteOperation.class, 8),
@@ -47,11 +50,14 @@ public enum OperationType {
     PING(PingOperation.class, 12),
     TERMINATE_WORKER(TerminateWorkerOperation.class, 13),
     CREATE_TEST(CreateTestOperation.class, 14),
+    RESET_WORKER(ResetWorkerOperation.class, 19),
+    IS_CLUSTER_SAFE(IsClusterSafeOperation.class, 22),
 
     // TestOperationProcessor
     START_TEST_PHASE(StartTestPhaseOperation.class, 15),
     START_TEST(StartTestOperation.class, 16),
-    STOP_TEST(StopTestOperation.class, 17);
+    STOP_TEST(StopTestOperation.class, 17),
+    CHANGE_TARGET_RATE(ChangeTargetRateOperation.class, 20);
 
     private final Class<? extends SimulatorOperation> classType;
     private final int classId;
@@ -16,6 +16,7 @@
 package com.hazelcast.simulator.protocol.operation;
 
 import com.hazelcast.simulator.worker.performance.PerformanceState;
+import com.hazelcast.simulator.worker.performance.SaturationState;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,6 +24,8 @@ import java.util.Map;
 /**
  * Sends a {@link PerformanceState} per running Simulator Test to the Coordinator, which contains the last snapshot of performance
  * numbers from that test.
+ *
+ * Contains the {@link SaturationState} of the Hazelcast internals, if the Worker is a member.
  */
 public class PerformanceStateOperation implements SimulatorOperation {
 
@@ -31,6 +34,11 @@ public class PerformanceStateOperation implements SimulatorOperation {
      */
     private final Map<String, PerformanceState> performanceStates = new HashMap<String, PerformanceState>();
 
+    /**
+     * The {@link SaturationState} of the Worker or {@code null} if not available.
+     */
+    private SaturationState saturationState;
+
     public void addPerformanceState(String testId, PerformanceState performanceState) {
         performanceStates.put(testId, performanceState);
     }
@@ -38,4 +46,12 @@ public class PerformanceStateOperation implements SimulatorOperation {
     public Map<String, PerformanceState> getPerformanceStates() {
         return performanceStates;
     }
+
+    public void setSaturationState(SaturationState saturationState) {
+        this.saturationState = saturationState;
+    }
+
+    public SaturationState getSaturationState() {
+        return saturationState;
+    }
 }
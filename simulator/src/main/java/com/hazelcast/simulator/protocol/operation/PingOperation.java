@@ -20,6 +20,51 @@ package com.hazelcast.simulator.protocol.operation;
  * see, that the Worker is still responsive.
  *
  * This is needed for long running test phases, which lead to a radio silence on the wire.
+ *
+ * The operation also carries the timestamps to estimate the clock offset between the Coordinator and the Worker, see
+ * {@link com.hazelcast.simulator.worker.ClockOffsetTracker}. Since a {@link com.hazelcast.simulator.protocol.core.Response}
+ * has no payload, the Coordinator sends the timestamps of the previous round trip with the next ping.
  */
 public class PingOperation implements SimulatorOperation {
+
+    /**
+     * Defines the time in milliseconds when the Coordinator has sent this ping.
+     */
+    private final long timestamp;
+
+    /**
+     * Defines the time in milliseconds when the Coordinator has sent the previous ping to this Worker.
+     */
+    private final long previousTimestamp;
+
+    /**
+     * Defines the time in milliseconds when the Coordinator has received the response of the previous ping to this Worker.
+     */
+    private final long previousResponseTimestamp;
+
+    public PingOperation() {
+        this(0, 0, 0);
+    }
+
+    public PingOperation(long timestamp) {
+        this(timestamp, 0, 0);
+    }
+
+    public PingOperation(long timestamp, long previousTimestamp, long previousResponseTimestamp) {
+        this.timestamp = timestamp;
+        this.previousTimestamp = previousTimestamp;
+        this.previousResponseTimestamp = previousResponseTimestamp;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getPreviousTimestamp() {
+        return previousTimestamp;
+    }
+
+    public long getPreviousResponseTimestamp() {
+        return previousResponseTimestamp;
+    }
 }
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+/**
+ * Resets a running Simulator Worker, so it can be reused for another TestSuite.
+ *
+ * The Worker removes all tests with their probes and destroys all distributed objects of its Hazelcast instance. The operation
+ * fails if there are still distributed objects left afterwards, so the Agent can restart the Worker instead.
+ */
+public class ResetWorkerOperation implements SimulatorOperation {
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.worker.WorkerType;
+
+/**
+ * Reports the duration of the startup phases of a Simulator Worker from its Agent to the Coordinator.
+ *
+ * The phases are measured one after another, so their sum is the total startup time of the Worker. Phases which could not be
+ * measured are reported as {@code -1}.
+ */
+public class WorkerStartupOperation implements SimulatorOperation {
+
+    /**
+     * The {@link SimulatorAddress} of the started Worker.
+     */
+    private final String workerAddress;
+
+    /**
+     * The {@link WorkerType} of the started Worker.
+     */
+    private final String workerType;
+
+    /**
+     * The time to prepare the Worker directory and to spawn the JVM process.
+     */
+    private final long spawnMillis;
+
+    /**
+     * The time from the process start until the Worker creates its Hazelcast instance.
+     */
+    private final long jvmBootMillis;
+
+    /**
+     * The time to create the Hazelcast instance, which includes the join of the cluster.
+     */
+    private final long hazelcastStartupMillis;
+
+    /**
+     * The remaining time until the Worker accepts protocol connections.
+     */
+    private final long connectorStartupMillis;
+
+    public WorkerStartupOperation(SimulatorAddress workerAddress, WorkerType workerType, long spawnMillis, long jvmBootMillis,
+                                  long hazelcastStartupMillis, long connectorStartupMillis) {
+        this.workerAddress = workerAddress.toString();
+        this.workerType = workerType.name();
+        this.spawnMillis = spawnMillis;
+        this.jvmBootMillis = jvmBootMillis;
+        this.hazelcastStartupMillis = hazelcastStartupMillis;
+        this.connectorStartupMillis = connectorStartupMillis;
+    }
+
+    public SimulatorAddress getWorkerAddress() {
+        return SimulatorAddress.fromString(workerAddress);
+    }
+
+    public WorkerType getWorkerType() {
+        return WorkerType.valueOf(workerType);
+    }
+
+    public long getSpawnMillis() {
+        return spawnMillis;
+    }
+
+    public long getJvmBootMillis() {
+        return jvmBootMillis;
+    }
+
+    public long getHazelcastStartupMillis() {
+        return hazelcastStartupMillis;
+    }
+
+    public long getConnectorStartupMillis() {
+        return connectorStartupMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerStartupOperation{"
+                + "workerAddress='" + workerAddress + '\''
+                + ", workerType=" + workerType
+                + ", spawnMillis=" + spawnMillis
+                + ", jvmBootMillis=" + jvmBootMillis
+                + ", hazelcastStartupMillis=" + hazelcastStartupMillis
+                + ", connectorStartupMillis=" + connectorStartupMillis
+                + '}';
+    }
+}
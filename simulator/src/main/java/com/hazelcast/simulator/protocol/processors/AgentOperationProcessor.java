@@ -16,9 +16,11 @@
 package com.hazelcast.simulator.protocol.processors;
 
 import com.hazelcast.simulator.agent.Agent;
+import com.hazelcast.simulator.agent.workerjvm.WorkerJvm;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmLauncher;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmSettings;
+import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
 import com.hazelcast.simulator.protocol.core.ResponseType;
@@ -29,40 +31,51 @@ import com.hazelcast.simulator.protocol.operation.InitTestSuiteOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
 import com.hazelcast.simulator.protocol.operation.LogOperation;
 import com.hazelcast.simulator.protocol.operation.OperationType;
+import com.hazelcast.simulator.protocol.operation.ResetWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
+import com.hazelcast.simulator.protocol.operation.WorkerStartupOperation;
 import com.hazelcast.simulator.worker.WorkerType;
 import org.apache.log4j.Logger;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
 import static com.hazelcast.simulator.protocol.core.ResponseType.UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
+import static com.hazelcast.simulator.utils.ExecutorFactory.createScheduledThreadPool;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
 import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * An {@link OperationProcessor} implementation to process {@link SimulatorOperation} instances on a Simulator Agent.
  */
 public class AgentOperationProcessor extends OperationProcessor {
 
+    private static final int LAUNCHER_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
     private static final Logger LOGGER = Logger.getLogger(AgentOperationProcessor.class);
 
+    // the Workers are launched on a dedicated pool, so a long startup doesn't block the threads of the AgentConnector
+    private final ScheduledExecutorService launcherPool = createScheduledThreadPool(LAUNCHER_POOL_SIZE, WorkerJvmLauncher.class);
+
     private final Agent agent;
     private final WorkerJvmManager workerJvmManager;
-    private final ScheduledExecutorService executorService;
 
-    public AgentOperationProcessor(ExceptionLogger exceptionLogger, Agent agent, WorkerJvmManager workerJvmManager,
-                                   ScheduledExecutorService executorService) {
+    public AgentOperationProcessor(ExceptionLogger exceptionLogger, Agent agent, WorkerJvmManager workerJvmManager) {
         super(exceptionLogger);
         this.agent = agent;
         this.workerJvmManager = workerJvmManager;
-        this.executorService = executorService;
+    }
+
+    public void shutdown() {
+        launcherPool.shutdownNow();
     }
 
     @Override
@@ -130,12 +143,27 @@ public class AgentOperationProcessor extends OperationProcessor {
     }
 
     private ResponseType processCreateWorker(CreateWorkerOperation operation) throws Exception {
-        ArrayList<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        // the directory is shared by all Workers, so we create it once before the Workers are launched in parallel
+        ensureExistingDirectory(agent.getTestSuiteDir());
+
+        // each launch queue starts its Workers one after another, so the number of queues limits the parallelism
+        int workerCount = operation.getWorkerJvmSettings().size();
+        int parallelism = operation.getParallelism();
+        if (parallelism < 1) {
+            parallelism = LAUNCHER_POOL_SIZE;
+        }
+        Queue<LaunchWorkerCallable> tasks = new ConcurrentLinkedQueue<LaunchWorkerCallable>();
         for (WorkerJvmSettings workerJvmSettings : operation.getWorkerJvmSettings()) {
+            // the host metrics are sampled in the same interval as the performance numbers of the Workers
+            agent.getHostMetricsMonitor().start(workerJvmSettings.getPerformanceMonitorIntervalSeconds());
+
             WorkerJvmLauncher launcher = new WorkerJvmLauncher(agent, workerJvmManager, workerJvmSettings);
-            LaunchWorkerCallable task = new LaunchWorkerCallable(launcher, workerJvmSettings);
-            Future<Boolean> future = executorService.schedule(task, operation.getDelayMs(), TimeUnit.MILLISECONDS);
-            futures.add(future);
+            tasks.add(new LaunchWorkerCallable(launcher, workerJvmSettings, operation.isReuseWorkers()));
+        }
+
+        ArrayList<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < Math.min(parallelism, workerCount); i++) {
+            futures.add(launcherPool.schedule(new LaunchQueueCallable(tasks), operation.getDelayMs(), MILLISECONDS));
         }
         for (Future<Boolean> future : futures) {
             if (!future.get()) {
@@ -154,28 +182,56 @@ public class AgentOperationProcessor extends OperationProcessor {
         agent.getWorkerJvmFailureMonitor().stopTimeoutDetection();
     }
 
+    private static final class LaunchQueueCallable implements Callable<Boolean> {
+
+        private final Queue<LaunchWorkerCallable> tasks;
+
+        private LaunchQueueCallable(Queue<LaunchWorkerCallable> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public Boolean call() {
+            boolean success = true;
+            LaunchWorkerCallable task = tasks.poll();
+            while (task != null) {
+                success &= task.call();
+                task = tasks.poll();
+            }
+            return success;
+        }
+    }
+
     private final class LaunchWorkerCallable implements Callable<Boolean> {
 
         private final WorkerJvmLauncher launcher;
         private final WorkerJvmSettings workerJvmSettings;
+        private final boolean reuseWorker;
 
-        private LaunchWorkerCallable(WorkerJvmLauncher launcher, WorkerJvmSettings workerJvmSettings) {
+        private LaunchWorkerCallable(WorkerJvmLauncher launcher, WorkerJvmSettings workerJvmSettings, boolean reuseWorker) {
             this.launcher = launcher;
             this.workerJvmSettings = workerJvmSettings;
+            this.reuseWorker = reuseWorker;
         }
 
         @Override
         public Boolean call() {
             try {
-                launcher.launch();
+                if (reuseWorker && resetRunningWorker()) {
+                    return true;
+                }
 
-                int workerIndex = workerJvmSettings.getWorkerIndex();
-                int workerPort = agent.getPort() + workerIndex;
-                SimulatorAddress workerAddress = agent.getAgentConnector().addWorker(workerIndex, "127.0.0.1", workerPort);
+                launcher.launch();
 
+                SimulatorAddress workerAddress = launcher.getWorkerAddress();
                 WorkerType workerType = workerJvmSettings.getWorkerType();
                 agent.getCoordinatorLogger().debug(format("Created %s Worker %s", workerType, workerAddress));
 
+                WorkerStartupOperation startupOperation = launcher.getStartupOperation();
+                if (startupOperation != null) {
+                    agent.getAgentConnector().write(SimulatorAddress.COORDINATOR, startupOperation);
+                }
+
                 return true;
             } catch (Exception e) {
                 LOGGER.error("Failed to start Worker", e);
@@ -184,5 +240,44 @@ public class AgentOperationProcessor extends OperationProcessor {
                 return false;
             }
         }
+
+        private boolean resetRunningWorker() {
+            int workerIndex = workerJvmSettings.getWorkerIndex();
+            SimulatorAddress workerAddress = new SimulatorAddress(AddressLevel.WORKER, agent.getAddressIndex(), workerIndex, 0);
+            WorkerJvm workerJvm = workerJvmManager.get(workerAddress);
+            if (workerJvm == null) {
+                return false;
+            }
+
+            String reason = null;
+            if (workerJvm.isFinished() || hasExited(workerJvm)) {
+                reason = "it's not running anymore";
+            } else if (!workerJvmSettings.isReusableFor(workerJvm, agent.getTestSuite().getId())) {
+                reason = "its settings or its TestSuite have changed";
+            } else {
+                Response response = agent.getAgentConnector().write(workerAddress, new ResetWorkerOperation());
+                ResponseType responseType = response.getFirstErrorResponseType();
+                if (responseType == SUCCESS) {
+                    agent.getCoordinatorLogger().debug(format("Reused %s Worker %s", workerJvmSettings.getWorkerType(),
+                            workerAddress));
+                    return true;
+                }
+                reason = "its reset failed with " + responseType;
+            }
+
+            LOGGER.info(format("Restarting Worker %s, since %s", workerAddress, reason));
+            agent.getAgentConnector().removeWorker(workerIndex);
+            workerJvmManager.shutdown(workerJvm);
+            return false;
+        }
+
+        private boolean hasExited(WorkerJvm workerJvm) {
+            try {
+                workerJvm.getProcess().exitValue();
+                return true;
+            } catch (IllegalThreadStateException e) {
+                return false;
+            }
+        }
     }
 }
@@ -19,16 +19,20 @@ import com.hazelcast.simulator.coordinator.FailureContainer;
 import com.hazelcast.simulator.coordinator.PerformanceStateContainer;
 import com.hazelcast.simulator.coordinator.TestHistogramContainer;
 import com.hazelcast.simulator.coordinator.TestPhaseListeners;
+import com.hazelcast.simulator.coordinator.WorkerStartupContainer;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.exception.LocalExceptionLogger;
+import com.hazelcast.simulator.protocol.operation.ChangeClusterTargetRateOperation;
 import com.hazelcast.simulator.protocol.operation.ExceptionOperation;
 import com.hazelcast.simulator.protocol.operation.FailureOperation;
+import com.hazelcast.simulator.protocol.operation.HostMetricsOperation;
 import com.hazelcast.simulator.protocol.operation.OperationType;
 import com.hazelcast.simulator.protocol.operation.PerformanceStateOperation;
 import com.hazelcast.simulator.protocol.operation.PhaseCompletedOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.operation.TestHistogramOperation;
+import com.hazelcast.simulator.protocol.operation.WorkerStartupOperation;
 import org.apache.log4j.Logger;
 
 import static com.hazelcast.simulator.protocol.core.AddressLevel.TEST;
@@ -49,17 +53,28 @@ public class CoordinatorOperationProcessor extends OperationProcessor {
     private final TestPhaseListeners testPhaseListeners;
     private final PerformanceStateContainer performanceStateContainer;
     private final TestHistogramContainer testHistogramContainer;
+    private final WorkerStartupContainer workerStartupContainer;
 
     public CoordinatorOperationProcessor(LocalExceptionLogger exceptionLogger,
                                          FailureContainer failureContainer, TestPhaseListeners testPhaseListeners,
                                          PerformanceStateContainer performanceStateContainer,
                                          TestHistogramContainer testHistogramContainer) {
+        this(exceptionLogger, failureContainer, testPhaseListeners, performanceStateContainer, testHistogramContainer,
+                new WorkerStartupContainer());
+    }
+
+    public CoordinatorOperationProcessor(LocalExceptionLogger exceptionLogger,
+                                         FailureContainer failureContainer, TestPhaseListeners testPhaseListeners,
+                                         PerformanceStateContainer performanceStateContainer,
+                                         TestHistogramContainer testHistogramContainer,
+                                         WorkerStartupContainer workerStartupContainer) {
         super(exceptionLogger);
         this.exceptionLogger = exceptionLogger;
         this.failureContainer = failureContainer;
         this.testPhaseListeners = testPhaseListeners;
         this.performanceStateContainer = performanceStateContainer;
         this.testHistogramContainer = testHistogramContainer;
+        this.workerStartupContainer = workerStartupContainer;
     }
 
     @Override
@@ -80,6 +95,14 @@ public class CoordinatorOperationProcessor extends OperationProcessor {
             case TEST_HISTOGRAMS:
                 processTestHistogram((TestHistogramOperation) operation, sourceAddress);
                 break;
+            case WORKER_STARTUP:
+                processWorkerStartup((WorkerStartupOperation) operation);
+                break;
+            case HOST_METRICS:
+                processHostMetrics((HostMetricsOperation) operation, sourceAddress);
+                break;
+            case CHANGE_CLUSTER_TARGET_RATE:
+                return processChangeClusterTargetRate((ChangeClusterTargetRateOperation) operation, sourceAddress);
             default:
                 return UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
         }
@@ -104,11 +127,33 @@ public class CoordinatorOperationProcessor extends OperationProcessor {
         return SUCCESS;
     }
 
+    private ResponseType processChangeClusterTargetRate(ChangeClusterTargetRateOperation operation,
+                                                        SimulatorAddress sourceAddress) {
+        if (!TEST.equals(sourceAddress.getAddressLevel())) {
+            LOGGER.error(format("Retrieved ChangeClusterTargetRateOperation from %s", sourceAddress));
+            return EXCEPTION_DURING_OPERATION_EXECUTION;
+        }
+        int testIndex = sourceAddress.getTestIndex();
+        if (!testPhaseListeners.changeTargetRate(testIndex, operation.getTargetRate(), operation.getActiveThreadCount())) {
+            return EXCEPTION_DURING_OPERATION_EXECUTION;
+        }
+        return SUCCESS;
+    }
+
     private void processPerformanceState(PerformanceStateOperation operation, SimulatorAddress sourceAddress) {
         performanceStateContainer.update(sourceAddress, operation.getPerformanceStates());
+        performanceStateContainer.updateSaturation(sourceAddress, operation.getSaturationState());
     }
 
     private void processTestHistogram(TestHistogramOperation operation, SimulatorAddress sourceAddress) {
         testHistogramContainer.addTestHistograms(sourceAddress, operation.getTestId(), operation.getProbeHistograms());
     }
+
+    private void processWorkerStartup(WorkerStartupOperation operation) {
+        workerStartupContainer.addWorkerStartup(operation);
+    }
+
+    private void processHostMetrics(HostMetricsOperation operation, SimulatorAddress sourceAddress) {
+        performanceStateContainer.updateHostMetrics(sourceAddress, operation.getHostMetrics());
+    }
 }
@@ -20,6 +20,7 @@ import com.hazelcast.simulator.protocol.core.ResponseFuture;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.exception.ExceptionLogger;
+import com.hazelcast.simulator.protocol.operation.ChangeTargetRateOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
 import com.hazelcast.simulator.protocol.operation.LogOperation;
 import com.hazelcast.simulator.protocol.operation.OperationType;
@@ -32,6 +33,7 @@ import com.hazelcast.simulator.test.TestContainer;
 import com.hazelcast.simulator.test.TestPhase;
 import com.hazelcast.simulator.worker.Worker;
 import com.hazelcast.simulator.worker.WorkerType;
+import com.hazelcast.simulator.worker.metronome.RateBudget;
 import org.apache.log4j.Logger;
 
 import java.util.concurrent.atomic.AtomicInteger;
@@ -106,6 +108,9 @@ public class TestOperationProcessor extends OperationProcessor {
             case STOP_TEST:
                 processStopTest();
                 break;
+            case CHANGE_TARGET_RATE:
+                processChangeTargetRate((ChangeTargetRateOperation) operation);
+                break;
             default:
                 return UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
         }
@@ -183,6 +188,20 @@ public class TestOperationProcessor extends OperationProcessor {
         testContainer.getTestContext().stop();
     }
 
+    private void processChangeTargetRate(ChangeTargetRateOperation operation) {
+        RateBudget rateBudget = testContainer.getRateBudget();
+        String previousLoadSegment = rateBudget.getLoadSegment();
+        rateBudget.update(operation.getWorkerTargetRate(), operation.getActiveThreadCount(), operation.getLoadSegment());
+
+        // a load profile changes the target rate every second, so we just log the changes of its segment
+        String loadSegment = operation.getLoadSegment();
+        if (loadSegment == null || !loadSegment.equals(previousLoadSegment)) {
+            LOGGER.info(format("Changed target rate of %s to %s", testId, rateBudget));
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Changed target rate of %s to %s", testId, rateBudget));
+        }
+    }
+
     private boolean skipRunPhase(StartTestOperation operation) {
         if (!operation.matchesTargetType(type)) {
             TargetType targetType = operation.getTargetType();
@@ -15,7 +15,9 @@
  */
 package com.hazelcast.simulator.protocol.processors;
 
+import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.simulator.probes.Probe;
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
@@ -24,21 +26,27 @@ import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.exception.ExceptionLogger;
 import com.hazelcast.simulator.protocol.operation.CreateTestOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
+import com.hazelcast.simulator.protocol.operation.IsClusterSafeOperation;
 import com.hazelcast.simulator.protocol.operation.LogOperation;
 import com.hazelcast.simulator.protocol.operation.OperationType;
+import com.hazelcast.simulator.protocol.operation.PingOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.operation.TerminateWorkerOperation;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.test.TestContainer;
 import com.hazelcast.simulator.test.TestContextImpl;
+import com.hazelcast.simulator.worker.ClockOffsetTracker;
 import com.hazelcast.simulator.worker.Worker;
 import com.hazelcast.simulator.worker.WorkerType;
 import org.apache.log4j.Logger;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.hazelcast.simulator.protocol.core.ResponseType.EXCEPTION_DURING_OPERATION_EXECUTION;
+import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_CLUSTER_NOT_SAFE;
 import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
 import static com.hazelcast.simulator.protocol.core.ResponseType.UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
 import static com.hazelcast.simulator.protocol.operation.IntegrationTestOperation.Type.DEEP_NESTED_ASYNC;
@@ -64,21 +72,32 @@ public class WorkerOperationProcessor extends OperationProcessor {
     private final HazelcastInstance hazelcastInstance;
     private final Worker worker;
     private final SimulatorAddress workerAddress;
+    private final ClockOffsetTracker clockOffsetTracker;
 
     public WorkerOperationProcessor(ExceptionLogger exceptionLogger, WorkerType type, HazelcastInstance hazelcastInstance,
                                     Worker worker, SimulatorAddress workerAddress) {
+        this(exceptionLogger, type, hazelcastInstance, worker, workerAddress, new ClockOffsetTracker());
+    }
+
+    public WorkerOperationProcessor(ExceptionLogger exceptionLogger, WorkerType type, HazelcastInstance hazelcastInstance,
+                                    Worker worker, SimulatorAddress workerAddress, ClockOffsetTracker clockOffsetTracker) {
         super(exceptionLogger);
         this.exceptionLogger = exceptionLogger;
         this.type = type;
         this.hazelcastInstance = hazelcastInstance;
         this.worker = worker;
         this.workerAddress = workerAddress;
+        this.clockOffsetTracker = clockOffsetTracker;
     }
 
     public Collection<TestContainer> getTests() {
         return tests.values();
     }
 
+    public ClockOffsetTracker getClockOffsetTracker() {
+        return clockOffsetTracker;
+    }
+
     @Override
     protected ResponseType processOperation(OperationType operationType, SimulatorOperation operation,
                                             SimulatorAddress sourceAddress) throws Exception {
@@ -86,7 +105,7 @@ public class WorkerOperationProcessor extends OperationProcessor {
             case INTEGRATION_TEST:
                 return processIntegrationTest((IntegrationTestOperation) operation, sourceAddress);
             case PING:
-                processPing(sourceAddress);
+                processPing((PingOperation) operation, sourceAddress);
                 break;
             case TERMINATE_WORKER:
                 processTerminateWorker((TerminateWorkerOperation) operation);
@@ -94,6 +113,10 @@ public class WorkerOperationProcessor extends OperationProcessor {
             case CREATE_TEST:
                 processCreateTest((CreateTestOperation) operation);
                 break;
+            case RESET_WORKER:
+                return processResetWorker();
+            case IS_CLUSTER_SAFE:
+                return processIsClusterSafe((IsClusterSafeOperation) operation);
             default:
                 return UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
         }
@@ -133,7 +156,8 @@ public class WorkerOperationProcessor extends OperationProcessor {
         }
     }
 
-    private void processPing(SimulatorAddress sourceAddress) {
+    private void processPing(PingOperation operation, SimulatorAddress sourceAddress) {
+        clockOffsetTracker.onPing(operation);
         WorkerConnector workerConnector = worker.getWorkerConnector();
         LOGGER.debug(format("Pinged by %s (queue size: %d)...", sourceAddress, workerConnector.getMessageQueueSize()));
     }
@@ -165,9 +189,10 @@ public class WorkerOperationProcessor extends OperationProcessor {
 
         LOGGER.info(format("%s Initializing test %s %s%n%s", DASHES, testId, DASHES, testCase));
 
-        TestContextImpl testContext = new TestContextImpl(hazelcastInstance, testId, worker.getPublicIpAddress());
-        TestContainer testContainer = new TestContainer(testContext, testCase);
         SimulatorAddress testAddress = workerAddress.getChild(testIndex);
+        TestContextImpl testContext = new TestContextImpl(hazelcastInstance, testId, worker.getPublicIpAddress(),
+                clockOffsetTracker, workerConnector, testAddress);
+        TestContainer testContainer = new TestContainer(testContext, testCase);
         TestOperationProcessor processor = new TestOperationProcessor(exceptionLogger, worker, type, testContainer, testAddress);
 
         workerConnector.addTest(testIndex, processor);
@@ -177,4 +202,43 @@ public class WorkerOperationProcessor extends OperationProcessor {
             hazelcastInstance.getUserContext().put(getUserContextKeyFromTestId(testId), testContainer.getTestInstance());
         }
     }
+
+    private ResponseType processResetWorker() {
+        LOGGER.info(format("%s Resetting Worker for reuse %s", DASHES, DASHES));
+        for (Map.Entry<String, TestContainer> entry : tests.entrySet()) {
+            String testId = entry.getKey();
+            if (type == WorkerType.MEMBER) {
+                hazelcastInstance.getUserContext().remove(getUserContextKeyFromTestId(testId));
+            }
+            // the probes must not report values of the previous TestSuite, even if a tracker still references them
+            for (Probe probe : entry.getValue().getProbeMap().values()) {
+                probe.reset();
+            }
+            tests.remove(testId);
+        }
+        if (hazelcastInstance == null) {
+            return SUCCESS;
+        }
+
+        for (DistributedObject distributedObject : hazelcastInstance.getDistributedObjects()) {
+            distributedObject.destroy();
+        }
+        Collection<DistributedObject> remainingObjects = hazelcastInstance.getDistributedObjects();
+        if (!remainingObjects.isEmpty()) {
+            LOGGER.error(format("Could not reset Worker, there are %d distributed objects left", remainingObjects.size()));
+            return EXCEPTION_DURING_OPERATION_EXECUTION;
+        }
+        return SUCCESS;
+    }
+
+    private ResponseType processIsClusterSafe(IsClusterSafeOperation operation) {
+        if (type != WorkerType.MEMBER || hazelcastInstance == null) {
+            return UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
+        }
+        int memberCount = hazelcastInstance.getCluster().getMembers().size();
+        if (memberCount != operation.getExpectedMemberCount() || !hazelcastInstance.getPartitionService().isClusterSafe()) {
+            return FAILURE_CLUSTER_NOT_SAFE;
+        }
+        return SUCCESS;
+    }
 }
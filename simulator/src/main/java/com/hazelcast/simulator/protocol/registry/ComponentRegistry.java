@@ -78,9 +78,13 @@ public class ComponentRegistry {
         return agents.get(0);
     }
 
-    public synchronized void addWorkers(SimulatorAddress parentAddress, List<WorkerJvmSettings> settingsList) {
+    public void addWorkers(SimulatorAddress parentAddress, List<WorkerJvmSettings> settingsList) {
+        addWorkers(parentAddress, settingsList, false);
+    }
+
+    public synchronized void addWorkers(SimulatorAddress parentAddress, List<WorkerJvmSettings> settingsList, boolean isElastic) {
         for (WorkerJvmSettings settings : settingsList) {
-            WorkerData workerData = new WorkerData(parentAddress, settings);
+            WorkerData workerData = new WorkerData(parentAddress, settings, isElastic);
             agents.get(workerData.getAddress().getAgentIndex() - 1).addWorker(workerData);
             workers.add(workerData);
         }
@@ -104,6 +108,30 @@ public class ComponentRegistry {
         return workers.size();
     }
 
+    /**
+     * Returns the number of Workers which execute tests, so elastic Workers are not counted.
+     *
+     * @return the number of test Workers
+     */
+    public synchronized int testWorkerCount() {
+        int count = 0;
+        for (WorkerData workerData : workers) {
+            if (!workerData.isElastic()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized boolean isElasticWorker(SimulatorAddress workerAddress) {
+        for (WorkerData workerData : workers) {
+            if (workerData.getAddress().equals(workerAddress)) {
+                return workerData.isElastic();
+            }
+        }
+        return false;
+    }
+
     public boolean hasClientWorkers() {
         for (WorkerData workerData : workers) {
             if (!workerData.isMemberWorker()) {
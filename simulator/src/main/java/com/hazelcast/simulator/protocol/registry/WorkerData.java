@@ -28,10 +28,16 @@ public class WorkerData {
 
     private final SimulatorAddress address;
     private final WorkerJvmSettings settings;
+    private final boolean isElastic;
 
     WorkerData(SimulatorAddress parentAddress, WorkerJvmSettings settings) {
+        this(parentAddress, settings, false);
+    }
+
+    WorkerData(SimulatorAddress parentAddress, WorkerJvmSettings settings, boolean isElastic) {
         this.address = parentAddress.getChild(settings.getWorkerIndex());
         this.settings = settings;
+        this.isElastic = isElastic;
     }
 
     public SimulatorAddress getAddress() {
@@ -45,4 +51,15 @@ public class WorkerData {
     public boolean isMemberWorker() {
         return (settings.getWorkerType() == WorkerType.MEMBER);
     }
+
+    /**
+     * Checks if the Worker has been started during the RUN phase of a test to change the cluster membership.
+     *
+     * Elastic Workers just host a Hazelcast member and don't execute any tests.
+     *
+     * @return {@code true} if the Worker is elastic, {@code false} otherwise
+     */
+    public boolean isElastic() {
+        return isElastic;
+    }
 }
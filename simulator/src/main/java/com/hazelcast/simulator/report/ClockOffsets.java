@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import com.hazelcast.simulator.utils.CommandLineExitException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.worker.ClockOffsetTracker.CLOCK_OFFSET_FILE_NAME;
+
+/**
+ * The clock offsets of a Worker to the Coordinator, as logged by the {@link com.hazelcast.simulator.worker.ClockOffsetTracker}.
+ *
+ * Used to convert the timestamps of the Worker to the clock of the Coordinator, so the time series of different Workers can
+ * be merged. Each timestamp is corrected by the latest offset which was known at that time.
+ */
+final class ClockOffsets {
+
+    static final ClockOffsets NONE = new ClockOffsets(new TreeMap<Long, Long>());
+
+    private static final int TIME_MILLIS_COLUMN = 0;
+    private static final int CLOCK_OFFSET_COLUMN = 1;
+
+    private final TreeMap<Long, Long> offsets;
+
+    private ClockOffsets(TreeMap<Long, Long> offsets) {
+        this.offsets = offsets;
+    }
+
+    boolean isEmpty() {
+        return offsets.isEmpty();
+    }
+
+    /**
+     * Converts a timestamp of the Worker clock to the Coordinator clock.
+     *
+     * @param workerTimeMillis the timestamp of the Worker in milliseconds
+     * @return the timestamp of the Coordinator in milliseconds
+     */
+    long toCoordinatorTime(long workerTimeMillis) {
+        if (offsets.isEmpty()) {
+            return workerTimeMillis;
+        }
+        Map.Entry<Long, Long> entry = offsets.floorEntry(workerTimeMillis);
+        if (entry == null) {
+            entry = offsets.firstEntry();
+        }
+        return workerTimeMillis - entry.getValue();
+    }
+
+    /**
+     * Reads the clock offsets of a Worker directory.
+     *
+     * @param workerDirectory the Worker directory
+     * @return the {@link ClockOffsets} of the Worker or {@link #NONE} if the Worker has not logged any clock offsets
+     */
+    static ClockOffsets load(File workerDirectory) {
+        File file = new File(workerDirectory, CLOCK_OFFSET_FILE_NAME);
+        if (!file.isFile()) {
+            return NONE;
+        }
+
+        TreeMap<Long, Long> offsets = new TreeMap<Long, Long>();
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (columns.length <= CLOCK_OFFSET_COLUMN) {
+                    continue;
+                }
+                try {
+                    offsets.put(Long.parseLong(columns[TIME_MILLIS_COLUMN]), Long.parseLong(columns[CLOCK_OFFSET_COLUMN]));
+                } catch (NumberFormatException ignored) {
+                    // the header line or a partially written line
+                    continue;
+                }
+            }
+        } catch (IOException e) {
+            throw new CommandLineExitException("Could not read clock offset file " + file.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(reader);
+        }
+        return new ClockOffsets(offsets);
+    }
+}
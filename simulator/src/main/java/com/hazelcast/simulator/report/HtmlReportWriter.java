@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import com.hazelcast.simulator.probes.Result;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.hazelcast.simulator.report.ProbeData.PERCENTILE_50;
+import static com.hazelcast.simulator.report.ProbeData.PERCENTILE_99;
+import static com.hazelcast.simulator.report.ProbeData.PERCENTILE_99_9;
+import static com.hazelcast.simulator.report.SvgChart.Unit.MICROSECONDS;
+import static com.hazelcast.simulator.report.SvgChart.Unit.OPERATIONS_PER_SECOND;
+import static com.hazelcast.simulator.report.SvgChart.distributionChart;
+import static com.hazelcast.simulator.report.SvgChart.formatValue;
+import static com.hazelcast.simulator.report.SvgChart.timeSeriesChart;
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+
+/**
+ * Writes the HTML report as a single self-contained file.
+ *
+ * The report is written section by section, so only the charts of a single test are kept in memory.
+ */
+final class HtmlReportWriter implements Closeable {
+
+    static final int MAX_FAILURE_CHARACTERS = 100000;
+
+    private static final String FAILURE_PREFIX = "Failure[";
+    private static final String STYLE = "body{font-family:sans-serif;margin:20px;}"
+            + "table{border-collapse:collapse;}td,th{border:1px solid #ccc;padding:3px 8px;text-align:right;}"
+            + "th{background:#eee;}td:first-child{text-align:left;}"
+            + "pre{background:#f8f8f8;border:1px solid #ddd;padding:5px;max-height:400px;overflow:auto;}"
+            + "details{margin:5px 0 5px 20px;}summary{cursor:pointer;font-weight:bold;}";
+
+    private final Writer writer;
+
+    HtmlReportWriter(File file) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+    }
+
+    void writeHeader(String title, String description) throws IOException {
+        write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n");
+        write("<title>%s</title>\n<style>%s</style>\n</head>\n<body>\n", escape(title), STYLE);
+        write("<h1>%s</h1>\n<p>%s</p>\n", escape(title), escape(description));
+    }
+
+    void writeSummary(List<Result> results) throws IOException {
+        write("<h2>Summary</h2>\n");
+        if (results.isEmpty()) {
+            write("<p>No probe results found.</p>\n");
+            return;
+        }
+        write("<table>\n<tr><th>Test</th><th>Operations</th><th>Throughput</th><th>Probe</th><th>Operations</th>"
+                + "<th>50%</th><th>99%</th><th>99.9%</th><th>Max</th></tr>\n");
+        for (Result result : results) {
+            String testCells = format("<td>%s</td><td>%d</td><td>%s</td>", escape(result.getTestName()),
+                    result.getInvocations(), formatValue(result.getThroughput(), OPERATIONS_PER_SECOND));
+            if (result.probeNames().isEmpty()) {
+                write("<tr>%s<td></td><td></td><td></td><td></td><td></td><td></td></tr>\n", testCells);
+            }
+            for (String probeName : result.probeNames()) {
+                Histogram histogram = result.getHistogram(probeName);
+                write("<tr>%s<td>%s</td><td>%d</td><td>%s</td><td>%s</td><td>%s</td><td>%s</td></tr>\n", testCells,
+                        escape(probeName), histogram.getTotalCount(), formatLatency(histogram, PERCENTILE_50),
+                        formatLatency(histogram, PERCENTILE_99), formatLatency(histogram, PERCENTILE_99_9),
+                        formatValue(histogram.getMaxValue(), MICROSECONDS));
+            }
+        }
+        write("</table>\n");
+    }
+
+    /**
+     * Writes the failures section.
+     *
+     * The failure files are streamed and the content is truncated after {@link #MAX_FAILURE_CHARACTERS}, so a test run with
+     * millions of failures doesn't create a huge report. The failures are still counted completely.
+     *
+     * @param failuresFiles the failure files of the Coordinator
+     * @throws IOException if the files could not be read or the report could not be written
+     */
+    void writeFailures(List<File> failuresFiles) throws IOException {
+        write("<h2>Failures</h2>\n");
+        int failureCount = 0;
+        StringBuilder sb = new StringBuilder();
+        for (File failuresFile : failuresFiles) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(failuresFile), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(FAILURE_PREFIX)) {
+                        failureCount++;
+                    }
+                    if (sb.length() < MAX_FAILURE_CHARACTERS) {
+                        sb.append(line).append('\n');
+                    }
+                }
+            } finally {
+                closeQuietly(reader);
+            }
+        }
+        if (failureCount == 0 && sb.length() == 0) {
+            write("<p>No failures.</p>\n");
+            return;
+        }
+        write("<p>%d failures</p>\n<pre>%s%s</pre>\n", failureCount, escape(sb.toString()),
+                sb.length() >= MAX_FAILURE_CHARACTERS ? "\n[truncated]" : "");
+    }
+
+    void writeTest(TestResults testResults) throws IOException {
+        TestData total = testResults.getTotal();
+        long startTime = getStartTime(total);
+        long endTime = getEndTime(total);
+
+        write("<h2>Test %s</h2>\n", escape(testResults.getTestId()));
+        writeCharts("All Workers", total, startTime, endTime);
+        for (Map.Entry<String, TestData> entry : testResults.getAgents().entrySet()) {
+            write("<details>\n<summary>Agent %s</summary>\n", escape(entry.getKey()));
+            writeCharts("Agent " + entry.getKey(), entry.getValue(), startTime, endTime);
+            write("</details>\n");
+        }
+        for (Map.Entry<String, TestData> entry : testResults.getWorkers().entrySet()) {
+            write("<details>\n<summary>Worker %s</summary>\n", escape(entry.getKey()));
+            writeCharts("Worker " + entry.getKey(), entry.getValue(), startTime, endTime);
+            write("</details>\n");
+        }
+    }
+
+    void writeFooter() throws IOException {
+        write("</body>\n</html>\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private void writeCharts(String scope, TestData testData, long startTime, long endTime) throws IOException {
+        if (!testData.getThroughput().isEmpty()) {
+            Map<String, TimeSeries> series = new LinkedHashMap<String, TimeSeries>();
+            series.put("throughput", testData.getThroughput());
+            write(timeSeriesChart(scope + ": throughput over time", series, startTime, endTime, OPERATIONS_PER_SECOND));
+        }
+
+        Map<String, Histogram> histograms = new LinkedHashMap<String, Histogram>();
+        for (ProbeData probeData : testData.getProbes()) {
+            Map<String, TimeSeries> series = new LinkedHashMap<String, TimeSeries>();
+            series.put("50%", probeData.getMedian());
+            series.put("99%", probeData.getPercentile99());
+            series.put("99.9%", probeData.getPercentile999());
+            series.put("max", probeData.getMax());
+            write(timeSeriesChart(scope + ": " + probeData.getProbeName() + " latency over time", series, startTime, endTime,
+                    MICROSECONDS));
+            histograms.put(probeData.getProbeName(), probeData.getHistogram());
+        }
+        if (!histograms.isEmpty()) {
+            write(distributionChart(scope + ": latency distribution", histograms));
+        }
+    }
+
+    private void write(String text) throws IOException {
+        writer.write(text);
+    }
+
+    private void write(String format, Object... args) throws IOException {
+        writer.write(format(format, args));
+    }
+
+    private static String formatLatency(Histogram histogram, double percentile) {
+        return formatValue(histogram.getValueAtPercentile(percentile), MICROSECONDS);
+    }
+
+    private static long getStartTime(TestData testData) {
+        long startTime = testData.getThroughput().isEmpty() ? Long.MAX_VALUE : testData.getThroughput().getMinTime();
+        for (ProbeData probeData : testData.getProbes()) {
+            if (!probeData.getMax().isEmpty()) {
+                startTime = Math.min(startTime, probeData.getMax().getMinTime());
+            }
+        }
+        return (startTime == Long.MAX_VALUE) ? 0 : startTime;
+    }
+
+    private static long getEndTime(TestData testData) {
+        long endTime = testData.getThroughput().getMaxTime();
+        for (ProbeData probeData : testData.getProbes()) {
+            endTime = Math.max(endTime, probeData.getMax().getMaxTime());
+        }
+        return endTime;
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.US, format, args);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import org.HdrHistogram.Histogram;
+
+import static com.hazelcast.simulator.probes.impl.HdrProbe.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.report.TimeSeries.Aggregation.MAX;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Contains the latency data of a single probe: the percentiles over time and the latency distribution of the whole run.
+ *
+ * The percentiles are calculated from each interval histogram with its full precision. The distribution is kept in a single
+ * histogram with a reduced precision, so the memory consumption doesn't depend on the duration of the test run.
+ */
+final class ProbeData {
+
+    static final int HISTOGRAM_PRECISION = 3;
+
+    static final double PERCENTILE_50 = 50;
+    static final double PERCENTILE_99 = 99;
+    static final double PERCENTILE_99_9 = 99.9;
+
+    private final Histogram histogram = new Histogram(MAXIMUM_LATENCY, HISTOGRAM_PRECISION);
+    private final TimeSeries median = new TimeSeries(MAX);
+    private final TimeSeries percentile99 = new TimeSeries(MAX);
+    private final TimeSeries percentile999 = new TimeSeries(MAX);
+    private final TimeSeries max = new TimeSeries(MAX);
+
+    private final String probeName;
+
+    ProbeData(String probeName) {
+        this.probeName = probeName;
+    }
+
+    String getProbeName() {
+        return probeName;
+    }
+
+    Histogram getHistogram() {
+        return histogram;
+    }
+
+    TimeSeries getMedian() {
+        return median;
+    }
+
+    TimeSeries getPercentile99() {
+        return percentile99;
+    }
+
+    TimeSeries getPercentile999() {
+        return percentile999;
+    }
+
+    TimeSeries getMax() {
+        return max;
+    }
+
+    void addInterval(Histogram intervalHistogram, long startTimeMillis) {
+        if (intervalHistogram.getTotalCount() == 0) {
+            return;
+        }
+        long timeSeconds = MILLISECONDS.toSeconds(startTimeMillis);
+        median.add(timeSeconds, intervalHistogram.getValueAtPercentile(PERCENTILE_50));
+        percentile99.add(timeSeconds, intervalHistogram.getValueAtPercentile(PERCENTILE_99));
+        percentile999.add(timeSeconds, intervalHistogram.getValueAtPercentile(PERCENTILE_99_9));
+        max.add(timeSeconds, intervalHistogram.getMaxValue());
+        histogram.add(intervalHistogram);
+    }
+
+    void merge(ProbeData other) {
+        histogram.add(other.histogram);
+        median.merge(other.median);
+        percentile99.merge(other.percentile99);
+        percentile999.merge(other.percentile999);
+        max.merge(other.max);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.xml.ResultXmlUtils;
+import com.hazelcast.simulator.utils.CommandLineExitException;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.common.GitInfo.getBuildTime;
+import static com.hazelcast.simulator.common.GitInfo.getCommitIdAbbrev;
+import static com.hazelcast.simulator.report.ReportCli.init;
+import static com.hazelcast.simulator.report.ReportCli.run;
+import static com.hazelcast.simulator.utils.CommonUtils.awaitTermination;
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.utils.CommonUtils.exitWithError;
+import static com.hazelcast.simulator.utils.CommonUtils.getSimulatorVersion;
+import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static com.hazelcast.simulator.utils.ExecutorFactory.createFixedThreadPool;
+import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
+import static java.lang.String.format;
+
+/**
+ * Commandline tool to create a self-contained HTML report from the results of a Simulator test run.
+ *
+ * Reads the probe results and failures of the Coordinator and the performance and histogram log files of all Workers. The
+ * Worker files are parsed in parallel with streaming parsers, so also multi-GB result directories can be processed. The
+ * report contains throughput and latency charts per test, per Agent and per Worker and can be created on headless machines.
+ */
+public class Report {
+
+    private static final int PENDING_FILES_PER_THREAD = 4;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final Logger LOGGER = Logger.getLogger(Report.class);
+
+    private final File directory;
+    private final File outputFile;
+    private final int threadCount;
+
+    private int workerFileCount;
+
+    Report(String directory, String outputFile, int threadCount) {
+        this.directory = new File(directory).getAbsoluteFile();
+        this.outputFile = new File(outputFile).getAbsoluteFile();
+        this.threadCount = threadCount;
+    }
+
+    void createReport() {
+        echo("Processing directory %s...", directory);
+        ResultFiles resultFiles = ResultFiles.scan(directory);
+        echo("Found %d probe result files, %d failure files and %d Worker files", resultFiles.getProbesFiles().size(),
+                resultFiles.getFailuresFiles().size(), resultFiles.getWorkerFiles().size());
+
+        Map<String, TestResults> testResultsMap = parseWorkerFiles(resultFiles.getWorkerFiles());
+        List<Result> results = parseProbesFiles(resultFiles.getProbesFiles());
+
+        HtmlReportWriter writer = null;
+        try {
+            writer = new HtmlReportWriter(outputFile);
+            writer.writeHeader("Hazelcast Simulator Report", "Results of " + directory.getAbsolutePath());
+            writer.writeSummary(results);
+            writer.writeFailures(resultFiles.getFailuresFiles());
+            for (TestResults testResults : testResultsMap.values()) {
+                writer.writeTest(testResults);
+            }
+            writer.writeFooter();
+        } catch (IOException e) {
+            throw new CommandLineExitException("Could not write report " + outputFile.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(writer);
+        }
+        echo("Created report %s for %d tests", outputFile.getAbsolutePath(), testResultsMap.size());
+    }
+
+    // just for testing
+    int getWorkerFileCount() {
+        return workerFileCount;
+    }
+
+    // just for testing
+    File getOutputFile() {
+        return outputFile;
+    }
+
+    public static void main(String[] args) {
+        try {
+            run(init(args));
+        } catch (Exception e) {
+            exitWithError(LOGGER, "Could not create report!", e);
+        }
+    }
+
+    static void logHeader() {
+        echo("Hazelcast Simulator Report");
+        echo("Version: %s, Commit: %s, Build Time: %s", getSimulatorVersion(), getCommitIdAbbrev(), getBuildTime());
+        echo("SIMULATOR_HOME: %s", getSimulatorHome().getAbsolutePath());
+    }
+
+    private Map<String, TestResults> parseWorkerFiles(List<WorkerFile> workerFiles) {
+        Map<String, TestResults> testResultsMap = new TreeMap<String, TestResults>();
+        int maxPendingFiles = threadCount * PENDING_FILES_PER_THREAD;
+        LinkedList<WorkerFile> pendingFiles = new LinkedList<WorkerFile>();
+        LinkedList<Future<TestData>> pendingFutures = new LinkedList<Future<TestData>>();
+
+        workerFileCount = 0;
+        ExecutorService executor = createFixedThreadPool(threadCount, Report.class);
+        try {
+            for (WorkerFile workerFile : workerFiles) {
+                pendingFiles.add(workerFile);
+                pendingFutures.add(executor.submit(new WorkerFileTask(workerFile)));
+                if (pendingFutures.size() >= maxPendingFiles) {
+                    addTestData(testResultsMap, pendingFiles.removeFirst(), pendingFutures.removeFirst());
+                }
+            }
+            while (!pendingFutures.isEmpty()) {
+                addTestData(testResultsMap, pendingFiles.removeFirst(), pendingFutures.removeFirst());
+            }
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        return testResultsMap;
+    }
+
+    private void addTestData(Map<String, TestResults> testResultsMap, WorkerFile workerFile, Future<TestData> future) {
+        TestData testData = getTestData(future);
+        TestResults testResults = testResultsMap.get(workerFile.getTestId());
+        if (testResults == null) {
+            testResults = new TestResults(workerFile.getTestId());
+            testResultsMap.put(workerFile.getTestId(), testResults);
+        }
+        testResults.add(workerFile.getAgentId(), workerFile.getWorkerId(), testData);
+        workerFileCount++;
+    }
+
+    private static TestData getTestData(Future<TestData> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw rethrow(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static List<Result> parseProbesFiles(List<File> probesFiles) {
+        List<Result> results = new ArrayList<Result>(probesFiles.size());
+        for (File probesFile : probesFiles) {
+            try {
+                results.add(ResultXmlUtils.fromXml(probesFile));
+            } catch (Exception e) {
+                LOGGER.warn(format("Could not parse probe results %s: %s", probesFile.getAbsolutePath(), e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private static void echo(String message, Object... args) {
+        LOGGER.info(message == null ? "null" : format(message, args));
+    }
+}
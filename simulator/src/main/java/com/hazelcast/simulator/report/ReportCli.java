@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+
+import static com.hazelcast.simulator.utils.CliUtils.initOptionsWithHelp;
+
+final class ReportCli {
+
+    private final OptionParser parser = new OptionParser();
+
+    private final OptionSpec<String> directorySpec = parser.accepts("directory",
+            "Defines the directory in which the result files of the Coordinator and the Workers are searched.")
+            .withRequiredArg().ofType(String.class).defaultsTo(".");
+
+    private final OptionSpec<String> outputFileSpec = parser.accepts("outputFile",
+            "Defines the HTML file to which the report is written.")
+            .withRequiredArg().ofType(String.class).defaultsTo("report.html");
+
+    private final OptionSpec<Integer> threadCountSpec = parser.accepts("threadCount",
+            "Defines the number of threads which parse the Worker files in parallel.")
+            .withRequiredArg().ofType(Integer.class).defaultsTo(Runtime.getRuntime().availableProcessors());
+
+    private ReportCli() {
+    }
+
+    static Report init(String[] args) {
+        Report.logHeader();
+
+        ReportCli cli = new ReportCli();
+        OptionSet options = initOptionsWithHelp(cli.parser, args);
+
+        return new Report(options.valueOf(cli.directorySpec), options.valueOf(cli.outputFileSpec),
+                Math.max(1, options.valueOf(cli.threadCountSpec)));
+    }
+
+    static void run(Report report) {
+        report.createReport();
+    }
+}
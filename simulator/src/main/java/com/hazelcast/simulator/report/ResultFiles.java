@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the result files of a Simulator run.
+ *
+ * The Coordinator writes the {@code probes-*.xml} and {@code failures-*.txt} files, the Workers write a
+ * {@code performance-<testId>.csv} and a {@code <testId>-<probeName>.hdr} file per test into their Worker directory.
+ */
+final class ResultFiles {
+
+    private static final String PROBES_FILE_PREFIX = "probes-";
+    private static final String PROBES_FILE_EXTENSION = ".xml";
+    private static final String FAILURES_FILE_PREFIX = "failures-";
+    private static final String FAILURES_FILE_EXTENSION = ".txt";
+    private static final String PERFORMANCE_FILE_PREFIX = "performance-";
+    private static final String PERFORMANCE_FILE_EXTENSION = ".csv";
+    private static final String HDR_FILE_EXTENSION = ".hdr";
+    private static final String AGGREGATED_PROBE_NAME = "aggregated";
+
+    private final List<File> probesFiles = new ArrayList<File>();
+    private final List<File> failuresFiles = new ArrayList<File>();
+    private final List<WorkerFile> workerFiles = new ArrayList<WorkerFile>();
+
+    List<File> getProbesFiles() {
+        return probesFiles;
+    }
+
+    List<File> getFailuresFiles() {
+        return failuresFiles;
+    }
+
+    List<WorkerFile> getWorkerFiles() {
+        return workerFiles;
+    }
+
+    static ResultFiles scan(File directory) {
+        ResultFiles resultFiles = new ResultFiles();
+        resultFiles.walk(directory);
+        Collections.sort(resultFiles.probesFiles);
+        Collections.sort(resultFiles.failuresFiles);
+        return resultFiles;
+    }
+
+    private void walk(File directory) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        if (WorkerFile.isWorkerDirectory(directory)) {
+            addWorkerFiles(files);
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                walk(file);
+            } else if (name.startsWith(PROBES_FILE_PREFIX) && name.endsWith(PROBES_FILE_EXTENSION)) {
+                probesFiles.add(file);
+            } else if (name.startsWith(FAILURES_FILE_PREFIX) && name.endsWith(FAILURES_FILE_EXTENSION)) {
+                failuresFiles.add(file);
+            }
+        }
+    }
+
+    private void addWorkerFiles(File[] files) {
+        List<String> testIds = new ArrayList<String>();
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(PERFORMANCE_FILE_PREFIX) && name.endsWith(PERFORMANCE_FILE_EXTENSION)) {
+                String testId = name.substring(PERFORMANCE_FILE_PREFIX.length(),
+                        name.length() - PERFORMANCE_FILE_EXTENSION.length());
+                testIds.add(testId);
+                workerFiles.add(new WorkerFile(file, testId, null));
+            }
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(HDR_FILE_EXTENSION)) {
+                String testAndProbeName = name.substring(0, name.length() - HDR_FILE_EXTENSION.length());
+                String testId = getTestId(testAndProbeName, testIds);
+                String probeName = testAndProbeName.substring(Math.min(testId.length() + 1, testAndProbeName.length()));
+                if (!probeName.isEmpty() && !AGGREGATED_PROBE_NAME.equals(probeName)) {
+                    workerFiles.add(new WorkerFile(file, testId, probeName));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the test ID of a histogram log file name.
+     *
+     * Test IDs and probe names may both contain dashes, so the longest known test ID of the Worker directory is used. If there
+     * is no performance file for the test, the name is split at the last dash.
+     *
+     * @param testAndProbeName the histogram log file name without extension
+     * @param testIds          the test IDs of the performance files in the same directory
+     * @return the test ID
+     */
+    static String getTestId(String testAndProbeName, List<String> testIds) {
+        String testId = null;
+        for (String candidate : testIds) {
+            if (testAndProbeName.startsWith(candidate + '-') && (testId == null || candidate.length() > testId.length())) {
+                testId = candidate;
+            }
+        }
+        if (testId != null) {
+            return testId;
+        }
+        int separatorIndex = testAndProbeName.lastIndexOf('-');
+        return (separatorIndex < 0) ? testAndProbeName : testAndProbeName.substring(0, separatorIndex);
+    }
+}
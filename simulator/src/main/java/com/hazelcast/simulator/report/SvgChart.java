@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static com.hazelcast.simulator.report.HtmlReportWriter.escape;
+
+/**
+ * Renders charts as inline SVG, so the HTML report doesn't need any scripts or external resources.
+ */
+final class SvgChart {
+
+    /**
+     * Defines the unit of the values of a chart.
+     */
+    enum Unit {
+        OPERATIONS_PER_SECOND,
+        MICROSECONDS
+    }
+
+    static final int MAX_POINTS = 600;
+
+    private static final int WIDTH = 900;
+    private static final int HEIGHT = 260;
+    private static final int MARGIN_LEFT = 70;
+    private static final int MARGIN_RIGHT = 170;
+    private static final int MARGIN_TOP = 25;
+    private static final int MARGIN_BOTTOM = 30;
+    private static final int PLOT_WIDTH = WIDTH - MARGIN_LEFT - MARGIN_RIGHT;
+    private static final int PLOT_HEIGHT = HEIGHT - MARGIN_TOP - MARGIN_BOTTOM;
+    private static final int LABEL_OFFSET = 5;
+    private static final int LEGEND_LINE_HEIGHT = 15;
+    private static final int Y_TICKS = 5;
+    private static final int X_TICKS = 8;
+    private static final double HEADROOM = 1.1;
+
+    private static final double[] PERCENTILES = {0, 50, 75, 90, 95, 99, 99.5, 99.9, 99.95, 99.99, 99.999};
+    private static final double HUNDRED_PERCENT = 100;
+    private static final double MAX_PERCENTILE_POSITION = 6;
+    private static final String[] PERCENTILE_LABELS = {"0%", "90%", "99%", "99.9%", "99.99%", "99.999%", "max"};
+
+    private static final String[] COLORS = {
+            "#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b", "#e377c2", "#7f7f7f", "#bcbd22", "#17becf",
+    };
+
+    private static final int DECADE = 10;
+    private static final double THOUSAND = 1000;
+    private static final double MILLION = 1000000;
+
+    private SvgChart() {
+    }
+
+    /**
+     * Renders a line chart of multiple {@link TimeSeries} with a shared time axis.
+     *
+     * @param title     the title of the chart
+     * @param series    the series by their legend label
+     * @param startTime the start of the time axis in seconds
+     * @param endTime   the end of the time axis in seconds
+     * @param unit      the unit of the values
+     * @return the SVG element
+     */
+    static String timeSeriesChart(String title, Map<String, TimeSeries> series, long startTime, long endTime, Unit unit) {
+        double maxValue = 0;
+        for (TimeSeries timeSeries : series.values()) {
+            maxValue = Math.max(maxValue, timeSeries.getMaxValue());
+        }
+        maxValue = (maxValue == 0) ? 1 : maxValue * HEADROOM;
+        long duration = Math.max(1, endTime - startTime);
+
+        StringBuilder sb = new StringBuilder();
+        appendHeader(sb, title);
+        for (int i = 0; i <= Y_TICKS; i++) {
+            double value = maxValue * i / Y_TICKS;
+            appendHorizontalGridLine(sb, y(i / (double) Y_TICKS), formatValue(value, unit));
+        }
+        for (int i = 0; i <= X_TICKS; i++) {
+            appendVerticalGridLine(sb, x(i / (double) X_TICKS), (duration * i / X_TICKS) + " s");
+        }
+
+        int colorIndex = 0;
+        for (Map.Entry<String, TimeSeries> entry : series.entrySet()) {
+            TimeSeries timeSeries = entry.getValue().downsample(MAX_POINTS);
+            String color = COLORS[colorIndex % COLORS.length];
+            sb.append("<polyline fill=\"none\" stroke-width=\"1.5\" stroke=\"").append(color).append("\" points=\"");
+            for (int i = 0; i < timeSeries.size(); i++) {
+                double xPosition = (timeSeries.getTime(i) - startTime) / (double) duration;
+                appendPoint(sb, x(xPosition), y(timeSeries.getValue(i) / maxValue));
+            }
+            sb.append("\"/>\n");
+            appendLegend(sb, colorIndex++, color, entry.getKey());
+        }
+        return appendFooter(sb);
+    }
+
+    /**
+     * Renders the latency distribution of multiple histograms, with a logarithmic percentile axis and a logarithmic latency
+     * axis.
+     *
+     * @param title      the title of the chart
+     * @param histograms the histograms by their legend label
+     * @return the SVG element
+     */
+    static String distributionChart(String title, Map<String, Histogram> histograms) {
+        long maxValue = 1;
+        for (Histogram histogram : histograms.values()) {
+            maxValue = Math.max(maxValue, histogram.getMaxValue());
+        }
+        int decades = Math.max(1, (int) Math.ceil(Math.log10(maxValue + 1)));
+
+        StringBuilder sb = new StringBuilder();
+        appendHeader(sb, title);
+        long latency = 1;
+        for (int i = 0; i <= decades; i++) {
+            appendHorizontalGridLine(sb, y(i / (double) decades), formatValue(latency, Unit.MICROSECONDS));
+            latency *= DECADE;
+        }
+        for (int i = 0; i < PERCENTILE_LABELS.length; i++) {
+            appendVerticalGridLine(sb, x(i / MAX_PERCENTILE_POSITION), PERCENTILE_LABELS[i]);
+        }
+
+        int colorIndex = 0;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            String color = COLORS[colorIndex % COLORS.length];
+            sb.append("<polyline fill=\"none\" stroke-width=\"1.5\" stroke=\"").append(color).append("\" points=\"");
+            for (double percentile : PERCENTILES) {
+                double xPosition = Math.log10(HUNDRED_PERCENT / (HUNDRED_PERCENT - percentile)) / MAX_PERCENTILE_POSITION;
+                appendPoint(sb, x(xPosition), y(logPosition(histogram.getValueAtPercentile(percentile), decades)));
+            }
+            appendPoint(sb, x(1), y(logPosition(histogram.getMaxValue(), decades)));
+            sb.append("\"/>\n");
+            appendLegend(sb, colorIndex++, color, entry.getKey());
+        }
+        return appendFooter(sb);
+    }
+
+    static String formatValue(double value, Unit unit) {
+        if (unit == Unit.MICROSECONDS) {
+            if (value >= MILLION) {
+                return format("%.1f s", value / MILLION);
+            }
+            if (value >= THOUSAND) {
+                return format("%.1f ms", value / THOUSAND);
+            }
+            return format("%.0f µs", value);
+        }
+        if (value >= MILLION) {
+            return format("%.1fM ops/s", value / MILLION);
+        }
+        if (value >= THOUSAND) {
+            return format("%.1fk ops/s", value / THOUSAND);
+        }
+        return format("%.0f ops/s", value);
+    }
+
+    private static double logPosition(long value, int decades) {
+        return (value <= 1) ? 0 : Math.log10(value) / decades;
+    }
+
+    private static double x(double position) {
+        return MARGIN_LEFT + position * PLOT_WIDTH;
+    }
+
+    private static double y(double position) {
+        return MARGIN_TOP + (1 - position) * PLOT_HEIGHT;
+    }
+
+    private static void appendHeader(StringBuilder sb, String title) {
+        sb.append(format("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\""
+                + " font-size=\"10\">%n", WIDTH, HEIGHT));
+        sb.append(format("<text x=\"%d\" y=\"%d\" font-size=\"12\" font-weight=\"bold\">%s</text>%n",
+                MARGIN_LEFT, MARGIN_TOP - 2 * LABEL_OFFSET, escape(title)));
+        sb.append(format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"#999\"/>%n",
+                MARGIN_LEFT, MARGIN_TOP, PLOT_WIDTH, PLOT_HEIGHT));
+    }
+
+    private static String appendFooter(StringBuilder sb) {
+        sb.append("</svg>\n");
+        return sb.toString();
+    }
+
+    private static void appendHorizontalGridLine(StringBuilder sb, double y, String label) {
+        sb.append(format("<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#ddd\"/>%n",
+                MARGIN_LEFT, y, MARGIN_LEFT + PLOT_WIDTH, y));
+        sb.append(format("<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>%n",
+                MARGIN_LEFT - LABEL_OFFSET, y + LABEL_OFFSET - 2, escape(label)));
+    }
+
+    private static void appendVerticalGridLine(StringBuilder sb, double x, String label) {
+        sb.append(format("<line x1=\"%.1f\" y1=\"%d\" x2=\"%.1f\" y2=\"%d\" stroke=\"#ddd\"/>%n",
+                x, MARGIN_TOP, x, MARGIN_TOP + PLOT_HEIGHT));
+        sb.append(format("<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>%n",
+                x, MARGIN_TOP + PLOT_HEIGHT + 3 * LABEL_OFFSET, escape(label)));
+    }
+
+    private static void appendLegend(StringBuilder sb, int index, String color, String label) {
+        int y = MARGIN_TOP + (index + 1) * LEGEND_LINE_HEIGHT;
+        int x = MARGIN_LEFT + PLOT_WIDTH + 2 * LABEL_OFFSET;
+        sb.append(format("<rect x=\"%d\" y=\"%d\" width=\"10\" height=\"10\" fill=\"%s\"/>%n", x, y - 2 * LABEL_OFFSET, color));
+        sb.append(format("<text x=\"%d\" y=\"%d\">%s</text>%n", x + 3 * LABEL_OFFSET, y - 1, escape(label)));
+    }
+
+    private static void appendPoint(StringBuilder sb, double x, double y) {
+        sb.append(format("%.1f,%.1f ", x, y));
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.US, format, args);
+    }
+}
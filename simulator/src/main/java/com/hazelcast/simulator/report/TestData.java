@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.hazelcast.simulator.report.TimeSeries.Aggregation.SUM;
+
+/**
+ * Contains the throughput and latency data of a test, either of a single Worker or aggregated over multiple Workers.
+ */
+final class TestData {
+
+    private final TimeSeries throughput = new TimeSeries(SUM);
+    private final Map<String, ProbeData> probes = new TreeMap<String, ProbeData>();
+
+    private final String testId;
+
+    TestData(String testId) {
+        this.testId = testId;
+    }
+
+    String getTestId() {
+        return testId;
+    }
+
+    TimeSeries getThroughput() {
+        return throughput;
+    }
+
+    Collection<ProbeData> getProbes() {
+        return probes.values();
+    }
+
+    ProbeData getProbe(String probeName) {
+        ProbeData probeData = probes.get(probeName);
+        if (probeData == null) {
+            probeData = new ProbeData(probeName);
+            probes.put(probeName, probeData);
+        }
+        return probeData;
+    }
+
+    void merge(TestData other) {
+        throughput.merge(other.throughput);
+        for (ProbeData probeData : other.getProbes()) {
+            getProbe(probeData.getProbeName()).merge(probeData);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contains the {@link TestData} of a test aggregated over all Workers, per Agent and per Worker.
+ */
+final class TestResults {
+
+    private final Map<String, TestData> agents = new TreeMap<String, TestData>();
+    private final Map<String, TestData> workers = new TreeMap<String, TestData>();
+
+    private final String testId;
+    private final TestData total;
+
+    TestResults(String testId) {
+        this.testId = testId;
+        this.total = new TestData(testId);
+    }
+
+    String getTestId() {
+        return testId;
+    }
+
+    TestData getTotal() {
+        return total;
+    }
+
+    Map<String, TestData> getAgents() {
+        return agents;
+    }
+
+    Map<String, TestData> getWorkers() {
+        return workers;
+    }
+
+    void add(String agentId, String workerId, TestData testData) {
+        total.merge(testData);
+        getOrCreate(agents, agentId).merge(testData);
+        getOrCreate(workers, workerId).merge(testData);
+    }
+
+    private TestData getOrCreate(Map<String, TestData> map, String key) {
+        TestData testData = map.get(key);
+        if (testData == null) {
+            testData = new TestData(testId);
+            map.put(key, testData);
+        }
+        return testData;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import static java.util.Arrays.copyOf;
+
+/**
+ * A compact time series of values, which are indexed by a timestamp in seconds.
+ *
+ * The series is backed by primitive arrays, so a test run of many hours doesn't create a boxed object per data point. Values
+ * which are added for the same second are aggregated by the configured {@link Aggregation}.
+ */
+final class TimeSeries {
+
+    /**
+     * Defines how the values of the same second are aggregated.
+     */
+    enum Aggregation {
+        /**
+         * Values are added up, e.g. the throughput of multiple Workers.
+         */
+        SUM,
+
+        /**
+         * The maximum value is used, e.g. the worst latency of multiple Workers.
+         */
+        MAX
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Aggregation aggregation;
+
+    private long[] times = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int size;
+
+    TimeSeries(Aggregation aggregation) {
+        this.aggregation = aggregation;
+    }
+
+    Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long getTime(int index) {
+        return times[index];
+    }
+
+    double getValue(int index) {
+        return values[index];
+    }
+
+    long getMinTime() {
+        return (size == 0) ? 0 : times[0];
+    }
+
+    long getMaxTime() {
+        return (size == 0) ? 0 : times[size - 1];
+    }
+
+    double getMaxValue() {
+        double maxValue = 0;
+        for (int i = 0; i < size; i++) {
+            maxValue = Math.max(maxValue, values[i]);
+        }
+        return maxValue;
+    }
+
+    void add(long timeSeconds, double value) {
+        if (size > 0 && times[size - 1] >= timeSeconds) {
+            int index = indexOf(timeSeconds);
+            if (index >= 0) {
+                values[index] = aggregate(values[index], value);
+                return;
+            }
+            insert(-(index + 1), timeSeconds, value);
+            return;
+        }
+        ensureCapacity(size + 1);
+        times[size] = timeSeconds;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * Merges all values of the given series into this series.
+     *
+     * Both series are sorted by time, so they are merged in a single pass.
+     *
+     * @param other the {@link TimeSeries} to merge
+     */
+    void merge(TimeSeries other) {
+        long[] mergedTimes = new long[size + other.size];
+        double[] mergedValues = new double[size + other.size];
+        int mergedSize = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && times[i] < other.times[j])) {
+                mergedTimes[mergedSize] = times[i];
+                mergedValues[mergedSize++] = values[i++];
+            } else if (i == size || other.times[j] < times[i]) {
+                mergedTimes[mergedSize] = other.times[j];
+                mergedValues[mergedSize++] = other.values[j++];
+            } else {
+                mergedTimes[mergedSize] = times[i];
+                mergedValues[mergedSize++] = aggregate(values[i++], other.values[j++]);
+            }
+        }
+
+        times = (mergedSize == 0) ? new long[INITIAL_CAPACITY] : mergedTimes;
+        values = (mergedSize == 0) ? new double[INITIAL_CAPACITY] : mergedValues;
+        size = mergedSize;
+    }
+
+    /**
+     * Reduces the series to at most the given number of data points.
+     *
+     * The data points are grouped into buckets of equal duration. A {@link Aggregation#SUM} series is averaged within a bucket,
+     * so the throughput keeps its unit. A {@link Aggregation#MAX} series keeps the maximum, so latency outliers stay visible.
+     *
+     * @param maxPoints the maximum number of data points
+     * @return a new {@link TimeSeries} or this instance if it's already small enough
+     */
+    TimeSeries downsample(int maxPoints) {
+        if (size <= maxPoints) {
+            return this;
+        }
+        long duration = getMaxTime() - getMinTime() + 1;
+        long bucketSeconds = (duration + maxPoints - 1) / maxPoints;
+
+        TimeSeries result = new TimeSeries(aggregation);
+        long currentBucket = -1;
+        double bucketValue = 0;
+        int bucketCount = 0;
+        for (int i = 0; i < size; i++) {
+            long bucket = (times[i] - times[0]) / bucketSeconds;
+            if (bucket != currentBucket && bucketCount > 0) {
+                result.add(times[0] + currentBucket * bucketSeconds, getBucketValue(bucketValue, bucketCount));
+                bucketValue = 0;
+                bucketCount = 0;
+            }
+            currentBucket = bucket;
+            bucketValue = (aggregation == Aggregation.SUM) ? bucketValue + values[i] : Math.max(bucketValue, values[i]);
+            bucketCount++;
+        }
+        if (bucketCount > 0) {
+            result.add(times[0] + currentBucket * bucketSeconds, getBucketValue(bucketValue, bucketCount));
+        }
+        return result;
+    }
+
+    private double getBucketValue(double bucketValue, int bucketCount) {
+        return (aggregation == Aggregation.SUM) ? bucketValue / bucketCount : bucketValue;
+    }
+
+    private double aggregate(double value1, double value2) {
+        return (aggregation == Aggregation.SUM) ? value1 + value2 : Math.max(value1, value2);
+    }
+
+    private int indexOf(long timeSeconds) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (times[middle] < timeSeconds) {
+                low = middle + 1;
+            } else if (times[middle] > timeSeconds) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insert(int index, long timeSeconds, double value) {
+        ensureCapacity(size + 1);
+        System.arraycopy(times, index, times, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        times[index] = timeSeconds;
+        values[index] = value;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > times.length) {
+            int newCapacity = Math.max(capacity, times.length * 2);
+            times = copyOf(times, newCapacity);
+            values = copyOf(values, newCapacity);
+        }
+    }
+}
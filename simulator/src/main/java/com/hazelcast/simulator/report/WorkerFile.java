@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import java.io.File;
+
+/**
+ * A result file which was written by a Worker, either a performance CSV file or a histogram log file of a probe.
+ */
+final class WorkerFile {
+
+    private static final String WORKER_DIRECTORY_PREFIX = "worker-";
+    private static final String WORKER_ADDRESS_SEPARATOR = "_W";
+
+    private final File file;
+    private final String agentId;
+    private final String workerId;
+    private final String testId;
+    private final String probeName;
+
+    /**
+     * Creates a {@link WorkerFile}.
+     *
+     * @param file      the result file
+     * @param testId    the ID of the test
+     * @param probeName the name of the probe or {@code null} if this is a performance file
+     */
+    WorkerFile(File file, String testId, String probeName) {
+        this.file = file;
+        this.workerId = getWorkerId(file.getParentFile());
+        this.agentId = getAgentId(workerId);
+        this.testId = testId;
+        this.probeName = probeName;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    String getAgentId() {
+        return agentId;
+    }
+
+    String getWorkerId() {
+        return workerId;
+    }
+
+    String getTestId() {
+        return testId;
+    }
+
+    String getProbeName() {
+        return probeName;
+    }
+
+    boolean isPerformanceFile() {
+        return probeName == null;
+    }
+
+    static boolean isWorkerDirectory(File directory) {
+        return directory.getName().startsWith(WORKER_DIRECTORY_PREFIX);
+    }
+
+    /**
+     * Returns the Worker ID of a Worker directory, e.g. {@code C_A1_W1-10.0.0.1-member} for the directory
+     * {@code worker-C_A1_W1-10.0.0.1-member}.
+     *
+     * @param workerDirectory the Worker directory
+     * @return the Worker ID
+     */
+    static String getWorkerId(File workerDirectory) {
+        String name = workerDirectory.getName();
+        return name.startsWith(WORKER_DIRECTORY_PREFIX) ? name.substring(WORKER_DIRECTORY_PREFIX.length()) : name;
+    }
+
+    /**
+     * Returns the Agent ID of a Worker ID, e.g. {@code C_A1-10.0.0.1} for the Worker ID {@code C_A1_W1-10.0.0.1-member}.
+     *
+     * @param workerId the Worker ID
+     * @return the Agent ID
+     */
+    static String getAgentId(String workerId) {
+        String[] sections = workerId.split("-");
+        int separatorIndex = sections[0].lastIndexOf(WORKER_ADDRESS_SEPARATOR);
+        if (separatorIndex <= 0) {
+            return "unknown";
+        }
+        String agentAddress = sections[0].substring(0, separatorIndex);
+        return (sections.length > 1) ? agentAddress + '-' + sections[1] : agentAddress;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.report;
+
+import com.hazelcast.simulator.utils.CommandLineExitException;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.Callable;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Parses a single {@link WorkerFile} into a {@link TestData}.
+ *
+ * The files are read line by line respectively interval by interval, so the size of a file has no impact on the memory usage.
+ * All timestamps are converted to the clock of the Coordinator by the {@link ClockOffsets} of the Worker.
+ */
+final class WorkerFileTask implements Callable<TestData> {
+
+    private static final int TIME_MILLIS_COLUMN = 0;
+    private static final int THROUGHPUT_COLUMN = 4;
+    // timestamps within the first year after the epoch are relative, similar to the heuristic of the HistogramLogReader
+    private static final long MIN_ABSOLUTE_TIMESTAMP_MILLIS = DAYS.toMillis(365);
+
+    private final WorkerFile workerFile;
+
+    WorkerFileTask(WorkerFile workerFile) {
+        this.workerFile = workerFile;
+    }
+
+    @Override
+    public TestData call() throws Exception {
+        TestData testData = new TestData(workerFile.getTestId());
+        ClockOffsets clockOffsets = ClockOffsets.load(workerFile.getFile().getParentFile());
+        if (workerFile.isPerformanceFile()) {
+            parsePerformanceFile(workerFile.getFile(), testData.getThroughput(), clockOffsets);
+        } else {
+            parseHistogramFile(workerFile.getFile(), testData.getProbe(workerFile.getProbeName()), clockOffsets);
+        }
+        return testData;
+    }
+
+    static void parsePerformanceFile(File file, TimeSeries throughput, ClockOffsets clockOffsets) {
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (columns.length <= THROUGHPUT_COLUMN) {
+                    continue;
+                }
+                try {
+                    long timeMillis = clockOffsets.toCoordinatorTime(Long.parseLong(columns[TIME_MILLIS_COLUMN]));
+                    double operationsPerSecond = Double.parseDouble(columns[THROUGHPUT_COLUMN]);
+                    throughput.add(MILLISECONDS.toSeconds(timeMillis), operationsPerSecond);
+                } catch (NumberFormatException ignored) {
+                    // the header line or a partially written line
+                    continue;
+                }
+            }
+        } catch (IOException e) {
+            throw new CommandLineExitException("Could not read performance file " + file.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    static void parseHistogramFile(File file, ProbeData probeData, ClockOffsets clockOffsets) {
+        FileInputStream inputStream = null;
+        try {
+            inputStream = new FileInputStream(file);
+            HistogramLogReader reader = new HistogramLogReader(inputStream);
+            Histogram histogram = (Histogram) reader.nextIntervalHistogram();
+            while (histogram != null) {
+                long startTimeMillis = histogram.getStartTimeStamp();
+                // files without a StartTime header have timestamps relative to the test start, which can't be corrected
+                if (startTimeMillis >= MIN_ABSOLUTE_TIMESTAMP_MILLIS) {
+                    startTimeMillis = clockOffsets.toCoordinatorTime(startTimeMillis);
+                }
+                probeData.addInterval(histogram, startTimeMillis);
+                histogram = (Histogram) reader.nextIntervalHistogram();
+            }
+        } catch (IOException e) {
+            throw new CommandLineExitException("Could not read histogram file " + file.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(inputStream);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.test;
+
+/**
+ * Optional extension of a {@link TestContext} which changes the target rate of the whole cluster while a test is running.
+ *
+ * The {@link TestContext} of the Simulator Worker implements this interface. Tests should check with {@code instanceof}, so
+ * other {@link TestContext} implementations don't have to provide it.
+ */
+public interface ClusterTargetRateControl {
+
+    /**
+     * Requests a new target rate of the whole cluster from the Coordinator, which splits it across all Workers of the test.
+     *
+     * The test has to be started with an initial target rate and must not use a load profile, otherwise the change is rejected.
+     * The method blocks until the Coordinator has processed the request.
+     *
+     * @param targetRate        the target rate of the whole cluster in operations per second
+     * @param activeThreadCount the number of active threads per Worker, {@code 0} activates all threads
+     * @return {@code true} if the target rate has been changed, {@code false} otherwise
+     */
+    boolean changeClusterTargetRate(double targetRate, int activeThreadCount);
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.test;
+
+/**
+ * Optional extension of a {@link TestContext} which provides the estimated clock of the Coordinator.
+ *
+ * The {@link TestContext} of the Simulator Worker implements this interface. Tests should check with {@code instanceof}, so
+ * other {@link TestContext} implementations don't have to provide it.
+ */
+public interface CoordinatorClock {
+
+    /**
+     * Returns the estimated offset of the local clock to the clock of the Coordinator.
+     *
+     * A positive value means that the local clock is ahead. The offset can be used to correlate timestamps which were taken in
+     * different Worker JVMs, e.g. to measure the latency of a message between two Workers.
+     *
+     * @return the clock offset in milliseconds or {@code 0} if no offset is known
+     */
+    long getClockOffsetMillis();
+
+    /**
+     * Returns the current time in milliseconds, corrected by the estimated clock offset to the clock of the Coordinator.
+     *
+     * @return the current time of the Coordinator in milliseconds
+     */
+    long getCoordinatorTimeMillis();
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * Expands the sweep values of a {@link TestCase} into a matrix of {@link TestCase} instances.
+ *
+ * The following sweep values are supported in the test properties:
+ * <ul>
+ * <li>{@code threadCount=[8,16,32,64]}: a list of values</li>
+ * <li>{@code keyCount=range(1000,5000,1000)}: a range of integers with an additive step, the end is inclusive</li>
+ * <li>{@code valueSize=range(100,10000,x2)}: a range of integers with a multiplicative step</li>
+ * </ul>
+ *
+ * Each combination of the sweep values creates a {@link TestCase}, whose ID is the ID of the original test with the swept
+ * properties appended, e.g. {@code MapTest_threadCount8_valueSize100}.
+ */
+final class ParameterSweep {
+
+    /**
+     * The maximum number of {@link TestCase} instances which can be created by a single test.
+     */
+    static final int MAX_TEST_CASES = 1000;
+
+    private static final Pattern LIST_PATTERN = Pattern.compile("^\\[(.*)]$");
+    private static final Pattern RANGE_PATTERN
+            = Pattern.compile("^range\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*,\\s*([x+]?)\\s*(\\d+)\\s*\\)$");
+    private static final int RANGE_START_GROUP = 1;
+    private static final int RANGE_END_GROUP = 2;
+    private static final int RANGE_STEP_TYPE_GROUP = 3;
+    private static final int RANGE_STEP_GROUP = 4;
+    private static final Pattern INVALID_ID_CHARS_PATTERN = Pattern.compile("[^a-zA-Z0-9\\-_]");
+
+    private ParameterSweep() {
+    }
+
+    /**
+     * Checks if a property value contains sweep values.
+     *
+     * @param value the property value
+     * @return {@code true} if the value contains sweep values, {@code false} otherwise
+     */
+    static boolean isSweep(String value) {
+        String trimmed = value.trim();
+        return LIST_PATTERN.matcher(trimmed).matches() || trimmed.startsWith("range(");
+    }
+
+    /**
+     * Expands a property value with sweep values into the single values.
+     *
+     * @param value the property value
+     * @return the list of single values
+     * @throws IllegalArgumentException if the sweep values are invalid
+     */
+    static List<String> expandValues(String value) {
+        String trimmed = value.trim();
+        Matcher listMatcher = LIST_PATTERN.matcher(trimmed);
+        if (listMatcher.matches()) {
+            return expandList(value, listMatcher.group(1));
+        }
+        Matcher rangeMatcher = RANGE_PATTERN.matcher(trimmed);
+        if (rangeMatcher.matches()) {
+            return expandRange(value, rangeMatcher);
+        }
+        throw new IllegalArgumentException(format("Invalid sweep values '%s', use e.g. range(100,1000,100) or range(1,64,x2)",
+                value));
+    }
+
+    private static List<String> expandList(String value, String items) {
+        List<String> values = new ArrayList<String>();
+        for (String item : items.split(",")) {
+            if (!item.trim().isEmpty()) {
+                values.add(item.trim());
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException(format("Sweep values '%s' contain no values", value));
+        }
+        return values;
+    }
+
+    private static List<String> expandRange(String value, Matcher rangeMatcher) {
+        long start = Long.parseLong(rangeMatcher.group(RANGE_START_GROUP));
+        long end = Long.parseLong(rangeMatcher.group(RANGE_END_GROUP));
+        boolean isMultiplicative = "x".equals(rangeMatcher.group(RANGE_STEP_TYPE_GROUP));
+        long step = Long.parseLong(rangeMatcher.group(RANGE_STEP_GROUP));
+        boolean isValidStep = isMultiplicative ? (start > 0 && step > 1) : (step > 0);
+        if (start > end || !isValidStep) {
+            throw new IllegalArgumentException(format("Invalid range in sweep values '%s'", value));
+        }
+
+        List<String> values = new ArrayList<String>();
+        for (long current = start; current <= end; current = isMultiplicative ? current * step : current + step) {
+            values.add(String.valueOf(current));
+            if (values.size() > MAX_TEST_CASES) {
+                throw new IllegalArgumentException(format("Sweep values '%s' contain more than %d values", value,
+                        MAX_TEST_CASES));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Expands a {@link TestCase} with sweep values into a {@link TestCase} for each combination of the sweep values.
+     *
+     * @param testCase the {@link TestCase} to expand
+     * @return a map with the created {@link TestCase} instances and their swept properties, in the order of the combinations,
+     * which is empty if the {@link TestCase} contains no sweep values
+     * @throws IllegalArgumentException if the sweep values are invalid or create too many combinations
+     */
+    static Map<TestCase, Map<String, String>> expand(TestCase testCase) {
+        Map<String, List<String>> sweepValues = getSweepValues(testCase);
+        if (sweepValues.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Map<String, String>> combinations = new ArrayList<Map<String, String>>();
+        combinations.add(new LinkedHashMap<String, String>());
+        for (Map.Entry<String, List<String>> entry : sweepValues.entrySet()) {
+            List<Map<String, String>> newCombinations = new ArrayList<Map<String, String>>();
+            for (Map<String, String> combination : combinations) {
+                for (String value : entry.getValue()) {
+                    Map<String, String> newCombination = new LinkedHashMap<String, String>(combination);
+                    newCombination.put(entry.getKey(), value);
+                    newCombinations.add(newCombination);
+                }
+            }
+            if (newCombinations.size() > MAX_TEST_CASES) {
+                throw new IllegalArgumentException(format("Sweep values of test [%s] create more than %d combinations",
+                        testCase.getId(), MAX_TEST_CASES));
+            }
+            combinations = newCombinations;
+        }
+
+        Map<TestCase, Map<String, String>> testCases = new LinkedHashMap<TestCase, Map<String, String>>();
+        for (Map<String, String> combination : combinations) {
+            TestCase expandedTestCase = new TestCase(createTestCaseId(testCase.getId(), combination), testCase.getProperties());
+            for (Map.Entry<String, String> entry : combination.entrySet()) {
+                expandedTestCase.setProperty(entry.getKey(), entry.getValue());
+            }
+            testCases.put(expandedTestCase, combination);
+        }
+        return testCases;
+    }
+
+    private static Map<String, List<String>> getSweepValues(TestCase testCase) {
+        List<String> propertyNames = new ArrayList<String>(testCase.getProperties().keySet());
+        Collections.sort(propertyNames);
+
+        Map<String, List<String>> sweepValues = new LinkedHashMap<String, List<String>>();
+        for (String propertyName : propertyNames) {
+            String value = testCase.getProperty(propertyName);
+            if (isSweep(value)) {
+                sweepValues.put(propertyName, expandValues(value));
+            }
+        }
+        return sweepValues;
+    }
+
+    private static String createTestCaseId(String testCaseId, Map<String, String> combination) {
+        StringBuilder sb = new StringBuilder(testCaseId);
+        for (Map.Entry<String, String> entry : combination.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append('_');
+            }
+            String value = INVALID_ID_CHARS_PATTERN.matcher(entry.getValue()).replaceAll("-");
+            sb.append(entry.getKey().replace('.', '-')).append(value);
+        }
+        return sb.toString();
+    }
+}
@@ -17,10 +17,12 @@ package com.hazelcast.simulator.test;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.GaugeProbe;
 import com.hazelcast.simulator.probes.impl.HdrProbe;
 import com.hazelcast.simulator.probes.impl.ThroughputProbe;
 import com.hazelcast.simulator.test.annotations.InjectHazelcastInstance;
 import com.hazelcast.simulator.test.annotations.InjectMetronome;
+import com.hazelcast.simulator.test.annotations.InjectOperationCostSampler;
 import com.hazelcast.simulator.test.annotations.InjectProbe;
 import com.hazelcast.simulator.test.annotations.InjectTestContext;
 import com.hazelcast.simulator.test.annotations.Run;
@@ -35,21 +37,30 @@ import com.hazelcast.simulator.utils.AnnotationFilter.VerifyFilter;
 import com.hazelcast.simulator.utils.AnnotationFilter.WarmupFilter;
 import com.hazelcast.simulator.utils.Preconditions;
 import com.hazelcast.simulator.utils.ThreadSpawner;
+import com.hazelcast.simulator.worker.metronome.CatchUpPolicy;
 import com.hazelcast.simulator.worker.metronome.Metronome;
 import com.hazelcast.simulator.worker.metronome.MetronomeType;
+import com.hazelcast.simulator.worker.metronome.RateBudget;
 import com.hazelcast.simulator.worker.tasks.IMultipleProbesWorker;
 import com.hazelcast.simulator.worker.tasks.IWorker;
+import com.hazelcast.simulator.worker.tasks.OperationCostSampler;
+import com.hazelcast.simulator.worker.tasks.RunLoop;
+import com.hazelcast.simulator.worker.tasks.RunLoopCodeGenerator;
 import org.apache.log4j.Logger;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import static com.hazelcast.simulator.probes.impl.GaugeProbe.isGaugeProbe;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneMethodWithoutArgs;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneVoidMethodSkipArgsCheck;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneVoidMethodWithoutArgs;
@@ -57,18 +68,22 @@ import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getMetrono
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getMetronomeType;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getProbeName;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.isPartOfTotalThroughput;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.checkCpuList;
 import static com.hazelcast.simulator.utils.Preconditions.checkNotNull;
 import static com.hazelcast.simulator.utils.PropertyBindingSupport.bindProperties;
 import static com.hazelcast.simulator.utils.PropertyBindingSupport.getPropertyValue;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokeMethod;
 import static com.hazelcast.simulator.utils.ReflectionUtils.setFieldValue;
 import static com.hazelcast.simulator.worker.metronome.MetronomeFactory.withFixedIntervalMs;
+import static com.hazelcast.simulator.worker.metronome.MetronomeFactory.withRateBudget;
 import static com.hazelcast.simulator.worker.metronome.MetronomeType.NOP;
+import static com.hazelcast.simulator.worker.tasks.RunLoopCodeGenerator.isSupported;
 import static com.hazelcast.simulator.worker.tasks.IWorker.DEFAULT_WORKER_PROBE_NAME;
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.text.WordUtils.capitalizeFully;
 
 /**
@@ -87,23 +102,44 @@ public class TestContainer {
     static final String THREAD_COUNT_PROPERTY_NAME = "threadCount";
     static final String METRONOME_INTERVAL_PROPERTY_NAME = "metronomeInterval";
     static final String METRONOME_TYPE_PROPERTY_NAME = "metronomeType";
+    static final String METRONOME_CATCH_UP_POLICY_PROPERTY_NAME = "metronomeCatchUpPolicy";
+    static final String METRONOME_LAG_PROBE_NAME = "metronomeLag";
+    static final String TARGET_RATE_PROPERTY_NAME = "targetRate";
+    static final String LOAD_PROFILE_PROPERTY_NAME = "loadProfile";
+    static final String ELASTICITY_PROPERTY_NAME = "elasticity";
     static final String LIGHTWEIGHT_PROBE_PROPERTY_NAME = "lightweightProbe";
+    static final String GENERATE_RUN_LOOP_PROPERTY_NAME = "generateRunLoop";
+    static final String OPERATION_COST_SAMPLING_INTERVAL_PROPERTY_NAME = "operationCostSamplingInterval";
+
+    /**
+     * The system property with the CPU set of the load generating threads, which is set by the {@code worker.sh}.
+     */
+    static final String LOAD_THREAD_CPU_SET_PROPERTY = "loadThreadCpuSet";
 
     private static final int DEFAULT_RUN_WITH_WORKER_THREAD_COUNT = 10;
     private static final int DEFAULT_RUN_WITH_WORKER_METRONOME_INTERVAL = 0;
     private static final MetronomeType DEFAULT_RUN_WITH_WORKER_METRONOME_TYPE = NOP;
+    private static final CatchUpPolicy DEFAULT_RUN_WITH_WORKER_METRONOME_CATCH_UP_POLICY = CatchUpPolicy.CATCH_UP;
     private static final boolean DEFAULT_IS_LIGHTWEIGHT_PROBE = false;
+    private static final boolean DEFAULT_GENERATE_RUN_LOOP = false;
+    private static final int DEFAULT_OPERATION_COST_SAMPLING_INTERVAL = 0;
 
     private static final Set<String> OPTIONAL_TEST_PROPERTIES = new HashSet<String>(asList(
             THREAD_COUNT_PROPERTY_NAME,
             METRONOME_INTERVAL_PROPERTY_NAME,
             METRONOME_TYPE_PROPERTY_NAME,
-            LIGHTWEIGHT_PROBE_PROPERTY_NAME
+            METRONOME_CATCH_UP_POLICY_PROPERTY_NAME,
+            TARGET_RATE_PROPERTY_NAME,
+            LOAD_PROFILE_PROPERTY_NAME,
+            ELASTICITY_PROPERTY_NAME,
+            LIGHTWEIGHT_PROBE_PROPERTY_NAME,
+            GENERATE_RUN_LOOP_PROPERTY_NAME,
+            OPERATION_COST_SAMPLING_INTERVAL_PROPERTY_NAME
     ));
 
     private static final Logger LOGGER = Logger.getLogger(TestContainer.class);
 
-    private final Map<String, Probe> probeMap = new ConcurrentHashMap<String, Probe>();
+    private final ConcurrentMap<String, Probe> probeMap = new ConcurrentHashMap<String, Probe>();
     private final Map<TestPhase, Method> testMethods = new HashMap<TestPhase, Method>();
 
     private final TestContext testContext;
@@ -113,7 +149,12 @@ public class TestContainer {
     private final int runWithWorkerThreadCount;
     private final int runWithWorkerMetronomeInterval;
     private final MetronomeType runWithWorkerMetronomeType;
+    private final CatchUpPolicy runWithWorkerMetronomeCatchUpPolicy;
     private final boolean runWithWorkerIsLightweightProbe;
+    private final boolean runWithWorkerGenerateRunLoop;
+    private final int runWithWorkerOperationCostSamplingInterval;
+
+    private final RateBudget rateBudget;
 
     private boolean runWithWorker;
     private Object[] setupArguments;
@@ -122,9 +163,12 @@ public class TestContainer {
     private volatile boolean isRunning;
 
     public TestContainer(TestContext testContext, TestCase testCase) {
-        this(testContext, getTestClassInstance(testCase), getThreadCount(testCase),
-                getMetronomeIntervalProperty(testCase), getMetronomeTypeProperty(testCase),
-                isLightweightProbe(testCase));
+        this(testContext, getTestClassInstance(testCase),
+                getIntProperty(testCase, THREAD_COUNT_PROPERTY_NAME, DEFAULT_RUN_WITH_WORKER_THREAD_COUNT),
+                getIntProperty(testCase, METRONOME_INTERVAL_PROPERTY_NAME, DEFAULT_RUN_WITH_WORKER_METRONOME_INTERVAL),
+                getMetronomeTypeProperty(testCase), isLightweightProbe(testCase), isGenerateRunLoop(testCase),
+                getMetronomeCatchUpPolicyProperty(testCase), getIntProperty(testCase,
+                        OPERATION_COST_SAMPLING_INTERVAL_PROPERTY_NAME, DEFAULT_OPERATION_COST_SAMPLING_INTERVAL));
     }
 
     public TestContainer(TestContext testContext, Object testClassInstance) {
@@ -146,6 +190,31 @@ public class TestContainer {
     public TestContainer(TestContext testContext, Object testClassInstance, int runWithWorkerThreadCount,
                          int runWithWorkerMetronomeInterval, MetronomeType runWithWorkerMetronomeType,
                          boolean runWithWorkerIsLightweightProbe) {
+        this(testContext, testClassInstance, runWithWorkerThreadCount, runWithWorkerMetronomeInterval,
+                runWithWorkerMetronomeType, runWithWorkerIsLightweightProbe, DEFAULT_GENERATE_RUN_LOOP);
+    }
+
+    public TestContainer(TestContext testContext, Object testClassInstance, int runWithWorkerThreadCount,
+                         int runWithWorkerMetronomeInterval, MetronomeType runWithWorkerMetronomeType,
+                         boolean runWithWorkerIsLightweightProbe, boolean runWithWorkerGenerateRunLoop) {
+        this(testContext, testClassInstance, runWithWorkerThreadCount, runWithWorkerMetronomeInterval,
+                runWithWorkerMetronomeType, runWithWorkerIsLightweightProbe, runWithWorkerGenerateRunLoop,
+                DEFAULT_RUN_WITH_WORKER_METRONOME_CATCH_UP_POLICY);
+    }
+
+    public TestContainer(TestContext testContext, Object testClassInstance, int runWithWorkerThreadCount,
+                         int runWithWorkerMetronomeInterval, MetronomeType runWithWorkerMetronomeType,
+                         boolean runWithWorkerIsLightweightProbe, boolean runWithWorkerGenerateRunLoop,
+                         CatchUpPolicy runWithWorkerMetronomeCatchUpPolicy) {
+        this(testContext, testClassInstance, runWithWorkerThreadCount, runWithWorkerMetronomeInterval,
+                runWithWorkerMetronomeType, runWithWorkerIsLightweightProbe, runWithWorkerGenerateRunLoop,
+                runWithWorkerMetronomeCatchUpPolicy, DEFAULT_OPERATION_COST_SAMPLING_INTERVAL);
+    }
+
+    public TestContainer(TestContext testContext, Object testClassInstance, int runWithWorkerThreadCount,
+                         int runWithWorkerMetronomeInterval, MetronomeType runWithWorkerMetronomeType,
+                         boolean runWithWorkerIsLightweightProbe, boolean runWithWorkerGenerateRunLoop,
+                         CatchUpPolicy runWithWorkerMetronomeCatchUpPolicy, int runWithWorkerOperationCostSamplingInterval) {
         this.testContext = Preconditions.checkNotNull(testContext, "testContext can't be null");
         this.testClassInstance = Preconditions.checkNotNull(testClassInstance, "testClassInstance can't be null");
         this.testClassType = testClassInstance.getClass();
@@ -153,7 +222,11 @@ public class TestContainer {
         this.runWithWorkerThreadCount = runWithWorkerThreadCount;
         this.runWithWorkerMetronomeInterval = runWithWorkerMetronomeInterval;
         this.runWithWorkerMetronomeType = runWithWorkerMetronomeType;
+        this.runWithWorkerMetronomeCatchUpPolicy = runWithWorkerMetronomeCatchUpPolicy;
+        this.rateBudget = new RateBudget(testContext, runWithWorkerThreadCount);
         this.runWithWorkerIsLightweightProbe = runWithWorkerIsLightweightProbe;
+        this.runWithWorkerGenerateRunLoop = runWithWorkerGenerateRunLoop;
+        this.runWithWorkerOperationCostSamplingInterval = runWithWorkerOperationCostSamplingInterval;
 
         injectDependencies();
         initTestMethods();
@@ -179,6 +252,18 @@ public class TestContainer {
         return probeMap;
     }
 
+    /**
+     * Returns the {@link RateBudget} of the worker threads, to change their target rate.
+     *
+     * If the RUN phase has not been started yet, the values are used as initial target rate. The target rate can only be
+     * changed during the RUN phase, if an initial target rate has been set.
+     *
+     * @return the {@link RateBudget} of this test
+     */
+    public RateBudget getRateBudget() {
+        return rateBudget;
+    }
+
     public void invoke(TestPhase testPhase) throws Exception {
         switch (testPhase) {
             case RUN:
@@ -316,9 +401,12 @@ public class TestContainer {
                     injectMap.put(field, probe);
                 } else if (field.isAnnotationPresent(InjectMetronome.class)) {
                     assertFieldType(fieldType, Metronome.class, InjectMetronome.class);
-                    int intervalMillis = getMetronomeIntervalMillis(field, runWithWorkerMetronomeInterval);
-                    MetronomeType type = getMetronomeType(field, runWithWorkerMetronomeType);
-                    injectMap.put(field, withFixedIntervalMs(intervalMillis, type));
+                    injectMap.put(field, createMetronome(field, 0));
+                } else if (field.isAnnotationPresent(InjectOperationCostSampler.class)) {
+                    assertFieldType(fieldType, OperationCostSampler.class, InjectOperationCostSampler.class);
+                    // a single instance is shared by all worker threads, since it has no thread specific state
+                    injectMap.put(field, runWithWorkerOperationCostSamplingInterval > 0
+                            ? new OperationCostSampler(probeMap, runWithWorkerOperationCostSamplingInterval) : null);
                 }
             }
             classType = classType.getSuperclass();
@@ -326,6 +414,28 @@ public class TestContainer {
         return injectMap;
     }
 
+    private Metronome createMetronome(Field field, int threadIndex) {
+        Metronome metronome;
+        if (rateBudget.isEnabled()) {
+            Probe lagProbe = getOrCreateProbe(METRONOME_LAG_PROBE_NAME, false);
+            metronome = withRateBudget(rateBudget, threadIndex, runWithWorkerMetronomeCatchUpPolicy, lagProbe);
+        } else {
+            int intervalMillis = getMetronomeIntervalMillis(field, runWithWorkerMetronomeInterval);
+            MetronomeType type = getMetronomeType(field, runWithWorkerMetronomeType);
+            Probe lagProbe = (type == MetronomeType.HYBRID && intervalMillis > 0)
+                    ? getOrCreateProbe(METRONOME_LAG_PROBE_NAME, false) : null;
+            metronome = withFixedIntervalMs(intervalMillis, type, runWithWorkerMetronomeCatchUpPolicy, lagProbe);
+        }
+
+        if (threadIndex == 0 && metronome.getType() != MetronomeType.NOP) {
+            String targetRate = rateBudget.isEnabled() ? rateBudget.toString()
+                    : format("%.1f ops/s", (double) runWithWorkerThreadCount * SECONDS.toMillis(1) / metronome.getInterval());
+            LOGGER.info(format("Test %s uses %s metronome with %s policy and target rate of %s", testContext.getTestId(),
+                    metronome.getType(), runWithWorkerMetronomeCatchUpPolicy, targetRate));
+        }
+        return metronome;
+    }
+
     private Map<Enum, Probe> createOperationProbeMap(Class<? extends IWorker> workerClass, IWorker worker) {
         if (!IMultipleProbesWorker.class.isAssignableFrom(workerClass)) {
             return null;
@@ -345,9 +455,13 @@ public class TestContainer {
     private Probe getOrCreateProbe(String probeName, boolean partOfTotalThroughput) {
         Probe probe = probeMap.get(probeName);
         if (probe == null) {
-            probe = (runWithWorkerIsLightweightProbe
-                    ? new ThroughputProbe(partOfTotalThroughput)
-                    : new HdrProbe(partOfTotalThroughput));
+            if (isGaugeProbe(probeName)) {
+                probe = new GaugeProbe();
+            } else {
+                probe = (runWithWorkerIsLightweightProbe
+                        ? new ThroughputProbe(partOfTotalThroughput)
+                        : new HdrProbe(partOfTotalThroughput));
+            }
             probeMap.put(probeName, probe);
         }
         return probe;
@@ -356,6 +470,9 @@ public class TestContainer {
     private IWorker runWorkers(int threadCount, Method runMethod, Map<Field, Object> injectMap,
                                Map<Enum, Probe> operationProbes) throws Exception {
         IWorker firstWorker = null;
+        boolean generateRunLoop = runWithWorkerGenerateRunLoop;
+        String loadThreadCpuSet = getLoadThreadCpuSet();
+        List<RunLoop> runLoops = new ArrayList<RunLoop>(threadCount);
         ThreadSpawner spawner = new ThreadSpawner(testContext.getTestId());
         for (int i = 0; i < threadCount; i++) {
             final IWorker worker = invokeMethod(testClassInstance, runMethod);
@@ -363,16 +480,77 @@ public class TestContainer {
                 firstWorker = worker;
             }
 
+            // the metronomes have a state, so each worker needs its own instance
+            for (Map.Entry<Field, Object> entry : injectMap.entrySet()) {
+                if (i > 0 && entry.getValue() instanceof Metronome) {
+                    entry.setValue(createMetronome(entry.getKey(), i));
+                }
+            }
             injectObjects(injectMap, worker);
             if (operationProbes != null) {
                 ((IMultipleProbesWorker) worker).setProbeMap(operationProbes);
             }
-            spawner.spawn(new WorkerTask(worker));
+            if (generateRunLoop) {
+                generateRunLoop = installRunLoop(worker, runLoops);
+            }
+            spawner.spawn(new WorkerTask(worker, loadThreadCpuSet));
         }
         spawner.awaitCompletion();
+        logHarnessOverhead(runLoops);
         return firstWorker;
     }
 
+    private String getLoadThreadCpuSet() {
+        String loadThreadCpuSet = checkCpuList(System.getProperty(LOAD_THREAD_CPU_SET_PROPERTY), LOAD_THREAD_CPU_SET_PROPERTY);
+        if (loadThreadCpuSet != null) {
+            LOGGER.info(format("Pinning the worker threads of test %s to CPUs %s", testContext.getTestId(), loadThreadCpuSet));
+        }
+        return loadThreadCpuSet;
+    }
+
+    private boolean installRunLoop(IWorker worker, List<RunLoop> runLoops) {
+        if (!isSupported(worker)) {
+            LOGGER.info(format("No run loop can be generated for %s of test %s, using the default worker loop",
+                    worker.getClass().getName(), testContext.getTestId()));
+            return false;
+        }
+        try {
+            runLoops.add(RunLoopCodeGenerator.install(worker));
+            return true;
+        } catch (Exception e) {
+            LOGGER.warn(format("Could not generate run loop for test %s, using the default worker loop",
+                    testContext.getTestId()), e);
+            return false;
+        }
+    }
+
+    private void logHarnessOverhead(List<RunLoop> runLoops) {
+        long iterations = 0;
+        long runNanos = 0;
+        long serviceNanos = 0;
+        boolean isLatencyMeasured = true;
+        for (RunLoop runLoop : runLoops) {
+            iterations += runLoop.getIterations();
+            runNanos += runLoop.getRunNanos();
+            if (runLoop.getServiceNanos() == RunLoop.NOT_MEASURED) {
+                isLatencyMeasured = false;
+            } else {
+                serviceNanos += runLoop.getServiceNanos();
+            }
+        }
+        if (iterations == 0) {
+            return;
+        }
+        if (!isLatencyMeasured) {
+            LOGGER.info(format("Generated run loop of test %s: %d iterations, %.1f ns/op (latency not measured)",
+                    testContext.getTestId(), iterations, (double) runNanos / iterations));
+        } else {
+            LOGGER.info(format("Generated run loop of test %s: %d iterations, %.1f ns/op, harness overhead %.1f ns/op",
+                    testContext.getTestId(), iterations, (double) runNanos / iterations,
+                    (double) (runNanos - serviceNanos) / iterations));
+        }
+    }
+
     private static Object getTestClassInstance(TestCase testCase) {
         checkNotNull(testCase, "testCase can't be null");
         String classname = testCase.getClassname();
@@ -387,14 +565,9 @@ public class TestContainer {
         return testObject;
     }
 
-    private static int getThreadCount(TestCase testCase) {
-        String propertyValue = getPropertyValue(testCase, THREAD_COUNT_PROPERTY_NAME);
-        return (propertyValue == null ? DEFAULT_RUN_WITH_WORKER_THREAD_COUNT : parseInt(propertyValue));
-    }
-
-    private static int getMetronomeIntervalProperty(TestCase testCase) {
-        String propertyValue = getPropertyValue(testCase, METRONOME_INTERVAL_PROPERTY_NAME);
-        return (propertyValue == null ? DEFAULT_RUN_WITH_WORKER_METRONOME_INTERVAL : parseInt(propertyValue));
+    private static int getIntProperty(TestCase testCase, String propertyName, int defaultValue) {
+        String propertyValue = getPropertyValue(testCase, propertyName);
+        return (propertyValue == null ? defaultValue : parseInt(propertyValue));
     }
 
     private static MetronomeType getMetronomeTypeProperty(TestCase testCase) {
@@ -402,11 +575,21 @@ public class TestContainer {
         return (propertyValue == null ? DEFAULT_RUN_WITH_WORKER_METRONOME_TYPE : MetronomeType.valueOf(propertyValue));
     }
 
+    private static CatchUpPolicy getMetronomeCatchUpPolicyProperty(TestCase testCase) {
+        String propertyValue = getPropertyValue(testCase, METRONOME_CATCH_UP_POLICY_PROPERTY_NAME);
+        return (propertyValue == null ? DEFAULT_RUN_WITH_WORKER_METRONOME_CATCH_UP_POLICY : CatchUpPolicy.valueOf(propertyValue));
+    }
+
     private static boolean isLightweightProbe(TestCase testCase) {
         String propertyValue = getPropertyValue(testCase, LIGHTWEIGHT_PROBE_PROPERTY_NAME);
         return parseBoolean(propertyValue);
     }
 
+    private static boolean isGenerateRunLoop(TestCase testCase) {
+        String propertyValue = getPropertyValue(testCase, GENERATE_RUN_LOOP_PROPERTY_NAME);
+        return parseBoolean(propertyValue);
+    }
+
     private static void assertFieldType(Class fieldType, Class expectedFieldType, Class<? extends Annotation> annotation) {
         if (!expectedFieldType.equals(fieldType)) {
             throw new IllegalTestException(format("Found %s annotation on field of type %s, but %s is required!",
@@ -16,12 +16,23 @@
 package com.hazelcast.simulator.test;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.simulator.protocol.connector.WorkerConnector;
+import com.hazelcast.simulator.protocol.core.Response;
+import com.hazelcast.simulator.protocol.core.ResponseType;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.operation.ChangeClusterTargetRateOperation;
+import com.hazelcast.simulator.worker.ClockOffsetTracker;
 
-public class TestContextImpl implements TestContext {
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
+
+public class TestContextImpl implements TestContext, CoordinatorClock, ClusterTargetRateControl {
 
     private final HazelcastInstance hazelcastInstance;
     private final String testId;
     private final String publicIpAddress;
+    private final ClockOffsetTracker clockOffsetTracker;
+    private final WorkerConnector workerConnector;
+    private final SimulatorAddress testAddress;
 
     private volatile boolean stopped;
 
@@ -34,9 +45,22 @@ public class TestContextImpl implements TestContext {
     }
 
     public TestContextImpl(HazelcastInstance hazelcastInstance, String testId, String publicIpAddress) {
+        this(hazelcastInstance, testId, publicIpAddress, new ClockOffsetTracker());
+    }
+
+    public TestContextImpl(HazelcastInstance hazelcastInstance, String testId, String publicIpAddress,
+                           ClockOffsetTracker clockOffsetTracker) {
+        this(hazelcastInstance, testId, publicIpAddress, clockOffsetTracker, null, null);
+    }
+
+    public TestContextImpl(HazelcastInstance hazelcastInstance, String testId, String publicIpAddress,
+                           ClockOffsetTracker clockOffsetTracker, WorkerConnector workerConnector, SimulatorAddress testAddress) {
         this.hazelcastInstance = hazelcastInstance;
         this.testId = testId;
         this.publicIpAddress = publicIpAddress;
+        this.clockOffsetTracker = clockOffsetTracker;
+        this.workerConnector = workerConnector;
+        this.testAddress = testAddress;
     }
 
     @Override
@@ -54,6 +78,31 @@ public class TestContextImpl implements TestContext {
         return publicIpAddress;
     }
 
+    @Override
+    public long getClockOffsetMillis() {
+        return clockOffsetTracker.getClockOffsetMillis();
+    }
+
+    @Override
+    public long getCoordinatorTimeMillis() {
+        return clockOffsetTracker.getCoordinatorTimeMillis();
+    }
+
+    @Override
+    public boolean changeClusterTargetRate(double targetRate, int activeThreadCount) {
+        if (workerConnector == null) {
+            throw new UnsupportedOperationException("The cluster target rate can only be changed on a Simulator Worker");
+        }
+        ChangeClusterTargetRateOperation operation = new ChangeClusterTargetRateOperation(targetRate, activeThreadCount);
+        try {
+            Response response = workerConnector.submitFromTest(testAddress, COORDINATOR, operation).get();
+            return response.getFirstErrorResponseType() == ResponseType.SUCCESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     @Override
     public boolean isStopped() {
         return stopped;
@@ -26,6 +26,7 @@ import java.text.SimpleDateFormat;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +41,7 @@ import static java.util.Collections.singletonMap;
 public class TestSuite {
 
     private final List<TestCase> testCaseList = new LinkedList<TestCase>();
+    private final Map<String, Map<String, String>> sweepParameters = new LinkedHashMap<String, Map<String, String>>();
     private final String id;
 
     private int durationSeconds;
@@ -100,6 +102,20 @@ public class TestSuite {
         testCaseList.add(testCase);
     }
 
+    /**
+     * Returns the swept properties of a {@link TestCase}, which has been created by a parameter sweep.
+     *
+     * @param testCaseId the ID of the {@link TestCase}
+     * @return the swept properties or {@code null} if the {@link TestCase} has not been created by a parameter sweep
+     */
+    public Map<String, String> getSweepParameters(String testCaseId) {
+        return sweepParameters.get(testCaseId);
+    }
+
+    public boolean isParameterSweep() {
+        return !sweepParameters.isEmpty();
+    }
+
     public TestCase getTestCase(String testCaseId) {
         if (testCaseId == null) {
             return null;
@@ -232,12 +248,35 @@ public class TestSuite {
                 throw new BindException(msg);
             }
 
-            testSuite.addTest(testcase);
+            addTestCases(testSuite, testcase);
         }
 
         return testSuite;
     }
 
+    private static void addTestCases(TestSuite testSuite, TestCase testCase) {
+        Map<TestCase, Map<String, String>> sweepTestCases;
+        try {
+            sweepTestCases = ParameterSweep.expand(testCase);
+        } catch (IllegalArgumentException e) {
+            throw new BindException(format("Invalid parameter sweep in test [%s]: %s", testCase.getId(), e.getMessage()), e);
+        }
+        if (sweepTestCases.isEmpty()) {
+            testSuite.addTest(testCase);
+            return;
+        }
+
+        for (Map.Entry<TestCase, Map<String, String>> entry : sweepTestCases.entrySet()) {
+            TestCase sweepTestCase = entry.getKey();
+            if (testSuite.getTestCase(sweepTestCase.getId()) != null) {
+                throw new BindException(format("Parameter sweep of test [%s] creates duplicate testId [%s]",
+                        testCase.getId(), sweepTestCase.getId()));
+            }
+            testSuite.addTest(sweepTestCase);
+            testSuite.sweepParameters.put(sweepTestCase.getId(), entry.getValue());
+        }
+    }
+
     private static Map<String, String> parseProperties(String overrideProperties) {
         overrideProperties = overrideProperties.trim();
 
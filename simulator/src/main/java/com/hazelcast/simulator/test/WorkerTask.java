@@ -18,19 +18,31 @@ package com.hazelcast.simulator.test;
 import com.hazelcast.simulator.worker.tasks.IWorker;
 
 import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.pinCurrentThread;
 
 /**
  * A task that executes all lifecycles of a Worker.
+ *
+ * The thread of the task can be pinned to a CPU set, so the load generating threads don't compete with other threads.
  */
 class WorkerTask implements Runnable {
     private final IWorker worker;
+    private final String cpuSet;
 
     public WorkerTask(IWorker worker) {
+        this(worker, null);
+    }
+
+    public WorkerTask(IWorker worker, String cpuSet) {
         this.worker = worker;
+        this.cpuSet = cpuSet;
     }
 
     @Override
     public void run() {
+        if (cpuSet != null) {
+            pinCurrentThread(cpuSet);
+        }
         try {
             worker.beforeRun();
             worker.run();
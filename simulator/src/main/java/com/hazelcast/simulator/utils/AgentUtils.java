@@ -50,11 +50,16 @@ public final class AgentUtils {
     }
 
     public static void startAgents(Logger logger, Bash bash, SimulatorProperties properties, ComponentRegistry registry) {
+        startAgents(logger, bash, properties, registry, false);
+    }
+
+    public static void startAgents(Logger logger, Bash bash, SimulatorProperties properties, ComponentRegistry registry,
+                                   boolean reuseRunningAgents) {
         logger.info(format("Starting %d Agents...", registry.agentCount()));
         ThreadSpawner spawner = new ThreadSpawner("startAgents", true);
         int agentPort = properties.getAgentPort();
         for (AgentData agentData : registry.getAgents()) {
-            spawner.spawn(new StartRunnable(logger, bash, properties, agentData, agentPort));
+            spawner.spawn(new StartRunnable(logger, bash, properties, agentData, agentPort, reuseRunningAgents));
         }
         spawner.awaitCompletion();
         logger.info(format("Successfully started %d Agents", registry.agentCount()));
@@ -96,19 +101,25 @@ public final class AgentUtils {
 
     private static final class StartRunnable implements Runnable {
 
+        private static final String IS_AGENT_RUNNING_COMMAND
+                = "[[ -f agent.pid ]] && kill -0 $(cat agent.pid) 2>/dev/null && echo AGENT-RUNNING || echo AGENT-STOPPED";
+
         private final Logger logger;
         private final Bash bash;
         private final boolean isLocal;
+        private final boolean reuseRunningAgent;
 
         private final String ip;
         private final String mandatoryParameters;
         private final String optionalParameters;
         private final String ec2Parameters;
 
-        private StartRunnable(Logger logger, Bash bash, SimulatorProperties properties, AgentData agentData, int agentPort) {
+        private StartRunnable(Logger logger, Bash bash, SimulatorProperties properties, AgentData agentData, int agentPort,
+                              boolean reuseRunningAgent) {
             this.logger = logger;
             this.bash = bash;
             this.isLocal = isLocal(properties);
+            this.reuseRunningAgent = reuseRunningAgent;
 
             this.ip = agentData.getPublicAddress();
             this.mandatoryParameters = format("--addressIndex %d --publicAddress %s --port %s",
@@ -128,6 +139,10 @@ public final class AgentUtils {
 
         @Override
         public void run() {
+            if (reuseRunningAgent && isAgentRunning()) {
+                logger.info(format("Reusing running Agent on %s", ip));
+                return;
+            }
             if (isLocal) {
                 runLocal();
             } else {
@@ -135,6 +150,11 @@ public final class AgentUtils {
             }
         }
 
+        private boolean isAgentRunning() {
+            StringBuilder result = (isLocal) ? execute(IS_AGENT_RUNNING_COMMAND) : bash.ssh(ip, IS_AGENT_RUNNING_COMMAND);
+            return result != null && result.toString().trim().endsWith("AGENT-RUNNING");
+        }
+
         private void runLocal() {
             logger.info(format("Starting Agent on %s", ip));
             execute(format("nohup %s/bin/agent %s%s > agent.out 2> agent.err < /dev/null &",
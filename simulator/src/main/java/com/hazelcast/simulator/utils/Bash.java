@@ -18,8 +18,12 @@ package com.hazelcast.simulator.utils;
 import com.hazelcast.simulator.common.SimulatorProperties;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
 
 import static com.hazelcast.simulator.utils.CommonUtils.getSimulatorVersion;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
 import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
 import static java.lang.String.format;
 
@@ -27,10 +31,12 @@ public class Bash {
 
     private final String sshOptions;
     private final String user;
+    private final String rsyncOptions;
 
     public Bash(SimulatorProperties simulatorProperties) {
         this.sshOptions = simulatorProperties.getSshOptions();
         this.user = simulatorProperties.getUser();
+        this.rsyncOptions = simulatorProperties.isUploadCompressionEnabled() ? "--checksum -avv -L -z" : "--checksum -avv -L";
     }
 
     public StringBuilder execute(String command) {
@@ -73,11 +79,46 @@ public class Bash {
     }
 
     public void uploadToRemoteSimulatorDir(String ip, String src, String target) {
-        String command = format("rsync --checksum -avv -L -e \"ssh %s\" %s %s@%s:hazelcast-simulator-%s/%s",
-                sshOptions, src, user, ip, getSimulatorVersion(), target);
+        String command = format("rsync %s -e \"ssh %s\" %s %s@%s:hazelcast-simulator-%s/%s",
+                rsyncOptions, sshOptions, src, user, ip, getSimulatorVersion(), target);
         execute(command);
     }
 
+    /**
+     * Uploads files with a single {@code rsync} call into the same target directory.
+     *
+     * The files are passed to {@code rsync} with {@code --files-from}, so the transfer needs a single SSH connection. Only the
+     * file names are kept, so the files have to be unique by name.
+     *
+     * @param ip     the IP address of the remote machine
+     * @param files  the files to upload
+     * @param target the target directory relative to the Simulator directory of the remote machine
+     */
+    public void uploadFilesToRemoteSimulatorDir(String ip, List<File> files, String target) {
+        File fileList = createFileList(files);
+        try {
+            String command = format("rsync %s --files-from=%s --no-relative -e \"ssh %s\" / %s@%s:hazelcast-simulator-%s/%s",
+                    rsyncOptions, fileList.getAbsolutePath(), sshOptions, user, ip, getSimulatorVersion(), target);
+            execute(command);
+        } finally {
+            deleteQuiet(fileList);
+        }
+    }
+
+    private static File createFileList(List<File> files) {
+        StringBuilder sb = new StringBuilder();
+        for (File file : files) {
+            sb.append(file.getAbsolutePath()).append(NEW_LINE);
+        }
+        try {
+            File fileList = File.createTempFile("simulator-upload", ".txt");
+            writeText(sb.toString(), fileList);
+            return fileList;
+        } catch (IOException e) {
+            throw new FileUtilsException("Could not create the file list for rsync", e);
+        }
+    }
+
     public void scpToRemote(String ip, File src, String target) {
         String command = format("scp -r %s %s %s@%s:%s", sshOptions, src.getAbsolutePath(), user, ip, target);
         execute(command);
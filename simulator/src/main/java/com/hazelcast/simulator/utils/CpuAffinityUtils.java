@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.utils;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static java.lang.String.format;
+
+/**
+ * Utility methods to pin Worker JVMs and their load generating threads to a CPU set or NUMA node.
+ *
+ * The Worker JVMs are pinned by a {@code numactl} or {@code taskset} prefix of the java command in the {@code worker.sh}. The
+ * load generating threads pin themselves with {@code taskset}, since there is no Java API for thread affinity. A thread finds
+ * its native thread id via {@code /proc/thread-self}, so this requires Linux 3.17 or newer.
+ */
+public final class CpuAffinityUtils {
+
+    // a list of CPUs or NUMA nodes and ranges like used by taskset and numactl, e.g. 0-3,8,10-11
+    private static final Pattern CPU_LIST_PATTERN = Pattern.compile("^\\d+(-\\d+)?(,\\d+(-\\d+)?)*$");
+
+    private static final File THREAD_SELF_STAT = new File("/proc/thread-self/stat");
+    private static final File PROC_SELF_STATUS = new File("/proc/self/status");
+
+    private static final Logger LOGGER = Logger.getLogger(CpuAffinityUtils.class);
+
+    private CpuAffinityUtils() {
+    }
+
+    /**
+     * Checks the syntax of a list of CPUs or NUMA nodes.
+     *
+     * @param cpuList the list of CPUs or NUMA nodes, e.g. {@code 0-3,8}
+     * @param name    the name of the setting for the error message
+     * @return the trimmed list or {@code null} if the list is {@code null} or empty
+     * @throws IllegalArgumentException if the list is invalid
+     */
+    public static String checkCpuList(String cpuList, String name) {
+        if (cpuList == null || cpuList.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = cpuList.trim();
+        if (!CPU_LIST_PATTERN.matcher(trimmed).matches()) {
+            throw new IllegalArgumentException(format("Invalid %s '%s', expected a list like 0-3,8", name, cpuList));
+        }
+        return trimmed;
+    }
+
+    /**
+     * Returns the command prefix to start a process with the given CPU set and NUMA node.
+     *
+     * A NUMA node binds the CPUs and the memory allocations to that node, a CPU set further restricts the CPUs.
+     *
+     * @param cpuSet   the CPU set or {@code null}
+     * @param numaNode the NUMA node or {@code null}
+     * @return the command prefix or an empty {@link String} if no affinity is configured
+     */
+    public static String getAffinityCommand(String cpuSet, String numaNode) {
+        if (numaNode != null && cpuSet != null) {
+            return format("numactl --membind=%s --physcpubind=%s", numaNode, cpuSet);
+        }
+        if (numaNode != null) {
+            return format("numactl --cpunodebind=%s --membind=%s", numaNode, numaNode);
+        }
+        if (cpuSet != null) {
+            return format("taskset -c %s", cpuSet);
+        }
+        return "";
+    }
+
+    /**
+     * Formats the configured affinity for log messages.
+     *
+     * @param cpuSet           the CPU set or {@code null}
+     * @param numaNode         the NUMA node or {@code null}
+     * @param loadThreadCpuSet the CPU set of the load generating threads or {@code null}
+     * @return the formatted affinity or {@code null} if no affinity is configured
+     */
+    public static String formatAffinity(String cpuSet, String numaNode, String loadThreadCpuSet) {
+        List<String> settings = new LinkedList<String>();
+        if (numaNode != null) {
+            settings.add("numa node " + numaNode);
+        }
+        if (cpuSet != null) {
+            settings.add("cpus " + cpuSet);
+        }
+        if (loadThreadCpuSet != null) {
+            settings.add("load threads " + loadThreadCpuSet);
+        }
+        if (settings.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String setting : settings) {
+            sb.append(sb.length() == 0 ? "" : ", ").append(setting);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Pins the calling thread to a CPU set.
+     *
+     * @param cpuSet the CPU set
+     * @return {@code true} if the thread was pinned, {@code false} otherwise
+     */
+    public static boolean pinCurrentThread(String cpuSet) {
+        String threadId = getNativeThreadId();
+        if (threadId == null) {
+            LOGGER.warn(format("Could not pin thread %s to CPUs %s, native thread id is not available",
+                    Thread.currentThread().getName(), cpuSet));
+            return false;
+        }
+        try {
+            Process process = new ProcessBuilder("taskset", "-p", "-c", cpuSet, threadId).redirectErrorStream(true).start();
+            String output = readFully(process.getInputStream());
+            if (process.waitFor() != 0) {
+                LOGGER.warn(format("Could not pin thread %s to CPUs %s: %s", Thread.currentThread().getName(), cpuSet, output));
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            LOGGER.warn(format("Could not pin thread %s to CPUs %s", Thread.currentThread().getName(), cpuSet), e);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the CPUs and memory nodes the current process is allowed to run on, to record the effective affinity.
+     *
+     * @return the allowed CPUs and memory nodes or {@code null} if not available
+     */
+    public static String getAllowedCpus() {
+        if (!PROC_SELF_STATUS.canRead()) {
+            return null;
+        }
+        try {
+            return parseAllowedCpus(fileAsText(PROC_SELF_STATUS));
+        } catch (Exception e) {
+            LOGGER.debug("Could not read allowed CPUs", e);
+            return null;
+        }
+    }
+
+    static String parseAllowedCpus(String status) {
+        String cpus = null;
+        String memoryNodes = null;
+        for (String line : status.split(NEW_LINE)) {
+            if (line.startsWith("Cpus_allowed_list:")) {
+                cpus = line.substring(line.indexOf(':') + 1).trim();
+            } else if (line.startsWith("Mems_allowed_list:")) {
+                memoryNodes = line.substring(line.indexOf(':') + 1).trim();
+            }
+        }
+        if (cpus == null) {
+            return null;
+        }
+        return (memoryNodes == null) ? "cpus " + cpus : format("cpus %s, memory nodes %s", cpus, memoryNodes);
+    }
+
+    private static String readFully(InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
+        try {
+            StringBuilder sb = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line).append(' ');
+            }
+            return sb.toString().trim();
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private static String getNativeThreadId() {
+        try {
+            // /proc/thread-self links to the directory of the calling thread, the first column of its stat file is the tid
+            String stat = fileAsText(THREAD_SELF_STAT);
+            return stat.substring(0, stat.indexOf(' '));
+        } catch (Exception e) {
+            LOGGER.debug("Could not read " + THREAD_SELF_STAT, e);
+            return null;
+        }
+    }
+}
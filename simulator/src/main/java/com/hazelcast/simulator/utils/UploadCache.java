@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.utils;
+
+import com.hazelcast.simulator.common.SimulatorProperties;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.hazelcast.simulator.utils.CloudProviderUtils.isLocal;
+import static com.hazelcast.simulator.utils.CommonUtils.awaitTermination;
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.utils.CommonUtils.getSimulatorVersion;
+import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static com.hazelcast.simulator.utils.ExecutorFactory.createFixedThreadPool;
+import static com.hazelcast.simulator.utils.FileUtils.copyFileToDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.getFilesFromClassPath;
+import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Uploads files to the Simulator directory of the agents and skips all files which are already there with the same content.
+ *
+ * The content of a target directory is retrieved as a manifest of SHA-1 hashes with a single {@code sha1sum} call on the agent
+ * and compared with the hashes of the local files, so only new and changed files are transferred. The hashes of the local files
+ * are cached as long as their size and modification time don't change, so they are computed only once for all agents.
+ *
+ * The changed files of each target directory are transferred with a single {@code rsync} call. The transfers of all agents and
+ * directories share a thread pool with a bounded size, to prevent that a large cluster opens too many concurrent SSH
+ * connections. In local mode the files are copied to the local Simulator home with the same logic.
+ */
+public class UploadCache {
+
+    private static final Pattern MANIFEST_PATTERN = Pattern.compile("^([0-9a-f]{40})\\s+\\*?\\./(.+)$");
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int HEX_RADIX = 16;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int NIBBLE_SHIFT = 4;
+    private static final int NIBBLE_MASK = 0x0F;
+
+    private static final Logger LOGGER = Logger.getLogger(UploadCache.class);
+
+    private final ConcurrentMap<String, String> localHashes = new ConcurrentHashMap<String, String>();
+
+    private final Bash bash;
+    private final boolean isLocal;
+    private final ExecutorService executor;
+
+    public UploadCache(Bash bash, SimulatorProperties properties) {
+        this(bash, isLocal(properties), properties.getUploadParallelism());
+    }
+
+    public UploadCache(Bash bash, boolean isLocal, int parallelism) {
+        this.bash = bash;
+        this.isLocal = isLocal;
+        this.executor = createFixedThreadPool(Math.max(1, parallelism), UploadCache.class);
+    }
+
+    /**
+     * Uploads all files of a classpath to the target path of an agent.
+     *
+     * @param ip         the IP address of the agent
+     * @param sourcePath the classpath of the files to upload, supports wildcards and directories
+     * @param targetPath the target path relative to the Simulator directory of the agent
+     * @return the number of transferred files
+     */
+    public int upload(String ip, String sourcePath, String targetPath) {
+        return upload(ip, getFilesFromClassPath(sourcePath), targetPath);
+    }
+
+    /**
+     * Uploads files to the target path of an agent.
+     *
+     * Directories are uploaded recursively, so their name becomes part of the target path like with {@code rsync}.
+     *
+     * @param ip          the IP address of the agent
+     * @param sourceFiles the files and directories to upload
+     * @param targetPath  the target path relative to the Simulator directory of the agent
+     * @return the number of transferred files
+     */
+    public int upload(final String ip, List<File> sourceFiles, String targetPath) {
+        final String normalizedTargetPath = normalize(targetPath);
+        Map<String, File> sourceFileMap = getSourceFileMap(sourceFiles);
+        Map<String, String> targetManifest = getTargetManifest(ip, normalizedTargetPath);
+
+        Map<String, List<File>> changedFiles = new TreeMap<String, List<File>>();
+        int changedFileCount = 0;
+        for (Map.Entry<String, File> entry : sourceFileMap.entrySet()) {
+            String relativePath = entry.getKey();
+            if (!getLocalHash(entry.getValue()).equals(targetManifest.get(relativePath))) {
+                String targetDir = getTargetDir(normalizedTargetPath, relativePath);
+                List<File> files = changedFiles.get(targetDir);
+                if (files == null) {
+                    files = new LinkedList<File>();
+                    changedFiles.put(targetDir, files);
+                }
+                files.add(entry.getValue());
+                changedFileCount++;
+            }
+        }
+        LOGGER.debug(format("Uploading %d of %d files to %s:%s", changedFileCount, sourceFileMap.size(), ip, targetPath));
+        if (changedFiles.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> targetDirs = new TreeSet<String>(changedFiles.keySet());
+        targetDirs.add(normalizedTargetPath);
+        createTargetDirs(ip, targetDirs);
+
+        List<Future<?>> futures = new LinkedList<Future<?>>();
+        for (final Map.Entry<String, List<File>> entry : changedFiles.entrySet()) {
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    transfer(ip, entry.getValue(), entry.getKey());
+                }
+            }));
+        }
+        waitForFutures(futures);
+        return changedFileCount;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        awaitTermination(executor, SHUTDOWN_TIMEOUT_SECONDS, SECONDS);
+    }
+
+    Map<String, String> getTargetManifest(String ip, String targetPath) {
+        if (isLocal) {
+            Map<String, String> manifest = new HashMap<String, String>();
+            File targetDir = new File(getSimulatorHome(), targetPath);
+            if (targetDir.isDirectory()) {
+                for (Map.Entry<String, File> entry : getSourceFileMap(listFiles(targetDir)).entrySet()) {
+                    manifest.put(entry.getKey(), getLocalHash(entry.getValue()));
+                }
+            }
+            return manifest;
+        }
+        String command = format("cd hazelcast-simulator-%s/%s 2>/dev/null && find . -type f -exec sha1sum {} + || true",
+                getSimulatorVersion(), targetPath);
+        return parseManifest(bash.ssh(ip, command));
+    }
+
+    private void createTargetDirs(String ip, Set<String> targetDirs) {
+        if (isLocal) {
+            for (String targetDir : targetDirs) {
+                ensureExistingDirectory(new File(getSimulatorHome(), targetDir));
+            }
+            return;
+        }
+        StringBuilder sb = new StringBuilder("mkdir -p");
+        for (String targetDir : targetDirs) {
+            sb.append(format(" hazelcast-simulator-%s/%s", getSimulatorVersion(), targetDir));
+        }
+        bash.ssh(ip, sb.toString());
+    }
+
+    private void transfer(String ip, List<File> sourceFiles, String targetDir) {
+        if (isLocal) {
+            for (File sourceFile : sourceFiles) {
+                copyFileToDirectory(sourceFile, new File(getSimulatorHome(), targetDir));
+            }
+        } else {
+            bash.uploadFilesToRemoteSimulatorDir(ip, sourceFiles, targetDir + '/');
+        }
+    }
+
+    String getLocalHash(File file) {
+        String key = file.getAbsolutePath() + ':' + file.length() + ':' + file.lastModified();
+        String hash = localHashes.get(key);
+        if (hash == null) {
+            hash = hash(file);
+            localHashes.put(key, hash);
+        }
+        return hash;
+    }
+
+    static Map<String, File> getSourceFileMap(List<File> sourceFiles) {
+        Map<String, File> sourceFileMap = new HashMap<String, File>();
+        for (File sourceFile : sourceFiles) {
+            addToSourceFileMap(sourceFileMap, sourceFile, sourceFile.getName());
+        }
+        return sourceFileMap;
+    }
+
+    private static void addToSourceFileMap(Map<String, File> sourceFileMap, File file, String relativePath) {
+        if (!file.isDirectory()) {
+            sourceFileMap.put(relativePath, file);
+            return;
+        }
+        for (File child : listFiles(file)) {
+            addToSourceFileMap(sourceFileMap, child, relativePath + '/' + child.getName());
+        }
+    }
+
+    static Map<String, String> parseManifest(StringBuilder output) {
+        Map<String, String> manifest = new HashMap<String, String>();
+        if (output == null) {
+            return manifest;
+        }
+        for (String line : output.toString().split(NEW_LINE)) {
+            Matcher matcher = MANIFEST_PATTERN.matcher(line.trim());
+            if (matcher.matches()) {
+                manifest.put(matcher.group(2), matcher.group(1));
+            }
+        }
+        return manifest;
+    }
+
+    static String hash(File file) {
+        InputStream inputStream = null;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            inputStream = new FileInputStream(file);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return toHex(digest.digest());
+        } catch (Exception e) {
+            throw new FileUtilsException(format("Could not compute hash of file %s", file.getAbsolutePath()), e);
+        } finally {
+            closeQuietly(inputStream);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            int value = b & BYTE_MASK;
+            sb.append(Character.forDigit(value >> NIBBLE_SHIFT, HEX_RADIX));
+            sb.append(Character.forDigit(value & NIBBLE_MASK, HEX_RADIX));
+        }
+        return sb.toString();
+    }
+
+    private static List<File> listFiles(File directory) {
+        List<File> files = new LinkedList<File>();
+        File[] children = directory.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                files.add(child);
+            }
+        }
+        return files;
+    }
+
+    private static String getTargetDir(String targetPath, String relativePath) {
+        int index = relativePath.lastIndexOf('/');
+        return (index < 0) ? targetPath : targetPath + '/' + relativePath.substring(0, index);
+    }
+
+    private static String normalize(String targetPath) {
+        String normalized = targetPath;
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    private static void waitForFutures(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rethrow(e);
+            }
+        }
+    }
+}
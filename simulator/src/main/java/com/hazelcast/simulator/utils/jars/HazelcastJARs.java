@@ -19,6 +19,7 @@ import com.hazelcast.simulator.common.SimulatorProperties;
 import com.hazelcast.simulator.utils.Bash;
 import com.hazelcast.simulator.utils.CommandLineExitException;
 import com.hazelcast.simulator.utils.FileUtilsException;
+import com.hazelcast.simulator.utils.UploadCache;
 import org.apache.log4j.Logger;
 
 import java.io.File;
@@ -61,14 +62,34 @@ public class HazelcastJARs {
 
     private final Bash bash;
     private final GitSupport gitSupport;
+    private final UploadCache uploadCache;
 
     HazelcastJARs(Bash bash, GitSupport gitSupport) {
+        this(bash, gitSupport, null);
+    }
+
+    HazelcastJARs(Bash bash, GitSupport gitSupport, UploadCache uploadCache) {
         this.bash = bash;
         this.gitSupport = gitSupport;
+        this.uploadCache = uploadCache;
     }
 
     public static HazelcastJARs newInstance(Bash bash, SimulatorProperties properties, Set<String> versionSpecs) {
-        HazelcastJARs hazelcastJARs = new HazelcastJARs(bash, GitSupport.newInstance(bash, properties));
+        return newInstance(bash, properties, versionSpecs, null);
+    }
+
+    /**
+     * Creates a {@link HazelcastJARs} instance.
+     *
+     * @param bash         the {@link Bash} instance to execute commands
+     * @param properties   the {@link SimulatorProperties}
+     * @param versionSpecs the Hazelcast version specifications to provide
+     * @param uploadCache  the {@link UploadCache} to upload only changed JARs or {@code null} to upload all JARs
+     * @return the {@link HazelcastJARs} instance
+     */
+    public static HazelcastJARs newInstance(Bash bash, SimulatorProperties properties, Set<String> versionSpecs,
+                                            UploadCache uploadCache) {
+        HazelcastJARs hazelcastJARs = new HazelcastJARs(bash, GitSupport.newInstance(bash, properties), uploadCache);
         for (String versionSpec : versionSpecs) {
             hazelcastJARs.addVersionSpec(versionSpec);
         }
@@ -103,21 +124,29 @@ public class HazelcastJARs {
         for (String versionSpec : versionSpecs) {
             // create target directory
             String versionDir = directoryForVersionSpec(versionSpec);
-            if (versionDir != null) {
+            if (versionDir != null && uploadCache == null) {
                 bash.ssh(ip, format("mkdir -p hazelcast-simulator-%s/hz-lib/%s", getSimulatorVersion(), versionDir));
             }
 
             if (OUT_OF_THE_BOX.equals(versionSpec)) {
                 // upload Hazelcast JARs
-                bash.uploadToRemoteSimulatorDir(ip, simulatorHome + "/lib/hazelcast*", "hz-lib/outofthebox");
+                upload(ip, simulatorHome + "/lib/hazelcast*", "hz-lib/outofthebox");
             } else if (!BRING_MY_OWN.equals(versionSpec)) {
                 // upload the actual Hazelcast JARs that are going to be used by the worker
                 File versionSpecDir = versionSpecDirs.get(versionSpec);
-                bash.uploadToRemoteSimulatorDir(ip, versionSpecDir + "/*.jar", "hz-lib/" + versionDir);
+                upload(ip, versionSpecDir + "/*.jar", "hz-lib/" + versionDir);
             }
         }
     }
 
+    private void upload(String ip, String sourcePath, String targetPath) {
+        if (uploadCache == null) {
+            bash.uploadToRemoteSimulatorDir(ip, sourcePath, targetPath);
+        } else {
+            uploadCache.upload(ip, sourcePath, targetPath);
+        }
+    }
+
     public void shutdown() {
         for (File versionDir : versionSpecDirs.values()) {
             deleteQuiet(versionDir);
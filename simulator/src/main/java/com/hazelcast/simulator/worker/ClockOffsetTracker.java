@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker;
+
+import com.hazelcast.simulator.protocol.operation.PingOperation;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.utils.FileUtils.appendText;
+import static java.lang.String.format;
+
+/**
+ * Estimates the offset of the local clock to the clock of the Coordinator, similar to the clock filter of NTP.
+ *
+ * Each {@link PingOperation} carries the time t0 when the Coordinator has sent it. The Worker records the time t1 when the ping
+ * was received. The time t3 when the Coordinator has received the response is sent along with the next ping. A complete sample
+ * results in
+ * <pre>
+ *     offset     = t1 - (t0 + t3) / 2
+ *     round trip = t3 - t0
+ * </pre>
+ * The error of the offset is bound by half of the round trip time, so the estimate is the offset of the sample with the lowest
+ * round trip time within the last {@value #SAMPLE_WINDOW} samples.
+ *
+ * A positive offset means that the clock of the Worker is ahead of the clock of the Coordinator.
+ */
+public class ClockOffsetTracker {
+
+    /**
+     * Name of the file in the Worker directory, which contains the estimated clock offsets in csv format.
+     */
+    public static final String CLOCK_OFFSET_FILE_NAME = "clock-offset.csv";
+
+    static final int SAMPLE_WINDOW = 8;
+
+    private static final Logger LOGGER = Logger.getLogger(ClockOffsetTracker.class);
+
+    private final long[] offsets = new long[SAMPLE_WINDOW];
+    private final long[] roundTrips = new long[SAMPLE_WINDOW];
+
+    private final File file;
+
+    private long pendingTimestamp;
+    private long pendingReceiveTimestamp;
+    private int sampleCount;
+
+    private volatile long clockOffsetMillis;
+    private volatile long roundTripMillis = -1;
+
+    public ClockOffsetTracker() {
+        this(null);
+    }
+
+    /**
+     * Creates a {@link ClockOffsetTracker}.
+     *
+     * @param file the file to log the estimated clock offsets in csv format or {@code null} if no file should be written
+     */
+    public ClockOffsetTracker(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the estimated offset of the local clock to the clock of the Coordinator.
+     *
+     * @return the clock offset in milliseconds or {@code 0} if no sample was taken yet
+     */
+    public long getClockOffsetMillis() {
+        return clockOffsetMillis;
+    }
+
+    /**
+     * Returns the round trip time of the sample which defines the current clock offset. The error of the clock offset is at most
+     * half of this value.
+     *
+     * @return the round trip time in milliseconds or {@code -1} if no sample was taken yet
+     */
+    public long getRoundTripMillis() {
+        return roundTripMillis;
+    }
+
+    /**
+     * Returns the current time in milliseconds, corrected by the estimated clock offset to the clock of the Coordinator.
+     *
+     * @return the current time of the Coordinator in milliseconds
+     */
+    public long getCoordinatorTimeMillis() {
+        return System.currentTimeMillis() - clockOffsetMillis;
+    }
+
+    public synchronized int getSampleCount() {
+        return sampleCount;
+    }
+
+    public void onPing(PingOperation operation) {
+        onPing(operation, System.currentTimeMillis());
+    }
+
+    synchronized void onPing(PingOperation operation, long receiveTimestamp) {
+        if (operation.getPreviousTimestamp() != 0 && operation.getPreviousTimestamp() == pendingTimestamp) {
+            addSample(pendingTimestamp, pendingReceiveTimestamp, operation.getPreviousResponseTimestamp());
+        }
+        pendingTimestamp = operation.getTimestamp();
+        pendingReceiveTimestamp = receiveTimestamp;
+    }
+
+    private void addSample(long timestamp, long receiveTimestamp, long responseTimestamp) {
+        long roundTrip = responseTimestamp - timestamp;
+        if (roundTrip < 0) {
+            return;
+        }
+        int index = sampleCount % SAMPLE_WINDOW;
+        offsets[index] = receiveTimestamp - (timestamp + responseTimestamp) / 2;
+        roundTrips[index] = roundTrip;
+        sampleCount++;
+
+        int bestIndex = 0;
+        int windowSize = Math.min(sampleCount, SAMPLE_WINDOW);
+        for (int i = 1; i < windowSize; i++) {
+            if (roundTrips[i] < roundTrips[bestIndex]) {
+                bestIndex = i;
+            }
+        }
+        clockOffsetMillis = offsets[bestIndex];
+        roundTripMillis = roundTrips[bestIndex];
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Clock offset to Coordinator: %d ms (round trip: %d ms)", clockOffsetMillis, roundTripMillis));
+        }
+        if (file != null) {
+            if (sampleCount == 1) {
+                appendText("time-millis,clock-offset-millis,round-trip-millis\n", file);
+            }
+            appendText(format("%d,%d,%d\n", receiveTimestamp, clockOffsetMillis, roundTripMillis), file);
+        }
+    }
+}
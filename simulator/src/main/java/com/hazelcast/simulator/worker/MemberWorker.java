@@ -35,6 +35,7 @@ import static com.hazelcast.simulator.common.GitInfo.getBuildTime;
 import static com.hazelcast.simulator.common.GitInfo.getCommitIdAbbrev;
 import static com.hazelcast.simulator.utils.CommonUtils.exitWithError;
 import static com.hazelcast.simulator.utils.CommonUtils.getSimulatorVersion;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.getAllowedCpus;
 import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
 import static com.hazelcast.simulator.utils.FileUtils.writeText;
 import static com.hazelcast.simulator.utils.FormatUtils.fillString;
@@ -76,14 +77,16 @@ public final class MemberWorker implements Worker {
         this.autoCreateHzInstance = autoCreateHzInstance;
         this.hzConfigFile = hzConfigFile;
 
+        long hzStartupStarted = System.currentTimeMillis();
         this.hazelcastInstance = getHazelcastInstance();
+        long hzStartupFinished = System.currentTimeMillis();
         this.workerConnector = WorkerConnector.createInstance(agentIndex, workerIndex, workerPort, type, hazelcastInstance, this);
 
         this.workerPerformanceMonitor = initWorkerPerformanceMonitor(workerPerformanceMonitorIntervalSeconds);
 
         Runtime.getRuntime().addShutdownHook(new WorkerShutdownThread(true));
 
-        signalStartToAgent();
+        signalStartToAgent(hzStartupStarted, hzStartupFinished);
     }
 
     void start() {
@@ -140,10 +143,15 @@ public final class MemberWorker implements Worker {
             return null;
         }
         WorkerOperationProcessor processor = (WorkerOperationProcessor) workerConnector.getProcessor();
-        return new WorkerPerformanceMonitor(workerConnector, processor.getTests(), intervalSeconds, TimeUnit.SECONDS);
+        HazelcastInstance memberInstance = type.isMember() ? hazelcastInstance : null;
+        return new WorkerPerformanceMonitor(workerConnector, processor.getTests(), intervalSeconds, TimeUnit.SECONDS,
+                memberInstance);
     }
 
-    private void signalStartToAgent() {
+    private void signalStartToAgent(long hzStartupStarted, long hzStartupFinished) {
+        // the startup file has to be written first, since the Agent reads it as soon as the address file exists
+        writeText(hzStartupStarted + "," + hzStartupFinished, new File("worker.startup"));
+
         String address = getHazelcastAddress(type, publicAddress, hazelcastInstance);
         File file = new File("worker.address");
         writeText(address, file);
@@ -190,6 +198,7 @@ public final class MemberWorker implements Worker {
 
         echo("autoCreateHzInstance: " + autoCreateHzInstance);
         echo("workerPerformanceMonitorIntervalSeconds: " + workerPerformanceMonitorIntervalSeconds);
+        echo("CPU affinity: " + getAllowedCpus());
 
         MemberWorker worker = new MemberWorker(type, publicAddress, agentIndex, workerIndex, workerPort, hzConfigFile,
                 autoCreateHzInstance, workerPerformanceMonitorIntervalSeconds);
@@ -220,6 +229,7 @@ public final class MemberWorker implements Worker {
         logSystemProperty("user.name");
         logSystemProperty("SIMULATOR_HOME");
         logSystemProperty("hazelcast.logging.type");
+        logSystemProperty("loadThreadCpuSet");
     }
 
     private static void logSystemProperty(String name) {
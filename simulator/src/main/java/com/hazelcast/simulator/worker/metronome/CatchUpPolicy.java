@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+/**
+ * Defines how a {@link Metronome} with an absolute schedule handles deadlines which have been missed, e.g. because a single
+ * call took longer than the interval.
+ */
+public enum CatchUpPolicy {
+
+    /**
+     * Executes all missed calls without waiting until the schedule is met again.
+     *
+     * The number of calls matches the target rate over the whole run, but the load is increased after a stall.
+     */
+    CATCH_UP,
+
+    /**
+     * Drops all missed calls and continues with the next deadline in the future.
+     *
+     * The load never exceeds the target rate, but the achieved rate drops after a stall.
+     */
+    SKIP
+}
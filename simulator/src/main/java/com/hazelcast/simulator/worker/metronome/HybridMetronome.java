@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.probes.Probe;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.simulator.worker.metronome.MetronomeType.HYBRID;
+import static org.apache.commons.lang3.RandomUtils.nextLong;
+
+/**
+ * {@link Metronome} implementation which waits for absolute deadlines, so the duration of the clocked call doesn't shift the
+ * schedule.
+ *
+ * The thread is parked until the deadline is close and only busy spins for the last {@link #DEFAULT_SPIN_THRESHOLD_NANOS},
+ * to get the precision of the {@link BusySpinningMetronome} without burning a full core. Missed deadlines are handled by the
+ * configured {@link CatchUpPolicy}.
+ *
+ * The delay between each deadline and the actual wakeup is recorded as schedule lag on an optional {@link Probe}, so the number
+ * of recorded values is the achieved rate of the metronome.
+ *
+ * The interval can be taken from a {@link RateBudget}, which is shared by all worker threads of a test. In this case the interval
+ * is updated on each call and an inactive thread is parked until it gets activated again. As long as the {@link RateBudget} has
+ * no target rate, the calls are not throttled.
+ *
+ * The first deadline is randomized, so it is recommended to create a new instance for each worker thread.
+ */
+final class HybridMetronome implements Metronome {
+
+    static final long DEFAULT_SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final long spinThresholdNanos;
+    private final CatchUpPolicy catchUpPolicy;
+    private final Probe lagProbe;
+    private final RateBudget rateBudget;
+    private final int threadIndex;
+
+    private volatile long intervalNanos;
+    private long nextNanos;
+    private long skipCount;
+
+    HybridMetronome(long intervalNanos, CatchUpPolicy catchUpPolicy, Probe lagProbe) {
+        this(intervalNanos, DEFAULT_SPIN_THRESHOLD_NANOS, catchUpPolicy, lagProbe);
+    }
+
+    HybridMetronome(long intervalNanos, long spinThresholdNanos, CatchUpPolicy catchUpPolicy, Probe lagProbe) {
+        this(checkInterval(intervalNanos), spinThresholdNanos, catchUpPolicy, lagProbe, null, 0);
+    }
+
+    HybridMetronome(RateBudget rateBudget, int threadIndex, CatchUpPolicy catchUpPolicy, Probe lagProbe) {
+        this(rateBudget.getIntervalNanos(), DEFAULT_SPIN_THRESHOLD_NANOS, catchUpPolicy, lagProbe, rateBudget, threadIndex);
+    }
+
+    private HybridMetronome(long intervalNanos, long spinThresholdNanos, CatchUpPolicy catchUpPolicy, Probe lagProbe,
+                            RateBudget rateBudget, int threadIndex) {
+        this.intervalNanos = intervalNanos;
+        this.spinThresholdNanos = spinThresholdNanos;
+        this.catchUpPolicy = catchUpPolicy;
+        this.lagProbe = lagProbe;
+        this.rateBudget = rateBudget;
+        this.threadIndex = threadIndex;
+    }
+
+    @Override
+    public void waitForNext() {
+        if (rateBudget != null) {
+            updateInterval();
+            if (intervalNanos <= 0) {
+                // the RateBudget has no target rate yet
+                return;
+            }
+        }
+
+        // set random deadline on the first run, the random offset is drawn before the clock is read
+        if (nextNanos == 0) {
+            nextNanos = nextLong(0, intervalNanos) + System.nanoTime();
+        }
+        long now = System.nanoTime();
+
+        long deadline = nextNanos;
+        // park until we are close to the deadline
+        long remainingNanos = deadline - now;
+        while (remainingNanos > spinThresholdNanos) {
+            LockSupport.parkNanos(remainingNanos - spinThresholdNanos);
+            now = System.nanoTime();
+            remainingNanos = deadline - now;
+        }
+        // busy loop for the remaining time
+        while (now < deadline) {
+            now = System.nanoTime();
+        }
+
+        if (lagProbe != null) {
+            lagProbe.recordValue(now - deadline);
+        }
+        scheduleNext(deadline, now);
+    }
+
+    private void scheduleNext(long deadline, long now) {
+        nextNanos = deadline + intervalNanos;
+        if (catchUpPolicy == CatchUpPolicy.SKIP && now >= nextNanos) {
+            long missedCount = (now - deadline) / intervalNanos;
+            skipCount += missedCount;
+            nextNanos = deadline + (missedCount + 1) * intervalNanos;
+        }
+    }
+
+    private void updateInterval() {
+        if (rateBudget.awaitActive(threadIndex)) {
+            // the thread has been inactive, so we start with a new schedule
+            nextNanos = 0;
+        }
+        long newIntervalNanos = rateBudget.getIntervalNanos();
+        if (newIntervalNanos != intervalNanos) {
+            // the next deadline is moved relative to the last deadline
+            if (nextNanos != 0) {
+                nextNanos += newIntervalNanos - intervalNanos;
+            }
+            intervalNanos = newIntervalNanos;
+        }
+    }
+
+    private static long checkInterval(long intervalNanos) {
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("intervalNanos has to be a positive number, but was " + intervalNanos);
+        }
+        return intervalNanos;
+    }
+
+    @Override
+    public long getInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+    }
+
+    @Override
+    public MetronomeType getType() {
+        return HYBRID;
+    }
+
+    // just for testing
+    long getSkipCount() {
+        return skipCount;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.hazelcast.simulator.worker.metronome;
 
+import com.hazelcast.simulator.probes.Probe;
+
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.Math.round;
@@ -56,17 +58,26 @@ public final class MetronomeFactory {
      * @return a {@link Metronome} instance
      */
     public static Metronome withFixedIntervalMs(int intervalMs, MetronomeType type) {
+        return withFixedIntervalMs(intervalMs, type, CatchUpPolicy.CATCH_UP, null);
+    }
+
+    /**
+     * Creates a {@link Metronome} instance with a fixed millisecond interval.
+     *
+     * The {@link CatchUpPolicy} and the schedule lag {@link Probe} are only used by {@link MetronomeType#HYBRID}.
+     *
+     * @param intervalMs    wait interval in milliseconds
+     * @param type          {@link MetronomeType} to create
+     * @param catchUpPolicy {@link CatchUpPolicy} for missed deadlines
+     * @param lagProbe      {@link Probe} to record the schedule lag, can be {@code null}
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withFixedIntervalMs(int intervalMs, MetronomeType type, CatchUpPolicy catchUpPolicy,
+                                                Probe lagProbe) {
         if (intervalMs == 0) {
             return EMPTY_METRONOME;
         }
-        switch (type) {
-            case BUSY_SPINNING:
-                return new BusySpinningMetronome(TimeUnit.MILLISECONDS.toNanos(intervalMs));
-            case SLEEPING:
-                return new SleepingMetronome(TimeUnit.MILLISECONDS.toNanos(intervalMs));
-            default:
-                return EMPTY_METRONOME;
-        }
+        return createMetronome(TimeUnit.MILLISECONDS.toNanos(intervalMs), type, catchUpPolicy, lagProbe);
     }
 
     /**
@@ -79,15 +90,54 @@ public final class MetronomeFactory {
      * @return a {@link Metronome} instance
      */
     public static Metronome withFixedFrequency(float frequency, MetronomeType type) {
+        return withFixedFrequency(frequency, type, CatchUpPolicy.CATCH_UP, null);
+    }
+
+    /**
+     * Creates a {@link Metronome} instance with a fixed frequency in Hz.
+     *
+     * If the frequency is 0 Hz the method {@link Metronome#waitForNext()} will have no delay. The {@link CatchUpPolicy} and
+     * the schedule lag {@link Probe} are only used by {@link MetronomeType#HYBRID}.
+     *
+     * @param frequency     frequency in Hz
+     * @param type          {@link MetronomeType} to create
+     * @param catchUpPolicy {@link CatchUpPolicy} for missed deadlines
+     * @param lagProbe      {@link Probe} to record the schedule lag, can be {@code null}
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withFixedFrequency(float frequency, MetronomeType type, CatchUpPolicy catchUpPolicy,
+                                               Probe lagProbe) {
         if (frequency == 0) {
             return EMPTY_METRONOME;
         }
         long intervalNanos = round((double) TimeUnit.SECONDS.toNanos(1) / frequency);
+        return createMetronome(intervalNanos, type, catchUpPolicy, lagProbe);
+    }
+
+    /**
+     * Creates a {@link Metronome} instance of type {@link MetronomeType#HYBRID}, which takes its interval from a
+     * {@link RateBudget}.
+     *
+     * @param rateBudget    the {@link RateBudget} of the test
+     * @param threadIndex   the index of the worker thread
+     * @param catchUpPolicy {@link CatchUpPolicy} for missed deadlines
+     * @param lagProbe      {@link Probe} to record the schedule lag, can be {@code null}
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withRateBudget(RateBudget rateBudget, int threadIndex, CatchUpPolicy catchUpPolicy,
+                                           Probe lagProbe) {
+        return new HybridMetronome(rateBudget, threadIndex, catchUpPolicy, lagProbe);
+    }
+
+    private static Metronome createMetronome(long intervalNanos, MetronomeType type, CatchUpPolicy catchUpPolicy,
+                                             Probe lagProbe) {
         switch (type) {
             case BUSY_SPINNING:
                 return new BusySpinningMetronome(intervalNanos);
             case SLEEPING:
                 return new SleepingMetronome(intervalNanos);
+            case HYBRID:
+                return new HybridMetronome(intervalNanos, catchUpPolicy, lagProbe);
             default:
                 return EMPTY_METRONOME;
         }
@@ -19,5 +19,6 @@ public enum MetronomeType {
 
     NOP,
     BUSY_SPINNING,
-    SLEEPING
+    SLEEPING,
+    HYBRID
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.test.TestContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.Math.round;
+import static java.lang.String.format;
+
+/**
+ * Shares the target rate of a Worker across its worker threads, so the target rate and the number of active threads can be
+ * changed while the test is running.
+ *
+ * Each active thread gets an equal share of the target rate. Inactive threads are parked in their {@link Metronome} until they
+ * are activated again or the test is stopped.
+ *
+ * The {@link RateBudget} is disabled until a target rate has been set.
+ */
+public final class RateBudget {
+
+    private static final long INACTIVE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final TestContext testContext;
+    private final int threadCount;
+
+    private volatile double workerTargetRate;
+    private volatile int activeThreadCount;
+    private volatile long intervalNanos;
+    private volatile String loadSegment;
+
+    /**
+     * Creates a disabled {@link RateBudget}.
+     *
+     * @param testContext the {@link TestContext} to check if the test has been stopped
+     * @param threadCount the number of worker threads
+     */
+    public RateBudget(TestContext testContext, int threadCount) {
+        this.testContext = testContext;
+        this.threadCount = threadCount;
+        this.activeThreadCount = threadCount;
+    }
+
+    /**
+     * Changes the target rate and the number of active threads.
+     *
+     * @param workerTargetRate  the target rate of the Worker in operations per second
+     * @param activeThreadCount the number of active threads, {@code 0} or a value larger than the thread count activates all
+     *                          threads
+     */
+    public void update(double workerTargetRate, int activeThreadCount) {
+        update(workerTargetRate, activeThreadCount, null);
+    }
+
+    /**
+     * Changes the target rate and the number of active threads.
+     *
+     * @param workerTargetRate  the target rate of the Worker in operations per second
+     * @param activeThreadCount the number of active threads, {@code 0} or a value larger than the thread count activates all
+     *                          threads
+     * @param loadSegment       the name of the load profile segment which defines the target rate, can be {@code null}
+     */
+    public synchronized void update(double workerTargetRate, int activeThreadCount, String loadSegment) {
+        if (workerTargetRate <= 0) {
+            throw new IllegalArgumentException(format("Target rate has to be positive, but was %.2f", workerTargetRate));
+        }
+        int threads = (activeThreadCount <= 0 || activeThreadCount > threadCount) ? threadCount : activeThreadCount;
+        this.workerTargetRate = workerTargetRate;
+        this.activeThreadCount = threads;
+        this.loadSegment = loadSegment;
+        this.intervalNanos = Math.max(1, round(threads * (double) TimeUnit.SECONDS.toNanos(1) / workerTargetRate));
+    }
+
+    public boolean isEnabled() {
+        return workerTargetRate > 0;
+    }
+
+    public double getWorkerTargetRate() {
+        return workerTargetRate;
+    }
+
+    public int getActiveThreadCount() {
+        return activeThreadCount;
+    }
+
+    /**
+     * Returns the name of the load profile segment which defines the current target rate.
+     *
+     * @return the name of the load profile segment or {@code null} if the target rate is not defined by a load profile
+     */
+    public String getLoadSegment() {
+        return loadSegment;
+    }
+
+    /**
+     * Returns the interval between two calls of a single active thread.
+     *
+     * @return the interval in nanoseconds
+     */
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * Parks the calling thread as long as it's inactive and the test is running.
+     *
+     * @param threadIndex the index of the calling worker thread
+     * @return {@code true} if the thread had to wait, {@code false} otherwise
+     */
+    boolean awaitActive(int threadIndex) {
+        boolean hasWaited = false;
+        while (threadIndex >= activeThreadCount && !testContext.isStopped()) {
+            LockSupport.parkNanos(INACTIVE_PARK_NANOS);
+            hasWaited = true;
+        }
+        return hasWaited;
+    }
+
+    @Override
+    public String toString() {
+        String description = format("%.1f ops/s on %d of %d threads", workerTargetRate, activeThreadCount, threadCount);
+        return (loadSegment == null) ? description : description + " (load segment " + loadSegment + ')';
+    }
+}
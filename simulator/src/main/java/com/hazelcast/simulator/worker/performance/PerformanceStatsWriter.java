@@ -36,7 +36,8 @@ final class PerformanceStatsWriter {
     }
 
     private void writeHeader() {
-        String columns = "time-millis,timestamp,operations,operations-delta,operations/second,number-of-tests,total-tests\n";
+        String columns = "time-millis,timestamp,operations,operations-delta,operations/second,number-of-tests,total-tests,"
+                + "load-segment\n";
         appendText(columns, file);
     }
 
@@ -46,7 +47,8 @@ final class PerformanceStatsWriter {
                       long operationsDelta,
                       double operationsPerSecond,
                       long numberOfTests,
-                      long totalTests) {
+                      long totalTests,
+                      String loadSegment) {
         sb.setLength(0);
         sb.append(timeMillis);
         sb.append(',').append(timestamp);
@@ -55,6 +57,7 @@ final class PerformanceStatsWriter {
         sb.append(',').append(format.format(operationsPerSecond));
         sb.append(',').append(numberOfTests);
         sb.append(',').append(totalTests);
+        sb.append(',').append(loadSegment == null ? "" : loadSegment);
         sb.append('\n');
         appendText(sb.toString(), file);
     }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.HazelcastInstanceImpl;
+import com.hazelcast.instance.HazelcastInstanceProxy;
+import com.hazelcast.simulator.worker.performance.SaturationState.Component;
+import org.apache.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokeMethod;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Samples the saturation of the Hazelcast internals of a member, to find out which component limits the throughput.
+ *
+ * The queue sizes and operation counts are retrieved from the {@code OperationService} of the member. Since this service was
+ * moved to an internal interface in Hazelcast 3.7, all metrics are retrieved via reflection by method name and are reported as
+ * {@code -1} if they are not available in the used Hazelcast version.
+ *
+ * The utilization of the thread groups is calculated from the CPU time of the threads, which are classified by their names.
+ */
+public class SaturationMonitor {
+
+    private static final String[] QUEUE_SIZE_METHODS = {
+            "getOperationExecutorQueueSize",
+            "getPriorityOperationExecutorQueueSize",
+            "getResponseQueueSize",
+    };
+    private static final String[] OPERATION_COUNT_METHODS = {
+            "getRunningOperationsCount",
+            "getRemoteOperationsCount",
+    };
+    private static final String EXECUTED_OPERATION_COUNT_METHOD = "getExecutedOperationCount";
+
+    private static final Logger LOGGER = Logger.getLogger(SaturationMonitor.class);
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final Map<Long, Long> previousCpuTimes = new HashMap<Long, Long>();
+    private final Map<String, Method> methods = new HashMap<String, Method>();
+    private final Object operationService;
+
+    private long previousTimestampNanos;
+    private long previousExecutedOperationCount = -1;
+
+    public SaturationMonitor(HazelcastInstance hazelcastInstance) {
+        this.operationService = getOperationService(hazelcastInstance);
+        if (threadMXBean.isThreadCpuTimeSupported() && !threadMXBean.isThreadCpuTimeEnabled()) {
+            threadMXBean.setThreadCpuTimeEnabled(true);
+        }
+        this.previousTimestampNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates a {@link SaturationState} for the time window since the last call.
+     *
+     * @return the {@link SaturationState} of the last time window
+     */
+    public SaturationState sample() {
+        long timestampNanos = System.nanoTime();
+        long elapsedNanos = Math.max(1, timestampNanos - previousTimestampNanos);
+        previousTimestampNanos = timestampNanos;
+
+        long[] queueSizes = new long[QUEUE_SIZE_METHODS.length];
+        for (int i = 0; i < QUEUE_SIZE_METHODS.length; i++) {
+            queueSizes[i] = getMetric(QUEUE_SIZE_METHODS[i]);
+        }
+        long[] operationCounts = new long[OPERATION_COUNT_METHODS.length];
+        for (int i = 0; i < OPERATION_COUNT_METHODS.length; i++) {
+            operationCounts[i] = getMetric(OPERATION_COUNT_METHODS[i]);
+        }
+
+        return new SaturationState(queueSizes, operationCounts, getOperationThroughput(elapsedNanos),
+                getUtilizations(elapsedNanos));
+    }
+
+    private double getOperationThroughput(long elapsedNanos) {
+        long executedOperationCount = getMetric(EXECUTED_OPERATION_COUNT_METHOD);
+        long previous = previousExecutedOperationCount;
+        previousExecutedOperationCount = executedOperationCount;
+        if (executedOperationCount < 0 || previous < 0) {
+            return -1;
+        }
+        return (executedOperationCount - previous) * (double) SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    private double[] getUtilizations(long elapsedNanos) {
+        double[] utilizations = new double[Component.values().length];
+        if (!threadMXBean.isThreadCpuTimeSupported()) {
+            return utilizations;
+        }
+
+        Map<Long, Long> currentCpuTimes = new HashMap<Long, Long>();
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds())) {
+            if (threadInfo == null) {
+                continue;
+            }
+            Component component = getComponent(threadInfo.getThreadName());
+            if (component == null) {
+                continue;
+            }
+            long threadId = threadInfo.getThreadId();
+            long cpuTime = threadMXBean.getThreadCpuTime(threadId);
+            if (cpuTime < 0) {
+                continue;
+            }
+            currentCpuTimes.put(threadId, cpuTime);
+
+            Long previousCpuTime = previousCpuTimes.get(threadId);
+            if (previousCpuTime != null) {
+                double utilization = (cpuTime - previousCpuTime) / (double) elapsedNanos;
+                int index = component.ordinal();
+                utilizations[index] = Math.max(utilizations[index], Math.min(1, utilization));
+            }
+        }
+
+        // we replace the previous values, so we don't leak memory for terminated threads
+        previousCpuTimes.clear();
+        previousCpuTimes.putAll(currentCpuTimes);
+        return utilizations;
+    }
+
+    private long getMetric(String methodName) {
+        if (operationService == null) {
+            return -1;
+        }
+        Method method = getMethod(methodName);
+        if (method == null) {
+            return -1;
+        }
+        try {
+            Number value = invokeMethod(operationService, method);
+            return value.longValue();
+        } catch (Exception e) {
+            LOGGER.debug(format("Could not retrieve %s from %s", methodName, operationService.getClass().getName()), e);
+            return -1;
+        }
+    }
+
+    private Method getMethod(String methodName) {
+        if (methods.containsKey(methodName)) {
+            return methods.get(methodName);
+        }
+        Method method = findMethod(operationService.getClass(), methodName);
+        if (method == null) {
+            LOGGER.info(format("Metric %s is not available in this Hazelcast version", methodName));
+        }
+        methods.put(methodName, method);
+        return method;
+    }
+
+    static Component getComponent(String threadName) {
+        if (threadName == null || !threadName.startsWith("hz.")) {
+            return null;
+        }
+        if (threadName.contains("partition-operation")) {
+            return Component.PARTITION_THREADS;
+        }
+        if (threadName.contains("generic-operation")) {
+            return Component.GENERIC_THREADS;
+        }
+        if (threadName.contains(".IO.") || threadName.contains("thread-in") || threadName.contains("thread-out")) {
+            return Component.IO_THREADS;
+        }
+        if (threadName.contains("response")) {
+            return Component.RESPONSE_THREADS;
+        }
+        return null;
+    }
+
+    private static Object getOperationService(HazelcastInstance hazelcastInstance) {
+        try {
+            HazelcastInstanceImpl instanceImpl;
+            if (hazelcastInstance instanceof HazelcastInstanceProxy) {
+                instanceImpl = getFieldValue(hazelcastInstance, "original");
+            } else if (hazelcastInstance instanceof HazelcastInstanceImpl) {
+                instanceImpl = (HazelcastInstanceImpl) hazelcastInstance;
+            } else {
+                return null;
+            }
+            // the return type of getOperationService() has changed in Hazelcast 3.7, so we have to use reflection
+            Object nodeEngine = instanceImpl.node.getNodeEngine();
+            return invokeMethod(nodeEngine, findMethod(nodeEngine.getClass(), "getOperationService"));
+        } catch (Exception e) {
+            LOGGER.warn("Could not retrieve OperationService, saturation metrics of the operation queues are not available", e);
+            return null;
+        }
+    }
+
+    private static Method findMethod(Class<?> clazz, String methodName) {
+        for (Method method : clazz.getMethods()) {
+            if (method.getName().equals(methodName) && method.getParameterTypes().length == 0) {
+                method.setAccessible(true);
+                return method;
+            }
+        }
+        return null;
+    }
+}
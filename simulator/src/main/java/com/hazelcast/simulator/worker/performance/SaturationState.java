@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Container to transfer the saturation of the Hazelcast internals of a {@link com.hazelcast.simulator.worker.MemberWorker} for
+ * some time window.
+ *
+ * The utilization of a thread group is the CPU time of its busiest thread in relation to the wall clock time of the interval,
+ * since a single saturated partition thread already slows down all operations of its partitions.
+ */
+public class SaturationState {
+
+    /**
+     * The utilization from which a thread group is considered as saturated.
+     */
+    public static final double SATURATION_THRESHOLD = 0.9;
+
+    /**
+     * The thread groups of a Hazelcast member.
+     */
+    public enum Component {
+        PARTITION_THREADS,
+        GENERIC_THREADS,
+        IO_THREADS,
+        RESPONSE_THREADS
+    }
+
+    private final long operationQueueSize;
+    private final long priorityOperationQueueSize;
+    private final long responseQueueSize;
+    private final long runningOperationCount;
+    private final long remoteOperationCount;
+    private final double operationThroughput;
+
+    private final double partitionThreadUtilization;
+    private final double genericThreadUtilization;
+    private final double ioThreadUtilization;
+    private final double responseThreadUtilization;
+
+    /**
+     * Creates a {@link SaturationState} instance.
+     *
+     * @param queueSizes          the sizes of the operation queue, priority operation queue and response queue
+     * @param operationCounts     the number of running operations and of operations sent to remote members
+     * @param operationThroughput the executed operations per second
+     * @param utilizations        the utilization per {@link Component}, indexed by the ordinal
+     */
+    public SaturationState(long[] queueSizes, long[] operationCounts, double operationThroughput, double[] utilizations) {
+        this.operationQueueSize = queueSizes[0];
+        this.priorityOperationQueueSize = queueSizes[1];
+        this.responseQueueSize = queueSizes[2];
+        this.runningOperationCount = operationCounts[0];
+        this.remoteOperationCount = operationCounts[1];
+        this.operationThroughput = operationThroughput;
+
+        this.partitionThreadUtilization = utilizations[Component.PARTITION_THREADS.ordinal()];
+        this.genericThreadUtilization = utilizations[Component.GENERIC_THREADS.ordinal()];
+        this.ioThreadUtilization = utilizations[Component.IO_THREADS.ordinal()];
+        this.responseThreadUtilization = utilizations[Component.RESPONSE_THREADS.ordinal()];
+    }
+
+    public long getOperationQueueSize() {
+        return operationQueueSize;
+    }
+
+    public long getPriorityOperationQueueSize() {
+        return priorityOperationQueueSize;
+    }
+
+    public long getResponseQueueSize() {
+        return responseQueueSize;
+    }
+
+    public long getRunningOperationCount() {
+        return runningOperationCount;
+    }
+
+    public long getRemoteOperationCount() {
+        return remoteOperationCount;
+    }
+
+    public double getOperationThroughput() {
+        return operationThroughput;
+    }
+
+    public double getUtilization(Component component) {
+        switch (component) {
+            case PARTITION_THREADS:
+                return partitionThreadUtilization;
+            case GENERIC_THREADS:
+                return genericThreadUtilization;
+            case IO_THREADS:
+                return ioThreadUtilization;
+            case RESPONSE_THREADS:
+                return responseThreadUtilization;
+            default:
+                throw new IllegalArgumentException("Unknown component: " + component);
+        }
+    }
+
+    /**
+     * Returns all components with a utilization of at least {@link #SATURATION_THRESHOLD}.
+     *
+     * @return a list of the saturated {@link Component}, which is empty if no component is saturated
+     */
+    public List<Component> getSaturatedComponents() {
+        List<Component> saturatedComponents = new ArrayList<Component>();
+        for (Component component : Component.values()) {
+            if (getUtilization(component) >= SATURATION_THRESHOLD) {
+                saturatedComponents.add(component);
+            }
+        }
+        return saturatedComponents;
+    }
+
+    @Override
+    public String toString() {
+        return "SaturationState{"
+                + "operationQueueSize=" + operationQueueSize
+                + ", priorityOperationQueueSize=" + priorityOperationQueueSize
+                + ", responseQueueSize=" + responseQueueSize
+                + ", runningOperationCount=" + runningOperationCount
+                + ", remoteOperationCount=" + remoteOperationCount
+                + ", operationThroughput=" + operationThroughput
+                + ", partitionThreadUtilization=" + partitionThreadUtilization
+                + ", genericThreadUtilization=" + genericThreadUtilization
+                + ", ioThreadUtilization=" + ioThreadUtilization
+                + ", responseThreadUtilization=" + responseThreadUtilization
+                + '}';
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.worker.performance.SaturationState.Component;
+
+import java.io.File;
+import java.text.DecimalFormat;
+
+import static com.hazelcast.simulator.utils.FileUtils.appendText;
+import static com.hazelcast.simulator.utils.Preconditions.checkNotNull;
+
+/**
+ * Responsible for writing saturation stats to disk in csv format.
+ */
+final class SaturationStatsWriter {
+
+    private final File file;
+    private final StringBuffer sb = new StringBuffer();
+    private final DecimalFormat format = new DecimalFormat("#.##");
+
+    public SaturationStatsWriter(File file) {
+        this.file = checkNotNull(file, "file can't be null");
+        writeHeader();
+    }
+
+    private void writeHeader() {
+        String columns = "time-millis,timestamp,operation-queue,priority-operation-queue,response-queue,running-operations,"
+                + "remote-operations,operations/second,partition-threads,generic-threads,io-threads,response-threads\n";
+        appendText(columns, file);
+    }
+
+    public void write(long timeMillis, String timestamp, SaturationState state) {
+        sb.setLength(0);
+        sb.append(timeMillis);
+        sb.append(',').append(timestamp);
+        sb.append(',').append(state.getOperationQueueSize());
+        sb.append(',').append(state.getPriorityOperationQueueSize());
+        sb.append(',').append(state.getResponseQueueSize());
+        sb.append(',').append(state.getRunningOperationCount());
+        sb.append(',').append(state.getRemoteOperationCount());
+        sb.append(',').append(format.format(state.getOperationThroughput()));
+        for (Component component : Component.values()) {
+            sb.append(',').append(format.format(state.getUtilization(component)));
+        }
+        sb.append('\n');
+        appendText(sb.toString(), file);
+    }
+}
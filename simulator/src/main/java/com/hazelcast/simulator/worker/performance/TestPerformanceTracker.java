@@ -65,6 +65,8 @@ final class TestPerformanceTracker {
 
     private boolean isUpdated;
 
+    private String lastLoadSegment;
+
     TestPerformanceTracker(String testId, Collection<String> probeNames, long testStartedTimestamp) {
         this.testId = testId;
         this.testStartedTimestamp = testStartedTimestamp;
@@ -119,7 +121,7 @@ final class TestPerformanceTracker {
         this.isUpdated = true;
     }
 
-    void writeStatsToFile(long epochTime, String timestamp) {
+    void writeStatsToFile(long epochTime, String timestamp, String loadSegment) {
         performanceStatsWriter.write(
                 epochTime,
                 timestamp,
@@ -127,11 +129,25 @@ final class TestPerformanceTracker {
                 intervalOperationCount,
                 intervalThroughput,
                 0,
-                0);
+                0,
+                loadSegment);
+
+        // the comment marks the first interval histogram of a new load profile segment
+        if (loadSegment != null && !loadSegment.equals(lastLoadSegment)) {
+            for (HistogramLogWriter histogramLogWriter : histogramLogWriterMap.values()) {
+                histogramLogWriter.outputComment("loadSegment=" + loadSegment);
+            }
+        }
+        lastLoadSegment = loadSegment;
 
         for (Map.Entry<String, Histogram> histogramEntry : intervalHistogramMap.entrySet()) {
             String probeName = histogramEntry.getKey();
             HistogramLogWriter histogramLogWriter = histogramLogWriterMap.get(probeName);
+            if (histogramLogWriter == null) {
+                // probes can be created after the test has been started, e.g. by the OperationCostSampler
+                histogramLogWriter = createHistogramLogWriter(testId, probeName, testStartedTimestamp);
+                histogramLogWriterMap.put(probeName, histogramLogWriter);
+            }
 
             Histogram intervalHistogram = histogramEntry.getValue();
             histogramLogWriter.outputIntervalHistogram(intervalHistogram);
@@ -175,6 +191,11 @@ final class TestPerformanceTracker {
             histogramLogWriter.setBaseTime(baseTime);
             histogramLogWriter.outputComment("[Latency histograms for " + testId + '.' + probeName + ']');
             histogramLogWriter.outputLogFormatVersion();
+            if (baseTime > 0) {
+                // the interval timestamps are relative to the base time, so the HistogramLogReader needs it to restore them
+                histogramLogWriter.outputStartTime(baseTime);
+                histogramLogWriter.outputBaseTime(baseTime);
+            }
             histogramLogWriter.outputLegend();
             return histogramLogWriter;
         } catch (IOException e) {
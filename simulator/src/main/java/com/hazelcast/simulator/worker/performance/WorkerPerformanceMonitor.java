@@ -15,7 +15,9 @@
  */
 package com.hazelcast.simulator.worker.performance;
 
+import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.GaugeProbe;
 import com.hazelcast.simulator.probes.impl.HdrProbe;
 import com.hazelcast.simulator.protocol.connector.ServerConnector;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
@@ -56,8 +58,25 @@ public class WorkerPerformanceMonitor {
 
     public WorkerPerformanceMonitor(ServerConnector serverConnector, Collection<TestContainer> testContainers,
                                     int workerPerformanceMonitorInterval, TimeUnit workerPerformanceIntervalTimeUnit) {
+        this(serverConnector, testContainers, workerPerformanceMonitorInterval, workerPerformanceIntervalTimeUnit, null);
+    }
+
+    /**
+     * Creates a {@link WorkerPerformanceMonitor} which also samples the saturation of the Hazelcast internals.
+     *
+     * @param serverConnector                   the {@link ServerConnector} to send the performance states to the Coordinator
+     * @param testContainers                    the {@link TestContainer} instances to monitor
+     * @param workerPerformanceMonitorInterval  the interval to monitor the performance
+     * @param workerPerformanceIntervalTimeUnit the {@link TimeUnit} of the interval
+     * @param hazelcastInstance                 the {@link HazelcastInstance} of a member or {@code null} to disable the
+     *                                          saturation monitoring
+     */
+    public WorkerPerformanceMonitor(ServerConnector serverConnector, Collection<TestContainer> testContainers,
+                                    int workerPerformanceMonitorInterval, TimeUnit workerPerformanceIntervalTimeUnit,
+                                    HazelcastInstance hazelcastInstance) {
         long intervalNanos = workerPerformanceIntervalTimeUnit.toNanos(workerPerformanceMonitorInterval);
-        this.thread = new WorkerPerformanceMonitorThread(serverConnector, testContainers, intervalNanos);
+        SaturationMonitor saturationMonitor = (hazelcastInstance == null) ? null : new SaturationMonitor(hazelcastInstance);
+        this.thread = new WorkerPerformanceMonitorThread(serverConnector, testContainers, intervalNanos, saturationMonitor);
         thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
             @Override
             public void uncaughtException(Thread t, Throwable e) {
@@ -85,11 +104,15 @@ public class WorkerPerformanceMonitor {
      * Sends performance numbers as {@link PerformanceState} to the Coordinator.
      * Writes performance stats to files.
      * <p>
+     * Samples the {@link SaturationState} of the member, if a {@link SaturationMonitor} is configured.
+     * <p>
      * Holds one {@link TestPerformanceTracker} instance per Simulator Test.
      */
     private final class WorkerPerformanceMonitorThread extends Thread {
 
         private final PerformanceStatsWriter globalPerformanceStatsWriter;
+        private final SaturationStatsWriter saturationStatsWriter;
+        private final SaturationMonitor saturationMonitor;
         private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
         private final Map<String, MonitoredTest> tests = new ConcurrentHashMap<String, MonitoredTest>();
         private final ServerConnector serverConnector;
@@ -98,12 +121,16 @@ public class WorkerPerformanceMonitor {
 
         private WorkerPerformanceMonitorThread(ServerConnector serverConnector,
                                                Collection<TestContainer> testContainers,
-                                               long intervalNanos) {
+                                               long intervalNanos,
+                                               SaturationMonitor saturationMonitor) {
             super("WorkerPerformanceMonitor");
             this.serverConnector = serverConnector;
             this.testContainers = testContainers;
             this.intervalNanos = intervalNanos;
             this.globalPerformanceStatsWriter = new PerformanceStatsWriter(new File("performance.csv"));
+            this.saturationMonitor = saturationMonitor;
+            this.saturationStatsWriter = (saturationMonitor == null)
+                    ? null : new SaturationStatsWriter(new File("saturation.csv"));
         }
 
         @Override
@@ -114,8 +141,9 @@ public class WorkerPerformanceMonitor {
 
                 boolean runningTestFound = refreshTests(currentTimestamp);
                 updateTrackers(currentTimestamp);
-                sendPerformanceStates();
-                writeStatsToFiles(currentTimestamp);
+                SaturationState saturationState = sampleSaturation();
+                sendPerformanceStates(saturationState);
+                writeStatsToFiles(currentTimestamp, saturationState);
                 purgeDeadTests(currentTimestamp);
 
                 long elapsedNanos = System.nanoTime() - startedNanos;
@@ -155,7 +183,8 @@ public class WorkerPerformanceMonitor {
 
                 String testId = testContainer.getTestContext().getTestId();
                 MonitoredTest test = tests.get(testId);
-                if (test == null) {
+                if (test == null || test.testContainer != testContainer) {
+                    // a reused Worker can run a new test with the same testId
                     test = new MonitoredTest(testContainer);
                     tests.put(testId, test);
                 }
@@ -202,6 +231,10 @@ public class WorkerPerformanceMonitor {
                     HdrProbe hdrProbe = (HdrProbe) probe;
                     Histogram intervalHistogram = hdrProbe.getIntervalHistogram();
                     intervalHistograms.put(probeName, intervalHistogram);
+                    if (probe instanceof GaugeProbe) {
+                        // the values of a gauge, e.g. the operation costs, are no latencies
+                        continue;
+                    }
 
                     long percentileValue = intervalHistogram.getValueAtPercentile(INTERVAL_LATENCY_PERCENTILE);
                     if (percentileValue > intervalPercentileLatency) {
@@ -239,8 +272,16 @@ public class WorkerPerformanceMonitor {
                     intervalOperationalCount, currentTimestamp);
         }
 
-        private void sendPerformanceStates() {
+        private SaturationState sampleSaturation() {
+            if (saturationMonitor == null || tests.isEmpty()) {
+                return null;
+            }
+            return saturationMonitor.sample();
+        }
+
+        private void sendPerformanceStates(SaturationState saturationState) {
             PerformanceStateOperation operation = new PerformanceStateOperation();
+            operation.setSaturationState(saturationState);
 
             for (MonitoredTest test : tests.values()) {
                 if (test.tracker.isUpdated()) {
@@ -253,21 +294,29 @@ public class WorkerPerformanceMonitor {
             }
         }
 
-        private void writeStatsToFiles(long currentTimestamp) {
+        private void writeStatsToFiles(long currentTimestamp, SaturationState saturationState) {
             if (tests.isEmpty()) {
                 return;
             }
 
             String dateString = simpleDateFormat.format(new Date(currentTimestamp));
+            if (saturationState != null) {
+                saturationStatsWriter.write(currentTimestamp, dateString, saturationState);
+            }
             long globalIntervalOperationCount = 0;
             long globalOperationsCount = 0;
             double globalIntervalThroughput = 0;
+            String globalLoadSegment = null;
 
             // performance stats per Simulator Test
             for (MonitoredTest test : tests.values()) {
                 TestPerformanceTracker tracker = test.tracker;
+                String loadSegment = test.testContainer.getRateBudget().getLoadSegment();
+                if (loadSegment != null) {
+                    globalLoadSegment = (globalLoadSegment == null) ? loadSegment : globalLoadSegment + '|' + loadSegment;
+                }
                 if (tracker.getAndResetIsUpdated()) {
-                    tracker.writeStatsToFile(currentTimestamp, dateString);
+                    tracker.writeStatsToFile(currentTimestamp, dateString, loadSegment);
 
                     globalIntervalOperationCount += tracker.getIntervalOperationCount();
                     globalOperationsCount += tracker.getTotalOperationCount();
@@ -283,7 +332,8 @@ public class WorkerPerformanceMonitor {
                     globalIntervalOperationCount,
                     globalIntervalThroughput,
                     tests.size(),
-                    testContainers.size());
+                    testContainers.size(),
+                    globalLoadSegment);
         }
     }
 
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.TestContext;
+import com.hazelcast.simulator.test.annotations.InjectProbe;
+import com.hazelcast.simulator.utils.ExceptionReporter;
+import com.hazelcast.simulator.worker.metronome.Metronome;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.simulator.probes.impl.GaugeProbe.GAUGE_PROBE_SUFFIX;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Batching version of {@link AbstractMonotonicWorker}.
+ *
+ * Each call of {@link #timeStep()} adds a single operation to the current batch. An operation can be submitted asynchronously,
+ * in which case its {@link Future} is returned, or it can be buffered by the worker to be executed with a bulk API in
+ * {@link #flushBatch()}. A batch is completed when it contains {@code batchSize} operations or when it is older than the
+ * configured batch window. Then {@link #flushBatch()} is called and the worker waits for all returned futures.
+ *
+ * If the worker is configured to not await its batches, the returned futures have to be {@link ICompletableFuture} instances.
+ * The worker thread continues with the next batch right away and a batch is completed by the callbacks of its futures. The
+ * {@link Throwable} of a failed future is automatically reported.
+ *
+ * The latency of each batch, measured from the start of its first operation until all of its operations are completed, is
+ * recorded in the {@link #BATCH_PROBE_NAME} probe. The built-in {@link Probe} records the amortized latency per operation,
+ * so the throughput of the test is the number of completed operations. The number of futures which are in flight when a batch
+ * is completed is recorded in the {@link #IN_FLIGHT_PROBE_NAME} probe, which includes the futures of previous batches that are
+ * not awaited. It's a {@link com.hazelcast.simulator.probes.impl.GaugeProbe}, so the depth is recorded as it is and not
+ * included in the latency results.
+ *
+ * The futures are stored in an array which is reused for all batches, so the batching itself doesn't create any garbage.
+ */
+public abstract class AbstractBatchWorker extends VeryAbstractWorker {
+
+    /**
+     * Name of the probe with the latency per batch.
+     */
+    public static final String BATCH_PROBE_NAME = "batchProbe";
+
+    /**
+     * Name of the probe with the number of in-flight operations per batch.
+     */
+    public static final String IN_FLIGHT_PROBE_NAME = "inFlightDepth" + GAUGE_PROBE_SUFFIX;
+
+    private final int batchSize;
+    private final long batchWindowNanos;
+    private final boolean awaitBatch;
+    private final Future<?>[] futures;
+    private final AtomicInteger pendingFutureCount = new AtomicInteger();
+
+    @InjectProbe(name = IWorker.DEFAULT_WORKER_PROBE_NAME, useForThroughput = true)
+    private Probe workerProbe;
+    @InjectProbe(name = BATCH_PROBE_NAME)
+    private Probe batchProbe;
+    @InjectProbe(name = IN_FLIGHT_PROBE_NAME)
+    private Probe inFlightProbe;
+
+    private int batchItemCount;
+    private int inFlightCount;
+    private long batchStartedNanos;
+
+    /**
+     * Creates an {@link AbstractBatchWorker} which completes its batches by size only.
+     *
+     * @param batchSize the number of operations per batch
+     */
+    public AbstractBatchWorker(int batchSize) {
+        this(batchSize, 0);
+    }
+
+    /**
+     * Creates an {@link AbstractBatchWorker} which completes its batches by size or by time.
+     *
+     * The age of a batch is checked after each operation, so a batch can exceed the window by the time of one operation.
+     *
+     * @param batchSize         the maximum number of operations per batch
+     * @param batchWindowMillis the maximum age of a batch in milliseconds or {@code 0} to complete the batches by size only
+     */
+    public AbstractBatchWorker(int batchSize, int batchWindowMillis) {
+        this(batchSize, batchWindowMillis, true);
+    }
+
+    /**
+     * Creates an {@link AbstractBatchWorker} which completes its batches by size or by time.
+     *
+     * @param batchSize         the maximum number of operations per batch
+     * @param batchWindowMillis the maximum age of a batch in milliseconds or {@code 0} to complete the batches by size only
+     * @param awaitBatch        {@code true} if the worker thread waits for the futures of each batch, {@code false} if the
+     *                          batches are completed by the callbacks of their {@link ICompletableFuture} instances
+     */
+    public AbstractBatchWorker(int batchSize, int batchWindowMillis, boolean awaitBatch) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize has to be positive, but was " + batchSize);
+        }
+        if (batchWindowMillis < 0) {
+            throw new IllegalArgumentException("batchWindowMillis can't be negative, but was " + batchWindowMillis);
+        }
+        this.batchSize = batchSize;
+        this.batchWindowNanos = MILLISECONDS.toNanos(batchWindowMillis);
+        this.awaitBatch = awaitBatch;
+        this.futures = new Future<?>[batchSize];
+    }
+
+    @Override
+    public final void run() throws Exception {
+        final TestContext testContext = getTestContext();
+        final Metronome metronome = getWorkerMetronome();
+
+        while (!testContext.isStopped() && !isWorkerStopped()) {
+            metronome.waitForNext();
+            if (batchItemCount == 0) {
+                batchStartedNanos = System.nanoTime();
+            }
+            Future<?> future = timeStep();
+            if (future != null) {
+                addFuture(future);
+            }
+            batchItemCount++;
+            increaseIteration();
+
+            if (isBatchComplete()) {
+                completeBatch();
+            }
+        }
+        if (batchItemCount > 0) {
+            completeBatch();
+        }
+    }
+
+    private boolean isBatchComplete() {
+        if (batchItemCount == batchSize) {
+            return true;
+        }
+        return batchWindowNanos > 0 && System.nanoTime() - batchStartedNanos >= batchWindowNanos;
+    }
+
+    private void addFuture(Future<?> future) {
+        if (!awaitBatch) {
+            if (!(future instanceof ICompletableFuture)) {
+                throw new IllegalStateException("A batch which is not awaited needs ICompletableFuture instances, but got "
+                        + future.getClass().getName());
+            }
+            pendingFutureCount.incrementAndGet();
+        }
+        futures[inFlightCount++] = future;
+    }
+
+    private void completeBatch() throws Exception {
+        inFlightProbe.recordValue(awaitBatch ? inFlightCount : pendingFutureCount.get());
+        flushBatch();
+        if (awaitBatch) {
+            for (int i = 0; i < inFlightCount; i++) {
+                Future<?> future = futures[i];
+                futures[i] = null;
+                future.get();
+            }
+            recordBatch(batchStartedNanos, batchItemCount);
+        } else if (inFlightCount == 0) {
+            recordBatch(batchStartedNanos, batchItemCount);
+        } else {
+            registerBatchCallback();
+        }
+
+        batchItemCount = 0;
+        inFlightCount = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerBatchCallback() {
+        BatchCallback callback = new BatchCallback(batchStartedNanos, batchItemCount, inFlightCount);
+        for (int i = 0; i < inFlightCount; i++) {
+            ICompletableFuture<Object> future = (ICompletableFuture<Object>) futures[i];
+            futures[i] = null;
+            future.andThen(callback);
+        }
+    }
+
+    private void recordBatch(long startedNanos, int itemCount) {
+        long batchLatencyNanos = System.nanoTime() - startedNanos;
+        batchProbe.recordValue(batchLatencyNanos);
+        workerProbe.recordValueWithCount(batchLatencyNanos / itemCount, itemCount);
+    }
+
+    /**
+     * Returns the maximum number of operations per batch.
+     *
+     * @return the batch size
+     */
+    protected final int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the number of operations in the current batch.
+     *
+     * @return the number of operations in the current batch
+     */
+    protected final int getBatchItemCount() {
+        return batchItemCount;
+    }
+
+    /**
+     * This method is called for each iteration of {@link #run()} and adds a single operation to the current batch.
+     *
+     * Won't be called if an error occurs in {@link #beforeRun()}.
+     *
+     * @return the {@link Future} of an asynchronous operation or {@code null} if the operation is buffered for
+     * {@link #flushBatch()} or has already been completed, the future has to be an {@link ICompletableFuture} if the batches
+     * are not awaited
+     * @throws Exception is allowed to throw exceptions which are automatically reported as failure
+     */
+    protected abstract Future<?> timeStep() throws Exception;
+
+    /**
+     * This method is called once per batch before the worker waits for the futures of the batch.
+     *
+     * Implement this method to execute the operations which have been buffered by {@link #timeStep()} with a bulk API.
+     *
+     * @throws Exception is allowed to throw exceptions which are automatically reported as failure
+     */
+    protected void flushBatch() throws Exception {
+    }
+
+    /**
+     * Completes a batch which is not awaited, when the callbacks of all its futures have been called.
+     */
+    private final class BatchCallback implements ExecutionCallback<Object> {
+
+        private final long startedNanos;
+        private final int itemCount;
+        private final AtomicInteger remainingFutures;
+
+        private BatchCallback(long startedNanos, int itemCount, int futureCount) {
+            this.startedNanos = startedNanos;
+            this.itemCount = itemCount;
+            this.remainingFutures = new AtomicInteger(futureCount);
+        }
+
+        @Override
+        public void onResponse(Object response) {
+            complete();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            try {
+                ExceptionReporter.report(getTestId(), t);
+            } finally {
+                complete();
+            }
+        }
+
+        private void complete() {
+            pendingFutureCount.decrementAndGet();
+            if (remainingFutures.decrementAndGet() == 0) {
+                recordBatch(startedNanos, itemCount);
+            }
+        }
+    }
+}
@@ -33,6 +33,10 @@ public abstract class AbstractMonotonicWorker extends VeryAbstractWorker {
 
     @Override
     public final void run() throws Exception {
+        if (runGeneratedLoop()) {
+            return;
+        }
+
         final TestContext testContext = getTestContext();
         final Metronome metronome = getWorkerMetronome();
         final Probe probe = workerProbe;
@@ -46,6 +50,10 @@ public abstract class AbstractMonotonicWorker extends VeryAbstractWorker {
         }
     }
 
+    Probe getWorkerProbe() {
+        return workerProbe;
+    }
+
     /**
      * This method is called for each iteration of {@link #run()}.
      * <p>
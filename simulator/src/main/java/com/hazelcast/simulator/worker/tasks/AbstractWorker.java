@@ -46,12 +46,17 @@ public abstract class AbstractWorker<O extends Enum<O>> extends VeryAbstractWork
 
     @Override
     public final void run() throws Exception {
+        if (runGeneratedLoop()) {
+            return;
+        }
+
         final TestContext testContext = getTestContext();
         final Metronome metronome = getWorkerMetronome();
         final OperationSelector<O> selector = operationSelector;
         final Probe probe = workerProbe;
+        final OperationCostSampler costSampler = getOperationCostSampler();
 
-        if (metronome.getClass() == EmptyMetronome.class && probe.getClass() == ThroughputProbe.class) {
+        if (metronome.getClass() == EmptyMetronome.class && probe.getClass() == ThroughputProbe.class && costSampler == null) {
             while (!testContext.isStopped() && !isWorkerStopped()) {
                 timeStep(selector.select());
                 increaseIteration();
@@ -61,14 +66,39 @@ public abstract class AbstractWorker<O extends Enum<O>> extends VeryAbstractWork
             while (!testContext.isStopped() && !isWorkerStopped()) {
                 metronome.waitForNext();
                 O operation = selector.select();
-                long started = System.nanoTime();
-                timeStep(operation);
-                probe.recordValue(System.nanoTime() - started);
+                if (costSampler != null && costSampler.isSample(getIteration())) {
+                    sampleTimeStep(operation, probe, costSampler);
+                } else {
+                    long started = System.nanoTime();
+                    timeStep(operation);
+                    probe.recordValue(System.nanoTime() - started);
+                }
                 increaseIteration();
             }
         }
     }
 
+    private void sampleTimeStep(O operation, Probe probe, OperationCostSampler costSampler) throws Exception {
+        long startAllocatedBytes = costSampler.getAllocatedBytes();
+        long startCpuTimeNanos = costSampler.getCpuTimeNanos();
+        long started = System.nanoTime();
+        timeStep(operation);
+        long latencyNanos = System.nanoTime() - started;
+        long endCpuTimeNanos = costSampler.getCpuTimeNanos();
+        long endAllocatedBytes = costSampler.getAllocatedBytes();
+
+        probe.recordValue(latencyNanos);
+        costSampler.record(operation, startAllocatedBytes, endAllocatedBytes, startCpuTimeNanos, endCpuTimeNanos);
+    }
+
+    OperationSelector<O> getOperationSelector() {
+        return operationSelector;
+    }
+
+    Probe getWorkerProbe() {
+        return workerProbe;
+    }
+
     /**
      * This method is called for each iteration of {@link #run()}.
      *
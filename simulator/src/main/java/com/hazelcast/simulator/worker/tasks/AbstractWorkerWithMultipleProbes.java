@@ -65,23 +65,53 @@ public abstract class AbstractWorkerWithMultipleProbes<O extends Enum<O>>
 
     @Override
     public final void run() throws Exception {
+        if (runGeneratedLoop()) {
+            return;
+        }
+
         final TestContext testContext = getTestContext();
         final Metronome metronome = getWorkerMetronome();
         final OperationSelector<O> selector = operationSelector;
         final Probe[] probes = workerProbes;
+        final OperationCostSampler costSampler = getOperationCostSampler();
 
         while (!testContext.isStopped() && !isWorkerStopped()) {
             metronome.waitForNext();
             O op = selector.select();
             Probe probe = probes[op.ordinal()];
 
-            long started = System.nanoTime();
-            timeStep(op, probe);
-            probe.recordValue(System.nanoTime() - started);
+            if (costSampler != null && costSampler.isSample(getIteration())) {
+                sampleTimeStep(op, probe, costSampler);
+            } else {
+                long started = System.nanoTime();
+                timeStep(op, probe);
+                probe.recordValue(System.nanoTime() - started);
+            }
             increaseIteration();
         }
     }
 
+    private void sampleTimeStep(O operation, Probe probe, OperationCostSampler costSampler) throws Exception {
+        long startAllocatedBytes = costSampler.getAllocatedBytes();
+        long startCpuTimeNanos = costSampler.getCpuTimeNanos();
+        long started = System.nanoTime();
+        timeStep(operation, probe);
+        long latencyNanos = System.nanoTime() - started;
+        long endCpuTimeNanos = costSampler.getCpuTimeNanos();
+        long endAllocatedBytes = costSampler.getAllocatedBytes();
+
+        probe.recordValue(latencyNanos);
+        costSampler.record(operation, startAllocatedBytes, endAllocatedBytes, startCpuTimeNanos, endCpuTimeNanos);
+    }
+
+    OperationSelector<O> getOperationSelector() {
+        return operationSelector;
+    }
+
+    Probe[] getWorkerProbes() {
+        return workerProbes;
+    }
+
     /**
      * This method is called for each iteration of {@link #run()}.
      *
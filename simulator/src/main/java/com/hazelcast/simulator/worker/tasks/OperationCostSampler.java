@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.GaugeProbe;
+import org.apache.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.text.WordUtils.capitalizeFully;
+
+/**
+ * Samples the allocated bytes and the CPU time of single operations of a worker.
+ *
+ * Every n-th operation of a worker thread is measured with the {@link ThreadMXBean}, so the overhead of the sampling is
+ * negligible. The values are recorded per operation in two additional {@link GaugeProbe} instances, so the allocated bytes
+ * and the CPU time in nanoseconds are recorded as they are and are not mixed up with the latencies of the test.
+ *
+ * The allocated bytes are only available on JVMs which implement {@code com.sun.management.ThreadMXBean}.
+ */
+public final class OperationCostSampler {
+
+    /**
+     * Suffix of the probes with the allocated bytes per operation.
+     */
+    public static final String ALLOCATION_PROBE_SUFFIX = "AllocatedBytes" + GaugeProbe.GAUGE_PROBE_SUFFIX;
+
+    /**
+     * Suffix of the probes with the CPU time per operation.
+     */
+    public static final String CPU_TIME_PROBE_SUFFIX = "CpuNanos" + GaugeProbe.GAUGE_PROBE_SUFFIX;
+
+    static final long NOT_AVAILABLE = -1;
+
+    private static final Logger LOGGER = Logger.getLogger(OperationCostSampler.class);
+
+    private final ConcurrentMap<Enum, Probe[]> operationProbes = new ConcurrentHashMap<Enum, Probe[]>();
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+
+    private final ConcurrentMap<String, Probe> probeMap;
+    private final int samplingInterval;
+    private final boolean isCpuTimeSupported;
+
+    /**
+     * Creates an {@link OperationCostSampler}.
+     *
+     * @param probeMap         the map to register the created probes, which is shared with the performance monitor
+     * @param samplingInterval the number of operations of a worker thread between two samples
+     */
+    public OperationCostSampler(ConcurrentMap<String, Probe> probeMap, int samplingInterval) {
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException("samplingInterval has to be positive, but was " + samplingInterval);
+        }
+        this.probeMap = probeMap;
+        this.samplingInterval = samplingInterval;
+        this.isCpuTimeSupported = enableCpuTime(threadMXBean);
+        this.allocationMXBean = getAllocationMXBean(threadMXBean);
+        LOGGER.info(format("Sampling every %d operations with CPU time %s and allocated bytes %s", samplingInterval,
+                isCpuTimeSupported ? "enabled" : "not supported", allocationMXBean != null ? "enabled" : "not supported"));
+    }
+
+    public int getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    /**
+     * Checks if an operation should be sampled.
+     *
+     * @param iteration the iteration of the worker thread
+     * @return {@code true} if the operation should be sampled, {@code false} otherwise
+     */
+    public boolean isSample(long iteration) {
+        return iteration % samplingInterval == 0;
+    }
+
+    /**
+     * Returns the allocated bytes of the current thread.
+     *
+     * @return the allocated bytes or {@link #NOT_AVAILABLE}
+     */
+    public long getAllocatedBytes() {
+        if (allocationMXBean == null) {
+            return NOT_AVAILABLE;
+        }
+        return allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the CPU time of the current thread.
+     *
+     * @return the CPU time in nanoseconds or {@link #NOT_AVAILABLE}
+     */
+    public long getCpuTimeNanos() {
+        if (!isCpuTimeSupported) {
+            return NOT_AVAILABLE;
+        }
+        return threadMXBean.getCurrentThreadCpuTime();
+    }
+
+    /**
+     * Records the costs of a sampled operation.
+     *
+     * @param operation           the sampled operation
+     * @param startAllocatedBytes the allocated bytes before the operation
+     * @param endAllocatedBytes   the allocated bytes after the operation
+     * @param startCpuTimeNanos   the CPU time before the operation
+     * @param endCpuTimeNanos     the CPU time after the operation
+     */
+    public void record(Enum operation, long startAllocatedBytes, long endAllocatedBytes, long startCpuTimeNanos,
+                       long endCpuTimeNanos) {
+        Probe[] probes = getProbes(operation);
+        if (startAllocatedBytes != NOT_AVAILABLE && endAllocatedBytes != NOT_AVAILABLE) {
+            probes[0].recordValue(endAllocatedBytes - startAllocatedBytes);
+        }
+        if (startCpuTimeNanos != NOT_AVAILABLE && endCpuTimeNanos != NOT_AVAILABLE) {
+            probes[1].recordValue(endCpuTimeNanos - startCpuTimeNanos);
+        }
+    }
+
+    /**
+     * Checks if a probe has been created by an {@link OperationCostSampler}.
+     *
+     * @param probeName the name of the probe
+     * @return {@code true} if the probe contains operation costs, {@code false} otherwise
+     */
+    public static boolean isCostProbe(String probeName) {
+        return probeName.endsWith(ALLOCATION_PROBE_SUFFIX) || probeName.endsWith(CPU_TIME_PROBE_SUFFIX);
+    }
+
+    private Probe[] getProbes(Enum operation) {
+        Probe[] probes = operationProbes.get(operation);
+        if (probes != null) {
+            return probes;
+        }
+        // the probes are created lazily, since the operations of an AbstractWorker are not known in advance
+        String prefix = capitalizeFully(operation.name(), '_').replace("_", "");
+        probes = new Probe[]{
+                getOrCreateProbe(prefix + ALLOCATION_PROBE_SUFFIX),
+                getOrCreateProbe(prefix + CPU_TIME_PROBE_SUFFIX),
+        };
+        Probe[] previous = operationProbes.putIfAbsent(operation, probes);
+        return (previous == null) ? probes : previous;
+    }
+
+    private Probe getOrCreateProbe(String probeName) {
+        Probe probe = new GaugeProbe();
+        Probe previous = probeMap.putIfAbsent(probeName, probe);
+        return (previous == null) ? probe : previous;
+    }
+
+    private static boolean enableCpuTime(ThreadMXBean threadMXBean) {
+        if (!threadMXBean.isCurrentThreadCpuTimeSupported()) {
+            return false;
+        }
+        if (!threadMXBean.isThreadCpuTimeEnabled()) {
+            threadMXBean.setThreadCpuTimeEnabled(true);
+        }
+        return true;
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationMXBean(ThreadMXBean threadMXBean) {
+        try {
+            if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+                return null;
+            }
+            com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (!allocationMXBean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            if (!allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+                allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return allocationMXBean;
+        } catch (LinkageError e) {
+            LOGGER.debug("Allocated bytes per thread are not supported by this JVM", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.tasks;
+
+/**
+ * Specialized run loop of a worker, which is generated by the {@link RunLoopCodeGenerator} for a concrete worker class.
+ *
+ * Each generated subclass contains its own copy of the worker loop, so the calls to the
+ * {@link com.hazelcast.simulator.test.TestContext}, {@link com.hazelcast.simulator.worker.metronome.Metronome},
+ * {@link com.hazelcast.simulator.worker.selector.OperationSelector}, {@link com.hazelcast.simulator.probes.Probe} and the
+ * {@code timeStep()} method stay monomorphic, even if several test classes are running in the same Worker JVM.
+ *
+ * A new instance is created for each worker thread, so the collected statistics don't need any synchronization.
+ */
+public abstract class RunLoop {
+
+    /**
+     * Value of {@link #getServiceNanos()} if the run loop doesn't measure the time spent in {@code timeStep()}.
+     */
+    public static final long NOT_MEASURED = -1;
+
+    private long iterations;
+    private long runNanos;
+    private long serviceNanos = NOT_MEASURED;
+
+    /**
+     * Runs the worker loop on the given worker.
+     *
+     * @param worker the worker to run
+     * @throws Exception is allowed to throw exceptions which are automatically reported as failure
+     */
+    abstract void run(VeryAbstractWorker worker) throws Exception;
+
+    /**
+     * Is called by the generated run loop after the worker has been stopped.
+     *
+     * @param iterations   number of executed iterations
+     * @param runNanos     total time spent in the run loop
+     * @param serviceNanos total time spent in {@code timeStep()} or {@link #NOT_MEASURED}
+     */
+    final void done(long iterations, long runNanos, long serviceNanos) {
+        this.iterations = iterations;
+        this.runNanos = runNanos;
+        this.serviceNanos = serviceNanos;
+    }
+
+    /**
+     * Returns the number of executed iterations.
+     *
+     * @return the number of iterations
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the total time spent in the run loop.
+     *
+     * @return the run time in nanoseconds
+     */
+    public long getRunNanos() {
+        return runNanos;
+    }
+
+    /**
+     * Returns the total time spent in the {@code timeStep()} method.
+     *
+     * @return the service time in nanoseconds or {@link #NOT_MEASURED} if the run loop doesn't measure latencies
+     */
+    public long getServiceNanos() {
+        return serviceNanos;
+    }
+}
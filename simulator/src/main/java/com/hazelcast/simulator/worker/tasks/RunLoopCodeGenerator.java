@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.ThroughputProbe;
+import com.hazelcast.simulator.test.TestContext;
+import com.hazelcast.simulator.worker.metronome.EmptyMetronome;
+import com.hazelcast.simulator.worker.metronome.Metronome;
+import com.hazelcast.simulator.worker.selector.OperationSelector;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static com.hazelcast.simulator.utils.compiler.InMemoryJavaCompiler.compile;
+import static java.lang.String.format;
+
+/**
+ * Generates a specialized {@link RunLoop} per worker class.
+ *
+ * The generated code uses the concrete types of the injected {@link TestContext} and {@link Probe} (if they are public),
+ * omits the {@link Metronome} call for an {@link EmptyMetronome} and skips the latency measurement for a
+ * {@link ThroughputProbe}. The generated classes are cached by the worker class and the types of the injected objects.
+ *
+ * Supports {@link AbstractWorker}, {@link AbstractMonotonicWorker} and {@link AbstractWorkerWithMultipleProbes}.
+ */
+public final class RunLoopCodeGenerator {
+
+    private static final String PACKAGE_NAME = RunLoop.class.getPackage().getName();
+    private static final String CLASS_NAME_PREFIX = "GeneratedRunLoop";
+
+    private static final ConcurrentMap<String, Class<? extends RunLoop>> RUN_LOOP_CLASSES
+            = new ConcurrentHashMap<String, Class<? extends RunLoop>>();
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+
+    private static final Logger LOGGER = Logger.getLogger(RunLoopCodeGenerator.class);
+
+    private RunLoopCodeGenerator() {
+    }
+
+    /**
+     * Checks if a {@link RunLoop} can be generated for the given worker.
+     *
+     * @param worker the worker to check
+     * @return {@code true} if the worker type is supported, {@code false} otherwise
+     */
+    public static boolean isSupported(IWorker worker) {
+        return worker instanceof AbstractWorker
+                || worker instanceof AbstractMonotonicWorker
+                || worker instanceof AbstractWorkerWithMultipleProbes;
+    }
+
+    /**
+     * Generates (or reuses) a {@link RunLoop} class for the given worker and installs a new instance on the worker.
+     *
+     * All dependencies have to be injected into the worker before this method is called.
+     *
+     * @param worker the worker to install the {@link RunLoop} on
+     * @return the installed {@link RunLoop} instance
+     * @throws Exception if the {@link RunLoop} could not be generated
+     */
+    public static RunLoop install(IWorker worker) throws Exception {
+        if (!isSupported(worker)) {
+            throw new IllegalArgumentException("Unsupported worker type: " + worker.getClass().getName());
+        }
+        VeryAbstractWorker veryAbstractWorker = (VeryAbstractWorker) worker;
+
+        String key = createKey(veryAbstractWorker);
+        Class<? extends RunLoop> runLoopClass = RUN_LOOP_CLASSES.get(key);
+        if (runLoopClass == null) {
+            runLoopClass = generate(key, veryAbstractWorker);
+        }
+
+        RunLoop runLoop = runLoopClass.newInstance();
+        veryAbstractWorker.setRunLoop(runLoop);
+        return runLoop;
+    }
+
+    private static synchronized Class<? extends RunLoop> generate(String key, VeryAbstractWorker worker) throws Exception {
+        Class<? extends RunLoop> runLoopClass = RUN_LOOP_CLASSES.get(key);
+        if (runLoopClass != null) {
+            return runLoopClass;
+        }
+
+        String className = format("%s.%s_%s_%d", PACKAGE_NAME, CLASS_NAME_PREFIX,
+                worker.getClass().getSimpleName(), CLASS_COUNTER.incrementAndGet());
+        String source = createSource(className, worker);
+        LOGGER.debug(format("Compiling %s for %s%n%s", className, worker.getClass().getName(), source));
+
+        runLoopClass = compile(RunLoop.class, className, source).asSubclass(RunLoop.class);
+        RUN_LOOP_CLASSES.put(key, runLoopClass);
+        return runLoopClass;
+    }
+
+    static String createKey(VeryAbstractWorker worker) {
+        return worker.getClass().getName()
+                + '|' + worker.getTestContext().getClass().getName()
+                + '|' + worker.getWorkerMetronome().getClass().getName()
+                + '|' + getProbeClass(worker).getName();
+    }
+
+    static String createSource(String className, VeryAbstractWorker worker) {
+        boolean measureLatency = !isThroughputOnly(worker);
+
+        StringBuilder sb = new StringBuilder();
+        line(sb, 0, "package %s;", PACKAGE_NAME);
+        line(sb, 0, "");
+        line(sb, 0, "public final class %s extends RunLoop {", className.substring(PACKAGE_NAME.length() + 1));
+        line(sb, 0, "");
+        line(sb, 1, "@Override");
+        line(sb, 1, "@SuppressWarnings(\"unchecked\")");
+        line(sb, 1, "void run(VeryAbstractWorker veryAbstractWorker) throws Exception {");
+        appendLocalVariables(sb, worker);
+        line(sb, 2, "long iterations = 0;");
+        line(sb, 2, "long serviceNanos = %s;", measureLatency ? "0" : "NOT_MEASURED");
+        line(sb, 2, "long runStarted = System.nanoTime();");
+        line(sb, 2, "while (!testContext.isStopped() && !worker.isWorkerStopped()) {");
+        appendLoopBody(sb, worker, measureLatency);
+        line(sb, 3, "worker.increaseIteration();");
+        line(sb, 3, "iterations++;");
+        line(sb, 2, "}");
+        line(sb, 2, "done(iterations, System.nanoTime() - runStarted, serviceNanos);");
+        line(sb, 1, "}");
+        line(sb, 0, "}");
+        return sb.toString();
+    }
+
+    private static void appendLocalVariables(StringBuilder sb, VeryAbstractWorker worker) {
+        String workerType = getWorkerType(worker).getSimpleName();
+        String testContextType = getTypeName(worker.getTestContext().getClass(), TestContext.class);
+        String probeType = getTypeName(getProbeClass(worker), Probe.class);
+
+        line(sb, 2, "final %s worker = (%s) veryAbstractWorker;", workerType, workerType);
+        line(sb, 2, "final %s testContext = (%s) worker.getTestContext();", testContextType, testContextType);
+        if (!hasEmptyMetronome(worker)) {
+            String metronomeType = getTypeName(worker.getWorkerMetronome().getClass(), Metronome.class);
+            line(sb, 2, "final %s metronome = (%s) worker.getWorkerMetronome();", metronomeType, metronomeType);
+        }
+        if (!(worker instanceof AbstractMonotonicWorker)) {
+            line(sb, 2, "final %s selector = worker.getOperationSelector();", OperationSelector.class.getName());
+        }
+        if (worker instanceof AbstractWorkerWithMultipleProbes) {
+            line(sb, 2, "final %s[] workerProbes = worker.getWorkerProbes();", Probe.class.getName());
+            line(sb, 2, "final %s[] probes = new %s[workerProbes.length];", probeType, probeType);
+            line(sb, 2, "for (int i = 0; i < workerProbes.length; i++) {");
+            line(sb, 3, "probes[i] = (%s) workerProbes[i];", probeType);
+            line(sb, 2, "}");
+        } else {
+            line(sb, 2, "final %s probe = (%s) worker.getWorkerProbe();", probeType, probeType);
+        }
+    }
+
+    private static void appendLoopBody(StringBuilder sb, VeryAbstractWorker worker, boolean measureLatency) {
+        if (!hasEmptyMetronome(worker)) {
+            line(sb, 3, "metronome.waitForNext();");
+        }
+        String timeStepCall = "worker.timeStep(operation);";
+        if (worker instanceof AbstractMonotonicWorker) {
+            timeStepCall = "worker.timeStep();";
+        } else {
+            line(sb, 3, "Enum operation = selector.select();");
+        }
+        if (worker instanceof AbstractWorkerWithMultipleProbes) {
+            line(sb, 3, "%s probe = probes[operation.ordinal()];", getTypeName(getProbeClass(worker), Probe.class));
+            timeStepCall = "worker.timeStep(operation, probe);";
+        }
+
+        if (measureLatency) {
+            line(sb, 3, "long started = System.nanoTime();");
+            line(sb, 3, timeStepCall);
+            line(sb, 3, "long latencyNanos = System.nanoTime() - started;");
+            line(sb, 3, "probe.recordValue(latencyNanos);");
+            line(sb, 3, "serviceNanos += latencyNanos;");
+        } else {
+            line(sb, 3, timeStepCall);
+            line(sb, 3, "probe.recordValue(0);");
+        }
+    }
+
+    private static Class<?> getWorkerType(VeryAbstractWorker worker) {
+        if (worker instanceof AbstractWorker) {
+            return AbstractWorker.class;
+        }
+        if (worker instanceof AbstractMonotonicWorker) {
+            return AbstractMonotonicWorker.class;
+        }
+        return AbstractWorkerWithMultipleProbes.class;
+    }
+
+    private static boolean isThroughputOnly(VeryAbstractWorker worker) {
+        return hasEmptyMetronome(worker) && getProbeClass(worker) == ThroughputProbe.class;
+    }
+
+    private static boolean hasEmptyMetronome(VeryAbstractWorker worker) {
+        return worker.getWorkerMetronome().getClass() == EmptyMetronome.class;
+    }
+
+    private static Class<?> getProbeClass(VeryAbstractWorker worker) {
+        if (worker instanceof AbstractWorker) {
+            return ((AbstractWorker) worker).getWorkerProbe().getClass();
+        }
+        if (worker instanceof AbstractMonotonicWorker) {
+            return ((AbstractMonotonicWorker) worker).getWorkerProbe().getClass();
+        }
+
+        // the probes of a multiple probes worker are all created by the TestContainer with the same type
+        Class<?> probeClass = null;
+        for (Probe probe : ((AbstractWorkerWithMultipleProbes) worker).getWorkerProbes()) {
+            if (probe == null) {
+                continue;
+            }
+            if (probeClass != null && probeClass != probe.getClass()) {
+                return Probe.class;
+            }
+            probeClass = probe.getClass();
+        }
+        return (probeClass == null ? Probe.class : probeClass);
+    }
+
+    /**
+     * Returns the name of the concrete type, if it can be referenced by the generated code, otherwise the name of the fallback.
+     */
+    private static String getTypeName(Class<?> type, Class<?> fallbackType) {
+        Class<?> classType = type;
+        while (classType != null) {
+            if (!Modifier.isPublic(classType.getModifiers()) || classType.isAnonymousClass() || classType.isLocalClass()) {
+                return fallbackType.getName();
+            }
+            classType = classType.getEnclosingClass();
+        }
+        return type.getCanonicalName();
+    }
+
+    private static void line(StringBuilder sb, int indent, String pattern, Object... args) {
+        for (int i = 0; i < indent; i++) {
+            sb.append("    ");
+        }
+        sb.append(args.length == 0 ? pattern : format(pattern, args)).append(NEW_LINE);
+    }
+}
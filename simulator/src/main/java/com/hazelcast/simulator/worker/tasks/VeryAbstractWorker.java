@@ -17,6 +17,7 @@ package com.hazelcast.simulator.worker.tasks;
 
 import com.hazelcast.simulator.test.TestContext;
 import com.hazelcast.simulator.test.annotations.InjectMetronome;
+import com.hazelcast.simulator.test.annotations.InjectOperationCostSampler;
 import com.hazelcast.simulator.test.annotations.InjectTestContext;
 import com.hazelcast.simulator.worker.metronome.Metronome;
 
@@ -30,10 +31,14 @@ abstract class VeryAbstractWorker implements IWorker {
     private TestContext testContext;
     @InjectMetronome
     private Metronome workerMetronome;
+    @InjectOperationCostSampler
+    private OperationCostSampler operationCostSampler;
 
     private boolean isWorkerStopped;
     private long iteration;
 
+    private RunLoop runLoop;
+
     VeryAbstractWorker() {
     }
 
@@ -67,6 +72,15 @@ abstract class VeryAbstractWorker implements IWorker {
         return workerMetronome;
     }
 
+    /**
+     * Returns the {@link OperationCostSampler} of this worker.
+     *
+     * @return the {@link OperationCostSampler} or {@code null} if the operation costs are not sampled
+     */
+    final OperationCostSampler getOperationCostSampler() {
+        return operationCostSampler;
+    }
+
     /**
      * Checks if the local worker is stopped, regardless of the {@link TestContext} stopped status.
      *
@@ -148,4 +162,30 @@ abstract class VeryAbstractWorker implements IWorker {
     protected final void increaseIteration() {
         iteration++;
     }
+
+    /**
+     * Sets a generated {@link RunLoop} which is used instead of the generic worker loop.
+     *
+     * @param runLoop the {@link RunLoop} to use
+     */
+    final void setRunLoop(RunLoop runLoop) {
+        this.runLoop = runLoop;
+    }
+
+    /**
+     * Runs the generated {@link RunLoop} if one has been set.
+     *
+     * The generated {@link RunLoop} doesn't sample the operation costs, so it's skipped if an {@link OperationCostSampler} is
+     * set.
+     *
+     * @return {@code true} if the generated {@link RunLoop} was executed, {@code false} otherwise
+     * @throws Exception is allowed to throw exceptions which are automatically reported as failure
+     */
+    final boolean runGeneratedLoop() throws Exception {
+        if (runLoop == null || operationCostSampler != null) {
+            return false;
+        }
+        runLoop.run(this);
+        return true;
+    }
 }
@@ -0,0 +1,97 @@
+package com.hazelcast.simulator.agent;
+
+import com.hazelcast.simulator.protocol.connector.AgentConnector;
+import com.hazelcast.simulator.protocol.operation.HostMetricsOperation;
+import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HostMetricsMonitorTest {
+
+    private File directory;
+    private File procDir;
+    private File testSuiteDir;
+
+    private AgentConnector agentConnector;
+    private HostMetricsMonitor hostMetricsMonitor;
+
+    @Before
+    public void setUp() {
+        directory = ensureExistingDirectory("host-metrics-monitor-test");
+        procDir = ensureExistingDirectory(directory, "proc");
+        testSuiteDir = new File(directory, "testSuite");
+
+        agentConnector = mock(AgentConnector.class);
+
+        Agent agent = mock(Agent.class);
+        when(agent.getAddressIndex()).thenReturn(1);
+        when(agent.getAgentConnector()).thenReturn(agentConnector);
+        when(agent.getTestSuiteDir()).thenReturn(testSuiteDir);
+
+        HostMetricsSampler sampler = new HostMetricsSampler(procDir, new File(directory, "sys"));
+        hostMetricsMonitor = new HostMetricsMonitor(agent, sampler);
+    }
+
+    @After
+    public void tearDown() {
+        hostMetricsMonitor.shutdown();
+        deleteQuiet(directory);
+    }
+
+    @Test
+    public void testSample() {
+        writeText("cpu  100 0 50 800 10 0 0 40 0 0\n", new File(procDir, "stat"));
+        hostMetricsMonitor.sample();
+
+        verify(agentConnector, never()).write(eq(COORDINATOR), any(SimulatorOperation.class));
+
+        writeText("cpu  200 0 100 1450 20 0 0 130 0 0\n", new File(procDir, "stat"));
+        hostMetricsMonitor.sample();
+
+        verify(agentConnector, times(1)).write(eq(COORDINATOR), any(HostMetricsOperation.class));
+
+        String[] lines = fileAsText(new File(testSuiteDir, "host-metrics-A1.csv")).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].endsWith(",steal 10%"));
+    }
+
+    @Test
+    public void testStart_noInterval() {
+        hostMetricsMonitor.start(-1);
+        hostMetricsMonitor.shutdown();
+    }
+
+    @Test
+    public void testStart_notAvailable() {
+        hostMetricsMonitor.start(1);
+        hostMetricsMonitor.shutdown();
+    }
+
+    @Test
+    public void testStartAndShutdown() {
+        writeText("cpu  100 0 50 800 10 0 0 40 0 0\n", new File(procDir, "stat"));
+
+        hostMetricsMonitor.start(1);
+        hostMetricsMonitor.start(1);
+        hostMetricsMonitor.shutdown();
+        hostMetricsMonitor.shutdown();
+    }
+}
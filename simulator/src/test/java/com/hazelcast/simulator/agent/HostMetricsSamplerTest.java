@@ -0,0 +1,155 @@
+package com.hazelcast.simulator.agent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HostMetricsSamplerTest {
+
+    private static final double DELTA = 0.0001;
+
+    private static final String NET_DEV_HEADER = "Inter-|   Receive                            |  Transmit\n"
+            + " face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier\n";
+
+    private File directory;
+    private File procDir;
+    private File sysDir;
+
+    private HostMetricsSampler sampler;
+
+    @Before
+    public void setUp() {
+        directory = ensureExistingDirectory("host-metrics-sampler-test");
+        procDir = ensureExistingDirectory(directory, "proc");
+        sysDir = ensureExistingDirectory(directory, "sys");
+
+        ensureExistingDirectory(procDir, "net");
+        ensureExistingDirectory(sysDir, "block/sda");
+        ensureExistingDirectory(sysDir, "block/loop0");
+        writeText("1000\n", new File(ensureExistingDirectory(sysDir, "class/net/eth0"), "speed"));
+        ensureExistingDirectory(sysDir, "class/net/docker0");
+        writeText("-1\n", new File(sysDir, "class/net/docker0/speed"));
+
+        sampler = new HostMetricsSampler(procDir, sysDir);
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(directory);
+    }
+
+    @Test
+    public void testIsAvailable() {
+        writeProcFiles(0, 0, 0, 0);
+
+        assertTrue(sampler.isAvailable());
+        assertFalse(new HostMetricsSampler(new File(directory, "notFound"), sysDir).isAvailable());
+    }
+
+    @Test
+    public void testSample() {
+        writeProcFiles(0, 0, 0, 0);
+        assertNull(sampler.sample(SECONDS.toNanos(1)));
+
+        // 100 Mbit received on a 1 Gbit link, 1 MB read, 2 MB written and 250 ms busy disk in one second
+        writeProcFiles(100, 12500000, 2048, 250);
+        HostMetrics metrics = sampler.sample(SECONDS.toNanos(2));
+
+        assertEquals(12.5, metrics.getCpuUser(), DELTA);
+        assertEquals(6.25, metrics.getCpuSystem(), DELTA);
+        assertEquals(1.25, metrics.getCpuIoWait(), DELTA);
+        assertEquals(5, metrics.getCpuSteal(), DELTA);
+        assertEquals(75, metrics.getCpuIdle(), DELTA);
+        assertEquals(1.5, metrics.getLoadAverage(), DELTA);
+        assertEquals(3, metrics.getRunQueue());
+        assertEquals(12500000 + 1000, metrics.getNetworkReceivedBytesPerSecond(), DELTA);
+        assertEquals(6250000, metrics.getNetworkSentBytesPerSecond(), DELTA);
+        assertEquals(10, metrics.getNetworkUtilization(), DELTA);
+        assertEquals(2048 * 512, metrics.getDiskReadBytesPerSecond(), DELTA);
+        assertEquals(4096 * 512, metrics.getDiskWrittenBytesPerSecond(), DELTA);
+        assertEquals(25, metrics.getDiskUtilization(), DELTA);
+        assertTrue(metrics.getWarnings().isEmpty());
+    }
+
+    @Test
+    public void testSample_withMissingFiles() {
+        writeText("cpu  100 0 50 800 10 0 0 40 0 0\n", new File(procDir, "stat"));
+        sampler.sample(SECONDS.toNanos(1));
+
+        writeText("cpu  200 0 100 1400 20 0 0 80 0 0\n", new File(procDir, "stat"));
+        HostMetrics metrics = sampler.sample(SECONDS.toNanos(2));
+
+        assertEquals(5, metrics.getCpuSteal(), DELTA);
+        assertEquals(-1, metrics.getLoadAverage(), DELTA);
+        assertEquals(-1, metrics.getRunQueue());
+        assertEquals(-1, metrics.getNetworkUtilization(), DELTA);
+        assertEquals(-1, metrics.getDiskUtilization(), DELTA);
+    }
+
+    @Test
+    public void testGetCpuPercentages_noDelta() {
+        long[] ticks = {100, 0, 50, 800, 10, 0, 0, 40};
+
+        assertArrayEquals(new double[8], HostMetricsSampler.getCpuPercentages(ticks, ticks), DELTA);
+    }
+
+    @Test
+    public void testParseCpuTicks_olderKernel() {
+        long[] ticks = HostMetricsSampler.parseCpuTicks("cpu  100 5 50 800\ncpu0 100 5 50 800\n");
+
+        assertArrayEquals(new long[]{100, 5, 50, 800, 0, 0, 0, 0}, ticks);
+    }
+
+    @Test
+    public void testParseNetworkBytes() {
+        Map<String, long[]> networkBytes = HostMetricsSampler.parseNetworkBytes(NET_DEV_HEADER
+                + "    lo: 5000 10 0 0 0 0 0 0 5000 10 0 0 0 0 0 0\n"
+                + "  eth0:1000 10 0 0 0 0 0 0 2000 10 0 0 0 0 0 0\n");
+
+        assertEquals(1, networkBytes.size());
+        assertArrayEquals(new long[]{1000, 2000}, networkBytes.get("eth0"));
+    }
+
+    @Test
+    public void testParseDiskStats() {
+        Map<String, long[]> diskStats = HostMetricsSampler.parseDiskStats(
+                "   8       0 sda 100 0 1000 0 50 0 2000 0 0 300 0\n"
+                        + "   8       1 sda1 100 0 1000 0 50 0 2000 0 0 300 0\n"
+                        + "   invalid\n");
+
+        assertEquals(2, diskStats.size());
+        assertArrayEquals(new long[]{1000, 2000, 300}, diskStats.get("sda"));
+    }
+
+    private void writeProcFiles(int cpuFactor, long receivedBytes, long sectors, long ioTicks) {
+        writeText(String.format("cpu  %d 0 %d %d %d 0 0 %d 0 0%ncpu0 1 2 3 4 5 6 7 8 0 0%n",
+                100 + cpuFactor, 50 + cpuFactor / 2, 800 + cpuFactor * 6, 10 + cpuFactor / 10, 40 + cpuFactor * 2 / 5),
+                new File(procDir, "stat"));
+        writeText("1.50 1.20 1.00 3/456 7890\n", new File(procDir, "loadavg"));
+        writeText(NET_DEV_HEADER
+                        + "    lo: 5000 10 0 0 0 0 0 0 5000 10 0 0 0 0 0 0\n"
+                        + String.format("  eth0: %d 10 0 0 0 0 0 0 %d 10 0 0 0 0 0 0%n", 1000 + receivedBytes,
+                        2000 + receivedBytes / 2)
+                        + String.format("docker0: %d 10 0 0 0 0 0 0 0 10 0 0 0 0 0 0%n", receivedBytes > 0 ? 1000 : 0),
+                new File(procDir, "net/dev"));
+        writeText(String.format("   8       0 sda 100 0 %d 0 50 0 %d 0 0 %d 0%n", 1000 + sectors, 2000 + sectors * 2,
+                300 + ioTicks)
+                        + String.format("   8       1 sda1 100 0 %d 0 50 0 %d 0 0 %d 0%n", 1000 + sectors, 2000 + sectors * 2,
+                300 + ioTicks)
+                        + String.format("   7       0 loop0 100 0 %d 0 50 0 0 0 0 %d 0%n", sectors * 10, ioTicks * 4),
+                new File(procDir, "diskstats"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.hazelcast.simulator.agent.workerjvm;
+
+import com.hazelcast.simulator.common.SimulatorProperties;
+import com.hazelcast.simulator.coordinator.WorkerParameters;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.worker.WorkerType.CLIENT;
+import static com.hazelcast.simulator.worker.WorkerType.MEMBER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WorkerJvmSettingsTest {
+
+    @Test
+    public void testIsReusableFor() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+        WorkerJvmSettings otherSettings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+
+        assertTrue(settings.isReusableFor(otherSettings));
+    }
+
+    @Test
+    public void testIsReusableFor_withDifferentStartupTimeout() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+        WorkerJvmSettings otherSettings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(60, "-Xmx1g"));
+
+        assertTrue(settings.isReusableFor(otherSettings));
+    }
+
+    @Test
+    public void testIsReusableFor_withDifferentJvmOptions() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+        WorkerJvmSettings otherSettings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx2g"));
+
+        assertFalse(settings.isReusableFor(otherSettings));
+    }
+
+    @Test
+    public void testIsReusableFor_withDifferentWorkerType() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+        WorkerJvmSettings otherSettings = new WorkerJvmSettings(1, CLIENT, createWorkerParameters(10, "-Xmx1g"));
+
+        assertFalse(settings.isReusableFor(otherSettings));
+    }
+
+    @Test
+    public void testIsReusableFor_withNull() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+
+        assertFalse(settings.isReusableFor(null));
+    }
+
+    @Test
+    public void testIsReusableFor_withWorkerJvm() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+        WorkerJvm workerJvm = createWorkerJvm(settings, "testSuite");
+
+        assertTrue(settings.isReusableFor(workerJvm, "testSuite"));
+    }
+
+    @Test
+    public void testIsReusableFor_withWorkerJvm_withDifferentTestSuite() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+        WorkerJvm workerJvm = createWorkerJvm(settings, "testSuite");
+
+        assertFalse(settings.isReusableFor(workerJvm, "otherTestSuite"));
+    }
+
+    @Test
+    public void testIsReusableFor_withWorkerJvm_withDifferentSettings() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+        WorkerJvmSettings otherSettings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx2g"));
+        WorkerJvm workerJvm = createWorkerJvm(otherSettings, "testSuite");
+
+        assertFalse(settings.isReusableFor(workerJvm, "testSuite"));
+    }
+
+    @Test
+    public void testCopy() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+
+        WorkerJvmSettings copy = settings.copy(5, "maven=3.7.1");
+
+        assertEquals(5, copy.getWorkerIndex());
+        assertEquals(MEMBER, copy.getWorkerType());
+        assertEquals("maven=3.7.1", copy.getHazelcastVersionSpec());
+        assertEquals("-Xmx1g", copy.getJvmOptions());
+        assertEquals(settings.getHazelcastConfig(), copy.getHazelcastConfig());
+        assertEquals(settings.getWorkerStartupTimeout(), copy.getWorkerStartupTimeout());
+    }
+
+    @Test
+    public void testCopy_keepVersionSpec() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, createWorkerParameters(10, "-Xmx1g"));
+
+        WorkerJvmSettings copy = settings.copy(1, null);
+
+        assertEquals("outofthebox", copy.getHazelcastVersionSpec());
+        assertTrue(copy.isReusableFor(settings));
+    }
+
+    @Test
+    public void testIsReusableFor_withDifferentCpuAffinity() {
+        WorkerParameters workerParameters = createWorkerParameters(10, "-Xmx1g");
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, MEMBER, workerParameters, "outofthebox", "-Xmx1g", "config",
+                "0-3", "0", null);
+        WorkerJvmSettings otherSettings = new WorkerJvmSettings(1, MEMBER, workerParameters, "outofthebox", "-Xmx1g", "config",
+                "4-7", "0", null);
+
+        assertFalse(settings.isReusableFor(otherSettings));
+    }
+
+    @Test
+    public void testCopy_keepCpuAffinity() {
+        WorkerJvmSettings settings = new WorkerJvmSettings(1, CLIENT, createWorkerParameters(10, "-Xmx1g"), "outofthebox",
+                "-Xmx1g", "config", "8-15", "1", "10-15");
+
+        WorkerJvmSettings copy = settings.copy(5, null);
+
+        assertEquals("8-15", copy.getCpuSet());
+        assertEquals("1", copy.getNumaNode());
+        assertEquals("10-15", copy.getLoadThreadCpuSet());
+    }
+
+    private static WorkerJvm createWorkerJvm(WorkerJvmSettings settings, String testSuiteId) {
+        WorkerJvm workerJvm = new WorkerJvm(null, "worker", null, testSuiteId);
+        workerJvm.setSettings(settings);
+        return workerJvm;
+    }
+
+    private static WorkerParameters createWorkerParameters(int workerStartupTimeout, String jvmOptions) {
+        SimulatorProperties properties = mock(SimulatorProperties.class);
+        when(properties.getHazelcastVersionSpec()).thenReturn("outofthebox");
+
+        return new WorkerParameters(properties, true, workerStartupTimeout, jvmOptions, jvmOptions, "<hazelcast/>",
+                "<hazelcast-client/>", "", "", false);
+    }
+}
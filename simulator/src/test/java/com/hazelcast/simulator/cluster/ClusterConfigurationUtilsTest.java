@@ -4,6 +4,7 @@ import com.hazelcast.simulator.common.SimulatorProperties;
 import com.hazelcast.simulator.coordinator.ClusterLayoutParameters;
 import com.hazelcast.simulator.coordinator.WorkerParameters;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
+import com.thoughtworks.xstream.converters.ConversionException;
 import org.apache.log4j.Logger;
 import org.junit.Before;
 import org.junit.Test;
@@ -18,6 +19,7 @@ import static com.hazelcast.simulator.worker.WorkerType.MEMBER;
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -134,6 +136,46 @@ public class ClusterConfigurationUtilsTest {
         assertEquals("jvmOptions", withJvmOptions.getJvmOptions());
     }
 
+    @Test
+    public void testFromXml_withCpuAffinity() {
+        String xml = format("<clusterConfiguration>%n"
+                + "  <workerConfiguration name=\"member\" type=\"MEMBER\" numaNode=\"0\"/>%n"
+                + "  <workerConfiguration name=\"client\" type=\"MEMBER\" cpuSet=\"8-15\" loadThreadCpuSet=\"10-15\"/>%n"
+                + "  <nodeConfiguration>%n"
+                + "    <workerGroup configuration=\"member\" count=\"1\"/>%n"
+                + "  </nodeConfiguration>%n"
+                + "</clusterConfiguration>");
+
+        when(clusterLayoutParameters.getClusterConfiguration()).thenReturn(xml);
+
+        ClusterConfiguration clusterConfiguration = fromXml(clusterLayoutParameters);
+
+        WorkerConfiguration member = clusterConfiguration.getWorkerConfiguration("member");
+        assertEquals("0", member.getNumaNode());
+        assertNull(member.getCpuSet());
+        assertNull(member.getLoadThreadCpuSet());
+
+        WorkerConfiguration client = clusterConfiguration.getWorkerConfiguration("client");
+        assertNull(client.getNumaNode());
+        assertEquals("8-15", client.getCpuSet());
+        assertEquals("10-15", client.getLoadThreadCpuSet());
+
+        String marshalled = toXml(clusterLayoutParameters, clusterConfiguration);
+        assertTrue(marshalled.contains("numaNode=\"0\""));
+        assertTrue(marshalled.contains("loadThreadCpuSet=\"10-15\""));
+    }
+
+    @Test(expected = ConversionException.class)
+    public void testFromXml_withInvalidCpuSet() {
+        String xml = format("<clusterConfiguration>%n"
+                + "  <workerConfiguration name=\"member\" type=\"MEMBER\" cpuSet=\"all\"/>%n"
+                + "</clusterConfiguration>");
+
+        when(clusterLayoutParameters.getClusterConfiguration()).thenReturn(xml);
+
+        fromXml(clusterLayoutParameters);
+    }
+
     private static void assertClusterConfiguration(ClusterConfiguration expectedClusterConfiguration,
                                                    ClusterConfiguration actualClusterConfiguration) {
         assertEquals(expectedClusterConfiguration.size(), actualClusterConfiguration.size());
@@ -37,6 +37,33 @@ public class ClusterLayoutTest {
         testGetVersionSpecs(agents, 1, 0);
     }
 
+    @Test
+    public void testCopy() {
+        WorkerParameters workerParameters = mock(WorkerParameters.class);
+        when(workerParameters.getHazelcastVersionSpec()).thenReturn(HazelcastJARs.OUT_OF_THE_BOX);
+        ClusterLayout clusterLayout = ClusterLayout.createSingleInstanceClusterLayout("127.0.0.1", workerParameters);
+
+        ClusterLayout copy = clusterLayout.copy(2, "maven=3.7.1");
+
+        assertEquals(singleton("maven=3.7.1"), copy.getVersionSpecs());
+        assertEquals(1, copy.getMemberWorkerCount());
+        assertEquals(0, copy.getClientWorkerCount());
+        assertEquals(3, copy.getAgentWorkerLayouts().get(0).getWorkerJvmSettings().get(0).getWorkerIndex());
+        assertEquals(1, clusterLayout.getAgentWorkerLayouts().get(0).getWorkerJvmSettings().get(0).getWorkerIndex());
+    }
+
+    @Test
+    public void testCopy_keepVersionSpecs() {
+        WorkerParameters workerParameters = mock(WorkerParameters.class);
+        when(workerParameters.getHazelcastVersionSpec()).thenReturn(HazelcastJARs.OUT_OF_THE_BOX);
+        ClusterLayout clusterLayout = ClusterLayout.createSingleInstanceClusterLayout("127.0.0.1", workerParameters);
+
+        ClusterLayout copy = clusterLayout.copy(1, null);
+
+        assertEquals(singleton(HazelcastJARs.OUT_OF_THE_BOX), copy.getVersionSpecs());
+        assertEquals(2, copy.getAgentWorkerLayouts().get(0).getWorkerJvmSettings().get(0).getWorkerIndex());
+    }
+
     private void testGetVersionSpecs(List<AgentData> agents, int memberCount, int clientCount) {
         ComponentRegistry componentRegistry = mock(ComponentRegistry.class);
         when(componentRegistry.getAgents()).thenReturn(agents);
@@ -205,6 +205,60 @@ public class CoordinatorCliTest {
         assertEquals("*.jar", coordinator.getCoordinatorParameters().getWorkerClassPath());
     }
 
+    @Test
+    public void testInit_reuseWorkers() {
+        args.add("--reuseWorkers");
+
+        Coordinator coordinator = createCoordinator();
+
+        assertTrue(coordinator.getCoordinatorParameters().isReuseWorkers());
+    }
+
+    @Test
+    public void testInit_reuseWorkers_withWorkerClassPath() {
+        args.add("--reuseWorkers");
+        args.add("--workerClassPath");
+        args.add("*.jar");
+
+        Coordinator coordinator = createCoordinator();
+
+        assertFalse(coordinator.getCoordinatorParameters().isReuseWorkers());
+    }
+
+    @Test
+    public void testInit_compareVersionSpec() {
+        args.add("--compareVersionSpec");
+        args.add("maven=3.7.1");
+        args.add("--compareRounds");
+        args.add("5");
+
+        Coordinator coordinator = createCoordinator();
+
+        VersionComparison versionComparison = coordinator.getCoordinatorParameters().getVersionComparison();
+        assertEquals("maven=3.7.1", versionComparison.getVersionSpecB());
+        assertEquals(5, versionComparison.getRounds());
+    }
+
+    @Test(expected = CommandLineExitException.class)
+    public void testInit_compareVersionSpec_invalidRounds() {
+        args.add("--compareVersionSpec");
+        args.add("maven=3.7.1");
+        args.add("--compareRounds");
+        args.add("0");
+
+        createCoordinator();
+    }
+
+    @Test(expected = CommandLineExitException.class)
+    public void testInit_compareVersionSpec_withWorkerRefresh() {
+        args.add("--compareVersionSpec");
+        args.add("maven=3.7.1");
+        args.add("--workerRefresh");
+        args.add("true");
+
+        createCoordinator();
+    }
+
     @Test
     public void testInit_dedicatedMemberMachines() {
         args.add("--dedicatedMemberMachines");
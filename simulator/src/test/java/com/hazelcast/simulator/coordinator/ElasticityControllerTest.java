@@ -0,0 +1,53 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.test.TestCase;
+import com.hazelcast.simulator.test.TestSuite;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.coordinator.ElasticityController.isLastTestOnCluster;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ElasticityControllerTest {
+
+    private final CoordinatorParameters coordinatorParameters = mock(CoordinatorParameters.class);
+    private final TestSuite testSuite = new TestSuite("ElasticityControllerTest");
+
+    @Before
+    public void setUp() {
+        testSuite.addTest(new TestCase("MapTest"));
+        testSuite.addTest(new TestCase("QueueTest"));
+    }
+
+    @Test
+    public void testIsLastTestOnCluster() {
+        assertFalse(isLastTestOnCluster(coordinatorParameters, testSuite, "MapTest"));
+        assertTrue(isLastTestOnCluster(coordinatorParameters, testSuite, "QueueTest"));
+    }
+
+    @Test
+    public void testIsLastTestOnCluster_withParallelTests() {
+        when(coordinatorParameters.isParallel()).thenReturn(true);
+
+        assertFalse(isLastTestOnCluster(coordinatorParameters, testSuite, "QueueTest"));
+    }
+
+    @Test
+    public void testIsLastTestOnCluster_withParallelSingleTest() {
+        when(coordinatorParameters.isParallel()).thenReturn(true);
+        TestSuite singleTestSuite = new TestSuite("ElasticityControllerTest");
+        singleTestSuite.addTest(new TestCase("MapTest"));
+
+        assertTrue(isLastTestOnCluster(coordinatorParameters, singleTestSuite, "MapTest"));
+    }
+
+    @Test
+    public void testIsLastTestOnCluster_withReusedWorkers() {
+        when(coordinatorParameters.isReuseWorkers()).thenReturn(true);
+
+        assertFalse(isLastTestOnCluster(coordinatorParameters, testSuite, "QueueTest"));
+    }
+}
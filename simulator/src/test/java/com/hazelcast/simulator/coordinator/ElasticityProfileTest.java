@@ -0,0 +1,68 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.coordinator.ElasticityProfile.Action;
+import com.hazelcast.simulator.coordinator.ElasticityProfile.Event;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ElasticityProfileTest {
+
+    @Test
+    public void testParse() {
+        ElasticityProfile profile = ElasticityProfile.parse(" add(30) ;; KILL(150, 2); shutdown ( 90 ) ");
+
+        List<Event> events = profile.getEvents();
+        assertEquals(3, events.size());
+
+        assertEquals(Action.ADD, events.get(0).getAction());
+        assertEquals(30000, events.get(0).getDelayMillis());
+        assertEquals(0, events.get(0).getAgentIndex());
+
+        assertEquals(Action.SHUTDOWN, events.get(1).getAction());
+        assertEquals(90000, events.get(1).getDelayMillis());
+
+        assertEquals(Action.KILL, events.get(2).getAction());
+        assertEquals(150000, events.get(2).getDelayMillis());
+        assertEquals(2, events.get(2).getAgentIndex());
+    }
+
+    @Test
+    public void testToString() {
+        ElasticityProfile profile = ElasticityProfile.parse("kill(150,2);add(30)");
+
+        assertEquals("add(30); kill(150,2)", profile.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_empty() {
+        ElasticityProfile.parse(" ; ");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidSyntax() {
+        ElasticityProfile.parse("add 30");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_unknownAction() {
+        ElasticityProfile.parse("restart(30)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_negativeDelay() {
+        ElasticityProfile.parse("add(-30)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_tooManyArguments() {
+        ElasticityProfile.parse("add(30,1,2)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_zeroAgentIndex() {
+        ElasticityProfile.parse("kill(30,0)");
+    }
+}
@@ -0,0 +1,134 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.coordinator.ElasticityProfile.Action;
+import com.hazelcast.simulator.coordinator.ElasticityReport.EventResult;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ElasticityReportTest {
+
+    private static final long INTERVAL_MILLIS = 1000;
+
+    private final List<EventResult> events = new ArrayList<EventResult>();
+
+    private File file;
+
+    @After
+    public void tearDown() {
+        deleteQuiet(file);
+    }
+
+    @Test
+    public void testCreateReport_withRecovery() {
+        events.add(new EventResult(Action.KILL, 1000000, 4000, "C_A1_W2", 500, 3000, true));
+        double[] throughputs = {1000, 1000, 1000, 1000, 200, 800, 1000, 1000};
+        long[] latencies = {100, 100, 100, 100, 400, 120, 100, 100};
+
+        String[] row = getRow(ElasticityReport.createReport(events, INTERVAL_MILLIS, throughputs, latencies), 1);
+
+        assertEquals("kill", row[0]);
+        assertEquals("1000000", row[1]);
+        assertEquals("4.0", row[2]);
+        assertEquals("C_A1_W2", row[3]);
+        assertEquals("500", row[4]);
+        assertEquals("3000", row[5]);
+        assertEquals("true", row[6]);
+        assertEquals("1000.00", row[7]);
+        assertEquals("200.00", row[8]);
+        assertEquals("80.00", row[9]);
+        assertEquals("100", row[10]);
+        assertEquals("400", row[11]);
+        assertEquals("300.00", row[12]);
+        assertEquals("2000", row[13]);
+    }
+
+    @Test
+    public void testCreateReport_withoutDegradation() {
+        events.add(new EventResult(Action.ADD, 1000000, 2500, "C_A1_W3", 5000, 8000, true));
+        double[] throughputs = {1000, 1000, 980, 1000};
+        long[] latencies = {100, 100, 110, 100};
+
+        String[] row = getRow(ElasticityReport.createReport(events, INTERVAL_MILLIS, throughputs, latencies), 1);
+
+        assertEquals("0", row[13]);
+    }
+
+    @Test
+    public void testCreateReport_notRecoveredBeforeNextEvent() {
+        events.add(new EventResult(Action.SHUTDOWN, 1000000, 2000, "C_A1_W2", 500, 3000, true));
+        events.add(new EventResult(Action.ADD, 1004000, 6000, "C_A1_W3", 500, 3000, false));
+        double[] throughputs = {1000, 1000, 500, 500, 500, 500, 600, 600, 600};
+        long[] latencies = {100, 100, 100, 100, 100, 100, 100, 100, 100};
+
+        String report = ElasticityReport.createReport(events, INTERVAL_MILLIS, throughputs, latencies);
+
+        String[] first = getRow(report, 1);
+        assertEquals(String.valueOf(ElasticityReport.NOT_RECOVERED), first[13]);
+
+        // the baseline of the second event starts after the first event
+        String[] second = getRow(report, 2);
+        assertEquals("false", second[6]);
+        assertEquals("500.00", second[7]);
+        assertEquals("0", second[13]);
+    }
+
+    @Test
+    public void testCreateReport_withoutBaseline() {
+        events.add(new EventResult(Action.ADD, 1000000, 0, "C_A1_W3", 500, 3000, true));
+        double[] throughputs = {1000, 1000};
+        long[] latencies = {100, 100};
+
+        String[] row = getRow(ElasticityReport.createReport(events, INTERVAL_MILLIS, throughputs, latencies), 1);
+
+        assertEquals(7, row.length);
+    }
+
+    @Test
+    public void testCreateReport_skipsIntervalsWithoutSamples() {
+        events.add(new EventResult(Action.KILL, 1000000, 4000, "C_A1_W2", 500, 3000, true));
+        double[] throughputs = {1000, Double.NaN, 1000, 1000, 200, Double.NaN, 1000, Double.NaN};
+        long[] latencies = {100, 0, 100, 100, 400, 0, 100, 0};
+
+        String[] row = getRow(ElasticityReport.createReport(events, INTERVAL_MILLIS, throughputs, latencies), 1);
+
+        assertEquals("1000.00", row[7]);
+        assertEquals("200.00", row[8]);
+        assertEquals("100", row[10]);
+        assertEquals("1000", row[13]);
+    }
+
+    @Test
+    public void testCreateReport_withoutSamplesAfterEvent() {
+        events.add(new EventResult(Action.ADD, 1000000, 2000, "C_A1_W3", 500, 3000, true));
+        double[] throughputs = {1000, 1000, Double.NaN};
+        long[] latencies = {100, 100, 0};
+
+        String[] row = getRow(ElasticityReport.createReport(events, INTERVAL_MILLIS, throughputs, latencies), 1);
+
+        assertEquals(7, row.length);
+    }
+
+    @Test
+    public void testWrite() {
+        events.add(new EventResult(Action.ADD, 1000000, 1000, "C_A1_W3", 500, 3000, true));
+
+        file = ElasticityReport.write("testSuite", "testCase", events, INTERVAL_MILLIS, new double[]{1000, 1000},
+                new long[]{100, 100});
+
+        assertEquals("elasticity-testSuite_testCase.csv", file.getName());
+        assertTrue(file.exists());
+    }
+
+    private static String[] getRow(String report, int index) {
+        return report.split(NEW_LINE)[index].split(",");
+    }
+}
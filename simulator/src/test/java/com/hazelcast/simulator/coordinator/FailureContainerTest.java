@@ -14,6 +14,7 @@ import org.junit.Test;
 import java.util.Set;
 
 import static com.hazelcast.simulator.test.FailureType.WORKER_EXCEPTION;
+import static com.hazelcast.simulator.test.FailureType.WORKER_EXIT;
 import static com.hazelcast.simulator.test.FailureType.WORKER_FINISHED;
 import static com.hazelcast.simulator.test.FailureType.WORKER_OOM;
 import static com.hazelcast.simulator.test.FailureType.WORKER_TIMEOUT;
@@ -24,6 +25,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class FailureContainerTest {
 
@@ -36,6 +38,7 @@ public class FailureContainerTest {
     private FailureOperation oomOperation;
     private FailureOperation finishedOperation;
     private FailureOperation nonCriticalOperation;
+    private FailureOperation exitOperation;
 
     @Before
     public void setUp() {
@@ -53,6 +56,9 @@ public class FailureContainerTest {
 
         nonCriticalOperation = new FailureOperation("timeout", WORKER_TIMEOUT, workerAddress, agentAddress,
                 "127.0.0.1:5701", "workerId", "testId", null, null);
+
+        exitOperation = new FailureOperation("exit", WORKER_EXIT, workerAddress, agentAddress,
+                "127.0.0.1:5701", "workerId", null, null, null);
     }
 
     @After
@@ -93,6 +99,30 @@ public class FailureContainerTest {
         assertEquals(1, failureContainer.getFinishedWorkers().size());
     }
 
+    @Test
+    public void testAddFailureOperation_withExpectedWorkerExit() {
+        FailureListener listener = mock(FailureListener.class);
+        failureContainer.addListener(listener);
+
+        failureContainer.expectWorkerExit(exitOperation.getWorkerAddress());
+        failureContainer.addFailureOperation(exitOperation);
+
+        assertEquals(0, failureContainer.getFailureCount());
+        assertEquals(1, failureContainer.getFinishedWorkers().size());
+        assertFalse(failureContainer.hasCriticalFailure());
+        verify(listener).onFailure(exitOperation, true, false);
+    }
+
+    @Test
+    public void testAddFailureOperation_withExpectedWorkerExit_onlyOnce() {
+        failureContainer.expectWorkerExit(exitOperation.getWorkerAddress());
+        failureContainer.addFailureOperation(exitOperation);
+        failureContainer.addFailureOperation(exitOperation);
+
+        assertEquals(1, failureContainer.getFailureCount());
+        assertTrue(failureContainer.hasCriticalFailure());
+    }
+
     @Test
     public void testHasCriticalFailure() {
         failureContainer.addFailureOperation(exceptionOperation);
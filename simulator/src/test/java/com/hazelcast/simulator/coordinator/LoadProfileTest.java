@@ -0,0 +1,126 @@
+package com.hazelcast.simulator.coordinator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LoadProfileTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testParse() {
+        LoadProfile loadProfile = LoadProfile.parse(" warmup : ramp(0, 1000, 60); step(1000,30);; burst:spike(1000,5000,10,2,60)");
+
+        assertEquals(3, loadProfile.getSegments().size());
+        assertEquals("warmup", loadProfile.getSegments().get(0).getName());
+        assertEquals("2-step", loadProfile.getSegments().get(1).getName());
+        assertEquals("burst", loadProfile.getSegments().get(2).getName());
+        assertEquals(150000, loadProfile.getDurationMillis());
+    }
+
+    @Test
+    public void testGetSegment() {
+        LoadProfile loadProfile = LoadProfile.parse("first:step(100,10); second:step(200,10)");
+
+        assertEquals("first", loadProfile.getSegment(0).getName());
+        assertEquals("first", loadProfile.getSegment(9999).getName());
+        assertEquals("second", loadProfile.getSegment(10000).getName());
+        assertEquals("second", loadProfile.getSegment(60000).getName());
+    }
+
+    @Test
+    public void testGetTargetRate_step() {
+        LoadProfile loadProfile = LoadProfile.parse("step(100,10); step(200,10)");
+
+        assertEquals(100, loadProfile.getTargetRate(0), DELTA);
+        assertEquals(200, loadProfile.getTargetRate(15000), DELTA);
+    }
+
+    @Test
+    public void testGetTargetRate_ramp() {
+        LoadProfile loadProfile = LoadProfile.parse("ramp(1000,2000,10)");
+
+        assertEquals(1000, loadProfile.getTargetRate(0), DELTA);
+        assertEquals(1500, loadProfile.getTargetRate(5000), DELTA);
+        assertEquals(2000, loadProfile.getTargetRate(10000), DELTA);
+    }
+
+    @Test
+    public void testGetTargetRate_ramp_keepsFinalRate() {
+        LoadProfile loadProfile = LoadProfile.parse("ramp(1000,2000,10)");
+
+        assertEquals(2000, loadProfile.getTargetRate(60000), DELTA);
+    }
+
+    @Test
+    public void testGetTargetRate_ramp_fromZero() {
+        LoadProfile loadProfile = LoadProfile.parse("ramp(0,1000,10)");
+
+        assertEquals(LoadProfile.MIN_TARGET_RATE, loadProfile.getTargetRate(0), DELTA);
+    }
+
+    @Test
+    public void testGetTargetRate_spike() {
+        LoadProfile loadProfile = LoadProfile.parse("spike(100,500,10,2,60)");
+
+        assertEquals(100, loadProfile.getTargetRate(0), DELTA);
+        assertEquals(100, loadProfile.getTargetRate(7999), DELTA);
+        assertEquals(500, loadProfile.getTargetRate(8000), DELTA);
+        assertEquals(500, loadProfile.getTargetRate(9999), DELTA);
+        assertEquals(100, loadProfile.getTargetRate(10000), DELTA);
+        assertEquals(500, loadProfile.getTargetRate(18500), DELTA);
+    }
+
+    @Test
+    public void testGetTargetRate_sine() {
+        LoadProfile loadProfile = LoadProfile.parse("sine(1000,500,40,80)");
+
+        assertEquals(1000, loadProfile.getTargetRate(0), DELTA);
+        assertEquals(1500, loadProfile.getTargetRate(10000), DELTA);
+        assertEquals(1000, loadProfile.getTargetRate(20000), DELTA);
+        assertEquals(500, loadProfile.getTargetRate(30000), DELTA);
+    }
+
+    @Test
+    public void testToString() {
+        LoadProfile loadProfile = LoadProfile.parse("warmup:ramp(0,1000,60);step(1000,30)");
+
+        assertEquals("warmup:ramp(0.0,1000.0,60.0); 2-step:step(1000.0,30.0)", loadProfile.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_empty() {
+        LoadProfile.parse(" ; ");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidSyntax() {
+        LoadProfile.parse("step 100 10");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_unknownShape() {
+        LoadProfile.parse("square(100,10)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_wrongArgumentCount() {
+        LoadProfile.parse("ramp(100,10)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidValue() {
+        LoadProfile.parse("step(fast,10)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_negativeValue() {
+        LoadProfile.parse("step(-100,10)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_zeroDuration() {
+        LoadProfile.parse("step(100,0)");
+    }
+}
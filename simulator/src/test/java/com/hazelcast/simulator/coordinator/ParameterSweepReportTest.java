@@ -0,0 +1,85 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.impl.ResultImpl;
+import com.hazelcast.simulator.test.TestCase;
+import com.hazelcast.simulator.test.TestSuite;
+import org.HdrHistogram.Histogram;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingFile;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParameterSweepReportTest {
+
+    private File testSuiteFile;
+    private File reportFile;
+    private TestSuite testSuite;
+    private Map<String, Result> results = new HashMap<String, Result>();
+
+    @Before
+    public void setUp() {
+        testSuiteFile = ensureExistingFile("sweep.properties");
+        writeText("MapTest@class=Map" + NEW_LINE + "MapTest@threadCount=[8,16]" + NEW_LINE, testSuiteFile);
+        testSuite = TestSuite.loadTestSuite(testSuiteFile, "", "ParameterSweepReportTest");
+        reportFile = new File("sweep-ParameterSweepReportTest.csv");
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(testSuiteFile);
+        deleteQuiet(reportFile);
+    }
+
+    @Test
+    public void testConstructor() throws Exception {
+        invokePrivateConstructor(ParameterSweepReport.class);
+    }
+
+    @Test
+    public void testWrite() {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(100);
+        histogram.recordValue(300);
+        Result result = new ResultImpl("MapTest_threadCount8", 2000, 100.0);
+        result.addHistogram("latency", histogram);
+        results.put("MapTest_threadCount8", result);
+        results.put("MapTest_threadCount16", new ResultImpl("MapTest_threadCount16", 0, 0.0));
+
+        ParameterSweepReport.write(testSuite, results);
+
+        assertTrue(reportFile.exists());
+        String[] lines = fileAsText(reportFile).split(NEW_LINE);
+        assertEquals(3, lines.length);
+        assertEquals("testId,threadCount,probe,operations,throughput,mean,p50,p99,p99.9,max", lines[0]);
+        assertEquals("MapTest_threadCount8,8,latency,2000,100.00,200.00,100,300,300,300", lines[1]);
+        assertEquals("MapTest_threadCount16,16,,0,0.00,,,,,", lines[2]);
+    }
+
+    @Test
+    public void testCreateReport_ignoresCostAndGaugeProbes() {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(100);
+        Result result = new ResultImpl("MapTest_threadCount8", 1, 1.0);
+        result.addHistogram("latency", histogram);
+        result.addHistogram("latencyCpuNanosGauge", histogram);
+        result.addHistogram("queueDepthGauge", histogram);
+        results.put("MapTest_threadCount8", result);
+
+        String report = ParameterSweepReport.createReport(testSuite, results);
+
+        assertEquals(2, report.split(NEW_LINE).length);
+    }
+}
@@ -1,8 +1,11 @@
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.agent.HostMetrics;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
+import com.hazelcast.simulator.worker.performance.SaturationState;
+import com.hazelcast.simulator.worker.performance.SaturationState.Component;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -12,7 +15,13 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 public class PerformanceStateContainerTest {
 
@@ -82,6 +91,30 @@ public class PerformanceStateContainerTest {
         performanceStateContainer.update(address, performanceStateMap);
     }
 
+    @Test
+    public void testListener() {
+        PerformanceStateListener listener = mock(PerformanceStateListener.class);
+        performanceStateContainer.addListener(TEST_CASE_ID_1, listener);
+
+        PerformanceState performanceState = new PerformanceState(1000, 200, 500, 1900.0d, 1800, 2500);
+        update(worker1, TEST_CASE_ID_1, performanceState);
+        update(worker1, TEST_CASE_ID_2, new PerformanceState(800, 100, 300, 2200.0d, 2400, 2800));
+
+        verify(listener).onPerformanceState(worker1, performanceState);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testListener_removed() {
+        PerformanceStateListener listener = mock(PerformanceStateListener.class);
+        performanceStateContainer.addListener(TEST_CASE_ID_1, listener);
+        performanceStateContainer.removeListener(TEST_CASE_ID_1);
+
+        update(worker1, TEST_CASE_ID_1, new PerformanceState(1000, 200, 500, 1900.0d, 1800, 2500));
+
+        verify(listener, never()).onPerformanceState(any(SimulatorAddress.class), any(PerformanceState.class));
+    }
+
     @Test
     public void testGet() {
         update(worker1, TEST_CASE_ID_1, new PerformanceState(1000, 200, 500, 1900.0d, 1800, 2500));
@@ -163,4 +196,86 @@ public class PerformanceStateContainerTest {
         assertEquals(0, agentPerformanceStateMap.size());
         assertTrue(totalPerformanceState.isEmpty());
     }
+
+    @Test
+    public void testUpdateSaturation() {
+        performanceStateContainer.updateSaturation(worker1, saturationState(10, 0.95, 0.2));
+        performanceStateContainer.updateSaturation(worker1, saturationState(30, 0.92, 0.95));
+        performanceStateContainer.updateSaturation(worker1, saturationState(20, 0.99, 0.1));
+
+        PerformanceStateContainer.SaturationSummary summary = performanceStateContainer.getSaturationSummary(worker1);
+        assertEquals(3, summary.getIntervalCount());
+        assertEquals(3, summary.getSaturatedIntervalCount(Component.PARTITION_THREADS));
+        assertEquals(1, summary.getSaturatedIntervalCount(Component.GENERIC_THREADS));
+        assertEquals(Component.PARTITION_THREADS, summary.getMostSaturatedComponent());
+        assertTrue(summary.toString().contains("max operation queue 30"));
+
+        performanceStateContainer.logSaturationInfo();
+    }
+
+    @Test
+    public void testUpdateSaturation_notSaturated() {
+        performanceStateContainer.updateSaturation(worker1, saturationState(0, 0.5, 0.1));
+
+        PerformanceStateContainer.SaturationSummary summary = performanceStateContainer.getSaturationSummary(worker1);
+        assertEquals(1, summary.getIntervalCount());
+        assertNull(summary.getMostSaturatedComponent());
+    }
+
+    @Test
+    public void testUpdateSaturation_withNull() {
+        performanceStateContainer.updateSaturation(worker1, null);
+
+        assertNull(performanceStateContainer.getSaturationSummary(worker1));
+    }
+
+    private static SaturationState saturationState(long operationQueueSize, double partitionUtilization,
+                                                   double genericUtilization) {
+        return new SaturationState(new long[]{operationQueueSize, 0, 0}, new long[]{0, 0}, 0,
+                new double[]{partitionUtilization, genericUtilization, 0, 0});
+    }
+
+    @Test
+    public void testUpdateHostMetrics() {
+        performanceStateContainer.updateHostMetrics(agentAddress1, hostMetrics(2, 40));
+        performanceStateContainer.updateHostMetrics(agentAddress1, hostMetrics(15, 95));
+        performanceStateContainer.updateHostMetrics(agentAddress1, hostMetrics(25, 50));
+
+        PerformanceStateContainer.HostMetricsSummary summary = performanceStateContainer.getHostMetricsSummary(agentAddress1);
+        assertEquals(3, summary.getIntervalCount());
+        assertEquals(2, summary.getHighCpuStealIntervalCount());
+        assertEquals(1, summary.getNetworkSaturatedIntervalCount());
+        assertTrue(summary.toString().contains("max steal 25%"));
+        assertTrue(summary.toString().contains("max network 95%"));
+
+        performanceStateContainer.logHostMetricsInfo();
+    }
+
+    @Test
+    public void testUpdateHostMetrics_withNull() {
+        performanceStateContainer.updateHostMetrics(agentAddress1, null);
+
+        assertNull(performanceStateContainer.getHostMetricsSummary(agentAddress1));
+    }
+
+    @Test
+    public void testFormatPerformanceNumbers_withHostMetricsWarnings() {
+        update(worker1, TEST_CASE_ID_1, new PerformanceState(1000, 200, 500, 1900.0d, 1800, 2500));
+        performanceStateContainer.updateHostMetrics(agentAddress1, hostMetrics(20, 10));
+        performanceStateContainer.updateHostMetrics(agentAddress2, hostMetrics(1, 92));
+
+        String performance = performanceStateContainer.formatPerformanceNumbers(TEST_CASE_ID_1);
+        assertTrue(performance.endsWith(" [" + agentAddress1 + " steal 20%, " + agentAddress2 + " network 92%]"));
+    }
+
+    @Test
+    public void testFormatHostMetricsWarnings_noWarnings() {
+        performanceStateContainer.updateHostMetrics(agentAddress1, hostMetrics(1, 10));
+
+        assertEquals("", performanceStateContainer.formatHostMetricsWarnings());
+    }
+
+    private static HostMetrics hostMetrics(double cpuSteal, double networkUtilization) {
+        return new HostMetrics(50, 10, 0, cpuSteal, 40 - cpuSteal, 1.5, 2, 1000, 1000, networkUtilization, 0, 0, -1);
+    }
 }
@@ -3,27 +3,32 @@ package com.hazelcast.simulator.coordinator;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmSettings;
 import com.hazelcast.simulator.cluster.ClusterLayout;
 import com.hazelcast.simulator.protocol.connector.CoordinatorConnector;
-import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.Response;
+import com.hazelcast.simulator.protocol.core.ResponseFuture;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorProtocolException;
 import com.hazelcast.simulator.protocol.operation.CreateWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.InitTestSuiteOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
+import com.hazelcast.simulator.protocol.operation.IsClusterSafeOperation;
 import com.hazelcast.simulator.protocol.operation.LogOperation;
 import com.hazelcast.simulator.protocol.operation.PingOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
+import com.hazelcast.simulator.protocol.operation.StopTimeoutDetectionOperation;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.test.TestSuite;
 import com.hazelcast.simulator.utils.CommandLineExitException;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -32,6 +37,9 @@ import static com.hazelcast.simulator.protocol.core.SimulatorAddress.ALL_WORKERS
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepSeconds;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
@@ -147,6 +155,18 @@ public class RemoteClientTest {
         remoteClient.terminateWorkers(true);
     }
 
+    @Test
+    public void testDetachWorkers() {
+        initMock(ResponseType.SUCCESS);
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0, 0, true);
+
+        remoteClient.detachWorkers();
+
+        verify(coordinatorConnector).write(eq(ALL_AGENTS), any(StopTimeoutDetectionOperation.class));
+        verifyNoMoreInteractions(coordinatorConnector);
+    }
+
     @Test
     public void testInitTestSuite() {
         initMock(ResponseType.SUCCESS);
@@ -356,14 +376,104 @@ public class RemoteClientTest {
         }
     }
 
+    @Test
+    public void testCreateElasticWorkers() {
+        SimulatorAddress elasticWorkerAddress = createElasticWorker();
+
+        assertEquals(2, componentRegistry.workerCount());
+        assertEquals(1, componentRegistry.testWorkerCount());
+        assertTrue(componentRegistry.isElasticWorker(elasticWorkerAddress));
+    }
+
+    @Test(expected = CommandLineExitException.class)
+    public void testCreateElasticWorkers_withErrorResponse() {
+        initMockForCreateWorkerOperation(ResponseType.EXCEPTION_DURING_OPERATION_EXECUTION);
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+
+        remoteClient.createElasticWorkers(componentRegistry.getFirstAgent().getAddress(),
+                Collections.singletonList(mock(WorkerJvmSettings.class)));
+    }
+
+    @Test
+    public void testSendToTestOnAllWorkers_withTestNotFoundOnElasticWorker() {
+        SimulatorAddress elasticWorkerAddress = createElasticWorker();
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+
+        Response response = new Response(1L, ALL_WORKERS.getChild(1));
+        response.addResponse(componentRegistry.getFirstWorker().getAddress().getChild(1), ResponseType.SUCCESS);
+        response.addResponse(elasticWorkerAddress, ResponseType.FAILURE_TEST_NOT_FOUND);
+        when(coordinatorConnector.write(eq(ALL_WORKERS.getChild(1)), eq(DEFAULT_OPERATION))).thenReturn(response);
+
+        remoteClient.sendToTestOnAllWorkers(DEFAULT_TEST_ID, DEFAULT_OPERATION);
+    }
+
+    @Test(expected = CommandLineExitException.class)
+    public void testSendToTestOnAllWorkers_withTestNotFoundOnTestWorker() {
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+
+        Response response = new Response(1L, ALL_WORKERS.getChild(1));
+        response.addResponse(componentRegistry.getFirstWorker().getAddress(), ResponseType.FAILURE_TEST_NOT_FOUND);
+        when(coordinatorConnector.write(eq(ALL_WORKERS.getChild(1)), eq(DEFAULT_OPERATION))).thenReturn(response);
+
+        remoteClient.sendToTestOnAllWorkers(DEFAULT_TEST_ID, DEFAULT_OPERATION);
+    }
+
+    @Test
+    public void testSendToWorker() {
+        initMock(ResponseType.SUCCESS);
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+        SimulatorAddress workerAddress = componentRegistry.getFirstWorker().getAddress();
+
+        remoteClient.sendToWorker(workerAddress, DEFAULT_OPERATION);
+
+        verify(coordinatorConnector).write(eq(workerAddress), eq(DEFAULT_OPERATION));
+        verifyNoMoreInteractions(coordinatorConnector);
+    }
+
+    @Test
+    public void testIsClusterSafe() {
+        initMock(ResponseType.SUCCESS);
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+        SimulatorAddress workerAddress = componentRegistry.getFirstWorker().getAddress();
+
+        assertTrue(remoteClient.isClusterSafe(workerAddress, 2));
+
+        verify(coordinatorConnector).write(eq(workerAddress), any(IsClusterSafeOperation.class));
+        verifyNoMoreInteractions(coordinatorConnector);
+    }
+
+    @Test
+    public void testIsClusterSafe_withClusterNotSafe() {
+        Response response = mock(Response.class);
+        when(response.getFirstErrorResponseType()).thenReturn(ResponseType.FAILURE_CLUSTER_NOT_SAFE);
+        when(coordinatorConnector.write(any(SimulatorAddress.class), any(SimulatorOperation.class))).thenReturn(response);
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+
+        assertFalse(remoteClient.isClusterSafe(componentRegistry.getFirstWorker().getAddress(), 2));
+    }
+
+    @Test(expected = CommandLineExitException.class)
+    public void testIsClusterSafe_withErrorResponse() {
+        initMock(ResponseType.UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR);
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+
+        remoteClient.isClusterSafe(componentRegistry.getFirstWorker().getAddress(), 2);
+    }
+
     @Test
     public void testPingWorkerThread_shouldStopAfterInterruptedException() {
-        Response response = new Response(1L, ALL_WORKERS);
-        response.addResponse(new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0), ResponseType.SUCCESS);
+        SimulatorAddress workerAddress = componentRegistry.getFirstWorker().getAddress();
 
-        when(coordinatorConnector.write(eq(ALL_WORKERS), any(PingOperation.class)))
+        when(coordinatorConnector.writeAsync(eq(workerAddress), any(PingOperation.class)))
                 .thenThrow(new SimulatorProtocolException("expected exception", new InterruptedException()))
-                .thenReturn(response);
+                .thenReturn(createPingResponseFuture(workerAddress, ResponseType.SUCCESS));
 
         RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, 50,
                 MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS,0);
@@ -373,18 +483,17 @@ public class RemoteClientTest {
 
         remoteClient.stopWorkerPingThread();
 
-        verify(coordinatorConnector).write(eq(ALL_WORKERS), any(PingOperation.class));
+        verify(coordinatorConnector).writeAsync(eq(workerAddress), any(PingOperation.class));
         verifyNoMoreInteractions(coordinatorConnector);
     }
 
     @Test
     public void testPingWorkerThread_shouldContinueAfterOtherException() {
-        Response response = new Response(1L, ALL_WORKERS);
-        response.addResponse(new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0), ResponseType.SUCCESS);
+        SimulatorAddress workerAddress = componentRegistry.getFirstWorker().getAddress();
 
-        when(coordinatorConnector.write(eq(ALL_WORKERS), any(PingOperation.class)))
+        when(coordinatorConnector.writeAsync(eq(workerAddress), any(PingOperation.class)))
                 .thenThrow(new SimulatorProtocolException("expected exception", new TimeoutException()))
-                .thenReturn(response);
+                .thenReturn(createPingResponseFuture(workerAddress, ResponseType.SUCCESS));
 
         RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, 50,
                 MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS,0);
@@ -394,10 +503,84 @@ public class RemoteClientTest {
 
         remoteClient.stopWorkerPingThread();
 
-        verify(coordinatorConnector, atLeast(2)).write(eq(ALL_WORKERS), any(PingOperation.class));
+        verify(coordinatorConnector, atLeast(2)).writeAsync(eq(workerAddress), any(PingOperation.class));
         verifyNoMoreInteractions(coordinatorConnector);
     }
 
+    @Test
+    public void testPingWorkerThread_shouldSendPreviousRoundTrip() {
+        SimulatorAddress workerAddress = componentRegistry.getFirstWorker().getAddress();
+
+        when(coordinatorConnector.writeAsync(eq(workerAddress), any(PingOperation.class)))
+                .thenReturn(createPingResponseFuture(workerAddress, ResponseType.SUCCESS));
+
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+        remoteClient.startWorkerPingThread();
+
+        sleepMillis(300);
+
+        remoteClient.stopWorkerPingThread();
+
+        ArgumentCaptor<PingOperation> captor = ArgumentCaptor.forClass(PingOperation.class);
+        verify(coordinatorConnector, atLeast(2)).writeAsync(eq(workerAddress), captor.capture());
+        verifyNoMoreInteractions(coordinatorConnector);
+
+        List<PingOperation> operations = captor.getAllValues();
+        PingOperation first = operations.get(0);
+        PingOperation second = operations.get(1);
+        assertEquals(0, first.getPreviousTimestamp());
+        assertEquals(first.getTimestamp(), second.getPreviousTimestamp());
+        assertTrue(second.getPreviousResponseTimestamp() >= first.getTimestamp());
+    }
+
+    @Test
+    public void testPingWorkerThread_shouldStartEachRoundWithoutPreviousRoundTrip() {
+        SimulatorAddress workerAddress = componentRegistry.getFirstWorker().getAddress();
+
+        when(coordinatorConnector.writeAsync(eq(workerAddress), any(PingOperation.class)))
+                .thenReturn(createPingResponseFuture(workerAddress, ResponseType.SUCCESS));
+
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, 50,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+        remoteClient.startWorkerPingThread();
+
+        sleepMillis(300);
+
+        remoteClient.stopWorkerPingThread();
+
+        ArgumentCaptor<PingOperation> captor = ArgumentCaptor.forClass(PingOperation.class);
+        verify(coordinatorConnector, atLeast(4)).writeAsync(eq(workerAddress), captor.capture());
+
+        // each round has three pings, the round trip of the last ping of a round is not kept
+        List<PingOperation> operations = captor.getAllValues();
+        assertEquals(0, operations.get(0).getPreviousTimestamp());
+        assertEquals(operations.get(1).getTimestamp(), operations.get(2).getPreviousTimestamp());
+        assertEquals(0, operations.get(3).getPreviousTimestamp());
+    }
+
+    @Test
+    public void testPingWorkerThread_shouldNotBlockOnPendingWorker() {
+        SimulatorAddress workerAddress = componentRegistry.getFirstWorker().getAddress();
+        SimulatorAddress hangingWorkerAddress = createElasticWorker();
+
+        when(coordinatorConnector.writeAsync(eq(hangingWorkerAddress), any(PingOperation.class)))
+                .thenReturn(ResponseFuture.createInstance(new ConcurrentHashMap<String, ResponseFuture>(), "hanging"));
+        when(coordinatorConnector.writeAsync(eq(workerAddress), any(PingOperation.class)))
+                .thenReturn(createPingResponseFuture(workerAddress, ResponseType.SUCCESS));
+
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, 50,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+        remoteClient.startWorkerPingThread();
+
+        sleepMillis(300);
+
+        remoteClient.stopWorkerPingThread();
+
+        verify(coordinatorConnector).writeAsync(eq(hangingWorkerAddress), any(PingOperation.class));
+        verify(coordinatorConnector, atLeast(6)).writeAsync(eq(workerAddress), any(PingOperation.class));
+    }
+
     @Test
     public void testPingWorkerThread_shouldDoNothingIfDisabled() {
         RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, -1,
@@ -411,6 +594,12 @@ public class RemoteClientTest {
         verifyNoMoreInteractions(coordinatorConnector);
     }
 
+    private static ResponseFuture createPingResponseFuture(SimulatorAddress workerAddress, ResponseType responseType) {
+        ResponseFuture future = ResponseFuture.createInstance(new ConcurrentHashMap<String, ResponseFuture>(), "ping");
+        future.set(new Response(1L, COORDINATOR, workerAddress, responseType));
+        return future;
+    }
+
     private void initMockForCreateWorkerOperation(ResponseType responseType) {
         if (responseType != null) {
             Response response = mock(Response.class);
@@ -423,6 +612,19 @@ public class RemoteClientTest {
         }
     }
 
+    private SimulatorAddress createElasticWorker() {
+        initMockForCreateWorkerOperation(ResponseType.SUCCESS);
+        RemoteClient remoteClient = new RemoteClient(coordinatorConnector, componentRegistry, WORKER_PING_INTERVAL_MILLIS,
+                MEMBER_WORKER_SHUTDOWN_DELAY_SECONDS, 0);
+
+        WorkerJvmSettings workerJvmSettings = mock(WorkerJvmSettings.class);
+        when(workerJvmSettings.getWorkerIndex()).thenReturn(2);
+
+        SimulatorAddress agentAddress = componentRegistry.getFirstAgent().getAddress();
+        remoteClient.createElasticWorkers(agentAddress, Collections.singletonList(workerJvmSettings));
+        return agentAddress.getChild(2);
+    }
+
     private void initMock(ResponseType responseType) {
         Map<SimulatorAddress, ResponseType> responseTypes = new HashMap<SimulatorAddress, ResponseType>();
         responseTypes.put(COORDINATOR, responseType);
@@ -0,0 +1,141 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.protocol.operation.ChangeTargetRateOperation;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TargetRateControllerTest {
+
+    private final RemoteClient remoteClient = mock(RemoteClient.class);
+
+    private final TargetRateController controller = new TargetRateController("MapTest", remoteClient, 4);
+
+    @Test
+    public void testChangeTargetRate() {
+        assertTrue(controller.changeTargetRate(1000, 0));
+
+        ChangeTargetRateOperation operation = verifyChangeTargetRateOperation();
+        assertEquals(250, operation.getWorkerTargetRate(), 0.0001);
+        assertEquals(0, operation.getActiveThreadCount());
+        assertNull(operation.getLoadSegment());
+    }
+
+    @Test
+    public void testChangeTargetRate_withThreadCount() {
+        assertTrue(controller.changeTargetRate(2000, 3));
+
+        ChangeTargetRateOperation operation = verifyChangeTargetRateOperation();
+        assertEquals(500, operation.getWorkerTargetRate(), 0.0001);
+        assertEquals(3, operation.getActiveThreadCount());
+    }
+
+    @Test
+    public void testChangeTargetRate_withZeroTargetRate() {
+        assertFalse(controller.changeTargetRate(0, 0));
+
+        verify(remoteClient, never()).sendToTestOnAllWorkers(any(String.class), any(ChangeTargetRateOperation.class));
+    }
+
+    @Test
+    public void testChangeTargetRate_withNegativeThreadCount() {
+        assertFalse(controller.changeTargetRate(1000, -1));
+
+        verify(remoteClient, never()).sendToTestOnAllWorkers(any(String.class), any(ChangeTargetRateOperation.class));
+    }
+
+    @Test
+    public void testChangeTargetRate_withLoadProfile() {
+        controller.setLoadProfile(LoadProfile.parse("steady:step(4000,10)"));
+
+        assertFalse(controller.changeTargetRate(1000, 0));
+
+        verify(remoteClient, times(1)).sendToTestOnAllWorkers(any(String.class), any(ChangeTargetRateOperation.class));
+    }
+
+    @Test
+    public void testSetLoadProfile() {
+        controller.setLoadProfile(LoadProfile.parse("warmup:ramp(400,4000,10); steady:step(4000,10)"));
+
+        ChangeTargetRateOperation operation = verifyChangeTargetRateOperation();
+        assertEquals(100, operation.getWorkerTargetRate(), 0.0001);
+        assertEquals(0, operation.getActiveThreadCount());
+        assertEquals("warmup", operation.getLoadSegment());
+    }
+
+    @Test
+    public void testApplyLoadProfile() {
+        controller.setLoadProfile(LoadProfile.parse("warmup:ramp(400,4000,10); steady:step(4000,10)"));
+
+        assertTrue(controller.applyLoadProfile(5000));
+        assertTrue(controller.applyLoadProfile(10000));
+        assertFalse(controller.applyLoadProfile(15000));
+        assertFalse(controller.applyLoadProfile(30000));
+
+        ArgumentCaptor<ChangeTargetRateOperation> captor = ArgumentCaptor.forClass(ChangeTargetRateOperation.class);
+        verify(remoteClient, times(3)).sendToTestOnAllWorkers(any(String.class), captor.capture());
+        ChangeTargetRateOperation operation = captor.getAllValues().get(1);
+        assertEquals(550, operation.getWorkerTargetRate(), 0.0001);
+        assertEquals("warmup", operation.getLoadSegment());
+        operation = captor.getAllValues().get(2);
+        assertEquals(1000, operation.getWorkerTargetRate(), 0.0001);
+        assertEquals("steady", operation.getLoadSegment());
+    }
+
+    @Test
+    public void testSetRunningWorkerCount() {
+        controller.changeTargetRate(1000, 3);
+
+        controller.setRunningWorkerCount(2);
+
+        ArgumentCaptor<ChangeTargetRateOperation> captor = ArgumentCaptor.forClass(ChangeTargetRateOperation.class);
+        verify(remoteClient, times(2)).sendToTestOnAllWorkers(any(String.class), captor.capture());
+        ChangeTargetRateOperation operation = captor.getAllValues().get(1);
+        assertEquals(500, operation.getWorkerTargetRate(), 0.0001);
+        assertEquals(3, operation.getActiveThreadCount());
+    }
+
+    @Test
+    public void testSetRunningWorkerCount_withUnchangedCount() {
+        controller.changeTargetRate(1000, 0);
+
+        controller.setRunningWorkerCount(4);
+
+        verify(remoteClient, times(1)).sendToTestOnAllWorkers(any(String.class), any(ChangeTargetRateOperation.class));
+    }
+
+    @Test
+    public void testSetRunningWorkerCount_withoutTargetRate() {
+        controller.setRunningWorkerCount(2);
+
+        verify(remoteClient, never()).sendToTestOnAllWorkers(any(String.class), any(ChangeTargetRateOperation.class));
+    }
+
+    @Test
+    public void testSetRunningWorkerCount_withLoadProfile() {
+        controller.setLoadProfile(LoadProfile.parse("steady:step(4000,10)"));
+
+        controller.setRunningWorkerCount(8);
+
+        ArgumentCaptor<ChangeTargetRateOperation> captor = ArgumentCaptor.forClass(ChangeTargetRateOperation.class);
+        verify(remoteClient, times(2)).sendToTestOnAllWorkers(any(String.class), captor.capture());
+        ChangeTargetRateOperation operation = captor.getAllValues().get(1);
+        assertEquals(500, operation.getWorkerTargetRate(), 0.0001);
+        assertEquals("steady", operation.getLoadSegment());
+    }
+
+    private ChangeTargetRateOperation verifyChangeTargetRateOperation() {
+        ArgumentCaptor<ChangeTargetRateOperation> captor = ArgumentCaptor.forClass(ChangeTargetRateOperation.class);
+        verify(remoteClient).sendToTestOnAllWorkers(any(String.class), captor.capture());
+        return captor.getValue();
+    }
+}
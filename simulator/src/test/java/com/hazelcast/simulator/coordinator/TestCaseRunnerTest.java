@@ -1,6 +1,7 @@
 package com.hazelcast.simulator.coordinator;
 
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmSettings;
+import com.hazelcast.simulator.cluster.ClusterLayout;
 import com.hazelcast.simulator.common.AgentsFile;
 import com.hazelcast.simulator.common.SimulatorProperties;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
@@ -38,6 +39,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.atMost;
@@ -197,6 +199,8 @@ public class TestCaseRunnerTest {
         coordinator.runTestSuite();
 
         verifyRemoteClient(coordinator, true);
+        // the Workers are restarted before each following test, without starting another ping thread
+        verify(remoteClient, times(testSuite.size() - 1)).createWorkers(any(ClusterLayout.class), eq(false));
     }
 
     @Test
@@ -5,6 +5,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class TestPhaseListenersTest {
@@ -50,13 +51,40 @@ public class TestPhaseListenersTest {
         assertEquals(null, listener.lastTestPhase);
     }
 
-    private static class UnitTestPhaseListener implements TestPhaseListener {
+    @Test
+    public void testChangeTargetRate() {
+        UnitTestPhaseListener listener = new UnitTestPhaseListener();
+        testPhaseListeners.addListener(1, listener);
+
+        assertTrue(testPhaseListeners.changeTargetRate(1, 1000, 2));
+
+        assertEquals(1000, listener.lastTargetRate, 0.0001);
+    }
+
+    @Test
+    public void testChangeTargetRate_listenerNotFound() {
+        UnitTestPhaseListener listener = new UnitTestPhaseListener();
+        testPhaseListeners.addListener(1, listener);
+
+        assertFalse(testPhaseListeners.changeTargetRate(2, 1000, 2));
+
+        assertEquals(0, listener.lastTargetRate, 0.0001);
+    }
+
+    private static class UnitTestPhaseListener implements TestPhaseListener, TargetRateListener {
 
         private TestPhase lastTestPhase;
+        private double lastTargetRate;
 
         @Override
         public void completed(TestPhase testPhase) {
             lastTestPhase = testPhase;
         }
+
+        @Override
+        public boolean changeTargetRate(double targetRate, int activeThreadCount) {
+            lastTargetRate = targetRate;
+            return true;
+        }
     }
 }
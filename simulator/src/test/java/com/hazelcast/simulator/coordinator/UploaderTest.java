@@ -7,6 +7,7 @@ import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
 import com.hazelcast.simulator.test.TestException;
 import com.hazelcast.simulator.utils.Bash;
 import com.hazelcast.simulator.utils.CommandLineExitException;
+import com.hazelcast.simulator.utils.UploadCache;
 import com.hazelcast.simulator.utils.jars.HazelcastJARs;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -21,9 +22,12 @@ import static com.hazelcast.simulator.TestEnvironmentUtils.resetUserDir;
 import static com.hazelcast.simulator.TestEnvironmentUtils.setDistributionUserDir;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingFile;
 import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
 import static com.hazelcast.simulator.utils.jars.HazelcastJARs.OUT_OF_THE_BOX;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.contains;
 import static org.mockito.Matchers.eq;
@@ -36,12 +40,15 @@ import static org.mockito.Mockito.when;
 
 public class UploaderTest {
 
+    private static final String EMPTY_FILE_HASH = "da39a3ee5e6b4b0d3255bfef95601890afd80709";
+
     private ComponentRegistry componentRegistry = new ComponentRegistry();
     private ClusterLayout clusterLayout;
 
     private Bash bash = mock(Bash.class);
     private HazelcastJARs hazelcastJARs = mock(HazelcastJARs.class);
     private WorkerParameters workerParameters = mock(WorkerParameters.class);
+    private UploadCache uploadCache = new UploadCache(bash, false, 2);
 
     private String testSuiteId = "testSuiteId";
 
@@ -81,12 +88,14 @@ public class UploaderTest {
 
         clusterLayout = new ClusterLayout(componentRegistry, workerParameters, clusterLayoutParameters);
 
-        uploader = new Uploader(bash, componentRegistry, clusterLayout, hazelcastJARs, true, false,
+        uploader = new Uploader(uploadCache, componentRegistry, clusterLayout, hazelcastJARs, true, false,
                 workerClassPath, testSuiteId);
     }
 
     @After
     public void tearDown() {
+        uploadCache.shutdown();
+
         deleteQuiet(uploadDirectory);
         deleteQuiet(workerClassPathFile);
     }
@@ -127,7 +136,7 @@ public class UploaderTest {
         ClusterLayoutParameters clusterLayoutParameters = new ClusterLayoutParameters(xml, converter, 0, 0, 0, 2);
 
         clusterLayout = new ClusterLayout(componentRegistry, workerParameters, clusterLayoutParameters);
-        uploader = new Uploader(bash, componentRegistry, clusterLayout, hazelcastJARs, true, false,
+        uploader = new Uploader(uploadCache, componentRegistry, clusterLayout, hazelcastJARs, true, false,
                 workerClassPath, testSuiteId);
 
         uploader.uploadHazelcastJARs();
@@ -145,7 +154,7 @@ public class UploaderTest {
 
     @Test
     public void testUploadHazelcastJARs_isNull() {
-        uploader = new Uploader(bash, componentRegistry, clusterLayout, null, true, false, workerClassPath, testSuiteId);
+        uploader = new Uploader(uploadCache, componentRegistry, clusterLayout, null, true, false, workerClassPath, testSuiteId);
 
         uploader.uploadHazelcastJARs();
 
@@ -154,10 +163,34 @@ public class UploaderTest {
 
     @Test
     public void testUploadUploadDirectory() {
+        ensureExistingFile(uploadDirectory, "file.txt");
+
         uploader.uploadUploadDirectory();
 
-        verify(bash, times(2)).ssh(contains("192.168.0."), anyString());
-        verify(bash, times(2)).uploadToRemoteSimulatorDir(contains("192.168.0."), anyString(), anyString());
+        // one call for the manifest and one call to create the target directories per agent
+        verify(bash, times(4)).ssh(contains("192.168.0."), anyString());
+        verify(bash, times(2)).uploadFilesToRemoteSimulatorDir(contains("192.168.0."),
+                eq(singletonList(new File(uploadDirectory, "file.txt"))), anyString());
+        verifyNoMoreInteractions(bash);
+    }
+
+    @Test
+    public void testUploadUploadDirectory_whenFileIsUnchanged_thenSkipUpload() {
+        ensureExistingFile(uploadDirectory, "file.txt");
+        String manifest = EMPTY_FILE_HASH + "  ./upload/file.txt";
+        when(bash.ssh(contains("192.168.0."), contains("sha1sum"))).thenReturn(new StringBuilder(manifest));
+
+        uploader.uploadUploadDirectory();
+
+        verify(bash, times(2)).ssh(contains("192.168.0."), contains("sha1sum"));
+        verifyNoMoreInteractions(bash);
+    }
+
+    @Test
+    public void testUploadUploadDirectory_emptyDirectory() {
+        uploader.uploadUploadDirectory();
+
+        verify(bash, times(2)).ssh(contains("192.168.0."), contains("sha1sum"));
         verifyNoMoreInteractions(bash);
     }
 
@@ -172,24 +205,27 @@ public class UploaderTest {
 
     @Test(expected = CommandLineExitException.class)
     public void testUploadUploadDirectory_withException() {
+        ensureExistingFile(uploadDirectory, "file.txt");
         TestException exception = new TestException("expected");
-        doThrow(exception).when(bash).uploadToRemoteSimulatorDir(contains("192.168.0."), anyString(), anyString());
+        doThrow(exception).when(bash).uploadFilesToRemoteSimulatorDir(contains("192.168.0."), anyListOf(File.class), anyString());
 
         uploader.uploadUploadDirectory();
     }
 
     @Test
     public void testUploadWorkerClassPath() {
+        ensureExistingFile(workerClassPathFile, "worker.jar");
+
         uploader.uploadWorkerClassPath();
 
-        verify(bash, times(2)).ssh(contains("192.168.0."), anyString());
-        verify(bash, times(2)).uploadToRemoteSimulatorDir(contains("192.168.0."), anyString(), anyString());
+        verify(bash, times(4)).ssh(contains("192.168.0."), anyString());
+        verify(bash, times(2)).uploadFilesToRemoteSimulatorDir(contains("192.168.0."), anyListOf(File.class), anyString());
         verifyNoMoreInteractions(bash);
     }
 
     @Test
     public void testUploadWorkerClassPath_workerClassPathIsNull() {
-        uploader = new Uploader(bash, componentRegistry, clusterLayout, hazelcastJARs, true, false, null, testSuiteId);
+        uploader = new Uploader(uploadCache, componentRegistry, clusterLayout, hazelcastJARs, true, false, null, testSuiteId);
 
         uploader.uploadWorkerClassPath();
 
@@ -198,7 +234,7 @@ public class UploaderTest {
 
     @Test(expected = CommandLineExitException.class)
     public void testUploadWorkerClassPath_workerClassPathNotExists() {
-        uploader = new Uploader(bash, componentRegistry, clusterLayout, hazelcastJARs, true, false,
+        uploader = new Uploader(uploadCache, componentRegistry, clusterLayout, hazelcastJARs, true, false,
                 notExists.getAbsolutePath(), testSuiteId);
 
         uploader.uploadWorkerClassPath();
@@ -0,0 +1,123 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.impl.ResultImpl;
+import com.hazelcast.simulator.test.TestCase;
+import com.hazelcast.simulator.test.TestSuite;
+import org.HdrHistogram.Histogram;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VersionComparisonReportTest {
+
+    private static final double DELTA = 0.0001;
+
+    private final File reportFile = new File("compare-VersionComparisonReportTest.csv");
+    private final Map<String, Result> results = new HashMap<String, Result>();
+
+    private VersionComparison versionComparison;
+
+    @Before
+    public void setUp() {
+        TestSuite testSuite = new TestSuite("VersionComparisonReportTest");
+        testSuite.addTest(new TestCase("MapTest"));
+
+        versionComparison = new VersionComparison("outofthebox", "maven=3.7.1", 2);
+        versionComparison.createTestSuite(testSuite);
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(reportFile);
+    }
+
+    @Test
+    public void testConstructor() throws Exception {
+        invokePrivateConstructor(VersionComparisonReport.class);
+    }
+
+    @Test
+    public void testWrite() {
+        addResult("MapTest_A1", 1000, 100);
+        addResult("MapTest_A2", 1100, 100);
+        addResult("MapTest_B1", 1300, 200);
+        addResult("MapTest_B2", 1200, 200);
+
+        VersionComparisonReport.write(versionComparison, "VersionComparisonReportTest", results);
+
+        assertTrue(reportFile.exists());
+        String[] lines = fileAsText(reportFile).split(NEW_LINE);
+        assertEquals(6, lines.length);
+        assertEquals("testId,probe,metric,runsA,runsB,meanA,meanB,difference%,ci95Low%,ci95High%,significant", lines[0]);
+        assertTrue(lines[1].startsWith("MapTest,,throughput,2,2,1050.00,1250.00,19.05,"));
+        assertTrue(lines[2].startsWith("MapTest,latency,mean,2,2,100.00,200.00,100.00,100.00,100.00,true"));
+        assertTrue(lines[5].startsWith("MapTest,latency,p99.9,"));
+    }
+
+    @Test
+    public void testCreateReport_missingVersion() {
+        addResult("MapTest_A1", 1000, 100);
+
+        String report = VersionComparisonReport.createReport(versionComparison, results);
+
+        assertEquals(1, report.split(NEW_LINE).length);
+    }
+
+    @Test
+    public void testCreateReport_singleRound() {
+        addResult("MapTest_A1", 1000, 100);
+        addResult("MapTest_B1", 1000, 100);
+
+        String report = VersionComparisonReport.createReport(versionComparison, results);
+
+        assertTrue(report.split(NEW_LINE)[1].endsWith("1000.00,1000.00,0.00,,,"));
+    }
+
+    @Test
+    public void testGetDifference() {
+        double[] difference = VersionComparisonReport.getDifference(new double[]{10, 12, 14}, new double[]{20, 22, 24});
+
+        assertEquals(10, difference[0], DELTA);
+        // standard error is sqrt(4/3 + 4/3), degrees of freedom are 4
+        double margin = 2.776 * Math.sqrt(8.0 / 3);
+        assertEquals(10 - margin, difference[1], DELTA);
+        assertEquals(10 + margin, difference[2], DELTA);
+    }
+
+    @Test
+    public void testGetDifference_singleValues() {
+        double[] difference = VersionComparisonReport.getDifference(new double[]{10}, new double[]{20});
+
+        assertEquals(10, difference[0], DELTA);
+        assertTrue(Double.isNaN(difference[1]));
+        assertTrue(Double.isNaN(difference[2]));
+    }
+
+    @Test
+    public void testGetTQuantile() {
+        assertEquals(12.706, VersionComparisonReport.getTQuantile(0.5), DELTA);
+        assertEquals(2.776, VersionComparisonReport.getTQuantile(4.9), DELTA);
+        assertEquals(2.042, VersionComparisonReport.getTQuantile(30), DELTA);
+        assertEquals(1.96, VersionComparisonReport.getTQuantile(100), DELTA);
+    }
+
+    private void addResult(String testCaseId, double throughput, long latency) {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(latency);
+        Result result = new ResultImpl(testCaseId, 100, throughput);
+        result.addHistogram("latency", histogram);
+        results.put(testCaseId, result);
+    }
+}
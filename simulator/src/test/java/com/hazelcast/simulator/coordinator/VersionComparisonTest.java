@@ -0,0 +1,138 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.cluster.ClusterLayout;
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.impl.ResultImpl;
+import com.hazelcast.simulator.test.TestCase;
+import com.hazelcast.simulator.test.TestSuite;
+import com.hazelcast.simulator.utils.jars.HazelcastJARs;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.simulator.coordinator.VersionComparison.VERSION_A;
+import static com.hazelcast.simulator.coordinator.VersionComparison.VERSION_B;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class VersionComparisonTest {
+
+    private VersionComparison versionComparison = new VersionComparison("outofthebox", "maven=3.7.1", 2);
+    private TestSuite testSuite = new TestSuite("VersionComparisonTest");
+
+    @Before
+    public void setUp() {
+        testSuite.setDurationSeconds(30);
+        testSuite.addTest(new TestCase("MapTest").setProperty("class", "Map"));
+        testSuite.addTest(new TestCase("QueueTest").setProperty("class", "Queue"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidRounds() {
+        new VersionComparison("outofthebox", "maven=3.7.1", 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_sameVersionSpec() {
+        new VersionComparison("maven=3.7.1", "maven=3.7.1", 3);
+    }
+
+    @Test
+    public void testCreateTestSuite() {
+        TestSuite comparisonTestSuite = versionComparison.createTestSuite(testSuite);
+
+        assertEquals("VersionComparisonTest", comparisonTestSuite.getId());
+        assertEquals(30, comparisonTestSuite.getDurationSeconds());
+        assertEquals(8, comparisonTestSuite.size());
+        assertEquals("MapTest_A1", comparisonTestSuite.getTestCaseList().get(0).getId());
+        assertEquals("QueueTest_A1", comparisonTestSuite.getTestCaseList().get(1).getId());
+        assertEquals("MapTest_B1", comparisonTestSuite.getTestCaseList().get(2).getId());
+        assertEquals("MapTest_B2", comparisonTestSuite.getTestCaseList().get(4).getId());
+        assertEquals("MapTest_A2", comparisonTestSuite.getTestCaseList().get(6).getId());
+        assertEquals("Queue", comparisonTestSuite.getTestCaseList().get(7).getClassname());
+        assertEquals(asList("MapTest", "QueueTest"), versionComparison.getTestCaseIds());
+    }
+
+    @Test
+    public void testIsRestartRequired() {
+        versionComparison.createTestSuite(testSuite);
+
+        assertFalse(versionComparison.isRestartRequired("MapTest_A1"));
+        assertFalse(versionComparison.isRestartRequired("QueueTest_A1"));
+        assertTrue(versionComparison.isRestartRequired("MapTest_B1"));
+        assertFalse(versionComparison.isRestartRequired("QueueTest_B1"));
+        assertTrue(versionComparison.isRestartRequired("MapTest_B2"));
+        assertTrue(versionComparison.isRestartRequired("MapTest_A2"));
+        assertFalse(versionComparison.isRestartRequired("unknownTest"));
+    }
+
+    @Test
+    public void testGetVersionSpecs() {
+        ClusterLayout clusterLayout = mock(ClusterLayout.class);
+        when(clusterLayout.getVersionSpecs()).thenReturn(singleton("outofthebox"));
+
+        assertEquals(2, versionComparison.getVersionSpecs(clusterLayout).size());
+        assertTrue(versionComparison.getVersionSpecs(clusterLayout).contains("maven=3.7.1"));
+    }
+
+    @Test
+    public void testGetClusterLayout() {
+        WorkerParameters workerParameters = mock(WorkerParameters.class);
+        when(workerParameters.getHazelcastVersionSpec()).thenReturn(HazelcastJARs.OUT_OF_THE_BOX);
+        ClusterLayout clusterLayout = ClusterLayout.createSingleInstanceClusterLayout("127.0.0.1", workerParameters);
+        versionComparison.createTestSuite(testSuite);
+
+        ClusterLayout layoutB1 = versionComparison.getClusterLayout(clusterLayout, "MapTest_B1");
+        ClusterLayout layoutA2 = versionComparison.getClusterLayout(clusterLayout, "MapTest_A2");
+
+        assertEquals(singleton("maven=3.7.1"), layoutB1.getVersionSpecs());
+        assertEquals(2, layoutB1.getAgentWorkerLayouts().get(0).getWorkerJvmSettings().get(0).getWorkerIndex());
+        assertEquals(singleton(HazelcastJARs.OUT_OF_THE_BOX), layoutA2.getVersionSpecs());
+        assertEquals(4, layoutA2.getAgentWorkerLayouts().get(0).getWorkerJvmSettings().get(0).getWorkerIndex());
+        assertSame(clusterLayout, versionComparison.getClusterLayout(clusterLayout, "unknownTest"));
+    }
+
+    @Test
+    public void testGetClusterLayout_withinRun() {
+        WorkerParameters workerParameters = mock(WorkerParameters.class);
+        when(workerParameters.getHazelcastVersionSpec()).thenReturn(HazelcastJARs.OUT_OF_THE_BOX);
+        ClusterLayout clusterLayout = ClusterLayout.createSingleInstanceClusterLayout("127.0.0.1", workerParameters);
+        versionComparison.createTestSuite(testSuite);
+
+        ClusterLayout layoutQueueA1 = versionComparison.getClusterLayout(clusterLayout, "QueueTest_A1");
+        ClusterLayout layoutQueueB1 = versionComparison.getClusterLayout(clusterLayout, "QueueTest_B1");
+
+        // restarts within a run get worker indexes behind the planned runs
+        assertEquals(singleton(HazelcastJARs.OUT_OF_THE_BOX), layoutQueueA1.getVersionSpecs());
+        assertEquals(5, layoutQueueA1.getAgentWorkerLayouts().get(0).getWorkerJvmSettings().get(0).getWorkerIndex());
+        assertEquals(singleton("maven=3.7.1"), layoutQueueB1.getVersionSpecs());
+        assertEquals(6, layoutQueueB1.getAgentWorkerLayouts().get(0).getWorkerJvmSettings().get(0).getWorkerIndex());
+    }
+
+    @Test
+    public void testGetResults() {
+        versionComparison.createTestSuite(testSuite);
+        Map<String, Result> results = new HashMap<String, Result>();
+        results.put("MapTest_A1", new ResultImpl("MapTest_A1", 100, 10.0));
+        results.put("MapTest_A2", new ResultImpl("MapTest_A2", 100, 20.0));
+        results.put("MapTest_B1", new ResultImpl("MapTest_B1", 100, 30.0));
+        results.put("QueueTest_B1", new ResultImpl("QueueTest_B1", 0, 0.0));
+
+        List<Result> resultsA = versionComparison.getResults(results, "MapTest", VERSION_A);
+        List<Result> resultsB = versionComparison.getResults(results, "MapTest", VERSION_B);
+
+        assertEquals(2, resultsA.size());
+        assertEquals(10.0, resultsA.get(0).getThroughput(), 0.0001);
+        assertEquals(1, resultsB.size());
+        assertTrue(versionComparison.getResults(results, "QueueTest", VERSION_B).isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.operation.WorkerStartupOperation;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.protocol.core.AddressLevel.WORKER;
+import static com.hazelcast.simulator.worker.WorkerType.CLIENT;
+import static com.hazelcast.simulator.worker.WorkerType.MEMBER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class WorkerStartupContainerTest {
+
+    private final WorkerStartupContainer container = new WorkerStartupContainer();
+
+    @Test
+    public void testFormatStartupTimes() {
+        container.addWorkerStartup(new WorkerStartupOperation(new SimulatorAddress(WORKER, 1, 1, 0), MEMBER, 10, 400, 2000, 10));
+        container.addWorkerStartup(new WorkerStartupOperation(new SimulatorAddress(WORKER, 1, 2, 0), MEMBER, 30, 600, 4000, 30));
+
+        assertEquals(2, container.size());
+        assertEquals("Startup of 2 MEMBER Workers (avg/max ms): spawn 20/30, JVM boot 500/600, Hazelcast startup 3000/4000,"
+                + " connector startup 20/30, total 3540/4660", container.formatStartupTimes(MEMBER));
+        assertNull(container.formatStartupTimes(CLIENT));
+    }
+
+    @Test
+    public void testFormatStartupTimes_withUnknownPhases() {
+        container.addWorkerStartup(new WorkerStartupOperation(new SimulatorAddress(WORKER, 1, 1, 0), CLIENT, 10, -1, -1, 90));
+
+        assertEquals("Startup of 1 CLIENT Workers (avg/max ms): spawn 10/10, JVM boot n/a, Hazelcast startup n/a,"
+                + " connector startup 90/90, total 100/100", container.formatStartupTimes(CLIENT));
+    }
+
+    @Test
+    public void testAddWorkerStartup_overridesSameWorker() {
+        SimulatorAddress address = new SimulatorAddress(WORKER, 1, 1, 0);
+        container.addWorkerStartup(new WorkerStartupOperation(address, MEMBER, 10, 400, 2000, 10));
+        container.addWorkerStartup(new WorkerStartupOperation(address, MEMBER, 20, 400, 2000, 10));
+
+        assertEquals(1, container.size());
+    }
+
+    @Test
+    public void testLogStartupInfo() {
+        container.addWorkerStartup(new WorkerStartupOperation(new SimulatorAddress(WORKER, 1, 1, 0), MEMBER, 10, 400, 2000, 10));
+
+        container.logStartupInfo();
+    }
+}
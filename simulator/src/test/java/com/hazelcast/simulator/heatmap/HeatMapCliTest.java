@@ -43,6 +43,12 @@ public class HeatMapCliTest {
         init(getArgs());
     }
 
+    @Test
+    public void testInit_withAllProbes() {
+        args.add("--allProbes");
+        init(getArgs());
+    }
+
     @Test(expected = ExitStatusZeroException.class)
     public void testInit_withHelp() {
         args.add("--help");
@@ -9,14 +9,17 @@ import org.junit.Test;
 import java.io.File;
 import java.net.URL;
 
-import static com.hazelcast.simulator.heatmap.HeatMap.createHistogramLogReader;
+import static com.hazelcast.simulator.heatmap.HeatMap.getTestAndProbeName;
+import static com.hazelcast.simulator.heatmap.HeatMap.openLatencyFile;
 import static com.hazelcast.simulator.utils.FileUtils.appendText;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingFile;
 import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class HeatMapTest extends AbstractComputeServiceTest {
 
@@ -54,6 +57,58 @@ public class HeatMapTest extends AbstractComputeServiceTest {
         heatMap.createHeatMap();
 
         assertEquals(6, heatMap.getHistogramCount());
+        assertTrue(new File(directory, "heatmap-HeatMapTest-HeatMapTestWorkerProbe.png").exists());
+        assertTrue(new File(directory, "heatmap-HeatMapTest-HeatMapTestWorkerProbe.svg").exists());
+    }
+
+    @Test
+    public void testCreateHeatMap_withHdrFiles() {
+        File hdrDirectory = ensureExistingDirectory(directory, "workers3");
+        URL resource = getClass().getClassLoader().getResource("heatmap-test-sample-1.txt");
+        assertNotNull(resource);
+        appendText(fileAsText(new File(resource.getFile())), new File(hdrDirectory, "MapTest-getProbe.hdr"));
+        ensureExistingFile(hdrDirectory, "MapTest-aggregated.hdr");
+
+        heatMap = new HeatMap(directory.getAbsolutePath(), "MapTest", "getProbe");
+        heatMap.createHeatMap();
+
+        assertEquals(5, heatMap.getHistogramCount());
+        assertTrue(new File(directory, "heatmap-MapTest-getProbe.png").exists());
+        assertTrue(new File(directory, "heatmap-MapTest-getProbe.svg").exists());
+    }
+
+    @Test
+    public void testCreateHeatMap_defaultProbeOnly() {
+        File hdrDirectory = ensureExistingDirectory(directory, "workers3");
+        URL resource = getClass().getClassLoader().getResource("heatmap-test-sample-1.txt");
+        assertNotNull(resource);
+        appendText(fileAsText(new File(resource.getFile())), new File(hdrDirectory, "HeatMapTest-getProbe.hdr"));
+
+        heatMap.createHeatMap();
+
+        assertEquals(6, heatMap.getHistogramCount());
+        assertFalse(new File(directory, "heatmap-HeatMapTest-getProbe.png").exists());
+    }
+
+    @Test
+    public void testCreateHeatMap_allProbes() {
+        File hdrDirectory = ensureExistingDirectory(directory, "workers3");
+        URL resource = getClass().getClassLoader().getResource("heatmap-test-sample-1.txt");
+        assertNotNull(resource);
+        appendText(fileAsText(new File(resource.getFile())), new File(hdrDirectory, "HeatMapTest-getProbe.hdr"));
+
+        heatMap = new HeatMap(directory.getAbsolutePath(), "HeatMapTest", "", true, "");
+        heatMap.createHeatMap();
+
+        assertEquals(11, heatMap.getHistogramCount());
+        assertTrue(new File(directory, "heatmap-HeatMapTest-HeatMapTestWorkerProbe.png").exists());
+        assertTrue(new File(directory, "heatmap-HeatMapTest-getProbe.png").exists());
+    }
+
+    @Test
+    public void testGetTestAndProbeName() {
+        assertEquals("MapTest-getProbe", getTestAndProbeName(new File("MapTest-getProbe.hdr")));
+        assertEquals("MapTest-getProbe", getTestAndProbeName(new File("latency-MapTest-getProbe.txt")));
     }
 
     @Test
@@ -65,8 +120,8 @@ public class HeatMapTest extends AbstractComputeServiceTest {
     }
 
     @Test(expected = CommandLineExitException.class)
-    public void testCreateHistogramLogReader_invalidFile() {
-        createHistogramLogReader(new File("notFound"), "HeatMapTest");
+    public void testOpenLatencyFile_invalidFile() {
+        openLatencyFile(new File("notFound"), "HeatMapTest");
     }
 
     private static void createLatencyFile(ClassLoader classLoader, String resourceFile, File directory) {
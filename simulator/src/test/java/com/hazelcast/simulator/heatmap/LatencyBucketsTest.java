@@ -0,0 +1,65 @@
+package com.hazelcast.simulator.heatmap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyBucketsTest {
+
+    private final LatencyBuckets buckets = new LatencyBuckets(600, 1000000);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidBucketCount() {
+        new LatencyBuckets(0, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidMaxLatency() {
+        new LatencyBuckets(100, 1);
+    }
+
+    @Test
+    public void testGetBucket() {
+        assertEquals(0, buckets.getBucket(-1));
+        assertEquals(0, buckets.getBucket(0));
+        assertEquals(0, buckets.getBucket(1));
+        assertEquals(130, buckets.getBucket(20));
+        assertEquals(330, buckets.getBucket(2000));
+        assertEquals(599, buckets.getBucket(1000000));
+        assertEquals(599, buckets.getBucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testGetBucket_isMonotonic() {
+        int lastBucket = 0;
+        for (long latency = 1; latency < 1000000; latency += 997) {
+            int bucket = buckets.getBucket(latency);
+            assertTrue(bucket >= lastBucket);
+            lastBucket = bucket;
+        }
+    }
+
+    @Test
+    public void testGetLowerBound() {
+        assertEquals(1, buckets.getLowerBound(0));
+        assertEquals(10, buckets.getLowerBound(100));
+        assertEquals(1000, buckets.getLowerBound(300));
+    }
+
+    @Test
+    public void testFormatLatency() {
+        assertEquals("1 µs", HeatMapRenderer.formatLatency(1));
+        assertEquals("100 µs", HeatMapRenderer.formatLatency(100));
+        assertEquals("10 ms", HeatMapRenderer.formatLatency(10000));
+        assertEquals("10 s", HeatMapRenderer.formatLatency(10000000));
+        assertEquals("1000 s", HeatMapRenderer.formatLatency(1000000000));
+    }
+
+    @Test
+    public void testGetColorIndex() {
+        assertEquals(HeatMapRenderer.EMPTY_COLOR_INDEX, HeatMapColumnTask.getColorIndex(0, 100));
+        assertEquals(HeatMapRenderer.MAX_COLOR_INDEX, HeatMapColumnTask.getColorIndex(100, 100));
+        assertEquals(HeatMapRenderer.MIN_COLOR_INDEX, HeatMapColumnTask.getColorIndex(1, 100000000));
+    }
+}
@@ -0,0 +1,63 @@
+package com.hazelcast.simulator.probes.impl;
+
+import org.HdrHistogram.Histogram;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.probes.impl.GaugeProbe.MAXIMUM_VALUE;
+import static com.hazelcast.simulator.probes.impl.GaugeProbe.isGaugeProbe;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GaugeProbeTest {
+
+    private GaugeProbe probe = new GaugeProbe();
+
+    @Test
+    public void testConstructor_noThroughputProbe() {
+        assertFalse(probe.isPartOfTotalThroughput());
+    }
+
+    @Test
+    public void testIsGaugeProbe() {
+        assertTrue(isGaugeProbe("resultSizeGauge"));
+        assertFalse(isGaugeProbe("resultSize"));
+        assertFalse(isGaugeProbe("workerProbe"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDone() {
+        probe.done(System.nanoTime());
+    }
+
+    @Test
+    public void testRecordValue_isNotConverted() {
+        probe.recordValue(1);
+        probe.recordValue(500);
+        probe.recordValue(100000000);
+
+        Histogram histogram = probe.getIntervalHistogram();
+        assertEquals(3, histogram.getTotalCount());
+        assertEquals(1, histogram.getMinValue());
+        assertEquals(100000000, histogram.getMaxValue(), 100000);
+    }
+
+    @Test
+    public void testRecordValue_isClamped() {
+        probe.recordValue(-1);
+        probe.recordValue(Long.MAX_VALUE);
+
+        Histogram histogram = probe.getIntervalHistogram();
+        assertEquals(0, histogram.getMinValue());
+        assertEquals(MAXIMUM_VALUE, histogram.getMaxValue(), MAXIMUM_VALUE / 1000);
+    }
+
+    @Test
+    public void testRecordValueWithCount() {
+        probe.recordValueWithCount(42, 3);
+
+        Histogram histogram = probe.getIntervalHistogram();
+        assertEquals(3, histogram.getTotalCount());
+        assertEquals(42, histogram.getValueAtPercentile(100));
+    }
+}
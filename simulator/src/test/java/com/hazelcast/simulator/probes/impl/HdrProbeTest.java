@@ -1,6 +1,7 @@
 package com.hazelcast.simulator.probes.impl;
 
 import com.hazelcast.simulator.probes.Probe;
+import org.HdrHistogram.Histogram;
 import org.junit.Test;
 
 import static com.hazelcast.simulator.probes.ProbeTestUtils.assertHistogram;
@@ -76,4 +77,23 @@ public class HdrProbeTest {
 
         assertEquals(3, probe.get());
     }
+
+    @Test
+    public void testReset() {
+        probe.recordValue(1);
+        probe.recordValue(2);
+
+        probe.reset();
+
+        assertEquals(0, probe.get());
+    }
+
+    @Test
+    public void testRecordValueWithCount() {
+        probe.recordValueWithCount(MILLISECONDS.toNanos(500), 3);
+
+        Histogram histogram = probe.getIntervalHistogram();
+        assertEquals(3, histogram.getTotalCount());
+        assertEquals(MILLISECONDS.toMicros(500), histogram.getValueAtPercentile(100), MILLISECONDS.toMicros(1));
+    }
 }
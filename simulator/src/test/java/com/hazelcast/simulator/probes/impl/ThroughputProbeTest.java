@@ -51,4 +51,21 @@ public class ThroughputProbeTest {
 
         assertEquals(expectedCount, probe.get());
     }
+
+    @Test
+    public void testReset() {
+        probe.recordValue(1);
+        probe.recordValue(2);
+
+        probe.reset();
+
+        assertEquals(0, probe.get());
+    }
+
+    @Test
+    public void testRecordValueWithCount() {
+        probe.recordValueWithCount(TimeUnit.MILLISECONDS.toNanos(500), 3);
+
+        assertEquals(3, probe.get());
+    }
 }
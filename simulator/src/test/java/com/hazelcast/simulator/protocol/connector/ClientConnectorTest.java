@@ -15,6 +15,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -46,6 +48,7 @@ public class ClientConnectorTest {
 
         future = mock(ChannelFuture.class);
         when(future.syncUninterruptibly()).thenReturn(future);
+        when(future.awaitUninterruptibly()).thenReturn(future);
         when(future.channel()).thenReturn(channel);
     }
 
@@ -125,6 +128,34 @@ public class ClientConnectorTest {
         verifyZeroInteractions(channel);
     }
 
+    @Test
+    public void testTryConnect() {
+        when(bootStrap.connect()).thenReturn(future);
+        when(future.isSuccess()).thenReturn(true);
+
+        assertTrue(clientConnector.tryConnect(bootStrap));
+
+        verify(bootStrap, times(1)).connect();
+        verifyNoMoreInteractions(bootStrap);
+
+        verify(channel, times(1)).remoteAddress();
+        verifyNoMoreInteractions(channel);
+    }
+
+    @Test
+    public void testTryConnect_withConnectionFailure() {
+        when(bootStrap.connect()).thenReturn(future);
+        when(future.isSuccess()).thenReturn(false);
+
+        assertFalse(clientConnector.tryConnect(bootStrap));
+
+        verify(bootStrap, times(1)).connect();
+        verifyNoMoreInteractions(bootStrap);
+
+        verify(channel, times(1)).close();
+        verifyNoMoreInteractions(channel);
+    }
+
     private class TestClientPipelineConfigurator implements ClientPipelineConfigurator {
 
         @Override
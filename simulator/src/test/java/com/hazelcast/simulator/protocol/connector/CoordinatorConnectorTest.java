@@ -22,6 +22,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.simulator.protocol.core.ResponseFuture.createFutureKey;
 import static com.hazelcast.simulator.protocol.core.ResponseFuture.createInstance;
+import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_AGENT_NOT_FOUND;
 import static com.hazelcast.simulator.protocol.core.ResponseType.UNBLOCKED_BY_FAILURE;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.test.FailureType.NETTY_EXCEPTION;
@@ -169,4 +170,30 @@ public class CoordinatorConnectorTest {
 
         assertFalse("ResponseFuture.set() was called on Agent failure", responseFuture.isDone());
     }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testWriteAsync() {
+        String futureKey = createFutureKey(COORDINATOR, 1, AGENT_ADDRESS.getAgentIndex());
+        ResponseFuture responseFuture = createInstance(coordinatorConnector.getFutureMap(), futureKey);
+
+        ClientConnector agent = mock(ClientConnector.class);
+        when(agent.writeAsync(any(SimulatorMessage.class))).thenReturn(responseFuture);
+
+        coordinatorConnector.addAgent(1, agent);
+
+        assertEquals(responseFuture, coordinatorConnector.writeAsync(WORKER_ADDRESS, new IntegrationTestOperation()));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testWriteAsync_withAgentNotFound() {
+        ResponseFuture responseFuture = coordinatorConnector.writeAsync(WORKER_ADDRESS, new IntegrationTestOperation());
+
+        assertTrue(responseFuture.isDone());
+        assertEquals(FAILURE_AGENT_NOT_FOUND, responseFuture.getResponse().getFirstErrorResponseType());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteAsync_withWildcardAddress() {
+        coordinatorConnector.writeAsync(SimulatorAddress.ALL_WORKERS, new IntegrationTestOperation());
+    }
 }
@@ -19,6 +19,7 @@ import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -28,7 +29,8 @@ public class ResponseFutureTest {
     private static final int DEFAULT_TIMEOUT_MS = 500;
 
     private final String futureKey = createFutureKey(COORDINATOR, 1, 1);
-    private final ResponseFuture future = createInstance(new ConcurrentHashMap<String, ResponseFuture>(), futureKey);
+    private final ConcurrentHashMap<String, ResponseFuture> futureMap = new ConcurrentHashMap<String, ResponseFuture>();
+    private final ResponseFuture future = createInstance(futureMap, futureKey);
     private final FutureSetter futureSetter = new FutureSetter(DEFAULT_RESULT, DEFAULT_TIMEOUT_MS);
 
     @Test
@@ -167,6 +169,39 @@ public class ResponseFutureTest {
         assertEquals(INTERRUPTED, response.getFirstErrorResponseType());
     }
 
+    @Test
+    public void testAddListener_beforeSet() {
+        final AtomicReference<Response> responseReference = new AtomicReference<Response>();
+        future.addListener(new ResponseListener() {
+            @Override
+            public void onResponse(Response response) {
+                responseReference.set(response);
+            }
+        });
+        assertNull(responseReference.get());
+
+        future.set(DEFAULT_RESULT);
+
+        assertEquals(DEFAULT_RESULT, responseReference.get());
+        assertFalse(futureMap.containsKey(futureKey));
+    }
+
+    @Test
+    public void testAddListener_afterSet() {
+        future.set(DEFAULT_RESULT);
+
+        final AtomicReference<Response> responseReference = new AtomicReference<Response>();
+        future.addListener(new ResponseListener() {
+            @Override
+            public void onResponse(Response response) {
+                responseReference.set(response);
+            }
+        });
+
+        assertEquals(DEFAULT_RESULT, responseReference.get());
+        assertFalse(futureMap.containsKey(futureKey));
+    }
+
     private class FutureSetter extends Thread {
 
         private final Response result;
@@ -3,6 +3,7 @@ package com.hazelcast.simulator.protocol.core;
 import org.junit.Test;
 
 import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_AGENT_NOT_FOUND;
+import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_CLUSTER_NOT_SAFE;
 import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_TEST_NOT_FOUND;
 import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_WORKER_NOT_FOUND;
 import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
@@ -31,6 +32,11 @@ public class ResponseTypeTest {
         assertEquals(FAILURE_TEST_NOT_FOUND, fromInt(FAILURE_TEST_NOT_FOUND.toInt()));
     }
 
+    @Test
+    public void testFromInt_FAILURE_CLUSTER_NOT_SAFE() {
+        assertEquals(FAILURE_CLUSTER_NOT_SAFE, fromInt(FAILURE_CLUSTER_NOT_SAFE.toInt()));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testFromInt_invalid() {
         fromInt(-1);
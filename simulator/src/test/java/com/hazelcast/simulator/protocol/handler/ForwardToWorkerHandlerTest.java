@@ -1,11 +1,15 @@
 package com.hazelcast.simulator.protocol.handler;
 
+import com.hazelcast.simulator.protocol.connector.ClientConnector;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.ClientConnectorManager;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseCodec;
+import com.hazelcast.simulator.protocol.core.ResponseFuture;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
-import com.hazelcast.simulator.utils.ExecutorFactory;
+import com.hazelcast.simulator.protocol.core.SimulatorMessage;
+import com.hazelcast.simulator.protocol.core.SimulatorMessageCodec;
+import com.hazelcast.simulator.protocol.operation.OperationType;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
@@ -15,13 +19,21 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static com.hazelcast.simulator.protocol.core.ResponseFuture.createFutureKey;
+import static com.hazelcast.simulator.protocol.core.ResponseFuture.createInstance;
+import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
+import static com.hazelcast.simulator.protocol.core.ResponseType.UNBLOCKED_BY_FAILURE;
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -29,8 +41,11 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.class)
 public class ForwardToWorkerHandlerTest {
 
+    private static final SimulatorAddress AGENT_ADDRESS = new SimulatorAddress(AddressLevel.AGENT, 1, 0, 0);
+
     private final AttributeKey<Integer> forwardAddressIndex = AttributeKey.valueOf("forwardAddressIndex");
-    private final ExecutorService executorService = ExecutorFactory.createFixedThreadPool(2, "ForwardToWorkerHandlerTest");
+    private final ConcurrentHashMap<String, ResponseFuture> futureMap = new ConcurrentHashMap<String, ResponseFuture>();
+    private final ClientConnectorManager clientConnectorManager = new ClientConnectorManager();
 
     @Mock
     private Attribute<Integer> forwardAddressIndexAttribute;
@@ -48,10 +63,7 @@ public class ForwardToWorkerHandlerTest {
 
         when(ctx.attr(forwardAddressIndex)).thenReturn(forwardAddressIndexAttribute);
 
-        ClientConnectorManager clientConnectorManager = new ClientConnectorManager();
-
-        forwardToWorkerHandler = new ForwardToWorkerHandler(SimulatorAddress.COORDINATOR, clientConnectorManager,
-                executorService);
+        forwardToWorkerHandler = new ForwardToWorkerHandler(AGENT_ADDRESS, clientConnectorManager);
     }
 
     @After
@@ -59,9 +71,6 @@ public class ForwardToWorkerHandlerTest {
         if (buffer != null) {
             buffer.release();
         }
-
-        executorService.shutdown();
-        executorService.awaitTermination(1, TimeUnit.SECONDS);
     }
 
     @Test
@@ -78,4 +87,83 @@ public class ForwardToWorkerHandlerTest {
         verify(ctx).writeAndFlush(any(Response.class));
         verifyNoMoreInteractions(ctx);
     }
+
+    @Test
+    public void testChannelRead0_forwardMessage_WorkerNotFound() throws Exception {
+        buffer = createMessageBuffer(AGENT_ADDRESS.getChild(1));
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(ctx).writeAndFlush(captor.capture());
+        assertEquals(1, captor.getValue().size());
+    }
+
+    @Test
+    public void testChannelRead0_forwardMessage_toAllWorkers() throws Exception {
+        when(forwardAddressIndexAttribute.get()).thenReturn(0);
+        ResponseFuture future1 = addWorker(1);
+        ResponseFuture future2 = addWorker(2);
+        buffer = createMessageBuffer(AGENT_ADDRESS.getChild(0));
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        future2.set(new Response(1, COORDINATOR, AGENT_ADDRESS.getChild(2), SUCCESS));
+        verify(ctx, never()).writeAndFlush(any(Response.class));
+
+        future1.set(new Response(1, COORDINATOR, AGENT_ADDRESS.getChild(1), UNBLOCKED_BY_FAILURE));
+
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(ctx).writeAndFlush(captor.capture());
+        Response response = captor.getValue();
+        assertEquals(2, response.size());
+        assertEquals(UNBLOCKED_BY_FAILURE, response.getFirstErrorResponseType());
+        assertEquals(1, forwardToWorkerHandler.getForwardedMessageCount());
+        assertEquals(0, forwardToWorkerHandler.getSlowResponseCount());
+    }
+
+    @Test
+    public void testChannelRead0_forwardMessage_responseAlreadySet() throws Exception {
+        ResponseFuture future = addWorker(1);
+        future.set(new Response(1, COORDINATOR, AGENT_ADDRESS.getChild(1), SUCCESS));
+        buffer = createMessageBuffer(AGENT_ADDRESS.getChild(1));
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(ctx).writeAndFlush(captor.capture());
+        assertEquals(SUCCESS, captor.getValue().getFirstErrorResponseType());
+        assertEquals(1, forwardToWorkerHandler.getForwardedMessageCount());
+    }
+
+    @Test
+    public void testChannelRead0_forwardMessage_noWorkers() throws Exception {
+        when(forwardAddressIndexAttribute.get()).thenReturn(0);
+        buffer = createMessageBuffer(AGENT_ADDRESS.getChild(0));
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(ctx).writeAndFlush(captor.capture());
+        assertEquals(0, captor.getValue().size());
+        assertEquals(0, forwardToWorkerHandler.getForwardedMessageCount());
+    }
+
+    private ResponseFuture addWorker(int workerIndex) {
+        ResponseFuture future = createInstance(futureMap, createFutureKey(COORDINATOR, 1, workerIndex));
+
+        ClientConnector clientConnector = mock(ClientConnector.class);
+        when(clientConnector.getRemoteAddress()).thenReturn(AGENT_ADDRESS.getChild(workerIndex));
+        when(clientConnector.writeAsync(any(ByteBuf.class))).thenReturn(future);
+
+        clientConnectorManager.addClient(workerIndex, clientConnector);
+        return future;
+    }
+
+    private static ByteBuf createMessageBuffer(SimulatorAddress destination) {
+        SimulatorMessage message = new SimulatorMessage(destination, COORDINATOR, 1, OperationType.INTEGRATION_TEST, "{}");
+        ByteBuf buffer = Unpooled.buffer();
+        SimulatorMessageCodec.encodeByteBuf(message, buffer);
+        return buffer;
+    }
 }
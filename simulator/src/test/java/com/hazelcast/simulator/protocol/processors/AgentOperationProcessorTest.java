@@ -1,21 +1,27 @@
 package com.hazelcast.simulator.protocol.processors;
 
 import com.hazelcast.simulator.agent.Agent;
+import com.hazelcast.simulator.agent.HostMetricsMonitor;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvm;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmFailureMonitor;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmSettings;
 import com.hazelcast.simulator.common.CoordinatorLogger;
 import com.hazelcast.simulator.protocol.connector.AgentConnector;
+import com.hazelcast.simulator.protocol.core.AddressLevel;
+import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseType;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.exception.ExceptionLogger;
 import com.hazelcast.simulator.protocol.operation.CreateTestOperation;
 import com.hazelcast.simulator.protocol.operation.CreateWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.InitTestSuiteOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
+import com.hazelcast.simulator.protocol.operation.ResetWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.operation.StartTimeoutDetectionOperation;
 import com.hazelcast.simulator.protocol.operation.StopTimeoutDetectionOperation;
+import com.hazelcast.simulator.protocol.operation.WorkerStartupOperation;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.test.TestSuite;
 import com.hazelcast.simulator.utils.jars.HazelcastJARs;
@@ -26,8 +32,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.Arrays;
 
 import static com.hazelcast.simulator.TestEnvironmentUtils.deleteLogs;
 import static com.hazelcast.simulator.TestEnvironmentUtils.resetUserDir;
@@ -37,7 +42,6 @@ import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
 import static com.hazelcast.simulator.protocol.core.ResponseType.UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.protocol.operation.OperationType.getOperationType;
-import static com.hazelcast.simulator.utils.ExecutorFactory.createScheduledThreadPool;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingFile;
@@ -47,9 +51,16 @@ import static com.hazelcast.simulator.utils.NativeUtils.execute;
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -57,14 +68,16 @@ public class AgentOperationProcessorTest {
 
     private static final int DEFAULT_TEST_TIMEOUT = 30000;
     private static final int DEFAULT_STARTUP_TIMEOUT = 10;
+    private static final SimulatorAddress WORKER_ADDRESS = new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0);
 
     private final ExceptionLogger exceptionLogger = mock(ExceptionLogger.class);
     private final WorkerJvmFailureMonitor failureMonitor = mock(WorkerJvmFailureMonitor.class);
     private final WorkerJvmManager workerJvmManager = new WorkerJvmManager();
-    private final ScheduledExecutorService scheduler = createScheduledThreadPool(3, "AgentOperationProcessorTest");
+    private final AgentConnector agentConnector = mock(AgentConnector.class);
 
     private TestSuite testSuite;
     private File testSuiteDir;
+    private Agent agent;
 
     private AgentOperationProcessor processor;
 
@@ -76,10 +89,9 @@ public class AgentOperationProcessorTest {
         testSuite = new TestSuite("AgentOperationProcessorTest");
         testSuiteDir = new File(workersDir, testSuite.getId()).getAbsoluteFile();
 
-        AgentConnector agentConnector = mock(AgentConnector.class);
         CoordinatorLogger coordinatorLogger = mock(CoordinatorLogger.class);
 
-        Agent agent = mock(Agent.class);
+        agent = mock(Agent.class);
         when(agent.getAddressIndex()).thenReturn(1);
         when(agent.getPublicAddress()).thenReturn("127.0.0.1");
         when(agent.getTestSuite()).thenReturn(testSuite);
@@ -87,17 +99,17 @@ public class AgentOperationProcessorTest {
         when(agent.getAgentConnector()).thenReturn(agentConnector);
         when(agent.getCoordinatorLogger()).thenReturn(coordinatorLogger);
         when(agent.getWorkerJvmFailureMonitor()).thenReturn(failureMonitor);
+        when(agent.getHostMetricsMonitor()).thenReturn(mock(HostMetricsMonitor.class));
 
-        processor = new AgentOperationProcessor(exceptionLogger, agent, workerJvmManager, scheduler);
+        processor = new AgentOperationProcessor(exceptionLogger, agent, workerJvmManager);
     }
 
     @After
     public void tearDown() throws Exception {
+        processor.shutdown();
+
         resetUserDir();
         deleteLogs();
-
-        scheduler.shutdown();
-        scheduler.awaitTermination(10, TimeUnit.SECONDS);
     }
 
     @Test
@@ -130,6 +142,73 @@ public class AgentOperationProcessorTest {
         ResponseType responseType = testCreateWorkerOperation(false, DEFAULT_STARTUP_TIMEOUT);
         assertEquals(SUCCESS, responseType);
         assertWorkerLifecycle();
+
+        verify(agentConnector).write(eq(COORDINATOR), any(WorkerStartupOperation.class));
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testCreateWorkerOperation_withParallelism() throws Exception {
+        WorkerJvmSettings firstSettings = createWorkerJvmSettings(1, false, DEFAULT_STARTUP_TIMEOUT);
+        WorkerJvmSettings secondSettings = createWorkerJvmSettings(2, false, DEFAULT_STARTUP_TIMEOUT);
+        SimulatorOperation operation = new CreateWorkerOperation(Arrays.asList(firstSettings, secondSettings), 0, 2);
+
+        ResponseType responseType = processor.processOperation(getOperationType(operation), operation, COORDINATOR);
+        assertEquals(SUCCESS, responseType);
+        assertEquals(2, workerJvmManager.getWorkerJVMs().size());
+        assertWorkerLifecycle();
+
+        verify(agentConnector, times(2)).write(eq(COORDINATOR), any(WorkerStartupOperation.class));
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testCreateWorkerOperation_withReuseWorkers() throws Exception {
+        WorkerJvmSettings workerJvmSettings = createWorkerJvmSettings(1, false, DEFAULT_STARTUP_TIMEOUT);
+        Response response = new Response(1L, COORDINATOR, WORKER_ADDRESS, SUCCESS);
+        when(agentConnector.write(eq(WORKER_ADDRESS), any(ResetWorkerOperation.class))).thenReturn(response);
+
+        assertEquals(SUCCESS, createWorker(workerJvmSettings, true));
+        WorkerJvm workerJvm = workerJvmManager.get(WORKER_ADDRESS);
+
+        assertEquals(SUCCESS, createWorker(workerJvmSettings, true));
+        assertSame(workerJvm, workerJvmManager.get(WORKER_ADDRESS));
+        assertWorkerLifecycle();
+
+        verify(agentConnector).write(eq(WORKER_ADDRESS), any(ResetWorkerOperation.class));
+        verify(agentConnector, times(1)).write(eq(COORDINATOR), any(WorkerStartupOperation.class));
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testCreateWorkerOperation_withReuseWorkers_whenWorkerHasExited() throws Exception {
+        WorkerJvmSettings workerJvmSettings = createWorkerJvmSettings(1, false, DEFAULT_STARTUP_TIMEOUT);
+
+        assertEquals(SUCCESS, createWorker(workerJvmSettings, true));
+        WorkerJvm workerJvm = workerJvmManager.get(WORKER_ADDRESS);
+        assertWorkerLifecycle();
+
+        assertEquals(SUCCESS, createWorker(workerJvmSettings, true));
+        assertNotSame(workerJvm, workerJvmManager.get(WORKER_ADDRESS));
+        assertWorkerLifecycle();
+
+        verify(agentConnector, never()).write(eq(WORKER_ADDRESS), any(ResetWorkerOperation.class));
+        verify(agentConnector).removeWorker(1);
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testCreateWorkerOperation_withReuseWorkers_whenTestSuiteHasChanged() throws Exception {
+        WorkerJvmSettings workerJvmSettings = createWorkerJvmSettings(1, false, DEFAULT_STARTUP_TIMEOUT);
+
+        assertEquals(SUCCESS, createWorker(workerJvmSettings, true));
+        WorkerJvm workerJvm = workerJvmManager.get(WORKER_ADDRESS);
+        assertEquals(testSuite.getId(), workerJvm.getTestSuiteId());
+
+        when(agent.getTestSuite()).thenReturn(new TestSuite("AgentOperationProcessorTestOther"));
+
+        assertEquals(SUCCESS, createWorker(workerJvmSettings, true));
+        assertNotSame(workerJvm, workerJvmManager.get(WORKER_ADDRESS));
+        assertEquals("AgentOperationProcessorTestOther", workerJvmManager.get(WORKER_ADDRESS).getTestSuiteId());
+
+        verify(agentConnector, never()).write(eq(WORKER_ADDRESS), any(ResetWorkerOperation.class));
+        verify(agentConnector).removeWorker(1);
     }
 
     @Test(timeout = DEFAULT_TEST_TIMEOUT)
@@ -177,18 +256,29 @@ public class AgentOperationProcessorTest {
     }
 
     private ResponseType testCreateWorkerOperation(boolean withStartupException, int startupTimeout) throws Exception {
+        WorkerJvmSettings workerJvmSettings = createWorkerJvmSettings(1, withStartupException, startupTimeout);
+
+        return createWorker(workerJvmSettings, false);
+    }
+
+    private ResponseType createWorker(WorkerJvmSettings workerJvmSettings, boolean reuseWorkers) throws Exception {
+        SimulatorOperation operation = new CreateWorkerOperation(singletonList(workerJvmSettings), 0, 0, reuseWorkers);
+        return processor.processOperation(getOperationType(operation), operation, COORDINATOR);
+    }
+
+    private WorkerJvmSettings createWorkerJvmSettings(int workerIndex, boolean withStartupException, int startupTimeout) {
         WorkerJvmSettings workerJvmSettings = mock(WorkerJvmSettings.class);
         when(workerJvmSettings.getWorkerType()).thenReturn(WorkerType.INTEGRATION_TEST);
-        when(workerJvmSettings.getWorkerIndex()).thenReturn(1);
+        when(workerJvmSettings.getWorkerIndex()).thenReturn(workerIndex);
         when(workerJvmSettings.getHazelcastConfig()).thenReturn("");
         when(workerJvmSettings.getLog4jConfig()).thenReturn(fileAsText("dist/src/main/dist/conf/worker-log4j.xml"));
         when(workerJvmSettings.getWorkerScript()).thenReturn(withStartupException ? null : fileAsText("dist/src/main/dist/conf/worker.sh"));
         when(workerJvmSettings.getHazelcastVersionSpec()).thenReturn(HazelcastJARs.BRING_MY_OWN);
         when(workerJvmSettings.getWorkerStartupTimeout()).thenReturn(startupTimeout);
         when(workerJvmSettings.getJvmOptions()).thenReturn("-verbose:gc");
-
-        SimulatorOperation operation = new CreateWorkerOperation(singletonList(workerJvmSettings), 0);
-        return processor.processOperation(getOperationType(operation), operation, COORDINATOR);
+        when(workerJvmSettings.isReusableFor(workerJvmSettings)).thenReturn(true);
+        when(workerJvmSettings.isReusableFor(any(WorkerJvm.class), anyString())).thenCallRealMethod();
+        return workerJvmSettings;
     }
 
     private void assertWorkerLifecycle() throws InterruptedException {
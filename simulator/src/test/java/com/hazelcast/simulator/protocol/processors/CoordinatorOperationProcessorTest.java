@@ -1,25 +1,32 @@
 package com.hazelcast.simulator.protocol.processors;
 
+import com.hazelcast.simulator.agent.HostMetrics;
 import com.hazelcast.simulator.coordinator.FailureContainer;
 import com.hazelcast.simulator.coordinator.FailureListener;
 import com.hazelcast.simulator.coordinator.PerformanceStateContainer;
+import com.hazelcast.simulator.coordinator.TargetRateListener;
 import com.hazelcast.simulator.coordinator.TestHistogramContainer;
 import com.hazelcast.simulator.coordinator.TestPhaseListener;
 import com.hazelcast.simulator.coordinator.TestPhaseListeners;
+import com.hazelcast.simulator.coordinator.WorkerStartupContainer;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.exception.LocalExceptionLogger;
+import com.hazelcast.simulator.protocol.operation.ChangeClusterTargetRateOperation;
 import com.hazelcast.simulator.protocol.operation.ExceptionOperation;
 import com.hazelcast.simulator.protocol.operation.FailureOperation;
+import com.hazelcast.simulator.protocol.operation.HostMetricsOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
 import com.hazelcast.simulator.protocol.operation.PerformanceStateOperation;
 import com.hazelcast.simulator.protocol.operation.PhaseCompletedOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.operation.TestHistogramOperation;
+import com.hazelcast.simulator.protocol.operation.WorkerStartupOperation;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
 import com.hazelcast.simulator.test.FailureType;
 import com.hazelcast.simulator.test.TestException;
 import com.hazelcast.simulator.test.TestPhase;
+import com.hazelcast.simulator.worker.WorkerType;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
 import org.apache.log4j.Level;
 import org.junit.After;
@@ -68,6 +75,7 @@ public class CoordinatorOperationProcessorTest implements FailureListener {
     private PerformanceStateContainer performanceStateContainer;
     private TestHistogramContainer testHistogramContainer;
     private FailureContainer failureContainer;
+    private WorkerStartupContainer workerStartupContainer;
 
     private CoordinatorOperationProcessor processor;
 
@@ -92,9 +100,10 @@ public class CoordinatorOperationProcessorTest implements FailureListener {
         performanceStateContainer = new PerformanceStateContainer();
         testHistogramContainer = new TestHistogramContainer(performanceStateContainer);
         failureContainer = new FailureContainer("CoordinatorOperationProcessorTest", componentRegistry);
+        workerStartupContainer = new WorkerStartupContainer();
 
         processor = new CoordinatorOperationProcessor(exceptionLogger, failureContainer, testPhaseListeners,
-                performanceStateContainer, testHistogramContainer);
+                performanceStateContainer, testHistogramContainer, workerStartupContainer);
     }
 
     @After
@@ -175,6 +184,38 @@ public class CoordinatorOperationProcessorTest implements FailureListener {
         assertEquals(EXCEPTION_DURING_OPERATION_EXECUTION, responseType);
     }
 
+    @Test
+    public void processChangeClusterTargetRate() {
+        final AtomicInteger changedTargetRate = new AtomicInteger();
+        testPhaseListeners.addListener(1, new TargetRateTestPhaseListener(changedTargetRate));
+
+        ChangeClusterTargetRateOperation operation = new ChangeClusterTargetRateOperation(2000, 3);
+        ResponseType responseType = processor.process(operation, new SimulatorAddress(TEST, 1, 1, 1));
+
+        assertEquals(SUCCESS, responseType);
+        assertEquals(2000, changedTargetRate.get());
+    }
+
+    @Test
+    public void processChangeClusterTargetRate_withRejectedTargetRate() {
+        final AtomicInteger changedTargetRate = new AtomicInteger();
+        testPhaseListeners.addListener(1, new TargetRateTestPhaseListener(changedTargetRate));
+
+        ChangeClusterTargetRateOperation operation = new ChangeClusterTargetRateOperation(0, 0);
+        ResponseType responseType = processor.process(operation, new SimulatorAddress(TEST, 1, 1, 1));
+
+        assertEquals(EXCEPTION_DURING_OPERATION_EXECUTION, responseType);
+        assertEquals(0, changedTargetRate.get());
+    }
+
+    @Test
+    public void processChangeClusterTargetRate_withOperationFromWorker() {
+        ChangeClusterTargetRateOperation operation = new ChangeClusterTargetRateOperation(2000, 0);
+        ResponseType responseType = processor.process(operation, workerAddress);
+
+        assertEquals(EXCEPTION_DURING_OPERATION_EXECUTION, responseType);
+    }
+
     @Test
     public void processPerformanceState() {
         PerformanceStateOperation operation = new PerformanceStateOperation();
@@ -211,8 +252,51 @@ public class CoordinatorOperationProcessorTest implements FailureListener {
         assertEquals("histogram2", actualProbeHistograms.get("probe2"));
     }
 
+    @Test
+    public void processWorkerStartup() {
+        WorkerStartupOperation operation = new WorkerStartupOperation(workerAddress, WorkerType.MEMBER, 10, 500, 3000, 20);
+
+        ResponseType responseType = processor.process(operation, workerAddress.getParent());
+        assertEquals(SUCCESS, responseType);
+
+        assertEquals(1, workerStartupContainer.size());
+    }
+
+    @Test
+    public void processHostMetrics() {
+        HostMetrics hostMetrics = new HostMetrics(50, 10, 0, 20, 20, 1.5, 2, 1000, 1000, -1, 0, 0, -1);
+        HostMetricsOperation operation = new HostMetricsOperation(hostMetrics);
+
+        ResponseType responseType = processor.process(operation, workerAddress.getParent());
+        assertEquals(SUCCESS, responseType);
+
+        assertTrue(performanceStateContainer.formatHostMetricsWarnings().contains("steal 20%"));
+    }
+
     private static void assertExceptionClassInFailure(FailureOperation failure, Class<? extends Throwable> failureClass) {
         assertTrue(format("Expected cause to start with %s, but was %s", failureClass.getCanonicalName(), failure.getCause()),
                 failure.getCause().startsWith(failureClass.getCanonicalName()));
     }
+
+    private static final class TargetRateTestPhaseListener implements TestPhaseListener, TargetRateListener {
+
+        private final AtomicInteger changedTargetRate;
+
+        private TargetRateTestPhaseListener(AtomicInteger changedTargetRate) {
+            this.changedTargetRate = changedTargetRate;
+        }
+
+        @Override
+        public void completed(TestPhase testPhase) {
+        }
+
+        @Override
+        public boolean changeTargetRate(double targetRate, int activeThreadCount) {
+            if (targetRate <= 0) {
+                return false;
+            }
+            changedTargetRate.set((int) targetRate);
+            return true;
+        }
+    }
 }
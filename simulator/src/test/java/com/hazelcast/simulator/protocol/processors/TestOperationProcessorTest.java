@@ -5,6 +5,7 @@ import com.hazelcast.simulator.protocol.connector.WorkerConnector;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.operation.ChangeTargetRateOperation;
 import com.hazelcast.simulator.protocol.operation.CreateWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
@@ -100,6 +101,38 @@ public class TestOperationProcessorTest {
         exceptionLogger.assertException(NullPointerException.class);
     }
 
+    @Test
+    public void process_ChangeTargetRate() {
+        createTestOperationProcessor();
+
+        ResponseType responseType = processor.process(new ChangeTargetRateOperation(1000, 5), COORDINATOR);
+        assertEquals(SUCCESS, responseType);
+
+        exceptionLogger.assertNoException();
+    }
+
+    @Test
+    public void process_ChangeTargetRate_withLoadSegment() {
+        createTestOperationProcessor();
+
+        ResponseType responseType = processor.process(new ChangeTargetRateOperation(1000, 0, "warmup"), COORDINATOR);
+        assertEquals(SUCCESS, responseType);
+        responseType = processor.process(new ChangeTargetRateOperation(1200, 0, "warmup"), COORDINATOR);
+        assertEquals(SUCCESS, responseType);
+
+        exceptionLogger.assertNoException();
+    }
+
+    @Test
+    public void process_ChangeTargetRate_invalidTargetRate() {
+        createTestOperationProcessor();
+
+        ResponseType responseType = processor.process(new ChangeTargetRateOperation(0), COORDINATOR);
+        assertEquals(EXCEPTION_DURING_OPERATION_EXECUTION, responseType);
+
+        exceptionLogger.assertException(IllegalArgumentException.class);
+    }
+
     @Test
     public void process_StartTest_skipRunPhase_targetTypeMismatch() {
         createTestOperationProcessor();
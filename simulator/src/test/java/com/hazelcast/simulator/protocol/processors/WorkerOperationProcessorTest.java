@@ -1,7 +1,12 @@
 package com.hazelcast.simulator.protocol.processors;
 
+import com.hazelcast.core.Cluster;
+import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.PartitionService;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmSettings;
+import com.hazelcast.simulator.probes.Probe;
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.ResponseType;
@@ -9,7 +14,9 @@ import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.operation.CreateTestOperation;
 import com.hazelcast.simulator.protocol.operation.CreateWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
+import com.hazelcast.simulator.protocol.operation.IsClusterSafeOperation;
 import com.hazelcast.simulator.protocol.operation.PingOperation;
+import com.hazelcast.simulator.protocol.operation.ResetWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.operation.TerminateWorkerOperation;
 import com.hazelcast.simulator.test.IllegalTestException;
@@ -21,20 +28,26 @@ import org.apache.log4j.Logger;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.hazelcast.simulator.protocol.core.ResponseType.EXCEPTION_DURING_OPERATION_EXECUTION;
+import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_CLUSTER_NOT_SAFE;
 import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
 import static com.hazelcast.simulator.protocol.core.ResponseType.UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.protocol.operation.OperationCodec.toJson;
 import static com.hazelcast.simulator.protocol.operation.OperationType.getOperationType;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -104,6 +117,15 @@ public class WorkerOperationProcessorTest {
         verifyNoMoreInteractions(worker);
     }
 
+    @Test
+    public void process_Ping_withTimestamps() {
+        processor.process(new PingOperation(1000), COORDINATOR);
+        processor.process(new PingOperation(2000, 1000, 1010), COORDINATOR);
+
+        assertEquals(1, processor.getClockOffsetTracker().getSampleCount());
+        assertEquals(10, processor.getClockOffsetTracker().getRoundTripMillis());
+    }
+
     @Test
     public void process_TerminateWorkers_onMemberWorker() {
         TerminateWorkerOperation operation = new TerminateWorkerOperation(0, false);
@@ -171,6 +193,94 @@ public class WorkerOperationProcessorTest {
         exceptionLogger.assertException(IllegalTestException.class);
     }
 
+    @Test
+    public void process_ResetWorker() {
+        DistributedObject distributedObject = mock(DistributedObject.class);
+        when(hazelcastInstance.getDistributedObjects())
+                .thenReturn(Collections.<DistributedObject>singletonList(distributedObject))
+                .thenReturn(Collections.<DistributedObject>emptyList());
+        runCreateTestOperation(defaultTestCase);
+        Probe probe = mock(Probe.class);
+        processor.getTests().iterator().next().getProbeMap().put("probe", probe);
+
+        ResponseType responseType = processor.process(new ResetWorkerOperation(), COORDINATOR);
+
+        assertEquals(SUCCESS, responseType);
+        assertEquals(0, processor.getTests().size());
+        verify(probe).reset();
+        verify(distributedObject).destroy();
+        exceptionLogger.assertNoException();
+    }
+
+    @Test
+    public void process_ResetWorker_distributedObjectsLeft() {
+        DistributedObject distributedObject = mock(DistributedObject.class);
+        Collection<DistributedObject> distributedObjects = singletonList(distributedObject);
+        when(hazelcastInstance.getDistributedObjects()).thenReturn(distributedObjects);
+
+        ResponseType responseType = processor.process(new ResetWorkerOperation(), COORDINATOR);
+
+        assertEquals(EXCEPTION_DURING_OPERATION_EXECUTION, responseType);
+        verify(distributedObject, times(1)).destroy();
+    }
+
+    @Test
+    public void process_IsClusterSafe() {
+        PartitionService partitionService = mock(PartitionService.class);
+        when(partitionService.isClusterSafe()).thenReturn(true);
+        initCluster(partitionService, 2);
+
+        ResponseType responseType = processor.process(new IsClusterSafeOperation(2), COORDINATOR);
+
+        assertEquals(SUCCESS, responseType);
+        exceptionLogger.assertNoException();
+    }
+
+    @Test
+    public void process_IsClusterSafe_withPendingMigrations() {
+        PartitionService partitionService = mock(PartitionService.class);
+        when(partitionService.isClusterSafe()).thenReturn(false);
+        initCluster(partitionService, 2);
+
+        ResponseType responseType = processor.process(new IsClusterSafeOperation(2), COORDINATOR);
+
+        assertEquals(FAILURE_CLUSTER_NOT_SAFE, responseType);
+        exceptionLogger.assertNoException();
+    }
+
+    @Test
+    public void process_IsClusterSafe_withUnexpectedMemberCount() {
+        PartitionService partitionService = mock(PartitionService.class);
+        when(partitionService.isClusterSafe()).thenReturn(true);
+        initCluster(partitionService, 1);
+
+        ResponseType responseType = processor.process(new IsClusterSafeOperation(2), COORDINATOR);
+
+        assertEquals(FAILURE_CLUSTER_NOT_SAFE, responseType);
+        exceptionLogger.assertNoException();
+    }
+
+    @Test
+    public void process_IsClusterSafe_onClientWorker() {
+        processor = new WorkerOperationProcessor(exceptionLogger, WorkerType.CLIENT, hazelcastInstance, worker, workerAddress);
+
+        ResponseType responseType = processor.process(new IsClusterSafeOperation(2), COORDINATOR);
+
+        assertEquals(UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR, responseType);
+    }
+
+    private void initCluster(PartitionService partitionService, int memberCount) {
+        Member[] members = new Member[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            members[i] = mock(Member.class);
+        }
+        Cluster cluster = mock(Cluster.class);
+        when(cluster.getMembers()).thenReturn(new HashSet<Member>(asList(members)));
+
+        when(hazelcastInstance.getPartitionService()).thenReturn(partitionService);
+        when(hazelcastInstance.getCluster()).thenReturn(cluster);
+    }
+
     private void setTestCaseClass(String className) {
         properties.put("class", className);
     }
@@ -0,0 +1,63 @@
+package com.hazelcast.simulator.report;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static com.hazelcast.simulator.worker.ClockOffsetTracker.CLOCK_OFFSET_FILE_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ClockOffsetsTest {
+
+    private File directory;
+
+    @Before
+    public void setUp() {
+        directory = ensureExistingDirectory("worker-C_A1_W1-127.0.0.1-member");
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(directory);
+    }
+
+    @Test
+    public void testLoad_noFile() {
+        ClockOffsets clockOffsets = ClockOffsets.load(directory);
+
+        assertSame(ClockOffsets.NONE, clockOffsets);
+        assertTrue(clockOffsets.isEmpty());
+        assertEquals(5000, clockOffsets.toCoordinatorTime(5000));
+    }
+
+    @Test
+    public void testToCoordinatorTime() {
+        writeText("time-millis,clock-offset-millis,round-trip-millis\n"
+                + "10000,500,10\n"
+                + "20000,300,5\n"
+                + "30000,", new File(directory, CLOCK_OFFSET_FILE_NAME));
+
+        ClockOffsets clockOffsets = ClockOffsets.load(directory);
+
+        assertEquals(9500, clockOffsets.toCoordinatorTime(10000));
+        assertEquals(14500, clockOffsets.toCoordinatorTime(15000));
+        assertEquals(24700, clockOffsets.toCoordinatorTime(25000));
+        assertEquals(40700, clockOffsets.toCoordinatorTime(41000));
+    }
+
+    @Test
+    public void testToCoordinatorTime_beforeFirstSample() {
+        writeText("10000,500,10\n", new File(directory, CLOCK_OFFSET_FILE_NAME));
+
+        ClockOffsets clockOffsets = ClockOffsets.load(directory);
+
+        assertEquals(4500, clockOffsets.toCoordinatorTime(5000));
+    }
+}
@@ -0,0 +1,65 @@
+package com.hazelcast.simulator.report;
+
+import com.hazelcast.simulator.utils.helper.ExitStatusZeroException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.simulator.TestEnvironmentUtils.deleteLogs;
+import static com.hazelcast.simulator.TestEnvironmentUtils.resetSecurityManager;
+import static com.hazelcast.simulator.TestEnvironmentUtils.resetUserDir;
+import static com.hazelcast.simulator.TestEnvironmentUtils.setDistributionUserDir;
+import static com.hazelcast.simulator.TestEnvironmentUtils.setExitExceptionSecurityManagerWithStatusZero;
+import static com.hazelcast.simulator.report.ReportCli.init;
+import static com.hazelcast.simulator.report.ReportCli.run;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class ReportCliTest {
+
+    private final List<String> args = new ArrayList<String>();
+
+    private Report report = mock(Report.class);
+
+    @BeforeClass
+    public static void setUp() {
+        setExitExceptionSecurityManagerWithStatusZero();
+        setDistributionUserDir();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        resetSecurityManager();
+        resetUserDir();
+        deleteLogs();
+    }
+
+    @Test
+    public void testInit() {
+        init(getArgs());
+    }
+
+    @Test(expected = ExitStatusZeroException.class)
+    public void testInit_withHelp() {
+        args.add("--help");
+        init(getArgs());
+    }
+
+    @Test
+    public void testRun() {
+        run(report);
+
+        verify(report).createReport();
+        verifyNoMoreInteractions(report);
+    }
+
+    private String[] getArgs() {
+        String[] argsArray = new String[args.size()];
+        args.toArray(argsArray);
+        return argsArray;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hazelcast.simulator.report;
+
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.impl.ResultImpl;
+import com.hazelcast.simulator.probes.xml.ResultXmlUtils;
+import org.HdrHistogram.Histogram;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URL;
+
+import static com.hazelcast.simulator.utils.FileUtils.appendText;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingFile;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReportTest {
+
+    private File directory;
+    private File outputFile;
+
+    @Before
+    public void setUp() {
+        directory = ensureExistingDirectory("report-test");
+        outputFile = new File(directory, "report.html");
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(directory);
+    }
+
+    @Test
+    public void testCreateReport() {
+        File suiteDirectory = ensureExistingDirectory(directory, "workers/2016-07-09__12_00_00");
+        File workerDirectory1 = ensureExistingDirectory(suiteDirectory, "worker-C_A1_W1-127.0.0.1-member");
+        File workerDirectory2 = ensureExistingDirectory(suiteDirectory, "worker-C_A1_W2-127.0.0.1-member");
+
+        appendText("time-millis,timestamp,operations,operations-delta,operations/second,number-of-tests,total-tests\n"
+                        + "1000,timestamp,100,100,100,1,1\n"
+                        + "2000,timestamp,300,200,200,1,1\n",
+                new File(workerDirectory1, "performance-MapTest.csv"));
+        copyHistogramFile("heatmap-test-sample-1.txt", new File(workerDirectory1, "MapTest-getProbe.hdr"));
+        copyHistogramFile("heatmap-test-sample-2.txt", new File(workerDirectory2, "MapTest-getProbe.hdr"));
+        ensureExistingFile(workerDirectory1, "MapTest-aggregated.hdr");
+
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(1500);
+        Result result = new ResultImpl("MapTest", 100, 50.0);
+        result.addHistogram("getProbe", histogram);
+        ResultXmlUtils.toXml(result, new File(directory, "probes-suite_MapTest.xml"));
+
+        appendText("Failure[\n   message='<expected failure>'\n]\n", new File(directory, "failures-suite.txt"));
+
+        Report report = new Report(directory.getAbsolutePath(), outputFile.getAbsolutePath(), 2);
+        report.createReport();
+
+        assertEquals(3, report.getWorkerFileCount());
+        String html = fileAsText(outputFile);
+        assertTrue(html.contains("<h2>Test MapTest</h2>"));
+        assertTrue(html.contains("<td>getProbe</td>"));
+        assertTrue(html.contains("Agent C_A1-127.0.0.1"));
+        assertTrue(html.contains("Worker C_A1_W1-127.0.0.1-member"));
+        assertTrue(html.contains("Worker C_A1_W2-127.0.0.1-member"));
+        assertTrue(html.contains("All Workers: throughput over time"));
+        assertTrue(html.contains("All Workers: getProbe latency over time"));
+        assertTrue(html.contains("All Workers: latency distribution"));
+        assertTrue(html.contains("1 failures"));
+        assertTrue(html.contains("&lt;expected failure&gt;"));
+        assertFalse(html.contains("<expected failure>"));
+    }
+
+    @Test
+    public void testCreateReport_withEmptyDirectory() {
+        Report report = new Report(directory.getAbsolutePath(), outputFile.getAbsolutePath(), 1);
+        report.createReport();
+
+        assertEquals(0, report.getWorkerFileCount());
+        assertEquals(outputFile.getAbsoluteFile(), report.getOutputFile());
+        String html = fileAsText(outputFile);
+        assertTrue(html.contains("No probe results found."));
+        assertTrue(html.contains("No failures."));
+        assertTrue(html.endsWith("</html>\n"));
+    }
+
+    private void copyHistogramFile(String resourceName, File target) {
+        URL resource = getClass().getClassLoader().getResource(resourceName);
+        assertNotNull(resource);
+        appendText(fileAsText(new File(resource.getFile())), target);
+    }
+}
@@ -0,0 +1,35 @@
+package com.hazelcast.simulator.report;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.hazelcast.simulator.report.ResultFiles.getTestId;
+import static com.hazelcast.simulator.report.WorkerFile.getAgentId;
+import static com.hazelcast.simulator.report.WorkerFile.getWorkerId;
+import static org.junit.Assert.assertEquals;
+
+public class ResultFilesTest {
+
+    @Test
+    public void testGetTestId() {
+        assertEquals("MapTest", getTestId("MapTest-getProbe", Collections.<String>emptyList()));
+        assertEquals("Map-Test", getTestId("Map-Test-get-probe", Arrays.asList("Map", "Map-Test")));
+        assertEquals("MapTest", getTestId("MapTest", Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void testGetWorkerId() {
+        assertEquals("C_A1_W1-10.0.0.1-member", getWorkerId(new File("worker-C_A1_W1-10.0.0.1-member")));
+        assertEquals("other", getWorkerId(new File("other")));
+    }
+
+    @Test
+    public void testGetAgentId() {
+        assertEquals("C_A1-10.0.0.1", getAgentId("C_A1_W1-10.0.0.1-member"));
+        assertEquals("C_A2", getAgentId("C_A2_W3"));
+        assertEquals("unknown", getAgentId("foobar"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.hazelcast.simulator.report;
+
+import org.junit.Test;
+
+import static com.hazelcast.simulator.report.TimeSeries.Aggregation.MAX;
+import static com.hazelcast.simulator.report.TimeSeries.Aggregation.SUM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TimeSeriesTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testAdd() {
+        TimeSeries timeSeries = new TimeSeries(SUM);
+        timeSeries.add(10, 1);
+        timeSeries.add(12, 2);
+        timeSeries.add(11, 3);
+        timeSeries.add(12, 4);
+
+        assertEquals(3, timeSeries.size());
+        assertEquals(10, timeSeries.getMinTime());
+        assertEquals(12, timeSeries.getMaxTime());
+        assertEquals(3, timeSeries.getValue(1), DELTA);
+        assertEquals(6, timeSeries.getValue(2), DELTA);
+        assertEquals(6, timeSeries.getMaxValue(), DELTA);
+    }
+
+    @Test
+    public void testAdd_withMaxAggregation() {
+        TimeSeries timeSeries = new TimeSeries(MAX);
+        timeSeries.add(10, 5);
+        timeSeries.add(10, 3);
+
+        assertEquals(1, timeSeries.size());
+        assertEquals(5, timeSeries.getValue(0), DELTA);
+    }
+
+    @Test
+    public void testAdd_growsCapacity() {
+        TimeSeries timeSeries = new TimeSeries(SUM);
+        for (int i = 0; i < 1000; i++) {
+            timeSeries.add(i, i);
+        }
+
+        assertEquals(1000, timeSeries.size());
+        assertEquals(999, timeSeries.getValue(999), DELTA);
+    }
+
+    @Test
+    public void testMerge() {
+        TimeSeries timeSeries = new TimeSeries(SUM);
+        timeSeries.add(1, 1);
+        timeSeries.add(3, 3);
+
+        TimeSeries other = new TimeSeries(SUM);
+        other.add(2, 2);
+        other.add(3, 3);
+        other.add(4, 4);
+
+        timeSeries.merge(other);
+
+        assertEquals(4, timeSeries.size());
+        assertEquals(2, timeSeries.getTime(1));
+        assertEquals(6, timeSeries.getValue(2), DELTA);
+        assertEquals(4, timeSeries.getTime(3));
+    }
+
+    @Test
+    public void testMerge_withEmptySeries() {
+        TimeSeries timeSeries = new TimeSeries(MAX);
+        timeSeries.merge(new TimeSeries(MAX));
+
+        assertTrue(timeSeries.isEmpty());
+
+        timeSeries.add(1, 1);
+        assertEquals(1, timeSeries.size());
+    }
+
+    @Test
+    public void testDownsample_smallSeries() {
+        TimeSeries timeSeries = new TimeSeries(SUM);
+        timeSeries.add(1, 1);
+
+        assertSame(timeSeries, timeSeries.downsample(10));
+    }
+
+    @Test
+    public void testDownsample_withSumAggregation() {
+        TimeSeries timeSeries = new TimeSeries(SUM);
+        for (int i = 0; i < 100; i++) {
+            timeSeries.add(i, i % 2 == 0 ? 10 : 20);
+        }
+
+        TimeSeries downsampled = timeSeries.downsample(10);
+
+        assertEquals(10, downsampled.size());
+        assertEquals(15, downsampled.getValue(0), DELTA);
+        assertEquals(90, downsampled.getTime(9));
+    }
+
+    @Test
+    public void testDownsample_withMaxAggregation() {
+        TimeSeries timeSeries = new TimeSeries(MAX);
+        for (int i = 0; i < 100; i++) {
+            timeSeries.add(i, i == 42 ? 1000 : 1);
+        }
+
+        TimeSeries downsampled = timeSeries.downsample(10);
+
+        assertEquals(10, downsampled.size());
+        assertEquals(1000, downsampled.getValue(4), DELTA);
+        assertEquals(1, downsampled.getValue(5), DELTA);
+    }
+}
@@ -0,0 +1,78 @@
+package com.hazelcast.simulator.report;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.PrintStream;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static com.hazelcast.simulator.worker.ClockOffsetTracker.CLOCK_OFFSET_FILE_NAME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+
+public class WorkerFileTaskTest {
+
+    private static final long TEST_STARTED = 1468000000000L;
+
+    private File directory;
+    private File histogramFile;
+
+    @Before
+    public void setUp() {
+        directory = ensureExistingDirectory("worker-C_A1_W1-127.0.0.1-member");
+        histogramFile = new File(directory, "MapTest-getProbe.hdr");
+        writeText("time-millis,clock-offset-millis,round-trip-millis\n"
+                + TEST_STARTED + ",5000,10\n", new File(directory, CLOCK_OFFSET_FILE_NAME));
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(directory);
+    }
+
+    @Test
+    public void testParseHistogramFile_withAbsoluteTimestamps() throws Exception {
+        writeHistogramFile(true);
+        ProbeData probeData = new ProbeData("getProbe");
+
+        WorkerFileTask.parseHistogramFile(histogramFile, probeData, ClockOffsets.load(directory));
+
+        assertEquals(MILLISECONDS.toSeconds(TEST_STARTED + 10000 - 5000), probeData.getMax().getMinTime());
+    }
+
+    @Test
+    public void testParseHistogramFile_withRelativeTimestamps() throws Exception {
+        writeHistogramFile(false);
+        ProbeData probeData = new ProbeData("getProbe");
+
+        WorkerFileTask.parseHistogramFile(histogramFile, probeData, ClockOffsets.load(directory));
+
+        // without a StartTime header the timestamps are not corrected by the clock offsets
+        assertEquals(10, probeData.getMax().getMinTime());
+    }
+
+    private void writeHistogramFile(boolean withStartTime) throws Exception {
+        PrintStream printStream = new PrintStream(histogramFile, "UTF-8");
+        HistogramLogWriter writer = new HistogramLogWriter(printStream);
+        writer.setBaseTime(TEST_STARTED);
+        writer.outputLogFormatVersion();
+        if (withStartTime) {
+            writer.outputStartTime(TEST_STARTED);
+            writer.outputBaseTime(TEST_STARTED);
+        }
+        writer.outputLegend();
+
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(1000);
+        histogram.setStartTimeStamp(TEST_STARTED + 10000);
+        histogram.setEndTimeStamp(TEST_STARTED + 11000);
+        writer.outputIntervalHistogram(histogram);
+        printStream.close();
+    }
+}
@@ -0,0 +1,117 @@
+package com.hazelcast.simulator.test;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParameterSweepTest {
+
+    @Test
+    public void testConstructor() throws Exception {
+        invokePrivateConstructor(ParameterSweep.class);
+    }
+
+    @Test
+    public void testIsSweep() {
+        assertTrue(ParameterSweep.isSweep("[1,2,3]"));
+        assertTrue(ParameterSweep.isSweep(" range(1,10,1) "));
+        assertFalse(ParameterSweep.isSweep("10"));
+        assertFalse(ParameterSweep.isSweep("a,b"));
+    }
+
+    @Test
+    public void testExpandValues_list() {
+        assertEquals(asList("8", "16", "32"), ParameterSweep.expandValues("[8, 16 ,32]"));
+    }
+
+    @Test
+    public void testExpandValues_range_additive() {
+        assertEquals(asList("100", "200", "300"), ParameterSweep.expandValues("range(100,300,100)"));
+        assertEquals(asList("1", "3", "5"), ParameterSweep.expandValues("range(1,6,+2)"));
+    }
+
+    @Test
+    public void testExpandValues_range_multiplicative() {
+        assertEquals(asList("100", "200", "400", "800"), ParameterSweep.expandValues("range(100,1000,x2)"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpandValues_emptyList() {
+        ParameterSweep.expandValues("[ , ]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpandValues_invalidRange() {
+        ParameterSweep.expandValues("range(1,10)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpandValues_startAfterEnd() {
+        ParameterSweep.expandValues("range(10,1,1)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpandValues_invalidMultiplicativeStep() {
+        ParameterSweep.expandValues("range(1,10,x1)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpandValues_tooManyValues() {
+        ParameterSweep.expandValues("range(1,100000,1)");
+    }
+
+    @Test
+    public void testExpand() {
+        TestCase testCase = new TestCase("MapTest")
+                .setProperty("class", "Map")
+                .setProperty("valueSize", "[10,20]")
+                .setProperty("threadCount", "range(1,4,x2)");
+
+        Map<TestCase, Map<String, String>> testCases = ParameterSweep.expand(testCase);
+
+        assertEquals(6, testCases.size());
+        TestCase first = new ArrayList<TestCase>(testCases.keySet()).get(0);
+        assertEquals("MapTest_threadCount1_valueSize10", first.getId());
+        assertEquals("Map", first.getClassname());
+        assertEquals("1", first.getProperty("threadCount"));
+        assertEquals("10", first.getProperty("valueSize"));
+        assertEquals("1", testCases.get(first).get("threadCount"));
+
+        TestCase last = new ArrayList<TestCase>(testCases.keySet()).get(5);
+        assertEquals("MapTest_threadCount4_valueSize20", last.getId());
+    }
+
+    @Test
+    public void testExpand_sanitizesTestId() {
+        TestCase testCase = new TestCase("MapTest")
+                .setProperty("map.mode", "[a.b]");
+
+        Map<TestCase, Map<String, String>> testCases = ParameterSweep.expand(testCase);
+
+        assertEquals("MapTest_map-modea-b", testCases.keySet().iterator().next().getId());
+    }
+
+    @Test
+    public void testExpand_noSweep() {
+        TestCase testCase = new TestCase("MapTest")
+                .setProperty("threadCount", "8");
+
+        assertTrue(ParameterSweep.expand(testCase).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpand_tooManyCombinations() {
+        TestCase testCase = new TestCase("MapTest")
+                .setProperty("a", "range(1,100,1)")
+                .setProperty("b", "range(1,100,1)");
+
+        ParameterSweep.expand(testCase);
+    }
+}
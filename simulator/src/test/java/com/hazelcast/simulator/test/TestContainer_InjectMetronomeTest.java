@@ -2,17 +2,26 @@ package com.hazelcast.simulator.test;
 
 import com.hazelcast.simulator.test.annotations.InjectMetronome;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.worker.metronome.CatchUpPolicy;
 import com.hazelcast.simulator.worker.metronome.Metronome;
 import com.hazelcast.simulator.worker.tasks.AbstractMonotonicWorker;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.simulator.test.TestContainer.METRONOME_CATCH_UP_POLICY_PROPERTY_NAME;
 import static com.hazelcast.simulator.test.TestContainer.METRONOME_INTERVAL_PROPERTY_NAME;
+import static com.hazelcast.simulator.test.TestContainer.METRONOME_LAG_PROBE_NAME;
 import static com.hazelcast.simulator.test.TestContainer.METRONOME_TYPE_PROPERTY_NAME;
 import static com.hazelcast.simulator.test.TestContainer.THREAD_COUNT_PROPERTY_NAME;
 import static com.hazelcast.simulator.worker.metronome.MetronomeType.BUSY_SPINNING;
+import static com.hazelcast.simulator.worker.metronome.MetronomeType.HYBRID;
 import static com.hazelcast.simulator.worker.metronome.MetronomeType.NOP;
 import static com.hazelcast.simulator.worker.metronome.MetronomeType.SLEEPING;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -40,6 +49,48 @@ public class TestContainer_InjectMetronomeTest extends AbstractTestContainerTest
         assertEquals(SLEEPING, metronomeTest.workerMetronome.getType());
     }
 
+    @Test
+    public void testConstructor_withHybridMetronome() throws Exception {
+        TestCase testCase = new TestCase("TestContainerMetronomeTest");
+        testCase.setProperty("class", HybridMetronomeTest.class.getName());
+        testCase.setProperty(THREAD_COUNT_PROPERTY_NAME, "2");
+        testCase.setProperty(METRONOME_INTERVAL_PROPERTY_NAME, "10");
+        testCase.setProperty(METRONOME_TYPE_PROPERTY_NAME, HYBRID.name());
+        testCase.setProperty(METRONOME_CATCH_UP_POLICY_PROPERTY_NAME, CatchUpPolicy.SKIP.name());
+
+        testContainer = new TestContainer(testContext, testCase);
+        testContainer.invoke(TestPhase.SETUP);
+        testContainer.invoke(TestPhase.RUN);
+
+        HybridMetronomeTest test = (HybridMetronomeTest) testContainer.getTestInstance();
+        assertEquals("each worker thread needs its own metronome instance", 2, test.workerMetronomes.size());
+        for (Metronome metronome : test.workerMetronomes) {
+            assertEquals(HYBRID, metronome.getType());
+        }
+        assertTrue(testContainer.getProbeMap().containsKey(METRONOME_LAG_PROBE_NAME));
+        assertFalse(testContainer.getProbeMap().get(METRONOME_LAG_PROBE_NAME).isPartOfTotalThroughput());
+    }
+
+    @Test
+    public void testChangeTargetRate_beforeRun() throws Exception {
+        TestCase testCase = new TestCase("TestContainerMetronomeTest");
+        testCase.setProperty("class", HybridMetronomeTest.class.getName());
+        testCase.setProperty(THREAD_COUNT_PROPERTY_NAME, "2");
+
+        testContainer = new TestContainer(testContext, testCase);
+        testContainer.getRateBudget().update(100, 0);
+        testContainer.invoke(TestPhase.SETUP);
+        testContainer.invoke(TestPhase.RUN);
+
+        HybridMetronomeTest test = (HybridMetronomeTest) testContainer.getTestInstance();
+        assertEquals(2, test.workerMetronomes.size());
+        for (Metronome metronome : test.workerMetronomes) {
+            assertEquals(HYBRID, metronome.getType());
+            assertEquals(20, metronome.getInterval());
+        }
+        assertTrue(testContainer.getProbeMap().containsKey(METRONOME_LAG_PROBE_NAME));
+    }
+
     @Test
     public void testInjectMetronome() {
         MetronomeTest test = new MetronomeTest();
@@ -97,6 +148,30 @@ public class TestContainer_InjectMetronomeTest extends AbstractTestContainerTest
         }
     }
 
+    public static class HybridMetronomeTest {
+
+        private final Set<Metronome> workerMetronomes
+                = Collections.newSetFromMap(new ConcurrentHashMap<Metronome, Boolean>());
+
+        @RunWithWorker
+        public Worker createWorker() {
+            return new Worker();
+        }
+
+        private class Worker extends AbstractMonotonicWorker {
+
+            @Override
+            public void beforeRun() throws Exception {
+                workerMetronomes.add(getWorkerMetronome());
+            }
+
+            @Override
+            protected void timeStep() throws Exception {
+                stopTestContext();
+            }
+        }
+    }
+
     @Test(expected = IllegalTestException.class)
     public void testInjectMetronome_withIllegalFieldType() {
         IllegalFieldTypeTest test = new IllegalFieldTypeTest();
@@ -1,6 +1,7 @@
 package com.hazelcast.simulator.test;
 
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.GaugeProbe;
 import com.hazelcast.simulator.probes.impl.HdrProbe;
 import com.hazelcast.simulator.test.annotations.InjectProbe;
 import com.hazelcast.simulator.test.annotations.InjectTestContext;
@@ -69,6 +70,16 @@ public class TestContainer_InjectProbeTest extends AbstractTestContainerTest {
         assertTrue(testContainer.hasProbe("throughputProbe"));
     }
 
+    @Test
+    public void testInjectProbe_withGaugeProbeName() {
+        ProbeTest test = new ProbeTest();
+        testContainer = new TestContainer(testContext, test, true);
+
+        assertTrue(test.gaugeProbe instanceof GaugeProbe);
+        assertFalse(test.gaugeProbe.isPartOfTotalThroughput());
+        assertTrue(testContainer.hasProbe("queueDepthGauge"));
+    }
+
     private static class ProbeTest extends BaseTest {
 
         @InjectTestContext
@@ -83,6 +94,9 @@ public class TestContainer_InjectProbeTest extends AbstractTestContainerTest {
         @InjectProbe(useForThroughput = true)
         private Probe throughputProbe;
 
+        @InjectProbe(name = "queueDepthGauge")
+        private Probe gaugeProbe;
+
         @SuppressWarnings("unused")
         private Probe notAnnotatedProbe;
 
@@ -0,0 +1,66 @@
+package com.hazelcast.simulator.test;
+
+import com.hazelcast.simulator.protocol.connector.WorkerConnector;
+import com.hazelcast.simulator.protocol.core.Response;
+import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseType;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.operation.ChangeClusterTargetRateOperation;
+import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
+import com.hazelcast.simulator.worker.ClockOffsetTracker;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.simulator.protocol.core.AddressLevel.TEST;
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestContextImplTest {
+
+    private final SimulatorAddress testAddress = new SimulatorAddress(TEST, 1, 1, 1);
+    private final WorkerConnector workerConnector = mock(WorkerConnector.class);
+
+    private final TestContextImpl testContext = new TestContextImpl(null, "MapTest", TestContext.LOCALHOST,
+            new ClockOffsetTracker(), workerConnector, testAddress);
+
+    @Test
+    public void testChangeClusterTargetRate() {
+        mockResponse(ResponseType.SUCCESS);
+
+        assertTrue(testContext.changeClusterTargetRate(1000, 2));
+
+        ArgumentCaptor<SimulatorOperation> captor = ArgumentCaptor.forClass(SimulatorOperation.class);
+        verify(workerConnector).submitFromTest(eq(testAddress), eq(COORDINATOR), captor.capture());
+        ChangeClusterTargetRateOperation operation = (ChangeClusterTargetRateOperation) captor.getValue();
+        assertEquals(1000, operation.getTargetRate(), 0.0001);
+        assertEquals(2, operation.getActiveThreadCount());
+    }
+
+    @Test
+    public void testChangeClusterTargetRate_rejectedByCoordinator() {
+        mockResponse(ResponseType.EXCEPTION_DURING_OPERATION_EXECUTION);
+
+        assertFalse(testContext.changeClusterTargetRate(1000, 0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChangeClusterTargetRate_withoutWorkerConnector() {
+        new TestContextImpl("MapTest").changeClusterTargetRate(1000, 0);
+    }
+
+    private void mockResponse(ResponseType responseType) {
+        ResponseFuture future = ResponseFuture.createInstance(new ConcurrentHashMap<String, ResponseFuture>(), "key");
+        future.set(new Response(1, testAddress, COORDINATOR, responseType));
+        when(workerConnector.submitFromTest(any(SimulatorAddress.class), any(SimulatorAddress.class),
+                any(SimulatorOperation.class))).thenReturn(future);
+    }
+}
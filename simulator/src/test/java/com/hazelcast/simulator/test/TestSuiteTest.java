@@ -203,6 +203,51 @@ public class TestSuiteTest {
         assertEquals("20", testCase.getProperty("threadCount"));
     }
 
+    @Test
+    public void loadTestSuite_withParameterSweep() throws Exception {
+        String txt = "MapTest@class=Map" + NEW_LINE
+                + "MapTest@threadCount=[8,16]" + NEW_LINE
+                + "MapTest@valueSize=range(100,200,x2)" + NEW_LINE
+                + "OtherTest@class=Other" + NEW_LINE;
+
+        TestSuite testSuite = createTestSuite(txt);
+
+        assertTrue(testSuite.isParameterSweep());
+        assertEquals(5, testSuite.size());
+        assertEquals("MapTest_threadCount8_valueSize100", testSuite.getTestCaseList().get(0).getId());
+        assertEquals("MapTest_threadCount16_valueSize200", testSuite.getTestCaseList().get(3).getId());
+        assertEquals("OtherTest", testSuite.getTestCaseList().get(4).getId());
+
+        TestCase testCase = testSuite.getTestCase("MapTest_threadCount8_valueSize200");
+        assertEquals("Map", testCase.getClassname());
+        assertEquals("8", testCase.getProperty("threadCount"));
+        assertEquals("200", testCase.getProperty("valueSize"));
+
+        Map<String, String> sweepParameters = testSuite.getSweepParameters("MapTest_threadCount8_valueSize200");
+        assertEquals("8", sweepParameters.get("threadCount"));
+        assertEquals("200", sweepParameters.get("valueSize"));
+        assertNull(testSuite.getSweepParameters("OtherTest"));
+    }
+
+    @Test
+    public void loadTestSuite_withoutParameterSweep() throws Exception {
+        String txt = "MapTest@class=Map" + NEW_LINE
+                + "MapTest@threadCount=8" + NEW_LINE;
+
+        TestSuite testSuite = createTestSuite(txt);
+
+        assertFalse(testSuite.isParameterSweep());
+        assertEquals(1, testSuite.size());
+    }
+
+    @Test(expected = BindException.class)
+    public void loadTestSuite_withInvalidParameterSweep() throws Exception {
+        String txt = "MapTest@class=Map" + NEW_LINE
+                + "MapTest@threadCount=range(8,1,2)" + NEW_LINE;
+
+        createTestSuite(txt);
+    }
+
     @Test
     public void testMaxCaseIdLength() {
         TestSuite testSuite = new TestSuite();
@@ -0,0 +1,80 @@
+package com.hazelcast.simulator.utils;
+
+import org.junit.Test;
+
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.checkCpuList;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.formatAffinity;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.getAffinityCommand;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.parseAllowedCpus;
+import static com.hazelcast.simulator.utils.CpuAffinityUtils.pinCurrentThread;
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class CpuAffinityUtilsTest {
+
+    @Test
+    public void testConstructor() throws Exception {
+        invokePrivateConstructor(CpuAffinityUtils.class);
+    }
+
+    @Test
+    public void testCheckCpuList() {
+        assertEquals("0-3,8,10-11", checkCpuList(" 0-3,8,10-11 ", "cpuSet"));
+        assertEquals("1", checkCpuList("1", "numaNode"));
+    }
+
+    @Test
+    public void testCheckCpuList_empty() {
+        assertNull(checkCpuList(null, "cpuSet"));
+        assertNull(checkCpuList(" ", "cpuSet"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckCpuList_invalid() {
+        checkCpuList("0-3;8", "cpuSet");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckCpuList_trailingComma() {
+        checkCpuList("0,", "cpuSet");
+    }
+
+    @Test
+    public void testGetAffinityCommand() {
+        assertEquals("", getAffinityCommand(null, null));
+        assertEquals("taskset -c 0-3", getAffinityCommand("0-3", null));
+        assertEquals("numactl --cpunodebind=1 --membind=1", getAffinityCommand(null, "1"));
+        assertEquals("numactl --membind=1 --physcpubind=8-11", getAffinityCommand("8-11", "1"));
+    }
+
+    @Test
+    public void testFormatAffinity() {
+        assertNull(formatAffinity(null, null, null));
+        assertEquals("cpus 0-3", formatAffinity("0-3", null, null));
+        assertEquals("numa node 0, cpus 0-3, load threads 2-3", formatAffinity("0-3", "0", "2-3"));
+    }
+
+    @Test
+    public void testParseAllowedCpus() {
+        String status = "Name:\tjava\nCpus_allowed:\tff\nCpus_allowed_list:\t0-7\nMems_allowed_list:\t0\n";
+
+        assertEquals("cpus 0-7, memory nodes 0", parseAllowedCpus(status));
+    }
+
+    @Test
+    public void testParseAllowedCpus_withoutMemoryNodes() {
+        assertEquals("cpus 0-7", parseAllowedCpus("Cpus_allowed_list:\t0-7\n"));
+    }
+
+    @Test
+    public void testParseAllowedCpus_notFound() {
+        assertNull(parseAllowedCpus("Name:\tjava\n"));
+    }
+
+    @Test
+    public void testPinCurrentThread_invalidCpu() {
+        assertFalse(pinCurrentThread("65535"));
+    }
+}
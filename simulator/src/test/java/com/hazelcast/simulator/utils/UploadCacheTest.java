@@ -0,0 +1,185 @@
+package com.hazelcast.simulator.utils;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.simulator.TestEnvironmentUtils.resetUserDir;
+import static com.hazelcast.simulator.TestEnvironmentUtils.setDistributionUserDir;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class UploadCacheTest {
+
+    private static final String IP = "192.168.0.1";
+    private static final String TARGET_PATH = "workers/UploadCacheTest/";
+
+    private final Bash bash = mock(Bash.class);
+
+    @SuppressWarnings("unchecked")
+    private final ArgumentCaptor<List<File>> filesCaptor = ArgumentCaptor.forClass((Class) List.class);
+
+    private File sourceDirectory;
+    private File targetDirectory;
+    private UploadCache remoteUploadCache;
+    private UploadCache localUploadCache;
+
+    @BeforeClass
+    public static void setupEnvironment() {
+        setDistributionUserDir();
+    }
+
+    @AfterClass
+    public static void resetEnvironment() {
+        resetUserDir();
+    }
+
+    @Before
+    public void setUp() {
+        sourceDirectory = ensureExistingDirectory(new File("uploadCacheSource").getAbsoluteFile(), "upload");
+        writeText("foo", new File(sourceDirectory, "foo.txt"));
+        writeText("bar", new File(ensureExistingDirectory(sourceDirectory, "nested"), "bar.txt"));
+
+        targetDirectory = new File(getSimulatorHome(), TARGET_PATH);
+
+        remoteUploadCache = new UploadCache(bash, false, 2);
+        localUploadCache = new UploadCache(bash, true, 2);
+    }
+
+    @After
+    public void tearDown() {
+        remoteUploadCache.shutdown();
+        localUploadCache.shutdown();
+
+        deleteQuiet(sourceDirectory.getParentFile());
+        deleteQuiet(targetDirectory);
+    }
+
+    @Test
+    public void testHash() {
+        assertEquals("0beec7b5ea3f0fdbc95d0dd47f3c5bc275da8a33", UploadCache.hash(new File(sourceDirectory, "foo.txt")));
+    }
+
+    @Test(expected = FileUtilsException.class)
+    public void testHash_fileNotFound() {
+        UploadCache.hash(new File("notFound"));
+    }
+
+    @Test
+    public void testGetSourceFileMap() {
+        Map<String, File> sourceFileMap = UploadCache.getSourceFileMap(singletonList(sourceDirectory));
+
+        assertEquals(2, sourceFileMap.size());
+        assertEquals(new File(sourceDirectory, "foo.txt"), sourceFileMap.get("upload/foo.txt"));
+        assertEquals(new File(sourceDirectory, "nested/bar.txt"), sourceFileMap.get("upload/nested/bar.txt"));
+    }
+
+    @Test
+    public void testParseManifest() {
+        StringBuilder output = new StringBuilder()
+                .append("Warning: Permanently added '192.168.0.1' to the list of known hosts.").append(NEW_LINE)
+                .append("0beec7b5ea3f0fdbc95d0dd47f3c5bc275da8a33  ./upload/foo.txt").append(NEW_LINE)
+                .append("62cdb7020ff920e5aa642c3d4066950dd1f01f4d  ./upload/nested/bar.txt").append(NEW_LINE);
+
+        Map<String, String> manifest = UploadCache.parseManifest(output);
+
+        assertEquals(2, manifest.size());
+        assertEquals("0beec7b5ea3f0fdbc95d0dd47f3c5bc275da8a33", manifest.get("upload/foo.txt"));
+        assertEquals("62cdb7020ff920e5aa642c3d4066950dd1f01f4d", manifest.get("upload/nested/bar.txt"));
+    }
+
+    @Test
+    public void testParseManifest_withNull() {
+        assertTrue(UploadCache.parseManifest(null).isEmpty());
+    }
+
+    @Test
+    public void testUpload_remote_allFilesChanged() {
+        int uploadedFiles = remoteUploadCache.upload(IP, singletonList(sourceDirectory), TARGET_PATH);
+
+        assertEquals(2, uploadedFiles);
+        verify(bash).ssh(eq(IP), contains("sha1sum"));
+        verify(bash).ssh(eq(IP), contains("mkdir -p"));
+        verify(bash).uploadFilesToRemoteSimulatorDir(eq(IP), eq(singletonList(new File(sourceDirectory, "foo.txt"))),
+                eq("workers/UploadCacheTest/upload/"));
+        verify(bash).uploadFilesToRemoteSimulatorDir(eq(IP), eq(singletonList(new File(sourceDirectory, "nested/bar.txt"))),
+                eq("workers/UploadCacheTest/upload/nested/"));
+        verifyNoMoreInteractions(bash);
+    }
+
+    @Test
+    public void testUpload_remote_singleTransferPerTargetDirectory() {
+        writeText("baz", new File(sourceDirectory, "baz.txt"));
+
+        int uploadedFiles = remoteUploadCache.upload(IP, singletonList(sourceDirectory), TARGET_PATH);
+
+        assertEquals(3, uploadedFiles);
+        verify(bash).uploadFilesToRemoteSimulatorDir(eq(IP), filesCaptor.capture(), eq("workers/UploadCacheTest/upload/"));
+        assertEquals(new HashSet<File>(asList(new File(sourceDirectory, "foo.txt"), new File(sourceDirectory, "baz.txt"))),
+                new HashSet<File>(filesCaptor.getValue()));
+        verify(bash).uploadFilesToRemoteSimulatorDir(eq(IP), anyListOf(File.class), eq("workers/UploadCacheTest/upload/nested/"));
+    }
+
+    @Test
+    public void testUpload_remote_onlyChangedFiles() {
+        String manifest = "0beec7b5ea3f0fdbc95d0dd47f3c5bc275da8a33  ./upload/foo.txt" + NEW_LINE
+                + "0000000000000000000000000000000000000000  ./upload/nested/bar.txt" + NEW_LINE;
+        when(bash.ssh(eq(IP), contains("sha1sum"))).thenReturn(new StringBuilder(manifest));
+
+        int uploadedFiles = remoteUploadCache.upload(IP, singletonList(sourceDirectory), TARGET_PATH);
+
+        assertEquals(1, uploadedFiles);
+        verify(bash, times(2)).ssh(eq(IP), anyString());
+        verify(bash).uploadFilesToRemoteSimulatorDir(eq(IP), eq(singletonList(new File(sourceDirectory, "nested/bar.txt"))),
+                anyString());
+        verifyNoMoreInteractions(bash);
+    }
+
+    @Test
+    public void testUpload_local() {
+        int uploadedFiles = localUploadCache.upload(IP, singletonList(sourceDirectory), TARGET_PATH);
+
+        assertEquals(2, uploadedFiles);
+        assertEquals("foo", fileAsText(new File(targetDirectory, "upload/foo.txt")));
+        assertEquals("bar", fileAsText(new File(targetDirectory, "upload/nested/bar.txt")));
+        verifyNoMoreInteractions(bash);
+    }
+
+    @Test
+    public void testUpload_local_secondUploadIsSkipped() {
+        localUploadCache.upload(IP, singletonList(sourceDirectory), TARGET_PATH);
+        writeText("changed", new File(sourceDirectory, "foo.txt"));
+
+        int uploadedFiles = localUploadCache.upload(IP, singletonList(sourceDirectory), TARGET_PATH);
+
+        assertEquals(1, uploadedFiles);
+        assertEquals("changed", fileAsText(new File(targetDirectory, "upload/foo.txt")));
+        assertFalse(localUploadCache.getTargetManifest(IP, "workers/UploadCacheTest").isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+package com.hazelcast.simulator.worker;
+
+import com.hazelcast.simulator.protocol.operation.PingOperation;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ClockOffsetTrackerTest {
+
+    private final File file = new File("ClockOffsetTrackerTest.csv");
+
+    private final ClockOffsetTracker tracker = new ClockOffsetTracker();
+
+    @After
+    public void tearDown() {
+        deleteQuiet(file);
+    }
+
+    @Test
+    public void testInitialState() {
+        assertEquals(0, tracker.getClockOffsetMillis());
+        assertEquals(-1, tracker.getRoundTripMillis());
+        assertEquals(0, tracker.getSampleCount());
+    }
+
+    @Test
+    public void testOnPing_withoutTimestamps() {
+        tracker.onPing(new PingOperation(), 1000);
+        tracker.onPing(new PingOperation(), 2000);
+
+        assertEquals(0, tracker.getSampleCount());
+        assertEquals(0, tracker.getClockOffsetMillis());
+    }
+
+    @Test
+    public void testOnPing_workerClockAhead() {
+        // Coordinator sends at 1000, Worker receives at 1505 (500 ms ahead), Coordinator receives response at 1010
+        tracker.onPing(new PingOperation(1000), 1505);
+        tracker.onPing(new PingOperation(2000, 1000, 1010), 2505);
+
+        assertEquals(1, tracker.getSampleCount());
+        assertEquals(500, tracker.getClockOffsetMillis());
+        assertEquals(10, tracker.getRoundTripMillis());
+    }
+
+    @Test
+    public void testOnPing_workerClockBehind() {
+        tracker.onPing(new PingOperation(1000), 705);
+        tracker.onPing(new PingOperation(2000, 1000, 1010), 1705);
+
+        assertEquals(-300, tracker.getClockOffsetMillis());
+    }
+
+    @Test
+    public void testOnPing_usesSampleWithLowestRoundTrip() {
+        tracker.onPing(new PingOperation(1000), 1100);
+        tracker.onPing(new PingOperation(2000, 1000, 1200), 2010);
+        tracker.onPing(new PingOperation(3000, 2000, 2020), 3400);
+
+        assertEquals(2, tracker.getSampleCount());
+        assertEquals(0, tracker.getClockOffsetMillis());
+        assertEquals(20, tracker.getRoundTripMillis());
+    }
+
+    @Test
+    public void testOnPing_oldSamplesLeaveWindow() {
+        long timestamp = 1000;
+        tracker.onPing(new PingOperation(timestamp), timestamp);
+        tracker.onPing(new PingOperation(timestamp + 1000, timestamp, timestamp + 2), timestamp + 1000);
+        for (int i = 0; i < ClockOffsetTracker.SAMPLE_WINDOW; i++) {
+            timestamp += 1000;
+            tracker.onPing(new PingOperation(timestamp + 1000, timestamp, timestamp + 10), timestamp + 1000 + 100);
+        }
+
+        assertEquals(ClockOffsetTracker.SAMPLE_WINDOW + 1, tracker.getSampleCount());
+        assertEquals(10, tracker.getRoundTripMillis());
+        assertEquals(95, tracker.getClockOffsetMillis());
+    }
+
+    @Test
+    public void testOnPing_ignoresMismatchingPreviousTimestamp() {
+        tracker.onPing(new PingOperation(1000), 1000);
+        tracker.onPing(new PingOperation(3000, 2000, 2010), 3000);
+
+        assertEquals(0, tracker.getSampleCount());
+    }
+
+    @Test
+    public void testGetCoordinatorTimeMillis() {
+        tracker.onPing(new PingOperation(1000), 61000);
+        tracker.onPing(new PingOperation(2000, 1000, 1000), 62000);
+
+        long expected = System.currentTimeMillis() - 60000;
+        long actual = tracker.getCoordinatorTimeMillis();
+        assertTrue(actual >= expected && actual < expected + 1000);
+    }
+
+    @Test
+    public void testOnPing_withFile() {
+        ClockOffsetTracker tracker = new ClockOffsetTracker(file);
+        assertFalse(file.exists());
+
+        tracker.onPing(new PingOperation(1000), 1505);
+        tracker.onPing(new PingOperation(2000, 1000, 1010), 2505);
+
+        String content = fileAsText(file);
+        assertEquals("time-millis,clock-offset-millis,round-trip-millis\n1505,500,10\n", content);
+    }
+}
@@ -63,7 +63,9 @@ public class MemberWorkerTest {
             deleteLogs();
 
             deleteQuiet("performance.csv");
+            deleteQuiet("saturation.csv");
             deleteQuiet("worker.address");
+            deleteQuiet("worker.startup");
 
             deleteQuiet(MEMBER_CONFIG_FILE);
             deleteQuiet(CLIENT_CONFIG_FILE);
@@ -0,0 +1,149 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.TestContext;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class HybridMetronomeTest {
+
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void testWithFixedFrequency() {
+        Metronome metronome = MetronomeFactory.withFixedFrequency(100, MetronomeType.HYBRID);
+
+        metronome.waitForNext();
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            metronome.waitForNext();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertEquals(10, metronome.getInterval());
+        // the schedule is absolute, so a late wakeup of the first call shortens the measured time
+        assertTrue("Expected at least 80 ms, but was " + elapsedMillis, elapsedMillis >= 80);
+    }
+
+    @Test
+    public void testWaitForNext_scheduleIsNotShiftedByServiceTime() {
+        HybridMetronome metronome = new HybridMetronome(INTERVAL_NANOS, CatchUpPolicy.CATCH_UP, null);
+
+        metronome.waitForNext();
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            // the service time is shorter than the interval, so it must not add up
+            sleepMillis(5);
+            metronome.waitForNext();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue("Expected at least 95 ms, but was " + elapsedMillis, elapsedMillis >= 95);
+        assertTrue("Expected less than 150 ms, but was " + elapsedMillis, elapsedMillis < 150);
+    }
+
+    @Test
+    public void testWaitForNext_withCatchUp() {
+        HybridMetronome metronome = new HybridMetronome(INTERVAL_NANOS, CatchUpPolicy.CATCH_UP, null);
+
+        metronome.waitForNext();
+        sleepMillis(55);
+        long started = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            metronome.waitForNext();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue("Missed deadlines should not be waited for, but took " + elapsedMillis + " ms", elapsedMillis < 5);
+        assertEquals(0, metronome.getSkipCount());
+    }
+
+    @Test
+    public void testWaitForNext_withSkip() {
+        HybridMetronome metronome = new HybridMetronome(INTERVAL_NANOS, CatchUpPolicy.SKIP, null);
+
+        metronome.waitForNext();
+        sleepMillis(55);
+        metronome.waitForNext();
+        // the next deadline after the skipped ones can be arbitrarily close, so we measure the following interval
+        metronome.waitForNext();
+        long started = System.nanoTime();
+        metronome.waitForNext();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue("Expected at least 4 skipped deadlines, but was " + metronome.getSkipCount(), metronome.getSkipCount() >= 4);
+        assertTrue("Expected to wait for the next deadline, but took " + elapsedMillis + " ms", elapsedMillis >= 5);
+    }
+
+    @Test
+    public void testWaitForNext_recordsLag() {
+        Probe lagProbe = mock(Probe.class);
+        HybridMetronome metronome = new HybridMetronome(INTERVAL_NANOS, CatchUpPolicy.CATCH_UP, lagProbe);
+
+        for (int i = 0; i < 5; i++) {
+            metronome.waitForNext();
+        }
+
+        verify(lagProbe, times(5)).recordValue(anyLong());
+    }
+
+    @Test
+    public void testWaitForNext_withRateBudget() {
+        TestContext testContext = mock(TestContext.class);
+        RateBudget rateBudget = new RateBudget(testContext, 1);
+        rateBudget.update(100, 0);
+        HybridMetronome metronome = new HybridMetronome(rateBudget, 0, CatchUpPolicy.CATCH_UP, null);
+
+        metronome.waitForNext();
+        assertEquals(10, metronome.getInterval());
+
+        rateBudget.update(1000, 0);
+        metronome.waitForNext();
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            metronome.waitForNext();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertEquals(1, metronome.getInterval());
+        assertTrue("Expected less than 50 ms, but was " + elapsedMillis, elapsedMillis < 50);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroInterval() {
+        new HybridMetronome(0, CatchUpPolicy.SKIP, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithFixedFrequency_withNegativeFrequency() {
+        MetronomeFactory.withFixedFrequency(-100, MetronomeType.HYBRID);
+    }
+
+    @Test
+    public void testWaitForNext_withRateBudget_withoutTargetRate() {
+        TestContext testContext = mock(TestContext.class);
+        RateBudget rateBudget = new RateBudget(testContext, 1);
+        Probe lagProbe = mock(Probe.class);
+        HybridMetronome metronome = new HybridMetronome(rateBudget, 0, CatchUpPolicy.SKIP, lagProbe);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            metronome.waitForNext();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertEquals(0, metronome.getInterval());
+        assertTrue("Expected no throttling, but took " + elapsedMillis + " ms", elapsedMillis < 50);
+        verify(lagProbe, never()).recordValue(anyLong());
+    }
+}
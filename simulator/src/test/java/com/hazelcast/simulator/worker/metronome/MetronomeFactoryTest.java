@@ -97,4 +97,25 @@ public class MetronomeFactoryTest {
 
         assertTrue(metronome instanceof SleepingMetronome);
     }
+
+    @Test
+    public void testWithFixedIntervalMs_returnsHybridMetronome() {
+        Metronome metronome = withFixedIntervalMs(23, MetronomeType.HYBRID);
+
+        assertTrue(metronome instanceof HybridMetronome);
+    }
+
+    @Test
+    public void testWithFixedFrequency_returnsHybridMetronome() {
+        Metronome metronome = withFixedFrequency(23, MetronomeType.HYBRID, CatchUpPolicy.SKIP, null);
+
+        assertTrue(metronome instanceof HybridMetronome);
+    }
+
+    @Test
+    public void testWithFixedFrequency_returnsEmptyMetronome_HYBRID() {
+        Metronome metronome = withFixedFrequency(0, MetronomeType.HYBRID);
+
+        assertTrue(metronome instanceof EmptyMetronome);
+    }
 }
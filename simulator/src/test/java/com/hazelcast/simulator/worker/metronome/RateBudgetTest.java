@@ -0,0 +1,95 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.test.TestContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RateBudgetTest {
+
+    private final TestContext testContext = mock(TestContext.class);
+
+    private RateBudget rateBudget;
+
+    @Before
+    public void setUp() {
+        rateBudget = new RateBudget(testContext, 4);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertFalse(rateBudget.isEnabled());
+        assertEquals(4, rateBudget.getActiveThreadCount());
+    }
+
+    @Test
+    public void testUpdate() {
+        rateBudget.update(1000, 0);
+
+        assertTrue(rateBudget.isEnabled());
+        assertEquals(1000, rateBudget.getWorkerTargetRate(), 0.0001);
+        assertEquals(4, rateBudget.getActiveThreadCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(4), rateBudget.getIntervalNanos());
+        assertNull(rateBudget.getLoadSegment());
+    }
+
+    @Test
+    public void testUpdate_withLoadSegment() {
+        rateBudget.update(1000, 0, "warmup");
+        assertEquals("warmup", rateBudget.getLoadSegment());
+        assertTrue(rateBudget.toString().contains("warmup"));
+
+        rateBudget.update(2000, 0);
+        assertNull(rateBudget.getLoadSegment());
+    }
+
+    @Test
+    public void testUpdate_withActiveThreadCount() {
+        rateBudget.update(1000, 2);
+
+        assertEquals(2, rateBudget.getActiveThreadCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2), rateBudget.getIntervalNanos());
+    }
+
+    @Test
+    public void testUpdate_withActiveThreadCount_largerThanThreadCount() {
+        rateBudget.update(1000, 10);
+
+        assertEquals(4, rateBudget.getActiveThreadCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdate_withInvalidTargetRate() {
+        rateBudget.update(0, 0);
+    }
+
+    @Test
+    public void testAwaitActive_whenActive() {
+        rateBudget.update(1000, 2);
+
+        assertFalse(rateBudget.awaitActive(1));
+    }
+
+    @Test(timeout = 10000)
+    public void testAwaitActive_whenInactive_returnsOnStop() {
+        rateBudget.update(1000, 2);
+        when(testContext.isStopped()).thenReturn(false).thenReturn(true);
+
+        assertTrue(rateBudget.awaitActive(2));
+    }
+
+    @Test
+    public void testToString() {
+        rateBudget.update(1000, 2);
+
+        assertEquals("1000.0 ops/s on 2 of 4 threads", rateBudget.toString());
+    }
+}
@@ -0,0 +1,79 @@
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.simulator.worker.performance.SaturationState.Component;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SaturationMonitorTest {
+
+    private static HazelcastInstance hazelcastInstance;
+
+    @BeforeClass
+    public static void setUp() {
+        Config config = new Config();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testSample() {
+        SaturationMonitor saturationMonitor = new SaturationMonitor(hazelcastInstance);
+        saturationMonitor.sample();
+
+        IMap<Integer, Integer> map = hazelcastInstance.getMap("SaturationMonitorTest");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        sleepMillis(100);
+
+        SaturationState saturationState = saturationMonitor.sample();
+
+        assertTrue(saturationState.getOperationQueueSize() >= 0);
+        assertTrue(saturationState.getResponseQueueSize() >= 0);
+        assertTrue(saturationState.getRemoteOperationCount() >= 0);
+        for (Component component : Component.values()) {
+            double utilization = saturationState.getUtilization(component);
+            assertTrue(utilization >= 0 && utilization <= 1);
+        }
+    }
+
+    @Test
+    public void testSample_withClientInstance() {
+        SaturationMonitor saturationMonitor = new SaturationMonitor(null);
+
+        SaturationState saturationState = saturationMonitor.sample();
+
+        assertEquals(-1, saturationState.getOperationQueueSize());
+        assertEquals(-1, saturationState.getRemoteOperationCount());
+        assertEquals(-1, saturationState.getOperationThroughput(), 0.0001);
+    }
+
+    @Test
+    public void testGetComponent() {
+        String prefix = "hz._hzInstance_1_dev.";
+        assertEquals(Component.PARTITION_THREADS, SaturationMonitor.getComponent(prefix + "partition-operation.thread-3"));
+        assertEquals(Component.GENERIC_THREADS, SaturationMonitor.getComponent(prefix + "generic-operation.thread-0"));
+        assertEquals(Component.GENERIC_THREADS, SaturationMonitor.getComponent(prefix + "priority-generic-operation.thread-0"));
+        assertEquals(Component.IO_THREADS, SaturationMonitor.getComponent(prefix + "IO.thread-in-0"));
+        assertEquals(Component.IO_THREADS, SaturationMonitor.getComponent(prefix + "IO.thread-out-1"));
+        assertEquals(Component.RESPONSE_THREADS, SaturationMonitor.getComponent(prefix + "response"));
+        assertNull(SaturationMonitor.getComponent(prefix + "cached.thread-1"));
+        assertNull(SaturationMonitor.getComponent("main"));
+        assertNull(SaturationMonitor.getComponent(null));
+    }
+}
@@ -0,0 +1,49 @@
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.worker.performance.SaturationState.Component;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SaturationStateTest {
+
+    private static final double ASSERT_EQUALS_DELTA = 0.0001;
+
+    private final SaturationState saturationState = new SaturationState(new long[]{10, 2, 5}, new long[]{8, 40}, 1234.5,
+            new double[]{0.95, 0.5, 0.9, 0.1});
+
+    @Test
+    public void testGetters() {
+        assertEquals(10, saturationState.getOperationQueueSize());
+        assertEquals(2, saturationState.getPriorityOperationQueueSize());
+        assertEquals(5, saturationState.getResponseQueueSize());
+        assertEquals(8, saturationState.getRunningOperationCount());
+        assertEquals(40, saturationState.getRemoteOperationCount());
+        assertEquals(1234.5, saturationState.getOperationThroughput(), ASSERT_EQUALS_DELTA);
+    }
+
+    @Test
+    public void testGetUtilization() {
+        assertEquals(0.95, saturationState.getUtilization(Component.PARTITION_THREADS), ASSERT_EQUALS_DELTA);
+        assertEquals(0.5, saturationState.getUtilization(Component.GENERIC_THREADS), ASSERT_EQUALS_DELTA);
+        assertEquals(0.9, saturationState.getUtilization(Component.IO_THREADS), ASSERT_EQUALS_DELTA);
+        assertEquals(0.1, saturationState.getUtilization(Component.RESPONSE_THREADS), ASSERT_EQUALS_DELTA);
+    }
+
+    @Test
+    public void testGetSaturatedComponents() {
+        List<Component> saturatedComponents = saturationState.getSaturatedComponents();
+
+        assertEquals(2, saturatedComponents.size());
+        assertTrue(saturatedComponents.contains(Component.PARTITION_THREADS));
+        assertTrue(saturatedComponents.contains(Component.IO_THREADS));
+    }
+
+    @Test
+    public void testToString() {
+        assertTrue(saturationState.toString().contains("SaturationState"));
+    }
+}
@@ -1,10 +1,91 @@
 package com.hazelcast.simulator.worker.performance;
 
 import com.hazelcast.simulator.test.TestException;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.After;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.Collections;
+import java.util.Map;
+
+import static com.hazelcast.simulator.probes.impl.HdrProbe.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.HdrProbe.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 public class TestPerformanceTrackerTest {
 
+    private static final String TEST_ID = "TestPerformanceTrackerTest";
+
+    private final File performanceFile = new File("performance-" + TEST_ID + ".csv");
+    private final File latencyFile = new File(TEST_ID + "-probe.hdr");
+
+    @After
+    public void tearDown() {
+        deleteQuiet(performanceFile);
+        deleteQuiet(latencyFile);
+    }
+
+    @Test
+    public void testWriteStatsToFile_withLoadSegment() {
+        long started = System.currentTimeMillis();
+        TestPerformanceTracker tracker = new TestPerformanceTracker(TEST_ID, singletonList("probe"), started);
+        Map<String, Histogram> histograms = Collections.singletonMap("probe", new Histogram(MAXIMUM_LATENCY, LATENCY_PRECISION));
+
+        tracker.update(histograms, 0, 0, 0, 100, started + 1000);
+        tracker.writeStatsToFile(started + 1000, "timestamp", "warmup");
+        tracker.update(histograms, 0, 0, 0, 100, started + 2000);
+        tracker.writeStatsToFile(started + 2000, "timestamp", "warmup");
+        tracker.update(histograms, 0, 0, 0, 100, started + 3000);
+        tracker.writeStatsToFile(started + 3000, "timestamp", "steady");
+
+        String[] lines = fileAsText(performanceFile).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].endsWith(",load-segment"));
+        assertTrue(lines[1].endsWith(",warmup"));
+        assertTrue(lines[3].endsWith(",steady"));
+
+        String latencies = fileAsText(latencyFile);
+        assertEquals(1, countOccurrences(latencies, "#loadSegment=warmup"));
+        assertEquals(1, countOccurrences(latencies, "#loadSegment=steady"));
+    }
+
+    @Test
+    public void testWriteStatsToFile_histogramTimestampsAreAbsolute() throws Exception {
+        long started = System.currentTimeMillis();
+        TestPerformanceTracker tracker = new TestPerformanceTracker(TEST_ID, singletonList("probe"), started);
+        Histogram histogram = new Histogram(MAXIMUM_LATENCY, LATENCY_PRECISION);
+        histogram.recordValue(1000);
+        histogram.setStartTimeStamp(started + 10000);
+        histogram.setEndTimeStamp(started + 11000);
+
+        tracker.update(Collections.singletonMap("probe", histogram), 0, 0, 0, 100, started + 11000);
+        tracker.writeStatsToFile(started + 11000, "timestamp", null);
+
+        FileInputStream inputStream = new FileInputStream(latencyFile);
+        Histogram readHistogram;
+        try {
+            readHistogram = (Histogram) new HistogramLogReader(inputStream).nextIntervalHistogram();
+        } finally {
+            closeQuietly(inputStream);
+        }
+
+        assertEquals(started + 10000, readHistogram.getStartTimeStamp());
+        assertEquals(started + 11000, readHistogram.getEndTimeStamp());
+        assertEquals(1, readHistogram.getTotalCount());
+    }
+
+    private static int countOccurrences(String text, String pattern) {
+        return text.split(pattern, -1).length - 1;
+    }
+
     @Test(expected = TestException.class)
     public void testCreateHistogramLogWriter_withInvalidFilename() {
         TestPerformanceTracker.createHistogramLogWriter("invalidFileName", ":\\//", System.currentTimeMillis());
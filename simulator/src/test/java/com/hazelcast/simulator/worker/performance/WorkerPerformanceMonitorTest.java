@@ -57,6 +57,7 @@ public class WorkerPerformanceMonitorTest {
     @After
     public void tearDown() throws InterruptedException {
         performanceMonitor.shutdown();
+        deleteQuiet("saturation.csv");
     }
 
     @AfterClass
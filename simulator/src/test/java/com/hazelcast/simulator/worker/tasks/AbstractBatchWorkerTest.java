@@ -0,0 +1,249 @@
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.GaugeProbe;
+import com.hazelcast.simulator.probes.impl.HdrProbe;
+import com.hazelcast.simulator.test.TestContainer;
+import com.hazelcast.simulator.test.TestContextImpl;
+import com.hazelcast.simulator.test.TestPhase;
+import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.utils.ExceptionReporter;
+import org.HdrHistogram.Histogram;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.TestEnvironmentUtils.deleteExceptionLogs;
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static com.hazelcast.simulator.worker.tasks.AbstractBatchWorker.BATCH_PROBE_NAME;
+import static com.hazelcast.simulator.worker.tasks.AbstractBatchWorker.IN_FLIGHT_PROBE_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractBatchWorkerTest {
+
+    private static final int THREAD_COUNT = 1;
+    private static final int DEFAULT_TEST_TIMEOUT = 30000;
+
+    private TestContextImpl testContext;
+
+    @Before
+    public void setUp() {
+        testContext = new TestContextImpl("AbstractBatchWorkerTest");
+
+        ExceptionReporter.reset();
+    }
+
+    @After
+    public void tearDown() {
+        deleteExceptionLogs(THREAD_COUNT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidBatchSize() {
+        new WorkerTest(0, 0, 0).createWorker();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidBatchWindow() {
+        new WorkerTest(10, -1, 0).createWorker();
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_completeBatchesBySize() throws Exception {
+        WorkerTest test = new WorkerTest(4, 0, 0);
+        TestContainer testContainer = new TestContainer(testContext, test, THREAD_COUNT);
+
+        testContainer.invoke(TestPhase.RUN);
+
+        Map<String, Probe> probeMap = testContainer.getProbeMap();
+        assertEquals(10, getHistogram(probeMap, IWorker.DEFAULT_WORKER_PROBE_NAME).getTotalCount());
+        assertEquals(3, getHistogram(probeMap, BATCH_PROBE_NAME).getTotalCount());
+        assertEquals(3, test.flushCount);
+
+        // every second operation returns a future, so a full batch of 4 operations has 2 futures in flight
+        assertTrue(probeMap.get(IN_FLIGHT_PROBE_NAME) instanceof GaugeProbe);
+        Histogram inFlightHistogram = getHistogram(probeMap, IN_FLIGHT_PROBE_NAME);
+        assertEquals(3, inFlightHistogram.getTotalCount());
+        assertEquals(2, inFlightHistogram.getMaxValue());
+        assertEquals(1, inFlightHistogram.getMinValue());
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_completeBatchesByTime() throws Exception {
+        WorkerTest test = new WorkerTest(1000, 1, 5);
+        TestContainer testContainer = new TestContainer(testContext, test, THREAD_COUNT);
+
+        testContainer.invoke(TestPhase.RUN);
+
+        Map<String, Probe> probeMap = testContainer.getProbeMap();
+        assertEquals(10, getHistogram(probeMap, IWorker.DEFAULT_WORKER_PROBE_NAME).getTotalCount());
+        assertEquals(10, getHistogram(probeMap, BATCH_PROBE_NAME).getTotalCount());
+        assertEquals(10, test.flushCount);
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_withoutAwaitBatch_recordsLatencyOnCompletion() throws Exception {
+        AsyncWorkerTest test = new AsyncWorkerTest();
+        TestContainer testContainer = new TestContainer(testContext, test, THREAD_COUNT);
+
+        testContainer.invoke(TestPhase.RUN);
+
+        Map<String, Probe> probeMap = testContainer.getProbeMap();
+        assertEquals(0, getHistogram(probeMap, IWorker.DEFAULT_WORKER_PROBE_NAME).getTotalCount());
+        assertEquals(0, getHistogram(probeMap, BATCH_PROBE_NAME).getTotalCount());
+
+        // the futures of the first batch are still pending when the second batch is completed
+        Histogram inFlightHistogram = getHistogram(probeMap, IN_FLIGHT_PROBE_NAME);
+        assertEquals(2, inFlightHistogram.getTotalCount());
+        assertEquals(4, inFlightHistogram.getMinValue());
+        assertEquals(8, inFlightHistogram.getMaxValue());
+
+        for (ManualFuture future : test.futures) {
+            future.complete();
+        }
+
+        assertEquals(8, getHistogram(probeMap, IWorker.DEFAULT_WORKER_PROBE_NAME).getTotalCount());
+        assertEquals(2, getHistogram(probeMap, BATCH_PROBE_NAME).getTotalCount());
+    }
+
+    private static Histogram getHistogram(Map<String, Probe> probeMap, String probeName) {
+        return ((HdrProbe) probeMap.get(probeName)).getIntervalHistogram();
+    }
+
+    private static class WorkerTest {
+
+        private final int batchSize;
+        private final int batchWindowMillis;
+        private final int sleepMillis;
+
+        private volatile int flushCount;
+
+        WorkerTest(int batchSize, int batchWindowMillis, int sleepMillis) {
+            this.batchSize = batchSize;
+            this.batchWindowMillis = batchWindowMillis;
+            this.sleepMillis = sleepMillis;
+        }
+
+        @RunWithWorker
+        public Worker createWorker() {
+            return new Worker();
+        }
+
+        private class Worker extends AbstractBatchWorker {
+
+            Worker() {
+                super(batchSize, batchWindowMillis);
+            }
+
+            @Override
+            protected Future<?> timeStep() throws Exception {
+                if (getIteration() == 9) {
+                    stopTestContext();
+                }
+                sleepMillis(sleepMillis);
+                if (getIteration() % 2 == 0) {
+                    return null;
+                }
+                FutureTask<Object> future = new FutureTask<Object>(new Runnable() {
+                    @Override
+                    public void run() {
+                    }
+                }, null);
+                future.run();
+                return future;
+            }
+
+            @Override
+            protected void flushBatch() throws Exception {
+                flushCount++;
+            }
+        }
+    }
+
+    private static class AsyncWorkerTest {
+
+        private final List<ManualFuture> futures = new CopyOnWriteArrayList<ManualFuture>();
+
+        @RunWithWorker
+        public Worker createWorker() {
+            return new Worker();
+        }
+
+        private class Worker extends AbstractBatchWorker {
+
+            Worker() {
+                super(4, 0, false);
+            }
+
+            @Override
+            protected Future<?> timeStep() throws Exception {
+                if (getIteration() == 7) {
+                    stopTestContext();
+                }
+                ManualFuture future = new ManualFuture();
+                futures.add(future);
+                return future;
+            }
+        }
+    }
+
+    private static class ManualFuture implements ICompletableFuture<Object> {
+
+        private final List<ExecutionCallback<Object>> callbacks = new CopyOnWriteArrayList<ExecutionCallback<Object>>();
+
+        private volatile boolean done;
+
+        void complete() {
+            done = true;
+            for (ExecutionCallback<Object> callback : callbacks) {
+                callback.onResponse(null);
+            }
+        }
+
+        @Override
+        public void andThen(ExecutionCallback<Object> callback) {
+            callbacks.add(callback);
+        }
+
+        @Override
+        public void andThen(ExecutionCallback<Object> callback, Executor executor) {
+            callbacks.add(callback);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public Object get() {
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            return null;
+        }
+    }
+}
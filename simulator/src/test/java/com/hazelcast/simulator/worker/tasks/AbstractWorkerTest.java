@@ -1,5 +1,7 @@
 package com.hazelcast.simulator.worker.tasks;
 
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.HdrProbe;
 import com.hazelcast.simulator.test.TestContainer;
 import com.hazelcast.simulator.test.TestContext;
 import com.hazelcast.simulator.test.TestContextImpl;
@@ -8,12 +10,15 @@ import com.hazelcast.simulator.test.TestPhase;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.utils.ExceptionReporter;
+import com.hazelcast.simulator.worker.metronome.CatchUpPolicy;
+import com.hazelcast.simulator.worker.metronome.MetronomeType;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.Map;
 
 import static com.hazelcast.simulator.TestEnvironmentUtils.deleteExceptionLogs;
 import static org.junit.Assert.assertEquals;
@@ -32,7 +37,8 @@ public class AbstractWorkerTest {
         STOP_WORKER,
         STOP_TEST_CONTEXT,
         RANDOM,
-        ITERATION
+        ITERATION,
+        ALLOCATION
     }
 
     private WorkerTest test;
@@ -119,6 +125,22 @@ public class AbstractWorkerTest {
         assertEquals(THREAD_COUNT + 1, test.workerCreated);
     }
 
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_withOperationCostSampler() throws Exception {
+        test.operationSelectorBuilder.addDefaultOperation(Operation.ALLOCATION);
+        testContainer = new TestContainer(testContext, test, 1, 0, MetronomeType.NOP, false, false, CatchUpPolicy.CATCH_UP, 2);
+
+        testContainer.invoke(TestPhase.SETUP);
+        testContainer.invoke(TestPhase.RUN);
+
+        assertEquals(ITERATION_COUNT, test.testIteration);
+        Map<String, Probe> probeMap = testContainer.getProbeMap();
+        assertTrue(probeMap.containsKey("AllocationAllocatedBytesGauge"));
+        assertTrue(probeMap.containsKey("AllocationCpuNanosGauge"));
+        // the iterations 0, 2, 4, 6, 8 and 10 are sampled
+        assertEquals(6, ((HdrProbe) probeMap.get("AllocationCpuNanosGauge")).getIntervalHistogram().getTotalCount());
+    }
+
     private static class WorkerTest {
 
         private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
@@ -171,6 +193,13 @@ public class AbstractWorkerTest {
                             stopTestContext();
                         }
                         break;
+                    case ALLOCATION:
+                        randomLong = (long) new byte[randomInt(1000) + 1].length;
+                        if (getIteration() == ITERATION_COUNT) {
+                            testIteration = getIteration();
+                            stopTestContext();
+                        }
+                        break;
                     default:
                         throw new UnsupportedOperationException("Unsupported operation: " + operation);
                 }
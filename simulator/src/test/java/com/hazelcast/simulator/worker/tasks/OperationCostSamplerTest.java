@@ -0,0 +1,125 @@
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.GaugeProbe;
+import com.hazelcast.simulator.probes.impl.HdrProbe;
+import org.HdrHistogram.Histogram;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.simulator.worker.tasks.OperationCostSampler.NOT_AVAILABLE;
+import static com.hazelcast.simulator.worker.tasks.OperationCostSampler.isCostProbe;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OperationCostSamplerTest {
+
+    private enum Operation {
+        PUT,
+        GET_ALL
+    }
+
+    private final ConcurrentMap<String, Probe> probeMap = new ConcurrentHashMap<String, Probe>();
+
+    private OperationCostSampler sampler;
+
+    @Before
+    public void setUp() {
+        sampler = new OperationCostSampler(probeMap, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidSamplingInterval() {
+        new OperationCostSampler(probeMap, 0);
+    }
+
+    @Test
+    public void testIsSample() {
+        assertEquals(10, sampler.getSamplingInterval());
+        assertTrue(sampler.isSample(0));
+        assertFalse(sampler.isSample(1));
+        assertFalse(sampler.isSample(9));
+        assertTrue(sampler.isSample(10));
+    }
+
+    @Test
+    public void testGetCpuTimeNanos() {
+        long cpuTimeNanos = sampler.getCpuTimeNanos();
+
+        assertTrue(cpuTimeNanos == NOT_AVAILABLE || cpuTimeNanos > 0);
+    }
+
+    @Test
+    public void testGetAllocatedBytes() {
+        long before = sampler.getAllocatedBytes();
+        byte[] bytes = new byte[1024 * 1024];
+        long after = sampler.getAllocatedBytes();
+
+        assertEquals(1024 * 1024, bytes.length);
+        if (before != NOT_AVAILABLE) {
+            assertTrue("Expected at least 1 MB, but was " + (after - before), after - before >= bytes.length);
+        }
+    }
+
+    @Test
+    public void testRecord() {
+        sampler.record(Operation.PUT, 1000, 1500, MICROSECONDS.toNanos(10), MICROSECONDS.toNanos(30));
+        sampler.record(Operation.PUT, 2000, 3500, MICROSECONDS.toNanos(50), MICROSECONDS.toNanos(90));
+
+        Histogram allocatedBytes = getHistogram("PutAllocatedBytesGauge");
+        assertEquals(2, allocatedBytes.getTotalCount());
+        assertEquals(1000, allocatedBytes.getMean(), 1);
+
+        Histogram cpuTime = getHistogram("PutCpuNanosGauge");
+        assertEquals(2, cpuTime.getTotalCount());
+        assertEquals(MICROSECONDS.toNanos(30), cpuTime.getMean(), MICROSECONDS.toNanos(30) / 100);
+    }
+
+    @Test
+    public void testRecord_withLargeAllocationAndCheapOperation() {
+        sampler.record(Operation.PUT, 0, 100L * 1024 * 1024, 1000, 1500);
+
+        Histogram allocatedBytes = getHistogram("PutAllocatedBytesGauge");
+        assertEquals(100L * 1024 * 1024, allocatedBytes.getMaxValue(), 100L * 1024);
+
+        Histogram cpuTime = getHistogram("PutCpuNanosGauge");
+        assertEquals(500, cpuTime.getMaxValue(), 1);
+    }
+
+    @Test
+    public void testRecord_notAvailable() {
+        sampler.record(Operation.GET_ALL, NOT_AVAILABLE, NOT_AVAILABLE, NOT_AVAILABLE, NOT_AVAILABLE);
+
+        assertEquals(0, getHistogram("GetAllAllocatedBytesGauge").getTotalCount());
+        assertEquals(0, getHistogram("GetAllCpuNanosGauge").getTotalCount());
+    }
+
+    @Test
+    public void testRecord_reusesExistingProbe() {
+        Probe probe = new GaugeProbe();
+        probeMap.put("PutCpuNanosGauge", probe);
+
+        sampler.record(Operation.PUT, 0, 0, 0, 1000);
+
+        assertSame(probe, probeMap.get("PutCpuNanosGauge"));
+        assertEquals(1, ((HdrProbe) probe).getIntervalHistogram().getTotalCount());
+    }
+
+    @Test
+    public void testIsCostProbe() {
+        assertTrue(isCostProbe("PutAllocatedBytesGauge"));
+        assertTrue(isCostProbe("PutCpuNanosGauge"));
+        assertFalse(isCostProbe("PutProbe"));
+        assertFalse(isCostProbe("workerProbe"));
+    }
+
+    private Histogram getHistogram(String probeName) {
+        return ((HdrProbe) probeMap.get(probeName)).getIntervalHistogram();
+    }
+}
@@ -0,0 +1,198 @@
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.TestContainer;
+import com.hazelcast.simulator.test.TestContextImpl;
+import com.hazelcast.simulator.test.TestPhase;
+import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.worker.metronome.MetronomeType;
+import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.worker.metronome.MetronomeType.NOP;
+import static com.hazelcast.simulator.worker.metronome.MetronomeType.SLEEPING;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RunLoopCodeGeneratorTest {
+
+    private static final int THREAD_COUNT = 3;
+    private static final int ITERATION_COUNT = 10;
+    private static final int DEFAULT_TEST_TIMEOUT = 30000;
+
+    private enum Operation {
+        ITERATION
+    }
+
+    @Test
+    public void testIsSupported() {
+        assertTrue(RunLoopCodeGenerator.isSupported(new WorkerTest().createWorker()));
+        assertTrue(RunLoopCodeGenerator.isSupported(new MonotonicWorkerTest().createWorker()));
+        assertTrue(RunLoopCodeGenerator.isSupported(new MultipleProbesWorkerTest().createWorker()));
+        assertFalse(RunLoopCodeGenerator.isSupported(new NoOperationWorker()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInstall_unsupportedWorker() throws Exception {
+        RunLoopCodeGenerator.install(new NoOperationWorker());
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_withAbstractWorker() throws Exception {
+        WorkerTest test = new WorkerTest();
+        runTest(test, false, NOP);
+
+        assertEquals(THREAD_COUNT * ITERATION_COUNT, test.iterations);
+        assertTrue(test.isGeneratedRunLoop);
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_withAbstractWorker_withLightweightProbe() throws Exception {
+        WorkerTest test = new WorkerTest();
+        runTest(test, true, NOP);
+
+        assertEquals(THREAD_COUNT * ITERATION_COUNT, test.iterations);
+        assertTrue(test.isGeneratedRunLoop);
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_withAbstractMonotonicWorker() throws Exception {
+        MonotonicWorkerTest test = new MonotonicWorkerTest();
+        runTest(test, false, SLEEPING);
+
+        assertEquals(THREAD_COUNT * ITERATION_COUNT, test.iterations);
+        assertTrue(test.isGeneratedRunLoop);
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_withAbstractWorkerWithMultipleProbes() throws Exception {
+        MultipleProbesWorkerTest test = new MultipleProbesWorkerTest();
+        runTest(test, false, NOP);
+
+        assertEquals(THREAD_COUNT * ITERATION_COUNT, test.iterations);
+        assertTrue(test.isGeneratedRunLoop);
+    }
+
+    @Test
+    public void testCreateSource_throughputOnly() throws Exception {
+        WorkerTest test = new WorkerTest();
+        TestContainer testContainer = new TestContainer(new TestContextImpl("RunLoopCodeGeneratorTest"), test, 1, 0, NOP,
+                true, true);
+        testContainer.invoke(TestPhase.RUN);
+
+        String source = RunLoopCodeGenerator.createSource("com.hazelcast.simulator.worker.tasks.TestRunLoop", test.worker);
+
+        assertTrue(source.contains("public final class TestRunLoop extends RunLoop"));
+        assertTrue(source.contains("ThroughputProbe probe"));
+        assertFalse(source.contains("metronome"));
+        assertFalse(source.contains("latencyNanos"));
+    }
+
+    private static void runTest(Object test, boolean isLightweightProbe, MetronomeType metronomeType) throws Exception {
+        int metronomeInterval = (metronomeType == NOP ? 0 : 1);
+        TestContainer testContainer = new TestContainer(new TestContextImpl("RunLoopCodeGeneratorTest"), test, THREAD_COUNT,
+                metronomeInterval, metronomeType, isLightweightProbe, true);
+        testContainer.invoke(TestPhase.RUN);
+    }
+
+    private static boolean isCalledFromGeneratedRunLoop() {
+        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+            if (element.getClassName().contains("GeneratedRunLoop")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class WorkerTest {
+
+        private volatile boolean isGeneratedRunLoop = true;
+        private volatile int iterations;
+        private volatile Worker worker;
+
+        @RunWithWorker
+        public Worker createWorker() {
+            worker = new Worker();
+            return worker;
+        }
+
+        private class Worker extends AbstractWorker<Operation> {
+
+            Worker() {
+                super(new OperationSelectorBuilder<Operation>().addDefaultOperation(Operation.ITERATION));
+            }
+
+            @Override
+            protected void timeStep(Operation operation) throws Exception {
+                if (!isCalledFromGeneratedRunLoop()) {
+                    isGeneratedRunLoop = false;
+                }
+                if (getIteration() == ITERATION_COUNT - 1) {
+                    stopWorker();
+                }
+                synchronized (WorkerTest.this) {
+                    iterations++;
+                }
+            }
+        }
+    }
+
+    private static class MonotonicWorkerTest {
+
+        private volatile boolean isGeneratedRunLoop = true;
+        private volatile int iterations;
+
+        @RunWithWorker
+        public Worker createWorker() {
+            return new Worker();
+        }
+
+        private class Worker extends AbstractMonotonicWorker {
+
+            @Override
+            protected void timeStep() throws Exception {
+                if (!isCalledFromGeneratedRunLoop()) {
+                    isGeneratedRunLoop = false;
+                }
+                if (getIteration() == ITERATION_COUNT - 1) {
+                    stopWorker();
+                }
+                synchronized (MonotonicWorkerTest.this) {
+                    iterations++;
+                }
+            }
+        }
+    }
+
+    private static class MultipleProbesWorkerTest {
+
+        private volatile boolean isGeneratedRunLoop = true;
+        private volatile int iterations;
+
+        @RunWithWorker
+        public Worker createWorker() {
+            return new Worker();
+        }
+
+        private class Worker extends AbstractWorkerWithMultipleProbes<Operation> {
+
+            Worker() {
+                super(new OperationSelectorBuilder<Operation>().addDefaultOperation(Operation.ITERATION));
+            }
+
+            @Override
+            protected void timeStep(Operation operation, Probe probe) throws Exception {
+                if (!isCalledFromGeneratedRunLoop()) {
+                    isGeneratedRunLoop = false;
+                }
+                if (getIteration() == ITERATION_COUNT - 1) {
+                    stopWorker();
+                }
+                synchronized (MultipleProbesWorkerTest.this) {
+                    iterations++;
+                }
+            }
+        }
+    }
+}
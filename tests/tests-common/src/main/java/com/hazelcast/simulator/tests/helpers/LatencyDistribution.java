@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.helpers;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.HistogramLogReader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.simulator.probes.impl.HdrProbe.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.HdrProbe.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Creates random latencies with a configurable distribution, e.g. to simulate a backing store or a remote service.
+ *
+ * A distribution is created from a specification, all latencies are given in microseconds:
+ * <ul>
+ * <li>{@code none}: no latency</li>
+ * <li>{@code fixed(latency)}: always the same latency</li>
+ * <li>{@code uniform(min,max)}: uniformly distributed latencies between min (inclusive) and max (exclusive)</li>
+ * <li>{@code lognormal(median,sigma)}: log-normal distributed latencies, a higher sigma creates a longer tail</li>
+ * <li>{@code bimodal(slowProb,fast,slow)}: picks the slow distribution with the given probability, e.g.
+ * {@code bimodal(0.05,lognormal(500,0.3),lognormal(20000,0.5))} for a cache miss behavior</li>
+ * <li>{@code hdr(file)}: replays the recorded latencies of a HdrHistogram file, e.g. a {@code .hdr} file of a previous run</li>
+ * </ul>
+ *
+ * The distributions are thread-safe, if the given {@link Random} is thread-safe.
+ */
+public abstract class LatencyDistribution {
+
+    /**
+     * The number of latencies which are precomputed from a HdrHistogram, so the tail is reproduced up to the 99.999 percentile.
+     */
+    static final int HISTOGRAM_SAMPLES = 100000;
+
+    /**
+     * Returns the next random latency.
+     *
+     * @param random the {@link Random} to use
+     * @return the latency in nanoseconds
+     */
+    public abstract long nextNanos(Random random);
+
+    public static LatencyDistribution none() {
+        return fixed(0);
+    }
+
+    public static LatencyDistribution fixed(long latencyMicros) {
+        return new FixedDistribution(MICROSECONDS.toNanos(latencyMicros));
+    }
+
+    public static LatencyDistribution uniform(long minMicros, long maxMicros) {
+        checkArgument(minMicros < maxMicros, "min has to be lower than max");
+        return new UniformDistribution(MICROSECONDS.toNanos(minMicros), MICROSECONDS.toNanos(maxMicros));
+    }
+
+    public static LatencyDistribution logNormal(long medianMicros, double sigma) {
+        checkArgument(medianMicros > 0, "median has to be positive");
+        checkArgument(sigma >= 0, "sigma has to be positive");
+        return new LogNormalDistribution(Math.log(MICROSECONDS.toNanos(medianMicros)), sigma);
+    }
+
+    public static LatencyDistribution bimodal(double slowProb, LatencyDistribution fast, LatencyDistribution slow) {
+        checkArgument(slowProb >= 0 && slowProb <= 1, "slowProb has to be in the range [0, 1]");
+        return new BimodalDistribution(slowProb, fast, slow);
+    }
+
+    public static LatencyDistribution fromHistogram(Histogram histogram) {
+        checkArgument(histogram.getTotalCount() > 0, "histogram is empty");
+        return new HistogramDistribution(histogram);
+    }
+
+    public static LatencyDistribution fromHistogramFile(File file) {
+        FileInputStream inputStream = null;
+        try {
+            inputStream = new FileInputStream(file);
+            HistogramLogReader reader = new HistogramLogReader(inputStream);
+            Histogram combined = new Histogram(MAXIMUM_LATENCY, LATENCY_PRECISION);
+            Histogram histogram = (Histogram) reader.nextIntervalHistogram();
+            while (histogram != null) {
+                combined.add(histogram);
+                histogram = (Histogram) reader.nextIntervalHistogram();
+            }
+            return fromHistogram(combined);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read histogram file " + file.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(inputStream);
+        }
+    }
+
+    /**
+     * Creates a {@link LatencyDistribution} from the given specification.
+     *
+     * @param specification the specification, e.g. {@code lognormal(1000,0.5)}
+     * @return the {@link LatencyDistribution}
+     * @throws IllegalArgumentException if the specification is invalid
+     */
+    public static LatencyDistribution parse(String specification) {
+        String spec = specification.trim();
+        int open = spec.indexOf('(');
+        if (open == -1) {
+            if ("none".equalsIgnoreCase(spec)) {
+                return none();
+            }
+            throw new IllegalArgumentException(format("Invalid latency distribution: %s", specification));
+        }
+        if (!spec.endsWith(")")) {
+            throw new IllegalArgumentException(format("Invalid latency distribution: %s", specification));
+        }
+        String type = spec.substring(0, open).trim().toLowerCase();
+        String[] args = splitArguments(spec.substring(open + 1, spec.length() - 1));
+        try {
+            LatencyDistribution distribution = create(type, args);
+            if (distribution != null) {
+                return distribution;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(format("Invalid latency distribution: %s", specification), e);
+        }
+        throw new IllegalArgumentException(format("Invalid latency distribution: %s", specification));
+    }
+
+    private static LatencyDistribution create(String type, String[] args) {
+        if ("fixed".equals(type) && args.length == 1) {
+            return fixed(Long.parseLong(args[0]));
+        } else if ("uniform".equals(type) && args.length == 2) {
+            return uniform(Long.parseLong(args[0]), Long.parseLong(args[1]));
+        } else if ("lognormal".equals(type) && args.length == 2) {
+            return logNormal(Long.parseLong(args[0]), Double.parseDouble(args[1]));
+        } else if ("bimodal".equals(type) && args.length == 3) {
+            return bimodal(Double.parseDouble(args[0]), parse(args[1]), parse(args[2]));
+        } else if ("hdr".equals(type) && args.length == 1) {
+            return fromHistogramFile(new File(args[0]));
+        }
+        return null;
+    }
+
+    private static String[] splitArguments(String arguments) {
+        List<String> result = new ArrayList<String>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= arguments.length(); i++) {
+            char c = (i < arguments.length()) ? arguments.charAt(i) : ',';
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                result.add(arguments.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+    private static void checkArgument(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static final class FixedDistribution extends LatencyDistribution {
+
+        private final long latencyNanos;
+
+        FixedDistribution(long latencyNanos) {
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public long nextNanos(Random random) {
+            return latencyNanos;
+        }
+    }
+
+    private static final class UniformDistribution extends LatencyDistribution {
+
+        private final long minNanos;
+        private final long rangeNanos;
+
+        UniformDistribution(long minNanos, long maxNanos) {
+            this.minNanos = minNanos;
+            this.rangeNanos = maxNanos - minNanos;
+        }
+
+        @Override
+        public long nextNanos(Random random) {
+            return minNanos + (long) (random.nextDouble() * rangeNanos);
+        }
+    }
+
+    private static final class LogNormalDistribution extends LatencyDistribution {
+
+        private final double mu;
+        private final double sigma;
+
+        LogNormalDistribution(double mu, double sigma) {
+            this.mu = mu;
+            this.sigma = sigma;
+        }
+
+        @Override
+        public long nextNanos(Random random) {
+            return (long) Math.exp(mu + sigma * random.nextGaussian());
+        }
+    }
+
+    private static final class BimodalDistribution extends LatencyDistribution {
+
+        private final double slowProb;
+        private final LatencyDistribution fast;
+        private final LatencyDistribution slow;
+
+        BimodalDistribution(double slowProb, LatencyDistribution fast, LatencyDistribution slow) {
+            this.slowProb = slowProb;
+            this.fast = fast;
+            this.slow = slow;
+        }
+
+        @Override
+        public long nextNanos(Random random) {
+            return (random.nextDouble() < slowProb) ? slow.nextNanos(random) : fast.nextNanos(random);
+        }
+    }
+
+    private static final class HistogramDistribution extends LatencyDistribution {
+
+        private final long[] samplesNanos = new long[HISTOGRAM_SAMPLES];
+
+        HistogramDistribution(Histogram histogram) {
+            // the values are precomputed by their rank, so a lookup is O(1) instead of a walk over the histogram buckets
+            double countPerSample = (double) histogram.getTotalCount() / HISTOGRAM_SAMPLES;
+            int index = 0;
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                long valueNanos = MICROSECONDS.toNanos(value.getValueIteratedTo());
+                while (index < HISTOGRAM_SAMPLES && (index + 0.5) * countPerSample < value.getTotalCountToThisValue()) {
+                    samplesNanos[index++] = valueNanos;
+                }
+            }
+        }
+
+        @Override
+        public long nextNanos(Random random) {
+            return samplesNanos[random.nextInt(HISTOGRAM_SAMPLES)];
+        }
+    }
+}
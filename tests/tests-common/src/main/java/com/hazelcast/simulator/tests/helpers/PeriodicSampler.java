@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.helpers;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Runs a sampling task periodically in its own thread, e.g. to record statistics in a
+ * {@link com.hazelcast.simulator.probes.impl.GaugeProbe}, so the sampling is not part of the latency of the timed operations.
+ *
+ * The Workers of a test call {@link #start()} in their {@code beforeRun()} and {@link #stop()} in their {@code afterRun()}
+ * method, so the task runs as long as at least one Worker is running. The test calls {@link #shutdown()} in its teardown, so the
+ * thread is also stopped if a Worker failed.
+ */
+public class PeriodicSampler {
+
+    private static final ILogger LOGGER = Logger.getLogger(PeriodicSampler.class);
+
+    private final String name;
+    private final long intervalNanos;
+    private final Runnable task;
+
+    private int runningWorkers;
+    private SamplerThread samplerThread;
+
+    public PeriodicSampler(String name, int intervalMillis, Runnable task) {
+        this.name = name;
+        this.intervalNanos = MILLISECONDS.toNanos(intervalMillis);
+        this.task = task;
+    }
+
+    public synchronized void start() {
+        if (runningWorkers++ == 0) {
+            samplerThread = new SamplerThread();
+            samplerThread.start();
+        }
+    }
+
+    public synchronized void stop() {
+        if (runningWorkers > 0 && --runningWorkers == 0) {
+            shutdown();
+        }
+    }
+
+    public synchronized void shutdown() {
+        runningWorkers = 0;
+        if (samplerThread != null) {
+            samplerThread.running = false;
+            samplerThread.interrupt();
+            samplerThread = null;
+        }
+    }
+
+    private final class SamplerThread extends Thread {
+
+        private volatile boolean running = true;
+
+        private SamplerThread() {
+            super("PeriodicSampler-" + name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                sleepNanos(intervalNanos);
+                if (!running) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    LOGGER.warning("Failed to sample " + name, e);
+                }
+            }
+        }
+    }
+}
@@ -16,7 +16,6 @@
 package com.hazelcast.simulator.tests.icache;
 
 import com.hazelcast.cache.ICache;
-import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
@@ -24,12 +23,12 @@ import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.test.AbstractTest;
 import com.hazelcast.simulator.worker.loadsupport.Streamer;
 import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
+import com.hazelcast.simulator.worker.selector.OperationSelector;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
-import com.hazelcast.simulator.worker.tasks.AbstractWorker;
+import com.hazelcast.simulator.worker.tasks.AbstractBatchWorker;
 
 import javax.cache.CacheManager;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Future;
 
 import static com.hazelcast.simulator.tests.icache.helpers.CacheUtils.createCacheManager;
 
@@ -37,7 +36,8 @@ import static com.hazelcast.simulator.tests.icache.helpers.CacheUtils.createCach
  * Demonstrates the effect of batching.
  * <p>
  * It uses async methods to invoke operation and wait for future to complete every {@code batchSize} invocations.
- * Hence setting {@link #batchSize} to 1 is effectively the same as using sync operations.
+ * Hence setting {@link #batchSize} to 1 is effectively the same as using sync operations. The latency per batch and the
+ * amortized latency per operation are recorded by the {@link AbstractBatchWorker}.
  * <p>
  * Setting {@link #batchSize} to values greater than 1 causes the batch-effect to kick-in, pipe-lines are utilized better
  * and overall throughput goes up.
@@ -79,43 +79,27 @@ public class BatchingICacheTest extends AbstractTest {
         return new Worker();
     }
 
-    private class Worker extends AbstractWorker<Operation> {
+    private class Worker extends AbstractBatchWorker {
 
-        private final List<ICompletableFuture<?>> futureList = new ArrayList<ICompletableFuture<?>>(batchSize);
-
-        private long iteration;
+        private final OperationSelector<Operation> operationSelector = operationSelectorBuilder.build();
 
         public Worker() {
-            super(operationSelectorBuilder);
+            super(batchSize);
         }
 
         @Override
-        public void timeStep(Operation operation) throws Exception {
+        public Future<?> timeStep() throws Exception {
             Integer key = randomInt(keyCount);
-            ICompletableFuture<?> future;
+            Operation operation = operationSelector.select();
             switch (operation) {
                 case PUT:
                     Integer value = randomInt();
-                    future = cache.putAsync(key, value);
-                    break;
+                    return cache.putAsync(key, value);
                 case GET:
-                    future = cache.getAsync(key);
-                    break;
+                    return cache.getAsync(key);
                 default:
                     throw new UnsupportedOperationException("Unknown operation " + operation);
             }
-            futureList.add(future);
-
-            syncIfNecessary(iteration++);
-        }
-
-        private void syncIfNecessary(long iteration) throws Exception {
-            if (iteration % batchSize == 0) {
-                for (ICompletableFuture<?> future : futureList) {
-                    future.get();
-                }
-                futureList.clear();
-            }
         }
     }
 
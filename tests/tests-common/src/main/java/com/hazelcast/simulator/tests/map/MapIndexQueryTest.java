@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.map;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.AbstractTest;
+import com.hazelcast.simulator.test.annotations.InjectProbe;
+import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.test.annotations.Setup;
+import com.hazelcast.simulator.test.annotations.Teardown;
+import com.hazelcast.simulator.test.annotations.Verify;
+import com.hazelcast.simulator.test.annotations.Warmup;
+import com.hazelcast.simulator.tests.map.SerializationStrategyTest.Strategy;
+import com.hazelcast.simulator.tests.map.domain.DomainObject;
+import com.hazelcast.simulator.tests.map.domain.DomainObjectFactory;
+import com.hazelcast.simulator.worker.loadsupport.Streamer;
+import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
+import com.hazelcast.simulator.worker.tasks.AbstractMonotonicWorker;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+
+/**
+ * Benchmarks queries on a map of {@link DomainObject} values with a configurable selectivity, index type, result type and page
+ * size.
+ *
+ * The selectivity is the fraction of the map entries which are returned by a single query:
+ * <ul>
+ * <li>{@link QueryType#EQUALS} queries the {@code longVal} attribute, which has {@code 1 / selectivity} distinct values</li>
+ * <li>{@link QueryType#RANGE} queries a range of the unique {@code intVal} attribute</li>
+ * </ul>
+ * The queried attribute is indexed according to the {@link IndexType}. The {@link ResultType#KEYS} queries just return the keys,
+ * so the values are not transferred and deserialized on the caller, which is the closest to a projection.
+ * With a {@link #pageSize} greater than zero the queries are wrapped in a {@link PagingPredicate} and return the first page.
+ *
+ * The test provides the {@code resultSizeGauge} probe with the number of returned rows per query next to the latency and
+ * throughput of the queries.
+ *
+ * See {@code tests/map/mapindexquery.properties} for a test suite which sweeps over the parameters.
+ */
+public class MapIndexQueryTest extends AbstractTest {
+
+    public enum QueryType {
+        EQUALS,
+        RANGE
+    }
+
+    public enum IndexType {
+        NONE,
+        ORDERED,
+        UNORDERED
+    }
+
+    public enum ResultType {
+        KEYS,
+        VALUES,
+        ENTRIES
+    }
+
+    private static final String EQUALS_ATTRIBUTE = "longVal";
+    private static final String RANGE_ATTRIBUTE = "intVal";
+    private static final int STRING_LENGTH = 20;
+
+    // properties
+    public int keyCount = 100000;
+    public Strategy strategy = Strategy.PORTABLE;
+    public QueryType queryType = QueryType.EQUALS;
+    public IndexType indexType = IndexType.ORDERED;
+    public ResultType resultType = ResultType.VALUES;
+    public double selectivity = 0.001;
+    public int pageSize = 0;
+    public boolean destroyOnExit = true;
+
+    @InjectProbe(name = "resultSizeGauge")
+    private Probe resultSizeProbe;
+
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong rowCount = new AtomicLong();
+
+    private IMap<String, DomainObject> map;
+    private int rowsPerQuery;
+    private int distinctValues;
+
+    @Setup
+    public void setUp() {
+        if (selectivity <= 0 || selectivity > 1) {
+            throw new IllegalArgumentException("selectivity has to be in the range (0, 1], but was " + selectivity);
+        }
+        map = targetInstance.getMap(name);
+        rowsPerQuery = Math.max(1, (int) Math.round(keyCount * selectivity));
+        distinctValues = Math.max(1, keyCount / rowsPerQuery);
+    }
+
+    @Warmup(global = true)
+    public void globalWarmup() {
+        if (indexType != IndexType.NONE) {
+            String attribute = (queryType == QueryType.EQUALS) ? EQUALS_ATTRIBUTE : RANGE_ATTRIBUTE;
+            map.addIndex(attribute, indexType == IndexType.ORDERED);
+        }
+
+        Streamer<String, DomainObject> streamer = StreamerFactory.getInstance(map);
+        DomainObjectFactory objectFactory = DomainObjectFactory.newFactory(strategy);
+        for (int i = 0; i < keyCount; i++) {
+            DomainObject o = objectFactory.newInstance();
+            o.setKey(String.valueOf(i));
+            o.setStringVal(randomAlphanumeric(STRING_LENGTH));
+            o.setIntVal(i);
+            o.setLongVal(i % distinctValues);
+            o.setDoubleVal(i);
+            streamer.pushEntry(o.getKey(), o);
+        }
+        streamer.await();
+
+        logger.info(format("%s: Loaded %d entries, %s query with %s index returns %d rows per query (%s, page size %d)",
+                name, map.size(), queryType, indexType, rowsPerQuery, resultType, pageSize));
+    }
+
+    @RunWithWorker
+    public Worker createWorker() {
+        return new Worker();
+    }
+
+    private class Worker extends AbstractMonotonicWorker {
+
+        @Override
+        protected void timeStep() throws Exception {
+            Predicate predicate = createPredicate();
+            if (pageSize > 0) {
+                predicate = new PagingPredicate(predicate, new KeyComparator(), pageSize);
+            }
+
+            int size = query(predicate);
+            resultSizeProbe.recordValue(size);
+            queryCount.incrementAndGet();
+            rowCount.addAndGet(size);
+        }
+
+        private Predicate createPredicate() {
+            if (queryType == QueryType.EQUALS) {
+                return Predicates.equal(EQUALS_ATTRIBUTE, (long) randomInt(distinctValues));
+            }
+            int from = randomInt(Math.max(1, keyCount - rowsPerQuery + 1));
+            return Predicates.between(RANGE_ATTRIBUTE, from, from + rowsPerQuery - 1);
+        }
+
+        private int query(Predicate predicate) {
+            Collection<?> result;
+            switch (resultType) {
+                case KEYS:
+                    result = map.keySet(predicate);
+                    break;
+                case VALUES:
+                    result = map.values(predicate);
+                    break;
+                case ENTRIES:
+                    result = map.entrySet(predicate);
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Unsupported result type: " + resultType);
+            }
+            return result.size();
+        }
+    }
+
+    private static final class KeyComparator implements Comparator<Map.Entry>, Serializable {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compare(Map.Entry o1, Map.Entry o2) {
+            return ((Comparable) o1.getKey()).compareTo(o2.getKey());
+        }
+    }
+
+    @Verify(global = false)
+    public void verify() {
+        long queries = queryCount.get();
+        if (queries > 0) {
+            long rows = rowCount.get();
+            logger.info(format("%s: Executed %d queries with %d rows in total, %.2f rows per query", name, queries, rows,
+                    (double) rows / queries));
+        }
+    }
+
+    @Teardown
+    public void tearDown() {
+        if (destroyOnExit) {
+            map.destroy();
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package com.hazelcast.simulator.tests.map;
 
 import com.hazelcast.core.IMap;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.annotations.InjectProbe;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
@@ -38,6 +40,9 @@ import static com.hazelcast.simulator.tests.helpers.KeyLocality.SHARED;
  * Test for {@link IMap#putAll(Map)} which uses a set of prepared maps with input values during the RUN phase.
  * <p>
  * You can configure the {@link #keyType} and {@link #valueType} for the used maps.
+ * <p>
+ * The throughput and latency of the worker probe are recorded per {@link IMap#putAll(Map)} call, the amortized latency per
+ * entry is recorded separately in the {@code entryLatency} probe.
  */
 public class MapPutAllTest extends AbstractTest {
 
@@ -60,6 +65,9 @@ public class MapPutAllTest extends AbstractTest {
     // if we want to use putAll() or put() in a loop (this is a nice setting to see what kind of speedup or slowdown to expect)
     public boolean usePutAll = true;
 
+    @InjectProbe(name = "entryLatency", useForThroughput = false)
+    private Probe entryLatencyProbe;
+
     private IMap<Object, Object> map;
     private Map<Object, Object>[] inputMaps;
 
@@ -97,6 +105,7 @@ public class MapPutAllTest extends AbstractTest {
         @Override
         protected void timeStep() throws Exception {
             Map<Object, Object> insertMap = randomMap();
+            long started = System.nanoTime();
             if (usePutAll) {
                 map.putAll(insertMap);
             } else {
@@ -104,6 +113,10 @@ public class MapPutAllTest extends AbstractTest {
                     map.put(entry.getKey(), entry.getValue());
                 }
             }
+            int entryCount = insertMap.size();
+            if (entryCount > 0) {
+                entryLatencyProbe.recordValueWithCount((System.nanoTime() - started) / entryCount, entryCount);
+            }
         }
 
         private Map<Object, Object> randomMap() {
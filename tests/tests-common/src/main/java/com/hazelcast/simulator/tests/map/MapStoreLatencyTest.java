@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.map;
+
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.IMap;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.AbstractTest;
+import com.hazelcast.simulator.test.annotations.InjectProbe;
+import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.test.annotations.Setup;
+import com.hazelcast.simulator.test.annotations.Teardown;
+import com.hazelcast.simulator.test.annotations.Verify;
+import com.hazelcast.simulator.tests.helpers.LatencyDistribution;
+import com.hazelcast.simulator.tests.helpers.PeriodicSampler;
+import com.hazelcast.simulator.tests.map.helpers.SimulatedBackingStore;
+import com.hazelcast.simulator.tests.map.helpers.SimulatedMapStore;
+import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+import com.hazelcast.simulator.worker.tasks.AbstractWorkerWithMultipleProbes;
+
+import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.isMemberNode;
+import static com.hazelcast.simulator.tests.map.helpers.MapStoreUtils.assertMapStoreConfiguration;
+import static java.lang.String.format;
+
+/**
+ * Measures the impact of a slow backing store on a map with a {@link com.hazelcast.core.MapStore}.
+ *
+ * The map has to be configured with the {@link SimulatedMapStore} in the hazelcast.xml, where the write delay and the write
+ * batch size can be tuned. The backing store is simulated by a {@link SimulatedBackingStore} with the
+ * {@link #latencyDistribution}, a limited {@link #connectionPoolSize} and a latency of {@link #perEntryLatencyMicros} for each
+ * additional entry of a batch access. See {@link LatencyDistribution#parse(String)} for the supported distributions.
+ *
+ * The test provides the following probes next to the probes of each operation:
+ * <ul>
+ * <li>{@code flushLatency}: the latency of each write or delete call on the backing store</li>
+ * <li>{@code writeBehindQueueDepthGauge}: the number of dirty entries of the member, which are not stored yet</li>
+ * </ul>
+ * The write-behind queue depth is sampled every {@link #statsIntervalMillis} in its own thread, so reading the local map
+ * statistics doesn't add to the latency of the operations.
+ */
+public class MapStoreLatencyTest extends AbstractTest {
+
+    private enum Operation {
+        PUT,
+        GET,
+        DELETE
+    }
+
+    // properties
+    public int keyCount = 10000;
+    public int valueCount = 1000;
+    public double putProb = 0.5;
+    public double deleteProb = 0.0;
+    public String latencyDistribution = "lognormal(1000,0.5)";
+    public int connectionPoolSize = 10;
+    public int perEntryLatencyMicros = 10;
+    public int statsIntervalMillis = 1000;
+
+    @InjectProbe(name = "flushLatency", useForThroughput = false)
+    private Probe flushLatencyProbe;
+
+    @InjectProbe(name = "writeBehindQueueDepthGauge")
+    private Probe queueDepthProbe;
+
+    private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
+
+    private IMap<Integer, Integer> map;
+    private boolean isMember;
+    private PeriodicSampler statsSampler;
+
+    @Setup
+    public void setUp() {
+        SimulatedBackingStore backingStore = new SimulatedBackingStore(LatencyDistribution.parse(latencyDistribution),
+                connectionPoolSize, perEntryLatencyMicros);
+        SimulatedMapStore.configure(backingStore, flushLatencyProbe);
+
+        map = targetInstance.getMap(name);
+        isMember = isMemberNode(targetInstance);
+
+        operationSelectorBuilder.addOperation(Operation.PUT, putProb)
+                .addOperation(Operation.DELETE, deleteProb)
+                .addDefaultOperation(Operation.GET);
+
+        assertMapStoreConfiguration(logger, targetInstance, name, SimulatedMapStore.class);
+        if (isMember) {
+            MapStoreConfig mapStoreConfig = targetInstance.getConfig().getMapConfig(name).getMapStoreConfig();
+            logger.info(format("%s: Using %s with write delay of %d seconds and write batch size of %d", name,
+                    latencyDistribution, mapStoreConfig.getWriteDelaySeconds(), mapStoreConfig.getWriteBatchSize()));
+        }
+
+        statsSampler = new PeriodicSampler(name, statsIntervalMillis, new Runnable() {
+            @Override
+            public void run() {
+                queueDepthProbe.recordValue(map.getLocalMapStats().getDirtyEntryCount());
+            }
+        });
+    }
+
+    @RunWithWorker
+    public Worker createWorker() {
+        return new Worker();
+    }
+
+    private class Worker extends AbstractWorkerWithMultipleProbes<Operation> {
+
+        public Worker() {
+            super(operationSelectorBuilder);
+        }
+
+        @Override
+        public void beforeRun() throws Exception {
+            if (isMember) {
+                statsSampler.start();
+            }
+        }
+
+        @Override
+        protected void timeStep(Operation operation, Probe probe) throws Exception {
+            int key = randomInt(keyCount);
+            switch (operation) {
+                case PUT:
+                    map.set(key, randomInt(valueCount));
+                    break;
+                case GET:
+                    map.get(key);
+                    break;
+                case DELETE:
+                    map.delete(key);
+                    break;
+                default:
+                    throw new UnsupportedOperationException();
+            }
+        }
+
+        @Override
+        public void afterRun() throws Exception {
+            if (isMember) {
+                statsSampler.stop();
+            }
+        }
+    }
+
+    @Verify(global = false)
+    public void verify() {
+        if (isMember) {
+            logger.info(format("%s: %s, dirty entries: %d", name, SimulatedMapStore.getBackingStore(),
+                    map.getLocalMapStats().getDirtyEntryCount()));
+        }
+    }
+
+    @Teardown
+    public void tearDown() {
+        statsSampler.shutdown();
+        map.destroy();
+        SimulatedMapStore.configure(new SimulatedBackingStore(), null);
+    }
+}
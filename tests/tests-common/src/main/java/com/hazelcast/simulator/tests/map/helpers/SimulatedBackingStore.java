@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.map.helpers;
+
+import com.hazelcast.simulator.tests.helpers.LatencyDistribution;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Simulates a database which is used as backing store of a {@link com.hazelcast.core.MapStore}.
+ *
+ * Each access takes a connection from a limited pool, so concurrent accesses queue up like on a real connection pool.
+ * The latency of an access is taken from a {@link LatencyDistribution} plus a fixed cost per additional entry of a batch access,
+ * so the effect of the batch size of {@code storeAll()} and {@code loadAll()} can be simulated.
+ */
+public class SimulatedBackingStore {
+
+    private final Random random = new Random();
+    private final Map<Object, Object> store = new ConcurrentHashMap<Object, Object>();
+
+    private final AtomicLong accessCount = new AtomicLong();
+    private final AtomicLong entryCount = new AtomicLong();
+    private final AtomicLong connectionWaitNanos = new AtomicLong();
+
+    private final LatencyDistribution latencyDistribution;
+    private final Semaphore connections;
+    private final long perEntryNanos;
+
+    public SimulatedBackingStore() {
+        this(LatencyDistribution.none(), Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Creates a {@link SimulatedBackingStore}.
+     *
+     * @param latencyDistribution the latency of a single access
+     * @param connectionPoolSize  the maximum number of concurrent accesses
+     * @param perEntryMicros      the additional latency for each additional entry of a batch access
+     */
+    public SimulatedBackingStore(LatencyDistribution latencyDistribution, int connectionPoolSize, long perEntryMicros) {
+        this.latencyDistribution = latencyDistribution;
+        this.connections = new Semaphore(connectionPoolSize, true);
+        this.perEntryNanos = MICROSECONDS.toNanos(perEntryMicros);
+    }
+
+    public Object get(Object key) {
+        return store.get(key);
+    }
+
+    public Set<Map.Entry<Object, Object>> entrySet() {
+        return store.entrySet();
+    }
+
+    public void store(Map<Object, Object> entries) {
+        access(entries.size());
+        store.putAll(entries);
+    }
+
+    public void delete(Collection<Object> keys) {
+        access(keys.size());
+        for (Object key : keys) {
+            store.remove(key);
+        }
+    }
+
+    public Map<Object, Object> load(Collection<Object> keys) {
+        access(keys.size());
+        Map<Object, Object> result = new HashMap<Object, Object>();
+        for (Object key : keys) {
+            Object value = store.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    public Set<Object> loadAllKeys() {
+        access(store.size());
+        return store.keySet();
+    }
+
+    public long getAccessCount() {
+        return accessCount.get();
+    }
+
+    public long getEntryCount() {
+        return entryCount.get();
+    }
+
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos.get();
+    }
+
+    private void access(int batchSize) {
+        long started = System.nanoTime();
+        connections.acquireUninterruptibly();
+        try {
+            connectionWaitNanos.addAndGet(System.nanoTime() - started);
+            accessCount.incrementAndGet();
+            entryCount.addAndGet(batchSize);
+
+            sleepNanos(latencyDistribution.nextNanos(random) + perEntryNanos * Math.max(0, batchSize - 1));
+        } finally {
+            connections.release();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SimulatedBackingStore{"
+                + "size=" + store.size()
+                + ", accessCount=" + accessCount
+                + ", entryCount=" + entryCount
+                + ", connectionWaitMs=" + NANOSECONDS.toMillis(connectionWaitNanos.get())
+                + '}';
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.map.helpers;
+
+import com.hazelcast.core.MapStore;
+import com.hazelcast.simulator.probes.Probe;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link MapStore} which delegates to a {@link SimulatedBackingStore}.
+ *
+ * The backing store is shared by all instances in the JVM and has to be configured via
+ * {@link #configure(SimulatedBackingStore, Probe)} before the map is created. The optional flush probe records the latency of
+ * each {@code store()}, {@code storeAll()}, {@code delete()} and {@code deleteAll()} call, which are the flushes of the
+ * write-behind queue if a write delay is configured.
+ */
+public class SimulatedMapStore implements MapStore<Object, Object> {
+
+    private static volatile SimulatedBackingStore backingStore = new SimulatedBackingStore();
+    private static volatile Probe flushProbe;
+
+    public static void configure(SimulatedBackingStore backingStore, Probe flushProbe) {
+        SimulatedMapStore.backingStore = backingStore;
+        SimulatedMapStore.flushProbe = flushProbe;
+    }
+
+    public static SimulatedBackingStore getBackingStore() {
+        return backingStore;
+    }
+
+    @Override
+    public void store(Object key, Object value) {
+        storeAll(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public void storeAll(Map<Object, Object> map) {
+        long started = System.nanoTime();
+        backingStore.store(map);
+        recordFlush(started);
+    }
+
+    @Override
+    public void delete(Object key) {
+        deleteAll(Collections.singletonList(key));
+    }
+
+    @Override
+    public void deleteAll(Collection<Object> keys) {
+        long started = System.nanoTime();
+        backingStore.delete(keys);
+        recordFlush(started);
+    }
+
+    @Override
+    public Object load(Object key) {
+        return backingStore.load(Collections.singletonList(key)).get(key);
+    }
+
+    @Override
+    public Map<Object, Object> loadAll(Collection<Object> keys) {
+        return backingStore.load(keys);
+    }
+
+    @Override
+    public Set<Object> loadAllKeys() {
+        return backingStore.loadAllKeys();
+    }
+
+    private static void recordFlush(long started) {
+        Probe probe = flushProbe;
+        if (probe != null) {
+            probe.recordValue(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SimulatedMapStore{backingStore=" + backingStore + '}';
+    }
+}
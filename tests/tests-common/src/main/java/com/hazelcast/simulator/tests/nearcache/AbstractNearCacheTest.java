@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.nearcache;
+
+import com.hazelcast.core.IAtomicLong;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.AbstractTest;
+import com.hazelcast.simulator.test.CoordinatorClock;
+import com.hazelcast.simulator.test.annotations.InjectProbe;
+import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.test.annotations.Setup;
+import com.hazelcast.simulator.test.annotations.Teardown;
+import com.hazelcast.simulator.test.annotations.Verify;
+import com.hazelcast.simulator.test.annotations.Warmup;
+import com.hazelcast.simulator.tests.helpers.KeyLocality;
+import com.hazelcast.simulator.tests.helpers.PeriodicSampler;
+import com.hazelcast.simulator.tests.map.helpers.ScrambledZipfianGenerator;
+import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+import com.hazelcast.simulator.worker.tasks.AbstractWorkerWithMultipleProbes;
+
+import java.util.Random;
+
+import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.waitClusterSize;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateIntKeys;
+import static com.hazelcast.simulator.utils.GeneratorUtils.generateByteArray;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Base class for near cache tests, which is independent from the data structure which owns the near cache.
+ *
+ * The near cache has to be configured for the data structure in the hazelcast.xml or client-hazelcast.xml, the test just
+ * logs a warning if no near cache is found.
+ *
+ * The test provides the following probes next to the probes of each operation:
+ * <ul>
+ * <li>{@code invalidationLatency}: the time from a put on the invalidation Worker until a reader on another Worker sees the new
+ * value. The put timestamp is taken from the Coordinator clock, so the latency is corrected by the clock offset of the Workers.
+ * The latency contains the polling interval of the reader, so a low {@link #invalidationKeyCount} should be used.</li>
+ * <li>{@code nearCacheHitPerMilleGauge}: the near cache hit ratio of each {@link #statsIntervalMillis} interval in per
+ * mille</li>
+ * <li>{@code nearCacheMemoryBytesGauge}: the memory cost of the owned near cache entries in bytes</li>
+ * </ul>
+ * The near cache statistics are sampled in their own thread, so they don't add to the latency of the operations.
+ */
+public abstract class AbstractNearCacheTest extends AbstractTest {
+
+    enum Operation {
+        PUT,
+        GET,
+        INVALIDATION
+    }
+
+    private static final int PER_MILLE = 1000;
+
+    // properties
+    public int keyCount = 10000;
+    public int valueCount = 1000;
+    public int valueSize = 100;
+    public KeyLocality keyLocality = KeyLocality.SHARED;
+    public boolean skewedKeyAccess = true;
+    public int minNumberOfMembers = 0;
+    public double putProb = 0.1;
+    public double invalidationProb = 0.0;
+    public int invalidationKeyCount = 1;
+    public int statsIntervalMillis = 1000;
+
+    @InjectProbe(name = "invalidationLatency")
+    private Probe invalidationLatencyProbe;
+
+    @InjectProbe(name = "nearCacheHitPerMilleGauge")
+    private Probe hitRatioProbe;
+
+    @InjectProbe(name = "nearCacheMemoryBytesGauge")
+    private Probe memoryProbe;
+
+    private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
+
+    private int[] keys;
+    private byte[][] values;
+    private boolean isInvalidationWriter;
+    private PeriodicSampler statsSampler;
+
+    private long lastHits;
+    private long lastMisses;
+
+    @Setup
+    public void setUp() {
+        createDataStructure();
+
+        operationSelectorBuilder.addOperation(Operation.PUT, putProb)
+                .addOperation(Operation.INVALIDATION, invalidationProb)
+                .addDefaultOperation(Operation.GET);
+
+        IAtomicLong invalidationWriter = targetInstance.getAtomicLong(name + ":InvalidationWriter");
+        isInvalidationWriter = invalidationWriter.compareAndSet(0, 1);
+
+        statsSampler = new PeriodicSampler(name, statsIntervalMillis, new Runnable() {
+            @Override
+            public void run() {
+                recordStats();
+            }
+        });
+    }
+
+    @Warmup(global = false)
+    public void warmup() {
+        waitClusterSize(logger, targetInstance, minNumberOfMembers);
+        keys = generateIntKeys(keyCount, keyLocality, targetInstance);
+
+        Random random = new Random();
+        values = new byte[valueCount][];
+        for (int i = 0; i < valueCount; i++) {
+            values[i] = generateByteArray(random, valueSize);
+        }
+
+        loadInitialData(keys, values);
+
+        if (getNearCacheStats() == null) {
+            logger.warning(format("%s: No near cache found, please configure a near cache for %s", name, name));
+        }
+        if (isInvalidationWriter && invalidationProb > 0) {
+            logger.info(format("%s: This Worker writes the invalidation keys", name));
+        }
+    }
+
+    /**
+     * Creates the data structure which owns the near cache.
+     */
+    abstract void createDataStructure();
+
+    /**
+     * Stores the initial data in the data structure.
+     *
+     * @param keys   the keys to store
+     * @param values the values to pick randomly from
+     */
+    abstract void loadInitialData(int[] keys, byte[][] values);
+
+    abstract Object get(int key);
+
+    abstract void put(int key, Object value);
+
+    /**
+     * Returns the near cache statistics of the data structure.
+     *
+     * @return the {@link NearCacheStats} or {@code null} if no near cache is configured or the statistics are not supported
+     */
+    abstract NearCacheStats getNearCacheStats();
+
+    /**
+     * Releases the data structure.
+     */
+    abstract void destroy();
+
+    @RunWithWorker
+    public Worker createWorker() {
+        return new Worker();
+    }
+
+    private class Worker extends AbstractWorkerWithMultipleProbes<Operation> {
+
+        private final ScrambledZipfianGenerator keyIndexGenerator = new ScrambledZipfianGenerator(keyCount);
+        private final long[] lastSeenTimestamps = new long[invalidationKeyCount];
+
+        public Worker() {
+            super(operationSelectorBuilder);
+        }
+
+        @Override
+        public void beforeRun() throws Exception {
+            statsSampler.start();
+        }
+
+        @Override
+        protected void timeStep(Operation operation, Probe probe) throws Exception {
+            switch (operation) {
+                case PUT:
+                    put(randomKey(), values[randomInt(values.length)]);
+                    break;
+                case GET:
+                    get(randomKey());
+                    break;
+                case INVALIDATION:
+                    invalidation();
+                    break;
+                default:
+                    throw new UnsupportedOperationException();
+            }
+        }
+
+        @Override
+        public void afterRun() throws Exception {
+            statsSampler.stop();
+        }
+
+        private int randomKey() {
+            if (skewedKeyAccess) {
+                return keys[keyIndexGenerator.nextInt()];
+            }
+            return keys[randomInt(keys.length)];
+        }
+
+        private void invalidation() {
+            int index = randomInt(invalidationKeyCount);
+            int key = getInvalidationKey(index);
+            if (isInvalidationWriter) {
+                put(key, getCoordinatorTimeMillis());
+                return;
+            }
+
+            Object value = get(key);
+            if (!(value instanceof Long)) {
+                return;
+            }
+            long timestamp = (Long) value;
+            if (timestamp > lastSeenTimestamps[index]) {
+                if (lastSeenTimestamps[index] != 0) {
+                    long latencyMillis = getCoordinatorTimeMillis() - timestamp;
+                    invalidationLatencyProbe.recordValue(MILLISECONDS.toNanos(latencyMillis));
+                }
+                lastSeenTimestamps[index] = timestamp;
+            }
+        }
+    }
+
+    private long getCoordinatorTimeMillis() {
+        if (testContext instanceof CoordinatorClock) {
+            return ((CoordinatorClock) testContext).getCoordinatorTimeMillis();
+        }
+        return System.currentTimeMillis();
+    }
+
+    private void recordStats() {
+        NearCacheStats stats = getNearCacheStats();
+        if (stats == null) {
+            return;
+        }
+        long hits = stats.getHits() - lastHits;
+        long misses = stats.getMisses() - lastMisses;
+        lastHits = stats.getHits();
+        lastMisses = stats.getMisses();
+        if (hits + misses > 0) {
+            hitRatioProbe.recordValue(hits * PER_MILLE / (hits + misses));
+        }
+        memoryProbe.recordValue(stats.getOwnedEntryMemoryCost());
+    }
+
+    static int getInvalidationKey(int index) {
+        // the invalidation keys are negative, so they never collide with the generated keys
+        return -(index + 1);
+    }
+
+    @Verify(global = false)
+    public void verify() {
+        NearCacheStats stats = getNearCacheStats();
+        if (stats != null) {
+            logger.info(format("%s: Near cache hits: %d, misses: %d, ratio: %.2f, owned entries: %d, memory cost: %d bytes",
+                    name, stats.getHits(), stats.getMisses(), stats.getRatio(), stats.getOwnedEntryCount(),
+                    stats.getOwnedEntryMemoryCost()));
+        }
+    }
+
+    @Teardown
+    public void tearDown() {
+        statsSampler.shutdown();
+        destroy();
+    }
+}
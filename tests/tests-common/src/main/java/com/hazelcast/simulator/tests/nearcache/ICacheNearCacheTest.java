@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.nearcache;
+
+import com.hazelcast.cache.ICache;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.simulator.worker.loadsupport.Streamer;
+import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
+
+import java.util.Random;
+
+import static com.hazelcast.simulator.tests.icache.helpers.CacheUtils.getCache;
+
+/**
+ * Tests the near cache of an {@link ICache}.
+ *
+ * The near cache for an {@link ICache} is only supported on clients. Depending on the Hazelcast version the near cache
+ * statistics are not available, in that case no near cache probes are recorded.
+ *
+ * See {@link AbstractNearCacheTest} for the properties and probes of this test.
+ */
+public class ICacheNearCacheTest extends AbstractNearCacheTest {
+
+    private ICache<Integer, Object> cache;
+    private volatile boolean statisticsSupported = true;
+
+    @Override
+    void createDataStructure() {
+        cache = getCache(targetInstance, name);
+    }
+
+    @Override
+    void loadInitialData(int[] keys, byte[][] values) {
+        Random random = new Random();
+        Streamer<Integer, Object> streamer = StreamerFactory.getInstance(cache);
+        for (int key : keys) {
+            streamer.pushEntry(key, values[random.nextInt(values.length)]);
+        }
+        streamer.await();
+    }
+
+    @Override
+    Object get(int key) {
+        return cache.get(key);
+    }
+
+    @Override
+    void put(int key, Object value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    NearCacheStats getNearCacheStats() {
+        if (!statisticsSupported) {
+            return null;
+        }
+        try {
+            return cache.getLocalCacheStatistics().getNearCacheStatistics();
+        } catch (UnsupportedOperationException e) {
+            logger.warning(name + ": Near cache statistics are not supported by this Hazelcast version");
+            statisticsSupported = false;
+            return null;
+        }
+    }
+
+    @Override
+    void destroy() {
+        cache.close();
+    }
+}
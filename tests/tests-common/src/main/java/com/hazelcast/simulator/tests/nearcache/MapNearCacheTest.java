@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.nearcache;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.simulator.worker.loadsupport.Streamer;
+import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
+
+import java.util.Random;
+
+/**
+ * Tests the near cache of an {@link IMap} on members and clients.
+ *
+ * See {@link AbstractNearCacheTest} for the properties and probes of this test.
+ */
+public class MapNearCacheTest extends AbstractNearCacheTest {
+
+    private IMap<Integer, Object> map;
+
+    @Override
+    void createDataStructure() {
+        map = targetInstance.getMap(name);
+    }
+
+    @Override
+    void loadInitialData(int[] keys, byte[][] values) {
+        Random random = new Random();
+        Streamer<Integer, Object> streamer = StreamerFactory.getInstance(map);
+        for (int key : keys) {
+            streamer.pushEntry(key, values[random.nextInt(values.length)]);
+        }
+        streamer.await();
+    }
+
+    @Override
+    Object get(int key) {
+        return map.get(key);
+    }
+
+    @Override
+    void put(int key, Object value) {
+        map.set(key, value);
+    }
+
+    @Override
+    NearCacheStats getNearCacheStats() {
+        return map.getLocalMapStats().getNearCacheStats();
+    }
+
+    @Override
+    void destroy() {
+        map.destroy();
+    }
+}
@@ -23,19 +23,26 @@ import com.hazelcast.spi.AbstractOperation;
 import com.hazelcast.spi.PartitionAwareOperation;
 
 import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
 
 public class GetOperation extends AbstractOperation implements PartitionAwareOperation, IdentifiedDataSerializable {
 
     private String mapName;
     private Data key;
+    private long serviceTimeNanos;
     private Data response;
 
     public GetOperation() {
     }
 
     public GetOperation(String mapName, Data key) {
+        this(mapName, key, 0);
+    }
+
+    public GetOperation(String mapName, Data key, long serviceTimeNanos) {
         this.mapName = mapName;
         this.key = key;
+        this.serviceTimeNanos = serviceTimeNanos;
     }
 
     @Override
@@ -45,6 +52,9 @@ public class GetOperation extends AbstractOperation implements PartitionAwareOpe
 
     @Override
     public void run() throws Exception {
+        if (serviceTimeNanos > 0) {
+            LockSupport.parkNanos(serviceTimeNanos);
+        }
         SyntheticMapService mapService = getService();
         response = mapService.get(getPartitionId(), mapName, key);
     }
@@ -69,6 +79,7 @@ public class GetOperation extends AbstractOperation implements PartitionAwareOpe
         super.writeInternal(out);
         out.writeUTF(mapName);
         out.writeData(key);
+        out.writeLong(serviceTimeNanos);
     }
 
     @Override
@@ -76,5 +87,6 @@ public class GetOperation extends AbstractOperation implements PartitionAwareOpe
         super.readInternal(in);
         mapName = in.readUTF();
         key = in.readData();
+        serviceTimeNanos = in.readLong();
     }
 }
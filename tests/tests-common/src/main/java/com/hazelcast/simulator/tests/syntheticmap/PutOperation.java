@@ -23,24 +23,34 @@ import com.hazelcast.spi.AbstractOperation;
 import com.hazelcast.spi.PartitionAwareOperation;
 
 import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
 
 public class PutOperation extends AbstractOperation implements PartitionAwareOperation, IdentifiedDataSerializable {
 
     private String mapName;
     private Data key;
     private Data value;
+    private long serviceTimeNanos;
 
     public PutOperation() {
     }
 
     public PutOperation(String mapName, Data key, Data value) {
+        this(mapName, key, value, 0);
+    }
+
+    public PutOperation(String mapName, Data key, Data value, long serviceTimeNanos) {
         this.mapName = mapName;
         this.key = key;
         this.value = value;
+        this.serviceTimeNanos = serviceTimeNanos;
     }
 
     @Override
     public void run() throws Exception {
+        if (serviceTimeNanos > 0) {
+            LockSupport.parkNanos(serviceTimeNanos);
+        }
         SyntheticMapService service = getService();
         service.put(getPartitionId(), mapName, key, value);
     }
@@ -66,6 +76,7 @@ public class PutOperation extends AbstractOperation implements PartitionAwareOpe
         out.writeUTF(mapName);
         out.writeData(key);
         out.writeData(value);
+        out.writeLong(serviceTimeNanos);
     }
 
     @Override
@@ -74,5 +85,6 @@ public class PutOperation extends AbstractOperation implements PartitionAwareOpe
         mapName = in.readUTF();
         key = in.readData();
         value = in.readData();
+        serviceTimeNanos = in.readLong();
     }
 }
@@ -22,6 +22,7 @@ import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.test.AbstractTest;
 import com.hazelcast.simulator.tests.helpers.KeyLocality;
+import com.hazelcast.simulator.tests.helpers.LatencyDistribution;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import com.hazelcast.simulator.worker.tasks.AbstractWorkerWithMultipleProbes;
 
@@ -32,6 +33,13 @@ import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.waitClust
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKeys;
 import static com.hazelcast.simulator.utils.GeneratorUtils.generateStrings;
 
+/**
+ * Test for the {@link SyntheticMap}, which uses the SPI directly to execute operations on a simple map.
+ *
+ * The service time of the operations in the partition thread can be configured with {@link #serviceTimeDistribution}, e.g.
+ * {@code hdr(service-times.hdr)} replays the latencies of a recorded HdrHistogram file. See
+ * {@link LatencyDistribution#parse(String)} for the supported distributions.
+ */
 public class StringStringSyntheticMapTest extends AbstractTest {
 
     private enum Operation {
@@ -48,10 +56,12 @@ public class StringStringSyntheticMapTest extends AbstractTest {
     public int minNumberOfMembers = 0;
 
     public double putProb = 0.1;
+    public String serviceTimeDistribution = "none";
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
 
     private SyntheticMap<String, String> map;
+    private LatencyDistribution serviceTime;
 
     private String[] keys;
     private String[] values;
@@ -59,6 +69,7 @@ public class StringStringSyntheticMapTest extends AbstractTest {
     @Setup
     public void setUp() {
         map = targetInstance.getDistributedObject(SyntheticMapService.SERVICE_NAME, "map-" + name);
+        serviceTime = LatencyDistribution.parse(serviceTimeDistribution);
 
         operationSelectorBuilder
                 .addOperation(Operation.PUT, putProb)
@@ -91,18 +102,19 @@ public class StringStringSyntheticMapTest extends AbstractTest {
         @Override
         protected void timeStep(Operation operation, Probe probe) throws Exception {
             String key = randomKey();
+            long serviceTimeNanos = serviceTime.nextNanos(getRandom());
             long started;
 
             switch (operation) {
                 case PUT:
                     String value = randomValue();
                     started = System.nanoTime();
-                    map.put(key, value);
+                    map.put(key, value, serviceTimeNanos);
                     probe.done(started);
                     break;
                 case GET:
                     started = System.nanoTime();
-                    map.get(key);
+                    map.get(key, serviceTimeNanos);
                     probe.done(started);
                     break;
                 default:
@@ -21,5 +21,23 @@ public interface SyntheticMap<K, V> extends DistributedObject {
 
     V get(K key);
 
+    /**
+     * Gets the value of a key, the operation is delayed in the partition thread by the given service time.
+     *
+     * @param key              the key
+     * @param serviceTimeNanos the service time of the operation in nanoseconds
+     * @return the value
+     */
+    V get(K key, long serviceTimeNanos);
+
     void put(K key, V value);
+
+    /**
+     * Puts a value, the operation is delayed in the partition thread by the given service time.
+     *
+     * @param key              the key
+     * @param value            the value
+     * @param serviceTimeNanos the service time of the operation in nanoseconds
+     */
+    void put(K key, V value, long serviceTimeNanos);
 }
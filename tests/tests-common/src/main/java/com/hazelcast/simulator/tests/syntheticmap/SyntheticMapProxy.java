@@ -39,9 +39,14 @@ public class SyntheticMapProxy<K, V> extends AbstractDistributedObject<Synthetic
 
     @Override
     public V get(K key) {
+        return get(key, 0);
+    }
+
+    @Override
+    public V get(K key, long serviceTimeNanos) {
         Data keyData = nodeEngine.toData(key);
 
-        GetOperation operation = new GetOperation(name, keyData);
+        GetOperation operation = new GetOperation(name, keyData, serviceTimeNanos);
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
 
         OperationService operationService = HazelcastTestUtils.getOperationService(nodeEngine.getHazelcastInstance());
@@ -52,10 +57,15 @@ public class SyntheticMapProxy<K, V> extends AbstractDistributedObject<Synthetic
 
     @Override
     public void put(K key, V value) {
+        put(key, value, 0);
+    }
+
+    @Override
+    public void put(K key, V value, long serviceTimeNanos) {
         Data keyData = nodeEngine.toData(key);
         Data valueData = nodeEngine.toData(value);
 
-        PutOperation operation = new PutOperation(name, keyData, valueData);
+        PutOperation operation = new PutOperation(name, keyData, valueData, serviceTimeNanos);
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
 
         OperationService operationService = HazelcastTestUtils.getOperationService(nodeEngine.getHazelcastInstance());
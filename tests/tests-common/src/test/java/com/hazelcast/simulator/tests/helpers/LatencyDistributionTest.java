@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.helpers;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.simulator.probes.impl.HdrProbe.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.HdrProbe.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyDistributionTest {
+
+    private static final int SAMPLES = 10000;
+
+    private final Random random = new Random(42);
+
+    private File histogramFile;
+
+    @Before
+    public void setUp() {
+        histogramFile = new File("latency-distribution-test.hdr");
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(histogramFile);
+    }
+
+    @Test
+    public void testNone() {
+        assertEquals(0, LatencyDistribution.parse("none").nextNanos(random));
+    }
+
+    @Test
+    public void testFixed() {
+        assertEquals(MICROSECONDS.toNanos(500), LatencyDistribution.parse("fixed(500)").nextNanos(random));
+    }
+
+    @Test
+    public void testUniform() {
+        LatencyDistribution distribution = LatencyDistribution.parse("uniform(100, 200)");
+        for (int i = 0; i < SAMPLES; i++) {
+            long latency = distribution.nextNanos(random);
+            assertTrue(latency >= MICROSECONDS.toNanos(100));
+            assertTrue(latency < MICROSECONDS.toNanos(200));
+        }
+    }
+
+    @Test
+    public void testLogNormal_medianIsPreserved() {
+        long median = median(LatencyDistribution.parse("lognormal(1000,0.5)"));
+
+        assertEquals(MICROSECONDS.toNanos(1000), median, MICROSECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testLogNormal_withZeroSigma() {
+        assertEquals(MICROSECONDS.toNanos(1000), LatencyDistribution.logNormal(1000, 0).nextNanos(random), 1);
+    }
+
+    @Test
+    public void testBimodal() {
+        LatencyDistribution distribution = LatencyDistribution.parse("bimodal(0.1,fixed(100),fixed(10000))");
+
+        int slowCount = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            if (distribution.nextNanos(random) == MICROSECONDS.toNanos(10000)) {
+                slowCount++;
+            }
+        }
+        assertEquals(SAMPLES / 10, slowCount, SAMPLES / 50);
+    }
+
+    @Test
+    public void testFromHistogram() {
+        Histogram histogram = new Histogram(MAXIMUM_LATENCY, LATENCY_PRECISION);
+        histogram.recordValueWithCount(100, 99);
+        histogram.recordValueWithCount(50000, 1);
+
+        LatencyDistribution distribution = LatencyDistribution.fromHistogram(histogram);
+
+        assertEquals(MICROSECONDS.toNanos(100), median(distribution));
+        assertEquals(MICROSECONDS.toNanos(50000), max(distribution), MICROSECONDS.toNanos(10));
+    }
+
+    @Test
+    public void testFromHistogramFile() throws Exception {
+        Histogram histogram = new Histogram(MAXIMUM_LATENCY, LATENCY_PRECISION);
+        histogram.recordValueWithCount(300, 10);
+        PrintStream printStream = new PrintStream(histogramFile);
+        HistogramLogWriter writer = new HistogramLogWriter(printStream);
+        writer.outputIntervalHistogram(histogram);
+        printStream.close();
+
+        LatencyDistribution distribution = LatencyDistribution.parse("hdr(" + histogramFile.getPath() + ")");
+
+        assertEquals(MICROSECONDS.toNanos(300), distribution.nextNanos(random));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromHistogramFile_fileNotFound() {
+        LatencyDistribution.parse("hdr(notFound.hdr)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromHistogram_empty() {
+        LatencyDistribution.fromHistogram(new Histogram(MAXIMUM_LATENCY, LATENCY_PRECISION));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_unknownType() {
+        LatencyDistribution.parse("gaussian(100,10)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidNumber() {
+        LatencyDistribution.parse("fixed(abc)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_wrongArgumentCount() {
+        LatencyDistribution.parse("uniform(100)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_missingBracket() {
+        LatencyDistribution.parse("fixed(100");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidName() {
+        LatencyDistribution.parse("fixed");
+    }
+
+    private long median(LatencyDistribution distribution) {
+        long[] values = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            values[i] = distribution.nextNanos(random);
+        }
+        Arrays.sort(values);
+        return values[SAMPLES / 2];
+    }
+
+    private long max(LatencyDistribution distribution) {
+        long max = 0;
+        for (int i = 0; i < LatencyDistribution.HISTOGRAM_SAMPLES * 10; i++) {
+            max = Math.max(max, distribution.nextNanos(random));
+        }
+        return max;
+    }
+}
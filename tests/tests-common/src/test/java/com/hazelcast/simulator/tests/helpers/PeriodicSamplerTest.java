@@ -0,0 +1,71 @@
+package com.hazelcast.simulator.tests.helpers;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PeriodicSamplerTest {
+
+    private final AtomicInteger samples = new AtomicInteger();
+
+    private final PeriodicSampler sampler = new PeriodicSampler("test", 10, new Runnable() {
+        @Override
+        public void run() {
+            samples.incrementAndGet();
+        }
+    });
+
+    @After
+    public void tearDown() {
+        sampler.shutdown();
+    }
+
+    @Test
+    public void testStart() {
+        sampler.start();
+        sleepMillis(200);
+
+        assertTrue(samples.get() > 0);
+    }
+
+    @Test
+    public void testStop_whenLastWorkerStops() {
+        sampler.start();
+        sampler.start();
+        sampler.stop();
+        sleepMillis(100);
+        assertTrue(samples.get() > 0);
+
+        sampler.stop();
+        sleepMillis(50);
+        int samplesAfterStop = samples.get();
+        sleepMillis(100);
+
+        assertEquals(samplesAfterStop, samples.get());
+    }
+
+    @Test
+    public void testStop_withoutStart() {
+        sampler.stop();
+        sleepMillis(50);
+
+        assertEquals(0, samples.get());
+    }
+
+    @Test
+    public void testShutdown() {
+        sampler.start();
+        sampler.start();
+        sampler.shutdown();
+        sleepMillis(50);
+        int samplesAfterShutdown = samples.get();
+        sleepMillis(100);
+
+        assertEquals(samplesAfterShutdown, samples.get());
+    }
+}
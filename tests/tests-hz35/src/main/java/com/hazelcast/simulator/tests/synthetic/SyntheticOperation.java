@@ -24,6 +24,7 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionAwareOperation;
 
 import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
 
 public class SyntheticOperation extends AbstractOperation
         implements BackupAwareOperation, PartitionAwareOperation, IdentifiedDataSerializable {
@@ -31,14 +32,21 @@ public class SyntheticOperation extends AbstractOperation
     private byte syncBackupCount;
     private byte asyncBackupCount;
     private long backupOperationDelayNanos;
+    private long operationDelayNanos;
 
     public SyntheticOperation() {
     }
 
     public SyntheticOperation(byte syncBackupCount, byte asyncBackupCount, long backupOperationDelayNanos) {
+        this(syncBackupCount, asyncBackupCount, backupOperationDelayNanos, 0);
+    }
+
+    public SyntheticOperation(byte syncBackupCount, byte asyncBackupCount, long backupOperationDelayNanos,
+                              long operationDelayNanos) {
         this.syncBackupCount = syncBackupCount;
         this.asyncBackupCount = asyncBackupCount;
         this.backupOperationDelayNanos = backupOperationDelayNanos;
+        this.operationDelayNanos = operationDelayNanos;
     }
 
     @Override
@@ -70,7 +78,9 @@ public class SyntheticOperation extends AbstractOperation
 
     @Override
     public void run() throws Exception {
-        // do nothing
+        if (operationDelayNanos > 0) {
+            LockSupport.parkNanos(operationDelayNanos);
+        }
     }
 
     @Override
@@ -89,6 +99,7 @@ public class SyntheticOperation extends AbstractOperation
         out.writeByte(syncBackupCount);
         out.writeByte(asyncBackupCount);
         out.writeLong(backupOperationDelayNanos);
+        out.writeLong(operationDelayNanos);
     }
 
     @Override
@@ -97,5 +108,6 @@ public class SyntheticOperation extends AbstractOperation
         syncBackupCount = in.readByte();
         asyncBackupCount = in.readByte();
         backupOperationDelayNanos = in.readLong();
+        operationDelayNanos = in.readLong();
     }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.serialization;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.AbstractTest;
+import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.test.annotations.Setup;
+import com.hazelcast.simulator.test.annotations.Teardown;
+import com.hazelcast.simulator.tests.map.SerializationStrategyTest.Strategy;
+import com.hazelcast.simulator.tests.map.domain.DomainObject;
+import com.hazelcast.simulator.tests.map.domain.DomainObjectFactory;
+import com.hazelcast.simulator.tests.map.domain.IdentifiedDataSerializableObjectFactory;
+import com.hazelcast.simulator.tests.map.domain.PortableObjectFactory;
+import com.hazelcast.simulator.tests.map.helpers.ComplexDomainObject;
+import com.hazelcast.simulator.tests.map.helpers.ComplexDomainObjectPortableFactory;
+import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+import com.hazelcast.simulator.worker.tasks.AbstractWorkerWithMultipleProbes;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.apache.commons.lang3.RandomUtils.nextDouble;
+import static org.apache.commons.lang3.RandomUtils.nextInt;
+import static org.apache.commons.lang3.RandomUtils.nextLong;
+
+/**
+ * Measures the serialization costs of the domain objects in isolation, without any network or cluster involved.
+ *
+ * Each Worker thread serializes and deserializes objects with a local {@link InternalSerializationService}, so the latency
+ * probes of the {@link Operation#SERIALIZE} and {@link Operation#DESERIALIZE} operations contain the pure costs per operation.
+ * Use the {@code threadCount} of the test to compare the scalability of the serialization strategies.
+ *
+ * An operation serializes or deserializes {@link #batchSize} objects. The latency probes have a resolution of a microsecond,
+ * so use a higher batch size for objects which are serialized in less than a microsecond.
+ *
+ * The allocated bytes and the CPU time in nanoseconds per operation are sampled by the Worker, if the test property
+ * {@code operationCostSamplingInterval} is set. The sampling is not part of the measured latency. The sizes of the serialized
+ * objects are logged during the setup.
+ */
+public class SerializationServiceTest extends AbstractTest {
+
+    enum Operation {
+        SERIALIZE,
+        DESERIALIZE
+    }
+
+    public enum DomainObjectType {
+        DOMAIN_OBJECT,
+        COMPLEX_DOMAIN_OBJECT
+    }
+
+    private static final int STRING_LENGTH = 20;
+
+    // properties
+    public Strategy strategy = Strategy.PORTABLE;
+    public DomainObjectType domainObjectType = DomainObjectType.DOMAIN_OBJECT;
+    public int objectCount = 1000;
+    public int batchSize = 1;
+    public double serializeProb = 0.5;
+
+    private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
+
+    private InternalSerializationService serializationService;
+
+    private Object[] objects;
+    private Data[] datas;
+
+    @Setup
+    public void setUp() {
+        if (domainObjectType == DomainObjectType.COMPLEX_DOMAIN_OBJECT && strategy != Strategy.PORTABLE) {
+            throw new IllegalArgumentException(format("%s only supports strategy %s", domainObjectType, Strategy.PORTABLE));
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize has to be positive, but was " + batchSize);
+        }
+
+        serializationService = new DefaultSerializationServiceBuilder()
+                .addPortableFactory(PortableObjectFactory.FACTORY_ID, new PortableObjectFactory())
+                .addPortableFactory(ComplexDomainObject.PORTABLE_FACTORY_ID, new ComplexDomainObjectPortableFactory())
+                .addDataSerializableFactory(IdentifiedDataSerializableObjectFactory.FACTORY_ID,
+                        new IdentifiedDataSerializableObjectFactory())
+                .build();
+
+        objects = new Object[objectCount];
+        datas = new Data[objectCount];
+        DomainObjectFactory objectFactory = DomainObjectFactory.newFactory(strategy);
+        for (int i = 0; i < objectCount; i++) {
+            objects[i] = createObject(objectFactory, i);
+            datas[i] = serializationService.toData(objects[i]);
+        }
+        logSerializedSizes();
+
+        operationSelectorBuilder.addOperation(Operation.SERIALIZE, serializeProb)
+                .addDefaultOperation(Operation.DESERIALIZE);
+    }
+
+    private Object createObject(DomainObjectFactory objectFactory, int index) {
+        if (domainObjectType == DomainObjectType.COMPLEX_DOMAIN_OBJECT) {
+            ComplexDomainObject o = new ComplexDomainObject();
+            o.UUID = index;
+            o.locality_id = nextLong(0, Long.MAX_VALUE);
+            o.locality_name = randomAlphanumeric(STRING_LENGTH);
+            o.division_name = randomAlphanumeric(STRING_LENGTH);
+            o.brand_name = randomAlphanumeric(STRING_LENGTH);
+            o.media_name = randomAlphanumeric(STRING_LENGTH);
+            o.copy_code = randomAlphanumeric(STRING_LENGTH);
+            return o;
+        }
+        DomainObject o = objectFactory.newInstance();
+        o.setKey(randomAlphanumeric(STRING_LENGTH));
+        o.setStringVal(randomAlphanumeric(STRING_LENGTH));
+        o.setIntVal(nextInt(0, Integer.MAX_VALUE));
+        o.setLongVal(nextLong(0, Long.MAX_VALUE));
+        o.setDoubleVal(nextDouble(0.0, Double.MAX_VALUE));
+        return o;
+    }
+
+    private void logSerializedSizes() {
+        long total = 0;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (Data data : datas) {
+            int size = data.totalSize();
+            total += size;
+            min = Math.min(min, size);
+            max = Math.max(max, size);
+        }
+        if (objectCount > 0) {
+            logger.info(format("%s: %s %s serialized size: %d bytes on average (min %d, max %d bytes)", name, strategy,
+                    domainObjectType, total / objectCount, min, max));
+        }
+    }
+
+    @RunWithWorker
+    public Worker createWorker() {
+        return new Worker();
+    }
+
+    private class Worker extends AbstractWorkerWithMultipleProbes<Operation> {
+
+        public Worker() {
+            super(operationSelectorBuilder);
+        }
+
+        @Override
+        protected void timeStep(Operation operation, Probe probe) throws Exception {
+            switch (operation) {
+                case SERIALIZE:
+                    for (int i = 0; i < batchSize; i++) {
+                        serializationService.toData(objects[randomInt(objectCount)]);
+                    }
+                    break;
+                case DESERIALIZE:
+                    for (int i = 0; i < batchSize; i++) {
+                        serializationService.toObject(datas[randomInt(objectCount)]);
+                    }
+                    break;
+                default:
+                    throw new UnsupportedOperationException();
+            }
+        }
+    }
+
+    @Teardown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+}
@@ -15,30 +15,28 @@
  */
 package com.hazelcast.simulator.tests.synthetic;
 
-import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.Partition;
-import com.hazelcast.simulator.probes.Probe;
-import com.hazelcast.simulator.test.annotations.InjectProbe;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.test.AbstractTest;
 import com.hazelcast.simulator.tests.helpers.HazelcastTestUtils;
 import com.hazelcast.simulator.tests.helpers.KeyLocality;
 import com.hazelcast.simulator.tests.helpers.KeyUtils;
-import com.hazelcast.simulator.utils.ExceptionReporter;
-import com.hazelcast.simulator.worker.tasks.IWorker;
+import com.hazelcast.simulator.tests.helpers.LatencyDistribution;
+import com.hazelcast.simulator.worker.tasks.AbstractBatchWorker;
 import com.hazelcast.spi.OperationService;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Future;
 
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.getOperationCountInformation;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.getPartitionDistributionInformation;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.isClient;
-import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.rethrow;
 
 /**
  * The SyntheticTest can be used to test features like back pressure.
@@ -60,6 +58,15 @@ import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.rethrow;
  * Another interesting scenario to test is a normal async invocation of a readonly operation (so no async/sync-backups) and see if
  * the system can be flooded with too many request. Normal sync operations don't cause that many problems because there is a
  * natural balance between the number of threads and the number of pending invocations.
+ * <p>
+ * The invocations are grouped in batches of {@link #syncFrequency} invocations by the {@link AbstractBatchWorker}, which
+ * records the latency of these batches and the amortized latency per invocation. With sync invocations the Worker waits for
+ * the responses of each batch, with async invocations the latency is recorded when the last response of a batch arrives.
+ * <p>
+ * The service time of the operations can be configured with {@link #operationDelayDistribution} and the delay of the backups
+ * with {@link #backupDelayDistribution}, e.g. {@code hdr(service-times.hdr)} replays the latencies of a recorded HdrHistogram
+ * file inside the partition threads. See {@link LatencyDistribution#parse(String)} for the supported distributions. The
+ * latencies are picked by the Worker, so the histogram file just has to be uploaded to the Workers.
  */
 public class SyntheticTest extends AbstractTest {
 
@@ -69,31 +76,42 @@ public class SyntheticTest extends AbstractTest {
     public byte asyncBackupCount = 1;
     public long backupDelayNanos = 1000 * 1000;
     public boolean randomizeBackupDelay = true;
+    public String backupDelayDistribution = "";
+    public String operationDelayDistribution = "none";
     public KeyLocality keyLocality = KeyLocality.SHARED;
     public int keyCount = 1000;
     public int syncFrequency = 1;
     public String serviceName;
 
-    @InjectProbe(useForThroughput = true)
-    private Probe probe;
+
+    private LatencyDistribution operationDelay;
+    private LatencyDistribution backupDelay;
+
+    @Setup
+    public void setUp() {
+        operationDelay = LatencyDistribution.parse(operationDelayDistribution);
+        if (!backupDelayDistribution.isEmpty()) {
+            backupDelay = LatencyDistribution.parse(backupDelayDistribution);
+        }
+    }
 
     @RunWithWorker
     public Worker createWorker() {
         return new Worker();
     }
 
-    private class Worker implements IWorker, ExecutionCallback<Object> {
+    private class Worker extends AbstractBatchWorker {
 
         private final List<Integer> partitionSequence = new ArrayList<Integer>();
-        private final List<ICompletableFuture> futureList = new ArrayList<ICompletableFuture>(syncFrequency);
         private final Random random = new Random();
 
         private final OperationService operationService;
 
         private int partitionIndex;
-        private long iteration;
 
         public Worker() {
+            super(syncFrequency, 0, syncInvocation);
+
             if (isClient(targetInstance)) {
                 throw new IllegalArgumentException("SyntheticTest doesn't support clients at the moment");
             }
@@ -109,42 +127,14 @@ public class SyntheticTest extends AbstractTest {
         }
 
         @Override
-        public void run() {
-            try {
-                while (!testContext.isStopped()) {
-                    timeStep();
-                }
-            } catch (Exception e) {
-                throw rethrow(e);
-            }
-        }
-
-        private void timeStep() throws Exception {
-            ICompletableFuture<Object> future = invokeOnNextPartition();
-            if (syncInvocation) {
-                long started = System.nanoTime();
-                if (syncFrequency == 1) {
-                    future.get();
-                } else {
-                    futureList.add(future);
-                    if (iteration > 0 && iteration % syncFrequency == 0) {
-                        for (ICompletableFuture innerFuture : futureList) {
-                            innerFuture.get();
-                        }
-                        futureList.clear();
-                    }
-                }
-                probe.recordValue(System.nanoTime() - started);
-            } else {
-                future.andThen(this);
-            }
-
-            iteration++;
+        protected Future<?> timeStep() throws Exception {
+            return invokeOnNextPartition();
         }
 
         private ICompletableFuture<Object> invokeOnNextPartition() throws Exception {
             int partitionId = nextPartitionId();
-            SyntheticOperation operation = new SyntheticOperation(syncBackupCount, asyncBackupCount, getBackupDelayNanos());
+            SyntheticOperation operation = new SyntheticOperation(syncBackupCount, asyncBackupCount, getBackupDelayNanos(),
+                    operationDelay.nextNanos(random));
             return operationService.invokeOnPartition(serviceName, operation, partitionId);
         }
 
@@ -157,6 +147,10 @@ public class SyntheticTest extends AbstractTest {
                 return 0;
             }
 
+            if (backupDelay != null) {
+                return backupDelay.nextNanos(random);
+            }
+
             if (!randomizeBackupDelay) {
                 return backupDelayNanos;
             }
@@ -167,31 +161,6 @@ public class SyntheticTest extends AbstractTest {
 
             return Math.abs(random.nextLong() + 1) % backupDelayNanos;
         }
-
-        @Override
-        public void onResponse(Object response) {
-            probe.done(0);
-        }
-
-        @Override
-        public void onFailure(Throwable t) {
-            ExceptionReporter.report(testContext.getTestId(), t);
-        }
-
-        @Override
-        public void afterCompletion() {
-            // nothing to do here
-        }
-
-        @Override
-        public void beforeRun() throws Exception {
-            // nothing to do here
-        }
-
-        @Override
-        public void afterRun() throws Exception {
-            // nothing to do here
-        }
     }
 
     @Teardown
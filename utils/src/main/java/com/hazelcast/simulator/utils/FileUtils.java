@@ -293,7 +293,8 @@ public final class FileUtils {
             throw new IllegalArgumentException(format("File [%s] is not a directory", dir.getAbsolutePath()));
         }
 
-        if (!dir.mkdirs()) {
+        // the directory may have been created concurrently by another thread or process
+        if (!dir.mkdirs() && !dir.isDirectory()) {
             throw new FileUtilsException("Could not create directory: " + dir.getAbsolutePath());
         }
     }
@@ -15,12 +15,17 @@
  */
 package com.hazelcast.simulator.utils.compiler;
 
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
+import java.lang.reflect.Method;
 import java.util.Collections;
 
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+
 /**
  * In-memory Java source code compiler.
  *
@@ -47,4 +52,73 @@ public final class InMemoryJavaCompiler {
 
         return classLoader.loadClass(className);
     }
+
+    /**
+     * Compiles the given source code and defines the resulting class next to the given host class.
+     *
+     * The compiled class is defined in the {@link ClassLoader} and the package of the host class, so the generated code is part
+     * of its runtime package and is allowed to access package-private and protected members. The class has to be declared in
+     * the package of the host class.
+     *
+     * On Java 9 and newer the class is defined via {@code MethodHandles.Lookup.defineClass()}, since the protected
+     * {@link ClassLoader} methods are not accessible anymore. Older JVMs use {@code ClassLoader.defineClass()}.
+     *
+     * @param hostClass        the {@link Class} whose {@link ClassLoader} and package are used for the compiled class
+     * @param className        the fully qualified name of the class to compile
+     * @param sourceCodeInText the source code of the class
+     * @return the compiled {@link Class}
+     * @throws Exception if the source code could not be compiled or the class could not be defined
+     */
+    public static Class<?> compile(Class<?> hostClass, String className, String sourceCodeInText) throws Exception {
+        if (COMPILER == null) {
+            throw new IllegalStateException("No system Java compiler available, a JDK is required to compile " + className);
+        }
+
+        SourceCode sourceCode = new SourceCode(className, sourceCodeInText);
+        CompiledCode compiledCode = new CompiledCode(className);
+        Iterable<? extends JavaFileObject> compilationUnits = Collections.singletonList(sourceCode);
+
+        StandardJavaFileManager standardJavaFileManager = COMPILER.getStandardFileManager(null, null, null);
+        ExtendedJavaFileManager fileManager = new ExtendedJavaFileManager(standardJavaFileManager, compiledCode,
+                DynamicClassLoader.getInstance());
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        JavaCompiler.CompilationTask task = COMPILER.getTask(null, fileManager, diagnostics, null, null, compilationUnits);
+        if (!task.call()) {
+            StringBuilder sb = new StringBuilder("Could not compile ").append(className);
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                sb.append(NEW_LINE).append(diagnostic.getMessage(null));
+            }
+            throw new IllegalArgumentException(sb.toString());
+        }
+
+        return defineClass(hostClass, className, compiledCode.getByteCode());
+    }
+
+    private static Class<?> defineClass(Class<?> hostClass, String className, byte[] byteCode) throws Exception {
+        Method privateLookupIn = getPrivateLookupIn();
+        if (privateLookupIn != null) {
+            Object callerLookup = privateLookupIn.getDeclaringClass().getMethod("lookup").invoke(null);
+            Object lookup = privateLookupIn.invoke(null, hostClass, callerLookup);
+            Method defineClass = lookup.getClass().getMethod("defineClass", byte[].class);
+            return (Class<?>) defineClass.invoke(lookup, (Object) byteCode);
+        }
+
+        Method defineClass = ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class);
+        defineClass.setAccessible(true);
+        return (Class<?>) defineClass.invoke(hostClass.getClassLoader(), className, byteCode, 0, byteCode.length);
+    }
+
+    private static Method getPrivateLookupIn() {
+        // the java.lang.invoke classes are looked up by name, since they are not available on Java 6
+        try {
+            Class<?> methodHandlesClass = Class.forName("java.lang.invoke.MethodHandles");
+            Class<?> lookupClass = Class.forName("java.lang.invoke.MethodHandles$Lookup");
+            return methodHandlesClass.getMethod("privateLookupIn", Class.class, lookupClass);
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
 }
@@ -29,6 +29,29 @@ public class InMemoryJavaCompilerTest {
         assertEquals(1, helloClass.getDeclaredMethods().length);
     }
 
+    @Test
+    public void testCompile_withHostClass() throws Exception {
+        String source = "package com.hazelcast.simulator.utils.compiler;" + NEW_LINE + NEW_LINE
+                + "public class PackageAccessClass {" + NEW_LINE + NEW_LINE
+                + "    public String hello() throws Exception {" + NEW_LINE
+                + "        return new SourceCode(\"Foo\", \"bar\").getCharContent(true).toString();" + NEW_LINE
+                + "    }"
+                + '}';
+
+        Class<?> hostClass = InMemoryJavaCompilerTest.class;
+        Class<?> packageAccessClass = compile(hostClass, "com.hazelcast.simulator.utils.compiler.PackageAccessClass", source);
+        assertEquals(hostClass.getClassLoader(), packageAccessClass.getClassLoader());
+
+        Object instance = packageAccessClass.newInstance();
+        assertEquals("bar", packageAccessClass.getMethod("hello").invoke(instance));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompile_withHostClass_invalidSource() throws Exception {
+        compile(InMemoryJavaCompilerTest.class, "com.hazelcast.simulator.utils.compiler.InvalidClass",
+                "package com.hazelcast.simulator.utils.compiler; public class InvalidClass {");
+    }
+
     @Test(expected = ClassNotFoundException.class)
     public void testDynamicClassLoader() throws Exception {
         DynamicClassLoader.getInstance().findClass("NotCompiledClass");
@@ -21,18 +21,34 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EventListener;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.simulator.visualizer.utils.DataSetUtils.getHistogramDataSet;
+
+/**
+ * Contains the loaded benchmark results.
+ *
+ * The data sets for the chart are created lazily when they are requested and are cached until the benchmark is reloaded. The
+ * cache is limited to the most recently used data sets, so switching the accuracy or resizing the window doesn't keep old data
+ * sets alive.
+ */
 public class Model {
 
+    private static final int MAX_CACHED_DATA_SETS = 64;
+    private static final float LOAD_FACTOR = 0.75f;
+
     private final Map<String, Result> benchmarks = new HashMap<String, Result>();
     private final List<BenchmarkChangeListener> listeners = new ArrayList<BenchmarkChangeListener>();
+    private final Map<DataSetKey, SimulatorHistogramDataSet> dataSetCache = new DataSetCache();
 
     public void addResults(Result benchmarkResults) {
         String name = benchmarkResults.getTestName();
         benchmarks.put(name, benchmarkResults);
+        invalidateDataSets(name);
         changed(name);
     }
 
@@ -44,10 +60,46 @@ public class Model {
         return benchmarks.get(name);
     }
 
+    /**
+     * Returns the data set of a probe of a benchmark, which is created on the first request.
+     *
+     * @param benchmarkName     the name of the benchmark
+     * @param probeName         the name of the probe
+     * @param accuracy          the width of a bucket in µs
+     * @param scalingPercentile the percentile which is used for the auto scaling
+     * @param maxBins           the maximum number of bins, e.g. the width of the chart in pixels
+     * @return the {@link SimulatorHistogramDataSet} or {@code null} if the benchmark has no histogram for the probe
+     */
+    public SimulatorHistogramDataSet getDataSet(String benchmarkName, String probeName, int accuracy, double scalingPercentile,
+                                                int maxBins) {
+        DataSetKey key = new DataSetKey(benchmarkName, probeName, accuracy, scalingPercentile, maxBins);
+        SimulatorHistogramDataSet dataSet = dataSetCache.get(key);
+        if (dataSet == null) {
+            Result result = benchmarks.get(benchmarkName);
+            if (result == null) {
+                return null;
+            }
+            dataSet = getHistogramDataSet(result.getHistogram(probeName), accuracy, scalingPercentile, maxBins);
+            if (dataSet != null) {
+                dataSetCache.put(key, dataSet);
+            }
+        }
+        return dataSet;
+    }
+
     public void addBenchmarkChangeListener(BenchmarkChangeListener listener) {
         listeners.add(listener);
     }
 
+    private void invalidateDataSets(String benchmarkName) {
+        Iterator<DataSetKey> iterator = dataSetCache.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().benchmarkName.equals(benchmarkName)) {
+                iterator.remove();
+            }
+        }
+    }
+
     private void changed(String name) {
         for (BenchmarkChangeListener listener : listeners) {
             listener.benchmarkChanged(name);
@@ -57,4 +109,63 @@ public class Model {
     public interface BenchmarkChangeListener extends EventListener {
         void benchmarkChanged(String benchmarkName);
     }
+
+    private static final class DataSetCache extends LinkedHashMap<DataSetKey, SimulatorHistogramDataSet> {
+
+        private static final long serialVersionUID = 1L;
+
+        private DataSetCache() {
+            super(MAX_CACHED_DATA_SETS, LOAD_FACTOR, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DataSetKey, SimulatorHistogramDataSet> eldest) {
+            return size() > MAX_CACHED_DATA_SETS;
+        }
+    }
+
+    private static final class DataSetKey {
+
+        private final String benchmarkName;
+        private final String probeName;
+        private final int accuracy;
+        private final double scalingPercentile;
+        private final int maxBins;
+
+        private DataSetKey(String benchmarkName, String probeName, int accuracy, double scalingPercentile, int maxBins) {
+            this.benchmarkName = benchmarkName;
+            this.probeName = probeName;
+            this.accuracy = accuracy;
+            this.scalingPercentile = scalingPercentile;
+            this.maxBins = maxBins;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            DataSetKey that = (DataSetKey) o;
+            return accuracy == that.accuracy
+                    && maxBins == that.maxBins
+                    && Double.compare(that.scalingPercentile, scalingPercentile) == 0
+                    && benchmarkName.equals(that.benchmarkName)
+                    && probeName.equals(that.probeName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = benchmarkName.hashCode();
+            result = 31 * result + probeName.hashCode();
+            result = 31 * result + accuracy;
+            long temp = Double.doubleToLongBits(scalingPercentile);
+            result = 31 * result + (int) (temp ^ (temp >>> 32));
+            result = 31 * result + maxBins;
+            return result;
+        }
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.visualizer.io;
+
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.xml.ResultXmlUtils;
+import com.hazelcast.simulator.visualizer.data.Model;
+
+import javax.swing.*;
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+
+import static com.hazelcast.simulator.utils.ExecutorFactory.createFixedThreadPool;
+
+/**
+ * Parses result files on a shared pool of background threads.
+ *
+ * The parsed results are added to the {@link Model} on the event dispatch thread, so multiple files are parsed in parallel
+ * without blocking the UI.
+ */
+public class ResultParser {
+
+    private final ExecutorService executor = createFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+            ResultParser.class);
+
+    private final Model model;
+
+    public ResultParser(Model model) {
+        this.model = model;
+    }
+
+    public void parse(final File file) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final Result result = ResultXmlUtils.fromXml(file);
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            model.addResults(result);
+                        }
+                    });
+                } catch (final Exception e) {
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            throw new ResultParserException(e);
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -15,11 +15,9 @@
  */
 package com.hazelcast.simulator.visualizer.ui;
 
-import com.hazelcast.simulator.probes.Result;
 import com.hazelcast.simulator.visualizer.data.AggregatedDataSet;
 import com.hazelcast.simulator.visualizer.data.Model;
 import com.hazelcast.simulator.visualizer.data.SimulatorHistogramDataSet;
-import org.HdrHistogram.Histogram;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -33,7 +31,6 @@ import java.awt.*;
 import java.util.List;
 import java.util.Set;
 
-import static com.hazelcast.simulator.visualizer.utils.DataSetUtils.getHistogramDataSet;
 import static com.hazelcast.simulator.visualizer.utils.ListenerUtils.addHorizontalMouseListener;
 import static com.hazelcast.simulator.visualizer.utils.ListenerUtils.addVerticalMouseListener;
 
@@ -43,6 +40,8 @@ public class Chart extends JPanel {
     private static final int FINE_SLIDER_MINIMUM = 50;
     private static final int VERTICAL_SLIDER_MINIMUM = 100;
 
+    private static final int DEFAULT_MAX_BINS = 1000;
+
     private static final float ALPHA = 0.65f;
 
     private final JSlider mainHorizontalSlider = new JSlider();
@@ -54,6 +53,7 @@ public class Chart extends JPanel {
     private final AutoScaleRadioButtons autoScaleRadioButtons;
     private final ProbesCheckboxes probesCheckboxes;
     private final XYPlot plot;
+    private final ChartPanel chartPanel;
 
     public Chart(Model model, AccuracyRadioButtons accuracyRadioButtons, AutoScaleRadioButtons autoScaleRadioButtons,
                  ProbesCheckboxes probesCheckboxes) {
@@ -78,7 +78,7 @@ public class Chart extends JPanel {
         plot = chart.getXYPlot();
         plot.setForegroundAlpha(ALPHA);
 
-        ChartPanel chartPanel = new ChartPanel(null);
+        chartPanel = new ChartPanel(null);
         chartPanel.setChart(chart);
 
         add(horizontalSlidersPanel, BorderLayout.SOUTH);
@@ -138,18 +138,15 @@ public class Chart extends JPanel {
     private AggregatedDataSet calculateDataSet(List<String> selectedProbes) {
         int accuracy = accuracyRadioButtons.getEnabledAccuracy();
         double scalingPercentile = autoScaleRadioButtons.getEnabledPercentile();
+        int maxBins = getMaxBins();
         AggregatedDataSet aggregatedDataSet = new AggregatedDataSet();
         Set<String> benchmarkNames = model.getBenchmarkNames();
         for (String benchmarkName : benchmarkNames) {
-            Result result = model.getBenchmarkResult(benchmarkName);
             for (String selectedProbe : selectedProbes) {
-                Histogram histogram = result.getHistogram(selectedProbe);
-                if (histogram == null) {
-                    continue;
-                }
-                String name = benchmarkName + " - " + selectedProbe;
-                SimulatorHistogramDataSet dataSet = getHistogramDataSet(histogram, accuracy, scalingPercentile);
+                SimulatorHistogramDataSet dataSet = model.getDataSet(benchmarkName, selectedProbe, accuracy, scalingPercentile,
+                        maxBins);
                 if (dataSet != null) {
+                    String name = benchmarkName + " - " + selectedProbe;
                     aggregatedDataSet.addNewSeries(dataSet, name);
                 }
             }
@@ -157,6 +154,16 @@ public class Chart extends JPanel {
         return aggregatedDataSet;
     }
 
+    /**
+     * Returns the maximum number of bins of a data set, so there is at most one bin per pixel of the chart.
+     *
+     * @return the maximum number of bins
+     */
+    private int getMaxBins() {
+        int width = chartPanel.getWidth();
+        return (width > 0) ? width : DEFAULT_MAX_BINS;
+    }
+
     private void updateDataSet(AggregatedDataSet dataSet) {
         plot.getDomainAxis().setAutoRange(true);
         plot.getRangeAxis().setAutoRange(true);
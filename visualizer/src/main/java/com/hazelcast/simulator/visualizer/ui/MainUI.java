@@ -16,7 +16,7 @@
 package com.hazelcast.simulator.visualizer.ui;
 
 import com.hazelcast.simulator.visualizer.data.Model;
-import com.hazelcast.simulator.visualizer.io.ResultParserWorker;
+import com.hazelcast.simulator.visualizer.io.ResultParser;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.jfree.ui.ExtensionFileFilter;
 
@@ -34,6 +34,7 @@ public final class MainUI extends JFrame {
     private static final int HEIGHT = 400;
 
     private final Model model = new Model();
+    private final ResultParser resultParser = new ResultParser(model);
 
     private JMenuItem loadMenuItem;
     private File lastFileChooserDirectory;
@@ -100,10 +101,13 @@ public final class MainUI extends JFrame {
             public void actionPerformed(ActionEvent e) {
                 JFileChooser fileChooser = new JFileChooser(lastFileChooserDirectory);
                 fileChooser.setFileFilter(new ExtensionFileFilter("XML Files", "xml"));
+                fileChooser.setMultiSelectionEnabled(true);
                 int returnValue = fileChooser.showOpenDialog(null);
                 if (returnValue == JFileChooser.APPROVE_OPTION) {
-                    lastFileChooserDirectory = fileChooser.getSelectedFile();
-                    new ResultParserWorker(lastFileChooserDirectory, model).execute();
+                    for (File file : fileChooser.getSelectedFiles()) {
+                        lastFileChooserDirectory = file;
+                        resultParser.parse(file);
+                    }
                 }
             }
         });
@@ -113,6 +117,7 @@ public final class MainUI extends JFrame {
             @SuppressFBWarnings("DM_EXIT")
             @Override
             public void actionPerformed(ActionEvent e) {
+                resultParser.shutdown();
                 System.exit(0);
             }
         });
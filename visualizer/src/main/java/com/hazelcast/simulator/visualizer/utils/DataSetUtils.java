@@ -28,6 +28,26 @@ public final class DataSetUtils {
     }
 
     public static SimulatorHistogramDataSet getHistogramDataSet(Histogram histogram, int accuracy, double scalingPercentile) {
+        return getHistogramDataSet(histogram, accuracy, scalingPercentile, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a {@link SimulatorHistogramDataSet} with at most {@code maxBins} bins.
+     *
+     * Only the recorded values of the histogram are iterated, so the effort doesn't depend on the latency range divided by the
+     * accuracy. If the auto scaled range contains more buckets than bins (e.g. more than the chart has pixels), adjacent buckets
+     * are merged into a single bin. A merged bin spans from its lowest to its highest non-empty bucket and shows the highest
+     * bucket count, so the minimum and maximum latency and the peaks of the distribution are preserved. The sparse tail behind
+     * the auto scaled range is merged with the same bin width, so it just adds a bin per non-empty group of buckets.
+     *
+     * @param histogram         the {@link Histogram} to create the data set for
+     * @param accuracy          the width of a bucket in µs
+     * @param scalingPercentile the percentile which is used for the auto scaling
+     * @param maxBins           the maximum number of bins in the auto scaled range
+     * @return the {@link SimulatorHistogramDataSet} or {@code null} if the histogram is {@code null}
+     */
+    public static SimulatorHistogramDataSet getHistogramDataSet(Histogram histogram, int accuracy, double scalingPercentile,
+                                                                int maxBins) {
         if (histogram == null) {
             return null;
         }
@@ -35,18 +55,67 @@ public final class DataSetUtils {
         SimulatorHistogramDataSet histogramDataSet = new SimulatorHistogramDataSet("key");
         histogramDataSet.setAdjustForBinSize(false);
 
-        for (HistogramIterationValue value : histogram.linearBucketValues(accuracy)) {
-            int values = (int) value.getCountAddedInThisIterationStep();
-            if (values > 0) {
-                long lowerBound = value.getValueIteratedFrom();
-                long upperBound = value.getValueIteratedTo();
-                SimpleHistogramBin bin = new SimpleHistogramBin(lowerBound, upperBound, true, false);
-                bin.setItemCount(values);
-                histogramDataSet.addBin(bin);
+        long autoScaleValue = histogram.getValueAtPercentile(scalingPercentile * PERCENTILE_FACTOR);
+        if (histogram.getTotalCount() > 0) {
+            long minBucket = histogram.getMinValue() / accuracy;
+            long autoScaleBucket = autoScaleValue / accuracy;
+            long bucketsPerBin = Math.max(1, (autoScaleBucket - minBucket + maxBins) / Math.max(1, maxBins));
+
+            BinBuilder binBuilder = new BinBuilder(histogramDataSet, accuracy);
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                long bucket = value.getValueIteratedTo() / accuracy;
+                binBuilder.add((bucket - minBucket) / bucketsPerBin, bucket, value.getCountAtValueIteratedTo());
             }
+            binBuilder.flush();
         }
 
-        histogramDataSet.setAutoScaleValue(histogram.getValueAtPercentile(scalingPercentile * PERCENTILE_FACTOR));
+        histogramDataSet.setAutoScaleValue(autoScaleValue);
         return histogramDataSet;
     }
+
+    /**
+     * Collects the counts of the buckets and merges them into bins.
+     */
+    private static final class BinBuilder {
+
+        private final SimulatorHistogramDataSet histogramDataSet;
+        private final int accuracy;
+
+        private long bin = -1;
+        private long firstBucket;
+        private long lastBucket = -1;
+        private long bucketCount;
+        private long maxBucketCount;
+
+        private BinBuilder(SimulatorHistogramDataSet histogramDataSet, int accuracy) {
+            this.histogramDataSet = histogramDataSet;
+            this.accuracy = accuracy;
+        }
+
+        private void add(long bin, long bucket, long count) {
+            if (bucket != lastBucket) {
+                maxBucketCount = Math.max(maxBucketCount, bucketCount);
+                bucketCount = 0;
+            }
+            if (bin != this.bin) {
+                flush();
+                this.bin = bin;
+                firstBucket = bucket;
+            }
+            lastBucket = bucket;
+            bucketCount += count;
+        }
+
+        private void flush() {
+            maxBucketCount = Math.max(maxBucketCount, bucketCount);
+            if (maxBucketCount > 0) {
+                SimpleHistogramBin histogramBin = new SimpleHistogramBin(firstBucket * accuracy, (lastBucket + 1) * accuracy,
+                        true, false);
+                histogramBin.setItemCount((int) maxBucketCount);
+                histogramDataSet.addBin(histogramBin);
+            }
+            maxBucketCount = 0;
+            bucketCount = 0;
+        }
+    }
 }
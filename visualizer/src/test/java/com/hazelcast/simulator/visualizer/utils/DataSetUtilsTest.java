@@ -0,0 +1,99 @@
+package com.hazelcast.simulator.visualizer.utils;
+
+import com.hazelcast.simulator.visualizer.data.SimulatorHistogramDataSet;
+import org.HdrHistogram.Histogram;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class DataSetUtilsTest {
+
+    private static final int ACCURACY = 10;
+
+    private final Histogram histogram = new Histogram(3);
+
+    @Test
+    public void testConstructor() throws Exception {
+        invokePrivateConstructor(DataSetUtils.class);
+    }
+
+    @Test
+    public void testGetHistogramDataSet_withNullHistogram() {
+        assertNull(DataSetUtils.getHistogramDataSet(null, ACCURACY, 1.0));
+    }
+
+    @Test
+    public void testGetHistogramDataSet_withEmptyHistogram() {
+        SimulatorHistogramDataSet dataSet = DataSetUtils.getHistogramDataSet(histogram, ACCURACY, 1.0);
+
+        assertEquals(0, dataSet.getItemCount(0));
+    }
+
+    @Test
+    public void testGetHistogramDataSet_binBoundaries() {
+        histogram.recordValue(9);
+        histogram.recordValue(10);
+        histogram.recordValue(19);
+        histogram.recordValue(20);
+
+        SimulatorHistogramDataSet dataSet = DataSetUtils.getHistogramDataSet(histogram, ACCURACY, 1.0);
+
+        assertEquals(20, dataSet.getAutoScaleValue());
+        assertEquals(3, dataSet.getItemCount(0));
+        assertBin(dataSet, 0, 0, 10, 1);
+        assertBin(dataSet, 1, 10, 20, 2);
+        assertBin(dataSet, 2, 20, 30, 1);
+    }
+
+    @Test
+    public void testGetHistogramDataSet_withDecimation() {
+        for (int bucket = 0; bucket < 10; bucket++) {
+            histogram.recordValueWithCount(bucket * ACCURACY, bucket + 1);
+        }
+
+        SimulatorHistogramDataSet dataSet = DataSetUtils.getHistogramDataSet(histogram, ACCURACY, 1.0, 5);
+
+        // two buckets are merged into a bin, which shows the highest bucket count
+        assertEquals(5, dataSet.getItemCount(0));
+        for (int bin = 0; bin < 5; bin++) {
+            assertBin(dataSet, bin, bin * 2 * ACCURACY, (bin + 1) * 2 * ACCURACY, bin * 2 + 2);
+        }
+    }
+
+    @Test
+    public void testGetHistogramDataSet_withDecimation_sparseBuckets() {
+        histogram.recordValueWithCount(0, 1);
+        histogram.recordValueWithCount(30, 3);
+        histogram.recordValueWithCount(70, 1);
+
+        SimulatorHistogramDataSet dataSet = DataSetUtils.getHistogramDataSet(histogram, ACCURACY, 1.0, 2);
+
+        // a merged bin spans from its lowest to its highest non-empty bucket
+        assertEquals(2, dataSet.getItemCount(0));
+        assertBin(dataSet, 0, 0, 40, 3);
+        assertBin(dataSet, 1, 70, 80, 1);
+    }
+
+    @Test
+    public void testGetHistogramDataSet_withDecimation_tailBehindAutoScaleValue() {
+        histogram.recordValueWithCount(0, 50);
+        histogram.recordValueWithCount(10, 49);
+        histogram.recordValue(1000);
+
+        SimulatorHistogramDataSet dataSet = DataSetUtils.getHistogramDataSet(histogram, ACCURACY, 0.5, 1);
+
+        assertEquals(0, dataSet.getAutoScaleValue());
+        assertEquals(3, dataSet.getItemCount(0));
+        assertBin(dataSet, 0, 0, 10, 50);
+        assertBin(dataSet, 1, 10, 20, 49);
+        assertBin(dataSet, 2, 1000, 1010, 1);
+    }
+
+    private static void assertBin(SimulatorHistogramDataSet dataSet, int index, double start, double end, int count) {
+        assertEquals(start, dataSet.getStartXValue(0, index), 0);
+        assertEquals(end, dataSet.getEndXValue(0, index), 0);
+        assertEquals(count, dataSet.getYValue(0, index), 0);
+    }
+}